@@ -0,0 +1,133 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.test.InstrumentationTestCase;
+
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.util.AppLog;
+
+/*
+ * checks that mapping post rows using column indexes resolved once per cursor matches resolving
+ * them for every row (which is what getPostFromCursor() used to do)
+ */
+public class ReaderPostTableCursorTest extends InstrumentationTestCase {
+    private static final int NUM_ROWS = 200;
+    private static final int NUM_PASSES = 20;
+
+    private static final String[] COLUMNS = {
+            "post_id", "blog_id", "feed_id", "feed_item_id", "author_id", "pseudo_id", "author_name",
+            "author_first_name", "blog_name", "blog_url", "blog_image_url", "excerpt", "format",
+            "featured_image", "featured_video", "title", "url", "short_url", "post_avatar", "score",
+            "date_published", "timestamp_published", "date_liked", "date_tagged", "num_replies",
+            "num_likes", "is_liked",
+            "is_followed", "is_comments_open", "is_external", "is_private", "is_videopress", "is_jetpack",
+            "primary_tag", "secondary_tag", "attachments_json", "discover_json", "xpost_post_id",
+            "xpost_blog_id", "railcar_json", "tag_name", "tag_type", "has_gap_marker", "card_type"};
+
+    private MatrixCursor createCursor() {
+        MatrixCursor cursor = new MatrixCursor(COLUMNS, NUM_ROWS);
+        for (int row = 0; row < NUM_ROWS; row++) {
+            Object[] values = new Object[COLUMNS.length];
+            for (int col = 0; col < COLUMNS.length; col++) {
+                String name = COLUMNS[col];
+                if (name.endsWith("_id") && !name.equals("pseudo_id")) {
+                    values[col] = (long) (row + 1);
+                } else if (name.startsWith("timestamp_")) {
+                    values[col] = 1490000000000L + row * 1000L;
+                } else if (name.startsWith("is_") || name.startsWith("num_") || name.equals("score")) {
+                    values[col] = row % 2;
+                } else {
+                    values[col] = name + "_" + row;
+                }
+            }
+            cursor.addRow(values);
+        }
+        return cursor;
+    }
+
+    public void testCachedIndexesMatchPerRowIndexes() {
+        Cursor cursor = createCursor();
+        try {
+            ReaderPostTable.PostColumnIndexes idx = new ReaderPostTable.PostColumnIndexes(cursor);
+            assertEquals(-1, idx.text);
+            while (cursor.moveToNext()) {
+                ReaderPost perRow = ReaderPostTable.getPostFromCursor(cursor);
+                ReaderPost cached = ReaderPostTable.getPostFromCursor(cursor, idx);
+                assertTrue(perRow.isSamePost(cached));
+                assertEquals(perRow.getPseudoId(), cached.getPseudoId());
+                assertEquals(perRow.getBlogName(), cached.getBlogName());
+                assertEquals(perRow.getDatePublished(), cached.getDatePublished());
+                assertEquals(perRow.getCardType(), cached.getCardType());
+                assertEquals(perRow.getTimestampPublished(), cached.getTimestampPublished());
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    public void testCachedIndexesMapEveryRow() {
+        Cursor cursor = createCursor();
+        try {
+            ReaderPostTable.PostColumnIndexes idx = new ReaderPostTable.PostColumnIndexes(cursor);
+            // indexes are resolved against the projected columns - text isn't among them
+            assertEquals(0, idx.postId);
+            assertEquals(5, idx.pseudoId);
+            assertEquals(COLUMNS.length - 1, idx.cardType);
+            assertEquals(-1, idx.text);
+
+            int numRows = 0;
+            while (cursor.moveToNext()) {
+                ReaderPost post = ReaderPostTable.getPostFromCursor(cursor, idx);
+                assertEquals(numRows + 1, post.postId);
+                assertEquals("blog_name_" + numRows, post.getBlogName());
+                assertEquals(1490000000000L + numRows * 1000L, post.getTimestampPublished());
+                numRows++;
+            }
+            assertEquals(NUM_ROWS, numRows);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /*
+     * mapping rows with the indexes resolved once per cursor should be cheaper than resolving all
+     * of them for every row - the first pass of each is skipped so class loading isn't counted
+     */
+    public void testCachedIndexesCostLessPerRow() {
+        Cursor cursor = createCursor();
+        try {
+            long perRowNanos = 0;
+            long cachedNanos = 0;
+            for (int pass = 0; pass <= NUM_PASSES; pass++) {
+                long start = System.nanoTime();
+                cursor.moveToPosition(-1);
+                while (cursor.moveToNext()) {
+                    ReaderPostTable.getPostFromCursor(cursor);
+                }
+                long perRowPass = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                cursor.moveToPosition(-1);
+                ReaderPostTable.PostColumnIndexes idx = new ReaderPostTable.PostColumnIndexes(cursor);
+                while (cursor.moveToNext()) {
+                    ReaderPostTable.getPostFromCursor(cursor, idx);
+                }
+                long cachedPass = System.nanoTime() - start;
+
+                if (pass > 0) {
+                    perRowNanos += perRowPass;
+                    cachedNanos += cachedPass;
+                }
+            }
+
+            int numRows = NUM_ROWS * NUM_PASSES;
+            AppLog.i(AppLog.T.TESTS, "reader post cursor mapping, per-row indexes: "
+                    + (perRowNanos / numRows) + "ns/row, cached indexes: " + (cachedNanos / numRows) + "ns/row");
+            assertTrue("cached indexes should cost less per row than resolving them for every row",
+                    cachedNanos < perRowNanos);
+        } finally {
+            cursor.close();
+        }
+    }
+}
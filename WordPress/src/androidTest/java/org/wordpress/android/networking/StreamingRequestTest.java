@@ -0,0 +1,47 @@
+package org.wordpress.android.networking;
+
+import android.test.InstrumentationTestCase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import okio.Buffer;
+
+public class StreamingRequestTest extends InstrumentationTestCase {
+    private File mFile;
+    private byte[] mContent;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // a few of Okio's 8KB segments plus a partial one
+        mContent = new byte[8192 * 3 + 123];
+        new Random(42).nextBytes(mContent);
+
+        mFile = new File(getInstrumentation().getTargetContext().getCacheDir(), "streamingRequest.bin");
+        FileOutputStream fos = new FileOutputStream(mFile);
+        fos.write(mContent);
+        fos.close();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        mFile.delete();
+        super.tearDown();
+    }
+
+    public void testWritesWholeFile() throws IOException {
+        StreamingRequest request = new StreamingRequest(mFile);
+        assertEquals(mContent.length, request.contentLength());
+
+        // written twice since OkHttp may write a body again when it retries
+        for (int i = 0; i < 2; i++) {
+            Buffer buffer = new Buffer();
+            request.writeTo(buffer);
+            assertTrue(Arrays.equals(mContent, buffer.readByteArray()));
+        }
+    }
+}
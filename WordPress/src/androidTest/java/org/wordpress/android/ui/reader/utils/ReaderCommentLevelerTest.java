@@ -0,0 +1,148 @@
+package org.wordpress.android.ui.reader.utils;
+
+import android.test.AndroidTestCase;
+
+import org.wordpress.android.models.ReaderComment;
+import org.wordpress.android.models.ReaderCommentList;
+import org.wordpress.android.util.AppLog;
+
+import java.util.Random;
+
+public class ReaderCommentLevelerTest extends AndroidTestCase {
+    private static final int NUM_BENCHMARK_COMMENTS = 5000;
+
+    private static ReaderComment makeComment(long commentId, long parentId) {
+        ReaderComment comment = new ReaderComment();
+        comment.commentId = commentId;
+        comment.parentId = parentId;
+        return comment;
+    }
+
+    private static String describe(ReaderCommentList comments) {
+        StringBuilder sb = new StringBuilder();
+        for (ReaderComment comment : comments) {
+            sb.append(comment.commentId).append(':').append(comment.level).append(' ');
+        }
+        return sb.toString().trim();
+    }
+
+    /*
+     * returns a thread of comments where each comment replies to a random earlier comment, a few
+     * are root comments and a few reply to comments which don't exist (orphans)
+     */
+    private static ReaderCommentList makeRandomThread(Random random, int numComments) {
+        ReaderCommentList comments = new ReaderCommentList();
+        for (int id = 1; id <= numComments; id++) {
+            long parentId;
+            int type = random.nextInt(10);
+            if (type < 2) {
+                parentId = 0;
+            } else if (type == 2) {
+                parentId = numComments + id;
+            } else {
+                parentId = 1 + random.nextInt(id);
+                if (parentId == id) {
+                    parentId = 0;
+                }
+            }
+            comments.add(makeComment(id, parentId));
+        }
+        return comments;
+    }
+
+    public void testCreateLevelList() {
+        ReaderCommentList comments = new ReaderCommentList();
+        comments.add(makeComment(1, 0));
+        comments.add(makeComment(2, 0));
+        comments.add(makeComment(3, 1));
+        comments.add(makeComment(4, 3));
+        comments.add(makeComment(5, 1));
+        comments.add(makeComment(6, 99));
+
+        ReaderCommentList levelList = new ReaderCommentLeveler(comments).createLevelList();
+        assertEquals("1:0 3:1 4:2 5:1 2:0 6:1", describe(levelList));
+    }
+
+    public void testAppendToLevelList() {
+        ReaderCommentList firstPage = new ReaderCommentList();
+        firstPage.add(makeComment(1, 0));
+        firstPage.add(makeComment(2, 1));
+        firstPage.add(makeComment(3, 0));
+        ReaderCommentList levelList = new ReaderCommentLeveler(firstPage).createLevelList();
+
+        ReaderCommentList allComments = new ReaderCommentList();
+        allComments.addAll(firstPage);
+        allComments.add(makeComment(4, 1));
+        allComments.add(makeComment(5, 4));
+        allComments.add(makeComment(6, 0));
+        allComments.add(makeComment(7, 2));
+
+        levelList = new ReaderCommentLeveler(allComments).appendToLevelList(levelList);
+        assertEquals("1:0 2:1 7:2 4:1 5:2 3:0 6:0", describe(levelList));
+    }
+
+    public void testAppendMovesOrphanBeneathLoadedParent() {
+        ReaderCommentList firstPage = new ReaderCommentList();
+        firstPage.add(makeComment(1, 0));
+        firstPage.add(makeComment(2, 3));
+        ReaderCommentList levelList = new ReaderCommentLeveler(firstPage).createLevelList();
+        assertEquals("1:0 2:1", describe(levelList));
+
+        ReaderCommentList allComments = new ReaderCommentList();
+        allComments.addAll(firstPage);
+        allComments.add(makeComment(3, 1));
+
+        levelList = new ReaderCommentLeveler(allComments).appendToLevelList(levelList);
+        assertEquals("1:0 3:1 2:2", describe(levelList));
+    }
+
+    public void testAppendMatchesCreate() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            ReaderCommentList allComments = makeRandomThread(random, 1 + random.nextInt(100));
+            ReaderCommentList firstPage = new ReaderCommentList();
+            firstPage.addAll(allComments.subList(0, random.nextInt(allComments.size() + 1)));
+
+            ReaderCommentList levelList = new ReaderCommentLeveler(firstPage).createLevelList();
+            String appended = describe(new ReaderCommentLeveler(allComments).appendToLevelList(levelList));
+            String created = describe(new ReaderCommentLeveler(allComments).createLevelList());
+            assertEquals(created, appended);
+        }
+    }
+
+    /*
+     * not a pass/fail test - logs how long it takes to level large synthetic threads
+     */
+    public void testBenchmarkLargeThreads() {
+        ReaderCommentList deepThread = new ReaderCommentList();
+        for (int id = 1; id <= NUM_BENCHMARK_COMMENTS; id++) {
+            deepThread.add(makeComment(id, id - 1));
+        }
+        ReaderCommentList randomThread = makeRandomThread(new Random(42), NUM_BENCHMARK_COMMENTS);
+
+        long start = System.nanoTime();
+        ReaderCommentList levelList = new ReaderCommentLeveler(deepThread).createLevelList();
+        long deepMs = (System.nanoTime() - start) / 1000000;
+        assertEquals(NUM_BENCHMARK_COMMENTS, levelList.size());
+        assertEquals(NUM_BENCHMARK_COMMENTS - 1, levelList.get(NUM_BENCHMARK_COMMENTS - 1).level);
+
+        start = System.nanoTime();
+        levelList = new ReaderCommentLeveler(randomThread).createLevelList();
+        long randomMs = (System.nanoTime() - start) / 1000000;
+        assertEquals(NUM_BENCHMARK_COMMENTS, levelList.size());
+
+        // level the first half, then append the second half as if another page was loaded
+        ReaderCommentList firstHalf = new ReaderCommentList();
+        firstHalf.addAll(randomThread.subList(0, NUM_BENCHMARK_COMMENTS / 2));
+        levelList = new ReaderCommentLeveler(firstHalf).createLevelList();
+        start = System.nanoTime();
+        levelList = new ReaderCommentLeveler(randomThread).appendToLevelList(levelList);
+        long appendMs = (System.nanoTime() - start) / 1000000;
+        assertEquals(NUM_BENCHMARK_COMMENTS, levelList.size());
+
+        AppLog.i(AppLog.T.TESTS, "comment leveler > " + NUM_BENCHMARK_COMMENTS + " comments"
+                + ", deep thread " + deepMs + "ms"
+                + ", random thread " + randomMs + "ms"
+                + ", append " + appendMs + "ms");
+    }
+}
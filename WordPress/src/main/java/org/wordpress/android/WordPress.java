@@ -15,6 +15,7 @@ import android.os.SystemClock;
 import android.support.multidex.MultiDexApplication;
 import android.support.v7.app.AppCompatDelegate;
 import android.text.TextUtils;
+import android.text.format.DateUtils;
 import android.util.AndroidRuntimeException;
 import android.webkit.WebSettings;
 import android.webkit.WebView;
@@ -34,6 +35,7 @@ import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.analytics.AnalyticsTracker.Stat;
 import org.wordpress.android.analytics.AnalyticsTrackerNosara;
 import org.wordpress.android.datasets.NotificationsTable;
+import org.wordpress.android.datasets.PostFeaturedImageTable;
 import org.wordpress.android.datasets.ReaderDatabase;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.generated.AccountActionBuilder;
@@ -53,6 +55,7 @@ import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
 import org.wordpress.android.modules.AppComponent;
 import org.wordpress.android.modules.DaggerAppComponent;
 import org.wordpress.android.networking.ConnectionChangeReceiver;
+import org.wordpress.android.networking.HttpClientRegistry;
 import org.wordpress.android.networking.OAuthAuthenticator;
 import org.wordpress.android.networking.RestClientUtils;
 import org.wordpress.android.push.GCMRegistrationIntentService;
@@ -69,6 +72,8 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.AppLogListener;
 import org.wordpress.android.util.AppLog.LogLevel;
 import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.BackgroundExecutor;
+import org.wordpress.android.util.BitmapDiskCache;
 import org.wordpress.android.util.BitmapLruCache;
 import org.wordpress.android.util.CrashlyticsUtils;
 import org.wordpress.android.util.DateTimeUtils;
@@ -117,6 +122,10 @@ public class WordPress extends MultiDexApplication {
 
     private static Context mContext;
     private static BitmapLruCache mBitmapCache;
+    private static BitmapDiskCache mBitmapDiskCache;
+    private static final long BITMAP_DISK_CACHE_SIZE = 10 * 1024 * 1024;
+    // transformed images are downloaded again after a day in case the image at their url has changed
+    private static final long BITMAP_DISK_CACHE_MAX_AGE = DateUtils.DAY_IN_MILLIS;
 
     @Inject Dispatcher mDispatcher;
     @Inject AccountStore mAccountStore;
@@ -177,14 +186,15 @@ public class WordPress extends MultiDexApplication {
      */
     public static RateLimitedTask sDeleteExpiredStats = new RateLimitedTask(SECONDS_BETWEEN_DELETE_STATS) {
         protected boolean run() {
-            // Offload to a separate thread. We don't want to slown down the app on startup/resume.
-            new Thread(new Runnable() {
+            // Offload to a background thread. We don't want to slown down the app on startup/resume.
+            BackgroundExecutor.execute(BackgroundExecutor.Lane.HOUSEKEEPING, new Runnable() {
                 public void run() {
-                    // subtracts to the current time the cache TTL
-                    long timeToDelete = System.currentTimeMillis() - (StatsTable.CACHE_TTL_MINUTES * 60 * 1000);
+                    // subtracts to the current time the max age of stale stats, which are shown while
+                    // fresh stats are retrieved
+                    long timeToDelete = System.currentTimeMillis() - (StatsTable.MAX_STALE_MINUTES * 60 * 1000L);
                     StatsTable.deleteOldStats(WordPress.getContext(), timeToDelete);
                 }
-            }).start();
+            });
             return true;
         }
     };
@@ -205,11 +215,23 @@ public class WordPress extends MultiDexApplication {
             // number of items. See http://developer.android.com/training/displaying-bitmaps/cache-bitmap.html
             int maxMemory = (int) (Runtime.getRuntime().maxMemory() / 1024);
             int cacheSize = maxMemory / 4;  //Use 1/4th of the available memory for this memory cache.
-            mBitmapCache = new BitmapLruCache(cacheSize);
+            int poolSize = maxMemory / 32; // and a further 1/32nd for bitmaps which can be reused
+            mBitmapCache = new BitmapLruCache(cacheSize, poolSize);
         }
         return mBitmapCache;
     }
 
+    /*
+     * disk cache for transformed images (such as circular avatars) so they survive process death
+     */
+    public static synchronized BitmapDiskCache getBitmapDiskCache() {
+        if (mBitmapDiskCache == null) {
+            mBitmapDiskCache = new BitmapDiskCache(getContext(), BITMAP_DISK_CACHE_SIZE,
+                    BITMAP_DISK_CACHE_MAX_AGE);
+        }
+        return mBitmapDiskCache;
+    }
+
     @Override
     public void onCreate() {
         super.onCreate();
@@ -621,6 +643,9 @@ public class WordPress extends MultiDexApplication {
 
         // Reset Notifications Data
         NotificationsTable.reset();
+
+        // Reset the featured images resolved for the post list
+        PostFeaturedImageTable.reset();
     }
 
     /**
@@ -763,8 +788,19 @@ public class WordPress extends MultiDexApplication {
             }
 
             if (evictBitmaps && mBitmapCache != null) {
+                mBitmapCache.logMetrics();
                 mBitmapCache.evictAll();
             }
+            if (evictBitmaps) {
+                BackgroundExecutor.logMetrics();
+            }
+
+            // idle connections only save a handshake while the app is in use, so they're closed once
+            // the app is in the background list - regardless of whether bitmaps were evicted
+            if (level >= TRIM_MEMORY_BACKGROUND) {
+                HttpClientRegistry.logMetrics();
+                HttpClientRegistry.evictIdleConnections();
+            }
         }
 
         private boolean isPushNotificationPingNeeded() {
@@ -826,6 +862,11 @@ public class WordPress extends MultiDexApplication {
                     AnalyticsTracker.track(AnalyticsTracker.Stat.APPLICATION_CLOSED, properties);
                     AnalyticsTracker.endSession(false);
                     ConnectionChangeReceiver.setEnabled(WordPress.this, false);
+                    // the app is idle, so purge the reader - but not while offline, to avoid removing posts
+                    // the user would expect to see
+                    if (NetworkUtils.isNetworkAvailable(WordPress.this)) {
+                        ReaderDatabase.purgeAsync();
+                    }
                 }
             };
 
@@ -9,6 +9,7 @@ import android.database.sqlite.SQLiteException;
 
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.datasets.PeopleTable;
+import org.wordpress.android.datasets.PostFeaturedImageTable;
 import org.wordpress.android.datasets.SiteSettingsTable;
 import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.models.Theme;
@@ -26,7 +27,7 @@ import java.io.OutputStream;
 public class WordPressDB {
     private static final String COLUMN_NAME_ID = "_id";
 
-    private static final int DATABASE_VERSION = 55;
+    private static final int DATABASE_VERSION = 56;
 
     // Warning if you rename DATABASE_NAME, that could break previous App backups (see: xml/backup_scheme.xml)
     private static final String DATABASE_NAME = "wordpress";
@@ -62,7 +63,7 @@ public class WordPressDB {
         db.execSQL(CREATE_TABLE_THEMES);
         SiteSettingsTable.createTable(db);
         SuggestionTable.createTables(db);
-        NotificationsTable.createTables(db);
+        PostFeaturedImageTable.createTables(db);
 
         // Update tables for new installs and app updates
         int currentVersion = db.getVersion();
@@ -207,7 +208,15 @@ public class WordPressDB {
             case 54:
                 SiteSettingsTable.addImageResizeWidthAndQualityToSiteSettingsTable(db);
                 currentVersion++;
+            case 55:
+                // notes are a cache of the server's, so the table is recreated with its new columns below
+                // and refilled the next time notifications are refreshed
+                NotificationsTable.dropTables(db);
+                currentVersion++;
         }
+
+        // created after upgrading since its indexes need the columns added in version 56
+        NotificationsTable.createTables(db);
         db.setVersion(DATABASE_VERSION);
     }
 
@@ -2,19 +2,28 @@ package org.wordpress.android.datasets;
 
 import android.content.ContentValues;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.CursorIndexOutOfBoundsException;
 import android.database.sqlite.SQLiteDatabase;
+import android.support.v4.util.LruCache;
 import android.text.TextUtils;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class NotificationsTable {
     private static final String NOTIFICATIONS_TABLE = "tbl_notifications";
@@ -25,18 +34,58 @@ public class NotificationsTable {
 
     public static int NOTES_TO_RETRIEVE = 200;
 
+    // parsed notes along with the note_hash and read state they were stored with, so reloading the
+    // list only reads and parses the notes which changed. Every caller gets the same Note, which is
+    // safe to share - changes made to it (ex: marking it read) are saved here, which re-caches it
+    private static final int MAX_CACHED_NOTES = 250;
+    private static final LruCache<String, CachedNote> sNoteCache = new LruCache<>(MAX_CACHED_NOTES);
+
+    // the most notes whose data is read in a single query, keeps the number of bound args under sqlite's limit
+    private static final int MAX_NOTES_PER_QUERY = 500;
+
+    private static class CachedNote {
+        private final long mNoteHash;
+        private final boolean mIsUnread;
+        private final Note mNote;
+
+        CachedNote(long noteHash, boolean isUnread, Note note) {
+            mNoteHash = noteHash;
+            mIsUnread = isUnread;
+            mNote = note;
+        }
+    }
+
+    /*
+     * the fields used to filter and count notes are copied out of raw_note_data when a note is
+     * saved so they can be queried without parsing every note
+     */
     public static void createTables(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE IF NOT EXISTS " + NOTIFICATIONS_TABLE + " ("
                 + "id                       INTEGER PRIMARY KEY DEFAULT 0,"
                 + "note_id                  TEXT,"
                 + "type                     TEXT,"
                 + "raw_note_data            TEXT,"
-                + "timestamp                INTEGER," +
+                + "timestamp                INTEGER,"
+                + "note_hash                INTEGER DEFAULT 0,"
+                + "is_unread                INTEGER DEFAULT 0,"
+                + "is_comment               INTEGER DEFAULT 0,"
+                + "comment_status           TEXT,"
+                + "site_id                  INTEGER DEFAULT 0," +
                 " UNIQUE (note_id) ON CONFLICT REPLACE"
                 + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_timestamp ON "
+                + NOTIFICATIONS_TABLE + "(timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_type ON "
+                + NOTIFICATIONS_TABLE + "(type, timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_unread ON "
+                + NOTIFICATIONS_TABLE + "(is_unread, timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_comment ON "
+                + NOTIFICATIONS_TABLE + "(is_comment, timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_site ON "
+                + NOTIFICATIONS_TABLE + "(site_id)");
     }
 
-    private static void dropTables(SQLiteDatabase db) {
+    public static void dropTables(SQLiteDatabase db) {
         db.execSQL("DROP TABLE IF EXISTS " + NOTIFICATIONS_TABLE);
     }
 
@@ -45,28 +94,168 @@ public class NotificationsTable {
     }
 
     public static ArrayList<Note> getLatestNotes(int limit) {
-        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[] {"note_id", "raw_note_data"},
-                null, null, null, null, "timestamp DESC", "" + limit);
-        ArrayList<Note> notes = new ArrayList<Note>();
-        while (cursor.moveToNext()) {
-            String note_id = cursor.getString(0);
-            String raw_note_data = cursor.getString(1);
-            try {
-                Note note = new Note(note_id, new JSONObject(raw_note_data));
+        return getLatestNotes(NotesListFilter.FILTER_ALL, limit);
+    }
+
+    public static ArrayList<Note> getLatestNotes(NotesListFilter filter) {
+        return getLatestNotes(filter, NOTES_TO_RETRIEVE);
+    }
+
+    /*
+     * returns the where clause which matches the notes shown by the passed filter
+     */
+    private static String getWhereForFilter(NotesListFilter filter) {
+        switch (filter) {
+            case FILTER_UNREAD:
+                return "is_unread=1";
+            case FILTER_COMMENT:
+                return "is_comment=1";
+            case FILTER_FOLLOW:
+                return "type=" + DatabaseUtils.sqlEscapeString(Note.NOTE_FOLLOW_TYPE);
+            case FILTER_LIKE:
+                return "type=" + DatabaseUtils.sqlEscapeString(Note.NOTE_LIKE_TYPE);
+            default:
+                return null;
+        }
+    }
+
+    public static ArrayList<Note> getLatestNotes(NotesListFilter filter, int limit) {
+        // the note data is only read for notes which aren't cached or which changed since they were
+        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[] {"note_id", "note_hash", "is_unread"},
+                getWhereForFilter(filter), null, null, null, "timestamp DESC", "" + limit);
+        List<String> noteIds = new ArrayList<>();
+        Map<String, Note> notesById = new HashMap<>();
+        List<String> uncachedNoteIds = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                String noteId = cursor.getString(0);
+                noteIds.add(noteId);
+                CachedNote cachedNote = sNoteCache.get(noteId);
+                if (cachedNote != null
+                        && cachedNote.mNoteHash == cursor.getLong(1)
+                        && cachedNote.mIsUnread == SqlUtils.sqlToBool(cursor.getInt(2))) {
+                    notesById.put(noteId, cachedNote.mNote);
+                } else {
+                    uncachedNoteIds.add(noteId);
+                }
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+
+        for (int i = 0; i < uncachedNoteIds.size(); i += MAX_NOTES_PER_QUERY) {
+            List<String> ids = uncachedNoteIds.subList(i, Math.min(i + MAX_NOTES_PER_QUERY, uncachedNoteIds.size()));
+            notesById.putAll(getNotesByIds(ids));
+        }
+
+        ArrayList<Note> notes = new ArrayList<>(noteIds.size());
+        for (String noteId : noteIds) {
+            Note note = notesById.get(noteId);
+            if (note != null) {
                 notes.add(note);
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.DB, "Can't parse notification with note_id:" + note_id + ", exception:" + e);
             }
         }
-        cursor.close();
         return notes;
     }
 
+    /*
+     * reads and parses the passed notes, and caches them - notes which can't be parsed are skipped
+     */
+    private static Map<String, Note> getNotesByIds(List<String> noteIds) {
+        Map<String, Note> notes = new HashMap<>();
+        String placeholders = TextUtils.join(",", Collections.nCopies(noteIds.size(), "?"));
+        Cursor cursor = getDb().rawQuery("SELECT note_id, raw_note_data FROM " + NOTIFICATIONS_TABLE
+                + " WHERE note_id IN (" + placeholders + ")", noteIds.toArray(new String[noteIds.size()]));
+        try {
+            while (cursor.moveToNext()) {
+                String note_id = cursor.getString(0);
+                try {
+                    Note note = new Note(note_id, new JSONObject(cursor.getString(1)));
+                    cacheNote(note);
+                    notes.put(note_id, note);
+                } catch (JSONException e) {
+                    AppLog.e(AppLog.T.DB, "Can't parse notification with note_id:" + note_id + ", exception:" + e);
+                }
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+        return notes;
+    }
+
+    private static void cacheNote(Note note) {
+        sNoteCache.put(note.getId(), new CachedNote(note.getNoteHash(), note.isUnread(), note));
+    }
+
+    /*
+     * returns the number of notes matching the passed filter, ex: the number of unread notes
+     */
+    public static int getNotesCount(NotesListFilter filter) {
+        String where = getWhereForFilter(filter);
+        return SqlUtils.intForQuery(getDb(), "SELECT COUNT(*) FROM " + NOTIFICATIONS_TABLE
+                + (where != null ? " WHERE " + where : ""), null);
+    }
+
+    /*
+     * returns the note_hash of every stored note keyed by note_id, used to find which notes changed
+     * on the server since they were downloaded
+     */
+    public static Map<String, Long> getNoteHashes() {
+        Map<String, Long> hashes = new HashMap<>();
+        Cursor cursor = getDb().rawQuery("SELECT note_id, note_hash FROM " + NOTIFICATIONS_TABLE, null);
+        try {
+            while (cursor.moveToNext()) {
+                hashes.put(cursor.getString(0), cursor.getLong(1));
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+        return hashes;
+    }
+
+    /*
+     * returns the ids of the stored notes which are unread, used along with their hashes to find
+     * which notes were read or unread on another device since they were downloaded
+     */
+    public static Set<String> getUnreadNoteIds() {
+        Set<String> noteIds = new HashSet<>();
+        Cursor cursor = getDb().rawQuery("SELECT note_id FROM " + NOTIFICATIONS_TABLE + " WHERE is_unread=1", null);
+        try {
+            while (cursor.moveToNext()) {
+                noteIds.add(cursor.getString(0));
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+        return noteIds;
+    }
+
+    public static void deleteNotes(Collection<String> noteIds) {
+        if (noteIds.isEmpty()) {
+            return;
+        }
+        getDb().beginTransaction();
+        try {
+            for (String noteId : noteIds) {
+                getDb().delete(NOTIFICATIONS_TABLE, "note_id=?", new String[]{noteId});
+                sNoteCache.remove(noteId);
+            }
+            getDb().setTransactionSuccessful();
+        } finally {
+            getDb().endTransaction();
+        }
+    }
+
     private static boolean putNote(Note note, boolean checkBeforeInsert) {
         ContentValues values = new ContentValues();
         values.put("type", note.getType());
         values.put("timestamp", note.getTimestamp());
-        values.put("raw_note_data", note.getJSON().toString());
+        values.put("note_hash", note.getNoteHash());
+        values.put("is_unread", SqlUtils.boolToSql(note.isUnread()));
+        values.put("is_comment", SqlUtils.boolToSql(note.isCommentType()));
+        values.put("comment_status", note.getCommentStatus().toString());
+        values.put("site_id", note.getSiteId());
+        values.put("raw_note_data", note.getJSONString());
 
         long result;
         if(checkBeforeInsert && isNoteAvailable(note.getId())) {
@@ -77,6 +266,9 @@ public class NotificationsTable {
                     values,
                     "note_id=?",
                     args);
+            if (result == 1) {
+                cacheNote(note);
+            }
             return result == 1;
         }  else {
             // insert
@@ -84,6 +276,8 @@ public class NotificationsTable {
             result = getDb().insertWithOnConflict(NOTIFICATIONS_TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
             if (result == -1) {
                 AppLog.e(AppLog.T.DB, "An error occurred while saving the note into the DB -  note_id:" + note.getId());
+            } else {
+                cacheNote(note);
             }
             return result != -1;
         }
@@ -165,6 +359,7 @@ public class NotificationsTable {
         try {
             String[] args = {noteID};
             int result = getDb().delete(NOTIFICATIONS_TABLE, "note_id=?", args);
+            sNoteCache.remove(noteID);
             getDb().setTransactionSuccessful();
             return result != 0;
         } finally {
@@ -174,6 +369,7 @@ public class NotificationsTable {
 
     private static void clearNotes() {
         getDb().delete(NOTIFICATIONS_TABLE, null, null);
+        sNoteCache.evictAll();
     }
 
     /*
@@ -185,6 +381,7 @@ public class NotificationsTable {
         try {
             dropTables(db);
             createTables(db);
+            sNoteCache.evictAll();
             db.setTransactionSuccessful();
         } finally {
             db.endTransaction();
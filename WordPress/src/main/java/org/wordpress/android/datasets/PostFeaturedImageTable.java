@@ -0,0 +1,141 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import org.wordpress.android.WordPress;
+import org.wordpress.android.util.SqlUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * stores the featured image url resolved for each post in the post list, along with what it was
+ * resolved from (the post's featured image id and a hash of its content) so it only needs to be
+ * resolved again when those change - an empty image url means the post doesn't have an image
+ */
+public class PostFeaturedImageTable {
+    private static final String FEATURED_IMAGES_TABLE = "post_featured_images";
+
+    public static class FeaturedImage {
+        public final long featuredImageId;
+        public final long contentHash;
+        public final String imageUrl;
+
+        public FeaturedImage(long featuredImageId, long contentHash, String imageUrl) {
+            this.featuredImageId = featuredImageId;
+            this.contentHash = contentHash;
+            this.imageUrl = imageUrl;
+        }
+
+        public boolean isResolvedFrom(long featuredImageId, long contentHash) {
+            return this.featuredImageId == featuredImageId && this.contentHash == contentHash;
+        }
+    }
+
+    public static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + FEATURED_IMAGES_TABLE + " ("
+                + "    local_site_id        INTEGER DEFAULT 0,"
+                + "    is_page              INTEGER DEFAULT 0,"
+                + "    post_id              INTEGER DEFAULT 0,"   // local id of the post
+                + "    featured_image_id    INTEGER DEFAULT 0,"
+                + "    content_hash         INTEGER DEFAULT 0,"
+                + "    image_url            TEXT,"
+                + "    PRIMARY KEY (post_id)"
+                + " );");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_post_featured_images_site_id ON "
+                + FEATURED_IMAGES_TABLE + "(local_site_id, is_page)");
+    }
+
+    private static SQLiteDatabase getReadableDb() {
+        return WordPress.wpDB.getDatabase();
+    }
+    private static SQLiteDatabase getWritableDb() {
+        return WordPress.wpDB.getDatabase();
+    }
+
+    /*
+     * returns a hash of the passed post content which is stored with its featured image - not
+     * cryptographic, but it's only compared with the hash of the same post's content
+     */
+    public static long getContentHash(String content) {
+        if (content == null) {
+            return 0;
+        }
+        // combine the length with String's (cached) hash to make collisions less likely
+        return ((long) content.length() << 32) | (content.hashCode() & 0xffffffffL);
+    }
+
+    /*
+     * returns the stored featured images for all posts or pages in the passed site, keyed by local post id
+     */
+    public static Map<Integer, FeaturedImage> getFeaturedImagesForSite(int localSiteId, boolean isPage) {
+        Map<Integer, FeaturedImage> images = new HashMap<>();
+        Cursor c = getReadableDb().rawQuery(
+                "SELECT post_id, featured_image_id, content_hash, image_url FROM " + FEATURED_IMAGES_TABLE
+                + " WHERE local_site_id=? AND is_page=?",
+                new String[]{Integer.toString(localSiteId), Long.toString(SqlUtils.boolToSql(isPage))});
+        try {
+            while (c.moveToNext()) {
+                images.put(c.getInt(0), new FeaturedImage(c.getLong(1), c.getLong(2), c.getString(3)));
+            }
+            return images;
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+    }
+
+    /*
+     * stores the passed featured images (keyed by local post id) for the passed site and removes
+     * the images for the passed posts (which no longer exist) in a single transaction
+     */
+    public static void updateFeaturedImagesForSite(int localSiteId,
+                                                   boolean isPage,
+                                                   Map<Integer, FeaturedImage> changedImages,
+                                                   Collection<Integer> removedPostIds) {
+        if (changedImages.isEmpty() && removedPostIds.isEmpty()) {
+            return;
+        }
+
+        SQLiteDatabase db = getWritableDb();
+        SQLiteStatement stmtInsert = null;
+        SQLiteStatement stmtDelete = null;
+        db.beginTransaction();
+        try {
+            stmtInsert = db.compileStatement("INSERT OR REPLACE INTO " + FEATURED_IMAGES_TABLE
+                    + " (local_site_id, is_page, post_id, featured_image_id, content_hash, image_url)"
+                    + " VALUES (?1,?2,?3,?4,?5,?6)");
+            for (Map.Entry<Integer, FeaturedImage> entry : changedImages.entrySet()) {
+                FeaturedImage image = entry.getValue();
+                stmtInsert.bindLong(1, localSiteId);
+                stmtInsert.bindLong(2, SqlUtils.boolToSql(isPage));
+                stmtInsert.bindLong(3, entry.getKey());
+                stmtInsert.bindLong(4, image.featuredImageId);
+                stmtInsert.bindLong(5, image.contentHash);
+                stmtInsert.bindString(6, image.imageUrl != null ? image.imageUrl : "");
+                stmtInsert.execute();
+            }
+
+            stmtDelete = db.compileStatement("DELETE FROM " + FEATURED_IMAGES_TABLE + " WHERE post_id=?1");
+            for (Integer postId : removedPostIds) {
+                stmtDelete.bindLong(1, postId);
+                stmtDelete.execute();
+            }
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            SqlUtils.closeStatement(stmtInsert);
+            SqlUtils.closeStatement(stmtDelete);
+        }
+    }
+
+    /*
+     * removes the featured images for all sites - called when the user signs out
+     */
+    public static void reset() {
+        getWritableDb().delete(FEATURED_IMAGES_TABLE, null, null);
+    }
+}
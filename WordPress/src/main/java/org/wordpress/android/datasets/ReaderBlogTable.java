@@ -107,23 +107,57 @@ public class ReaderBlogTable {
                 args);
     }
 
+    /*
+     * resolves the column indexes of a blog info cursor once rather than for every row
+     */
+    private static class BlogColumnIndexes {
+        final int blogId;
+        final int feedId;
+        final int blogUrl;
+        final int imageUrl;
+        final int feedUrl;
+        final int name;
+        final int description;
+        final int isPrivate;
+        final int isJetpack;
+        final int isFollowing;
+        final int numFollowers;
+
+        BlogColumnIndexes(Cursor c) {
+            blogId = c.getColumnIndex("blog_id");
+            feedId = c.getColumnIndex("feed_id");
+            blogUrl = c.getColumnIndex("blog_url");
+            imageUrl = c.getColumnIndex("image_url");
+            feedUrl = c.getColumnIndex("feed_url");
+            name = c.getColumnIndex("name");
+            description = c.getColumnIndex("description");
+            isPrivate = c.getColumnIndex("is_private");
+            isJetpack = c.getColumnIndex("is_jetpack");
+            isFollowing = c.getColumnIndex("is_following");
+            numFollowers = c.getColumnIndex("num_followers");
+        }
+    }
+
     private static ReaderBlog getBlogInfoFromCursor(Cursor c) {
         if (c == null) {
             return null;
         }
+        return getBlogInfoFromCursor(c, new BlogColumnIndexes(c));
+    }
 
+    private static ReaderBlog getBlogInfoFromCursor(Cursor c, BlogColumnIndexes idx) {
         ReaderBlog blogInfo = new ReaderBlog();
-        blogInfo.blogId = c.getLong(c.getColumnIndex("blog_id"));
-        blogInfo.feedId = c.getLong(c.getColumnIndex("feed_id"));
-        blogInfo.setUrl(c.getString(c.getColumnIndex("blog_url")));
-        blogInfo.setImageUrl(c.getString(c.getColumnIndex("image_url")));
-        blogInfo.setFeedUrl(c.getString(c.getColumnIndex("feed_url")));
-        blogInfo.setName(c.getString(c.getColumnIndex("name")));
-        blogInfo.setDescription(c.getString(c.getColumnIndex("description")));
-        blogInfo.isPrivate = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_private")));
-        blogInfo.isJetpack = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_jetpack")));
-        blogInfo.isFollowing = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_following")));
-        blogInfo.numSubscribers = c.getInt(c.getColumnIndex("num_followers"));
+        blogInfo.blogId = c.getLong(idx.blogId);
+        blogInfo.feedId = c.getLong(idx.feedId);
+        blogInfo.setUrl(c.getString(idx.blogUrl));
+        blogInfo.setImageUrl(c.getString(idx.imageUrl));
+        blogInfo.setFeedUrl(c.getString(idx.feedUrl));
+        blogInfo.setName(c.getString(idx.name));
+        blogInfo.setDescription(c.getString(idx.description));
+        blogInfo.isPrivate = SqlUtils.sqlToBool(c.getInt(idx.isPrivate));
+        blogInfo.isJetpack = SqlUtils.sqlToBool(c.getInt(idx.isJetpack));
+        blogInfo.isFollowing = SqlUtils.sqlToBool(c.getInt(idx.isFollowing));
+        blogInfo.numSubscribers = c.getInt(idx.numFollowers);
 
         return blogInfo;
     }
@@ -165,8 +199,9 @@ public class ReaderBlogTable {
         try {
             ReaderBlogList blogs = new ReaderBlogList();
             if (c.moveToFirst()) {
+                BlogColumnIndexes idx = new BlogColumnIndexes(c);
                 do {
-                    ReaderBlog blogInfo = getBlogInfoFromCursor(c);
+                    ReaderBlog blogInfo = getBlogInfoFromCursor(c, idx);
                     blogs.add(blogInfo);
                 } while (c.moveToNext());
             }
@@ -299,15 +334,22 @@ public class ReaderBlogTable {
         try {
             ReaderRecommendBlogList blogs = new ReaderRecommendBlogList();
             if (c.moveToFirst()) {
+                int idxBlogId = c.getColumnIndex("blog_id");
+                int idxFollowRecoId = c.getColumnIndex("follow_reco_id");
+                int idxScore = c.getColumnIndex("score");
+                int idxTitle = c.getColumnIndex("title");
+                int idxBlogUrl = c.getColumnIndex("blog_url");
+                int idxImageUrl = c.getColumnIndex("image_url");
+                int idxReason = c.getColumnIndex("reason");
                 do {
                     ReaderRecommendedBlog blog = new ReaderRecommendedBlog();
-                    blog.blogId = c.getLong(c.getColumnIndex("blog_id"));
-                    blog.followRecoId = c.getLong(c.getColumnIndex("follow_reco_id"));
-                    blog.score = c.getInt(c.getColumnIndex("score"));
-                    blog.setTitle(c.getString(c.getColumnIndex("title")));
-                    blog.setBlogUrl(c.getString(c.getColumnIndex("blog_url")));
-                    blog.setImageUrl(c.getString(c.getColumnIndex("image_url")));
-                    blog.setReason(c.getString(c.getColumnIndex("reason")));
+                    blog.blogId = c.getLong(idxBlogId);
+                    blog.followRecoId = c.getLong(idxFollowRecoId);
+                    blog.score = c.getInt(idxScore);
+                    blog.setTitle(c.getString(idxTitle));
+                    blog.setBlogUrl(c.getString(idxBlogUrl));
+                    blog.setImageUrl(c.getString(idxImageUrl));
+                    blog.setReason(c.getString(idxReason));
                     blogs.add(blog);
                 } while (c.moveToNext());
             }
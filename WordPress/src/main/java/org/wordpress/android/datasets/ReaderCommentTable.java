@@ -64,12 +64,16 @@ public class ReaderCommentTable {
         createTables(db);
     }
 
-    protected static int purge(SQLiteDatabase db) {
+    /*
+     * purge at most maxRows unattached comments and comments beyond the first page
+     */
+    protected static int purge(SQLiteDatabase db, int maxRows) {
         // purge comments attached to posts that no longer exist
-        int numDeleted = db.delete("tbl_comments", "post_id NOT IN (SELECT DISTINCT post_id FROM tbl_posts)", null);
+        int numDeleted = ReaderDatabasePurger.deleteBatch(db, "tbl_comments",
+                "post_id NOT IN (SELECT DISTINCT post_id FROM tbl_posts)", null, maxRows);
 
         // purge all but the first page of comments
-        numDeleted += db.delete("tbl_comments", "page_number != 1", null);
+        numDeleted += ReaderDatabasePurger.deleteBatch(db, "tbl_comments", "page_number != 1", null, maxRows - numDeleted);
 
         return numDeleted;
     }
@@ -134,8 +138,9 @@ public class ReaderCommentTable {
         try {
             ReaderCommentList comments = new ReaderCommentList();
             if (c.moveToFirst()) {
+                CommentColumnIndexes idx = new CommentColumnIndexes(c);
                 do {
-                    comments.add(getCommentFromCursor(c));
+                    comments.add(getCommentFromCursor(c, idx));
                 } while (c.moveToNext());
             }
             return comments;
@@ -303,33 +308,77 @@ public class ReaderCommentTable {
                 "SELECT 1 FROM tbl_comments WHERE blog_id=? AND post_id=? AND comment_id=?", args);
     }
 
+    /*
+     * resolves the column indexes of a comment cursor once rather than for every row
+     */
+    private static class CommentColumnIndexes {
+        final int commentId;
+        final int blogId;
+        final int postId;
+        final int parentId;
+        final int published;
+        final int timestamp;
+        final int authorAvatar;
+        final int authorName;
+        final int authorUrl;
+        final int authorId;
+        final int authorBlogId;
+        final int status;
+        final int text;
+        final int numLikes;
+        final int isLiked;
+        final int pageNumber;
+
+        CommentColumnIndexes(Cursor c) {
+            commentId = c.getColumnIndex("comment_id");
+            blogId = c.getColumnIndex("blog_id");
+            postId = c.getColumnIndex("post_id");
+            parentId = c.getColumnIndex("parent_id");
+            published = c.getColumnIndex("published");
+            timestamp = c.getColumnIndex("timestamp");
+            authorAvatar = c.getColumnIndex("author_avatar");
+            authorName = c.getColumnIndex("author_name");
+            authorUrl = c.getColumnIndex("author_url");
+            authorId = c.getColumnIndex("author_id");
+            authorBlogId = c.getColumnIndex("author_blog_id");
+            status = c.getColumnIndex("status");
+            text = c.getColumnIndex("text");
+            numLikes = c.getColumnIndex("num_likes");
+            isLiked = c.getColumnIndex("is_liked");
+            pageNumber = c.getColumnIndex("page_number");
+        }
+    }
+
     private static ReaderComment getCommentFromCursor(Cursor c) {
         if (c == null) {
             throw new IllegalArgumentException("null comment cursor");
         }
+        return getCommentFromCursor(c, new CommentColumnIndexes(c));
+    }
 
+    private static ReaderComment getCommentFromCursor(Cursor c, CommentColumnIndexes idx) {
         ReaderComment comment = new ReaderComment();
 
-        comment.commentId = c.getLong(c.getColumnIndex("comment_id"));
-        comment.blogId = c.getLong(c.getColumnIndex("blog_id"));
-        comment.postId = c.getLong(c.getColumnIndex("post_id"));
-        comment.parentId = c.getLong(c.getColumnIndex("parent_id"));
+        comment.commentId = c.getLong(idx.commentId);
+        comment.blogId = c.getLong(idx.blogId);
+        comment.postId = c.getLong(idx.postId);
+        comment.parentId = c.getLong(idx.parentId);
 
-        comment.setPublished(c.getString(c.getColumnIndex("published")));
-        comment.timestamp = c.getLong(c.getColumnIndex("timestamp"));
+        comment.setPublished(c.getString(idx.published));
+        comment.timestamp = c.getLong(idx.timestamp);
 
-        comment.setAuthorAvatar(c.getString(c.getColumnIndex("author_avatar")));
-        comment.setAuthorName(c.getString(c.getColumnIndex("author_name")));
-        comment.setAuthorUrl(c.getString(c.getColumnIndex("author_url")));
-        comment.authorId = c.getLong(c.getColumnIndex("author_id"));
-        comment.authorBlogId = c.getLong(c.getColumnIndex("author_blog_id"));
+        comment.setAuthorAvatar(c.getString(idx.authorAvatar));
+        comment.setAuthorName(c.getString(idx.authorName));
+        comment.setAuthorUrl(c.getString(idx.authorUrl));
+        comment.authorId = c.getLong(idx.authorId);
+        comment.authorBlogId = c.getLong(idx.authorBlogId);
 
-        comment.setStatus(c.getString(c.getColumnIndex("status")));
-        comment.setText(c.getString(c.getColumnIndex("text")));
+        comment.setStatus(c.getString(idx.status));
+        comment.setText(c.getString(idx.text));
 
-        comment.numLikes = c.getInt(c.getColumnIndex("num_likes"));
-        comment.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_liked")));
-        comment.pageNumber = c.getInt(c.getColumnIndex("page_number"));
+        comment.numLikes = c.getInt(idx.numLikes);
+        comment.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(idx.isLiked));
+        comment.pageNumber = c.getInt(idx.pageNumber);
 
         return comment;
     }
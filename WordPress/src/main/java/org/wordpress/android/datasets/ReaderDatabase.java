@@ -19,7 +19,7 @@ import java.io.OutputStream;
  */
 public class ReaderDatabase extends SQLiteOpenHelper {
     protected static final String DB_NAME = "wpreader.db";
-    private static final int DB_VERSION = 133;
+    private static final int DB_VERSION = 136;
 
     /*
      * version history
@@ -85,6 +85,9 @@ public class ReaderDatabase extends SQLiteOpenHelper {
      *  131 - added tbl_posts.card_type
      *  132 - no schema changes, simply clearing to accommodate gallery card_type
      *  133 - no schema changes, simply clearing to accommodate video card_type
+     *  134 - added timestamp_published, timestamp_liked and timestamp_tagged to tbl_posts
+     *  135 - added tbl_posts_search and tbl_posts_search_docs for local search
+     *  136 - no schema changes, simply clearing to enable incremental vacuum
      */
 
     /*
@@ -112,6 +115,14 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         return getDatabase().getWritableDatabase();
     }
 
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        // only takes effect when the database is created, existing databases are switched to
+        // incremental vacuum by ReaderDatabasePurger
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+    }
+
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
@@ -162,6 +173,7 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         ReaderThumbnailTable.createTables(db);
         ReaderBlogTable.createTables(db);
         ReaderSearchTable.createTables(db);
+        ReaderPostSearchTable.createTables(db);
     }
 
     private void dropAllTables(SQLiteDatabase db) {
@@ -173,6 +185,7 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         ReaderThumbnailTable.dropTables(db);
         ReaderBlogTable.dropTables(db);
         ReaderSearchTable.dropTables(db);
+        ReaderPostSearchTable.dropTables(db);
     }
 
     /*
@@ -190,49 +203,10 @@ public class ReaderDatabase extends SQLiteOpenHelper {
     }
 
     /*
-     * purge older/unattached data - use purgeAsync() to do this in the background
+     * purge older/unattached data in the background - see ReaderDatabasePurger
      */
-    private static void purge() {
-        SQLiteDatabase db = getWritableDb();
-        db.beginTransaction();
-        try {
-            int numPostsDeleted = ReaderPostTable.purge(db);
-
-            // don't bother purging other data unless posts were purged
-            if (numPostsDeleted > 0) {
-                AppLog.i(T.READER, String.format("%d total posts purged", numPostsDeleted));
-
-                // purge unattached comments
-                int numCommentsDeleted = ReaderCommentTable.purge(db);
-                if (numCommentsDeleted > 0) {
-                    AppLog.i(T.READER, String.format("%d comments purged", numCommentsDeleted));
-                }
-
-                // purge unattached likes
-                int numLikesDeleted = ReaderLikeTable.purge(db);
-                if (numLikesDeleted > 0) {
-                    AppLog.i(T.READER, String.format("%d likes purged", numLikesDeleted));
-                }
-
-                // purge unattached thumbnails
-                int numThumbsPurged = ReaderThumbnailTable.purge(db);
-                if (numThumbsPurged > 0) {
-                    AppLog.i(T.READER, String.format("%d thumbnails purged", numThumbsPurged));
-                }
-            }
-            db.setTransactionSuccessful();
-        } finally {
-            db.endTransaction();
-        }
-    }
-
     public static void purgeAsync() {
-        new Thread() {
-            @Override
-            public void run() {
-                purge();
-            }
-        }.start();
+        ReaderDatabasePurger.start();
     }
 
     /*
@@ -0,0 +1,422 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.format.DateUtils;
+
+import org.wordpress.android.models.ReaderTagList;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.BackgroundExecutor;
+import org.wordpress.android.util.SqlUtils;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * purges older/unattached data from the reader database in small batches, each in its own short
+ * transaction, so the writer lock is never held for long and posts being stored while the purge
+ * runs don't have to wait for it. The purge is started when the app goes to the background, its
+ * batches run in time-boxed slices on the housekeeping lane, and it backs off while other lanes
+ * have work to do. Tables which can grow large also have a row and byte budget beyond which their
+ * oldest rows are deleted, and free pages are returned to the file system with an incremental
+ * vacuum once everything has been purged.
+ */
+public class ReaderDatabasePurger {
+    // the most rows deleted in a single transaction
+    private static final int BATCH_ROWS = 100;
+
+    // how long each slice runs and how long to wait between them
+    private static final long SLICE_MILLIS = 50;
+    private static final long SLICE_INTERVAL_MILLIS = 100;
+    private static final long BUSY_RETRY_MILLIS = 1000;
+
+    // a purge isn't started again within this long of the last one finishing
+    private static final long MIN_PURGE_INTERVAL_MILLIS = DateUtils.HOUR_IN_MILLIS;
+
+    // the most free pages released by each incremental vacuum
+    private static final int VACUUM_PAGES = 128;
+
+    // budgets for the tables which can grow large - the text columns account for most of their size
+    private static final int MAX_POST_ROWS = 5000;
+    private static final long MAX_POST_TEXT_BYTES = 32 * 1024 * 1024;
+    private static final int MAX_COMMENT_ROWS = 10000;
+    private static final long MAX_COMMENT_TEXT_BYTES = 8 * 1024 * 1024;
+
+    // SQLite's value for "PRAGMA auto_vacuum" when incremental vacuum is enabled
+    static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private static final AtomicBoolean sIsRunning = new AtomicBoolean();
+    private static final Handler sHandler = new Handler(Looper.getMainLooper());
+
+    private static volatile long sLastPurgeTime;
+
+    /*
+     * a single kind of purge - purge() deletes at most maxRows rows and is called repeatedly
+     * until it deletes fewer than that. Steps which need to measure a table first do it in
+     * prepare(), which is called once outside of any transaction before the first purge()
+     */
+    private abstract static class PurgeStep {
+        private final String mName;
+        private boolean mIsPrepared;
+        private int mNumDeleted;
+
+        PurgeStep(String name) {
+            mName = name;
+        }
+
+        void prepare(SQLiteDatabase db) {
+            // nop
+        }
+
+        abstract int purge(SQLiteDatabase db, int maxRows);
+    }
+
+    /*
+     * returns the number of rows in the passed table and the number of bytes in its text column
+     */
+    private static long[] measureTable(SQLiteDatabase db, String table, String textColumn) {
+        long[] rowsAndBytes = new long[2];
+        Cursor c = db.rawQuery("SELECT COUNT(*), IFNULL(SUM(LENGTH(CAST(" + textColumn + " AS BLOB))), 0) FROM "
+                + table, null);
+        try {
+            if (c.moveToFirst()) {
+                rowsAndBytes[0] = c.getLong(0);
+                rowsAndBytes[1] = c.getLong(1);
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return rowsAndBytes;
+    }
+
+    /*
+     * deletes the oldest rows in a table while it has more rows or its text column has more
+     * bytes than its budget allows - rows are deleted in the order they were inserted, which
+     * follows the table's own rowid order so no index is needed
+     */
+    private static class BudgetStep extends PurgeStep {
+        private final String mTable;
+        private final String mTextColumn;
+        private final int mMaxRows;
+        private final long mMaxBytes;
+
+        private long mExcessRows;
+        private long mExcessBytes;
+
+        BudgetStep(String table, String textColumn, int maxRows, long maxBytes) {
+            super(table + " budget");
+            mTable = table;
+            mTextColumn = textColumn;
+            mMaxRows = maxRows;
+            mMaxBytes = maxBytes;
+        }
+
+        @Override
+        void prepare(SQLiteDatabase db) {
+            long[] rowsAndBytes = measureTable(db, mTable, mTextColumn);
+            mExcessRows = rowsAndBytes[0] - mMaxRows;
+            mExcessBytes = rowsAndBytes[1] - mMaxBytes;
+        }
+
+        @Override
+        int purge(SQLiteDatabase db, int maxRows) {
+            if (mExcessRows <= 0 && mExcessBytes <= 0) {
+                return 0;
+            }
+
+            StringBuilder rowIds = new StringBuilder();
+            Cursor c = db.rawQuery("SELECT rowid, LENGTH(CAST(" + mTextColumn + " AS BLOB)) FROM " + mTable
+                    + " ORDER BY rowid LIMIT " + maxRows, null);
+            try {
+                while (c.moveToNext() && (mExcessRows > 0 || mExcessBytes > 0)) {
+                    if (rowIds.length() > 0) {
+                        rowIds.append(',');
+                    }
+                    rowIds.append(c.getLong(0));
+                    mExcessRows--;
+                    mExcessBytes -= c.getLong(1);
+                }
+            } finally {
+                SqlUtils.closeCursor(c);
+            }
+            if (rowIds.length() == 0) {
+                return 0;
+            }
+            return db.delete(mTable, "rowid IN (" + rowIds + ")", null);
+        }
+    }
+
+    /*
+     * deletes posts while tbl_posts has more rows or text bytes than its budget allows. Every tag's
+     * stream is trimmed by the same fraction, oldest first by the column that stream is sorted by,
+     * so each stream keeps its newest posts without a gap in them and older posts are requested
+     * again when the user scrolls back to them
+     */
+    private static class PostBudgetStep extends PurgeStep {
+        private ReaderTagList mTags;
+        private int[] mNumToKeep;
+        private int mTagIndex;
+
+        PostBudgetStep() {
+            super("tbl_posts budget");
+        }
+
+        @Override
+        void prepare(SQLiteDatabase db) {
+            long[] rowsAndBytes = measureTable(db, "tbl_posts", "text");
+            double fractionToKeep = 1;
+            if (rowsAndBytes[0] > MAX_POST_ROWS) {
+                fractionToKeep = Math.min(fractionToKeep, (double) MAX_POST_ROWS / rowsAndBytes[0]);
+            }
+            if (rowsAndBytes[1] > MAX_POST_TEXT_BYTES) {
+                fractionToKeep = Math.min(fractionToKeep, (double) MAX_POST_TEXT_BYTES / rowsAndBytes[1]);
+            }
+            if (fractionToKeep >= 1) {
+                return;
+            }
+
+            mTags = ReaderTagTable.getAllTags();
+            mNumToKeep = new int[mTags.size()];
+            for (int i = 0; i < mTags.size(); i++) {
+                mNumToKeep[i] = (int) (ReaderPostTable.getNumPostsWithTag(mTags.get(i)) * fractionToKeep);
+            }
+        }
+
+        @Override
+        int purge(SQLiteDatabase db, int maxRows) {
+            if (mTags == null) {
+                return 0;
+            }
+            int numDeleted = 0;
+            while (mTagIndex < mTags.size() && numDeleted < maxRows) {
+                int maxRowsForTag = maxRows - numDeleted;
+                int numDeletedForTag = ReaderPostTable.purgeOlderPostsInTag(db, mTags.get(mTagIndex),
+                        mNumToKeep[mTagIndex], maxRowsForTag);
+                numDeleted += numDeletedForTag;
+                if (numDeletedForTag < maxRowsForTag) {
+                    mTagIndex++;
+                }
+            }
+            return numDeleted;
+        }
+    }
+
+    // steps run in this order so rows attached to purged posts are purged after them
+    private final PurgeStep[] mSteps = {
+            new PurgeStep("posts") {
+                @Override
+                int purge(SQLiteDatabase db, int maxRows) {
+                    return ReaderPostTable.purge(db, maxRows);
+                }
+            },
+            new PostBudgetStep(),
+            new PurgeStep("search index") {
+                @Override
+                int purge(SQLiteDatabase db, int maxRows) {
+                    return ReaderPostSearchTable.purge(db, maxRows);
+                }
+            },
+            new PurgeStep("comments") {
+                @Override
+                int purge(SQLiteDatabase db, int maxRows) {
+                    return ReaderCommentTable.purge(db, maxRows);
+                }
+            },
+            new BudgetStep("tbl_comments", "text", MAX_COMMENT_ROWS, MAX_COMMENT_TEXT_BYTES),
+            new PurgeStep("likes") {
+                @Override
+                int purge(SQLiteDatabase db, int maxRows) {
+                    return ReaderLikeTable.purge(db, maxRows);
+                }
+            },
+            new PurgeStep("thumbnails") {
+                @Override
+                int purge(SQLiteDatabase db, int maxRows) {
+                    return ReaderThumbnailTable.purge(db, maxRows);
+                }
+            }
+    };
+
+    private int mStepIndex;
+    private boolean mIsVacuumed;
+    private int mNumSlices;
+    private long mBusyMillis;
+    private final long mStartTime = SystemClock.elapsedRealtime();
+    private final long mStartSize;
+
+    private ReaderDatabasePurger() {
+        mStartSize = getDatabaseSize(ReaderDatabase.getReadableDb());
+    }
+
+    /*
+     * starts purging the reader database in the background unless a purge is already running or
+     * the last one finished recently
+     */
+    public static void start() {
+        if (!sIsRunning.compareAndSet(false, true)) {
+            AppLog.d(T.READER, "reader db purge > already running");
+            return;
+        }
+        if (sLastPurgeTime != 0 && SystemClock.elapsedRealtime() - sLastPurgeTime < MIN_PURGE_INTERVAL_MILLIS) {
+            AppLog.d(T.READER, "reader db purge > purged recently");
+            sIsRunning.set(false);
+            return;
+        }
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.HOUSEKEEPING, new Runnable() {
+            @Override
+            public void run() {
+                new ReaderDatabasePurger().runSlice();
+            }
+        });
+    }
+
+    static long getDatabaseSize(SQLiteDatabase db) {
+        return SqlUtils.longForQuery(db, "PRAGMA page_count", null)
+                * SqlUtils.longForQuery(db, "PRAGMA page_size", null);
+    }
+
+    /*
+     * deletes at most maxRows rows matching the passed where clause from the passed table
+     */
+    static int deleteBatch(SQLiteDatabase db, String table, String where, String[] args, int maxRows) {
+        if (maxRows <= 0) {
+            return 0;
+        }
+        return db.delete(table, "rowid IN (SELECT rowid FROM " + table + " WHERE " + where
+                + " LIMIT " + maxRows + ")", args);
+    }
+
+    private void scheduleSlice(long delayMillis) {
+        sHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                BackgroundExecutor.execute(BackgroundExecutor.Lane.HOUSEKEEPING, new Runnable() {
+                    @Override
+                    public void run() {
+                        runSlice();
+                    }
+                });
+            }
+        }, delayMillis);
+    }
+
+    /*
+     * returns true if any other lane has work to do - database writes contend with the purge for
+     * the writer lock, and parsing and decoding for the disk and CPU
+     */
+    private static boolean isOtherWorkPending() {
+        return BackgroundExecutor.isBusy(BackgroundExecutor.Lane.DB_WRITE)
+                || BackgroundExecutor.isBusy(BackgroundExecutor.Lane.PARSE)
+                || BackgroundExecutor.isBusy(BackgroundExecutor.Lane.DECODE);
+    }
+
+    private void runSlice() {
+        // give way to posts, comments, images, etc., which are waiting to be handled
+        if (isOtherWorkPending()) {
+            scheduleSlice(BUSY_RETRY_MILLIS);
+            return;
+        }
+
+        long sliceStart = SystemClock.elapsedRealtime();
+        boolean isDone = false;
+        try {
+            SQLiteDatabase db = ReaderDatabase.getWritableDb();
+            while (!isDone && SystemClock.elapsedRealtime() - sliceStart < SLICE_MILLIS) {
+                if (mStepIndex < mSteps.length) {
+                    purgeBatch(db, mSteps[mStepIndex]);
+                } else {
+                    isDone = !vacuumBatch(db);
+                }
+            }
+        } catch (SQLException e) {
+            AppLog.e(T.READER, "reader db purge > failed", e);
+            isDone = true;
+        }
+
+        mNumSlices++;
+        mBusyMillis += SystemClock.elapsedRealtime() - sliceStart;
+        if (isDone) {
+            finish();
+        } else {
+            scheduleSlice(SLICE_INTERVAL_MILLIS);
+        }
+    }
+
+    private void purgeBatch(SQLiteDatabase db, PurgeStep step) {
+        // measuring a table can take a while, so it's done before the transaction starts
+        if (!step.mIsPrepared) {
+            step.mIsPrepared = true;
+            step.prepare(db);
+        }
+
+        int numDeleted;
+        db.beginTransaction();
+        try {
+            numDeleted = step.purge(db, BATCH_ROWS);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        step.mNumDeleted += numDeleted;
+        if (numDeleted < BATCH_ROWS) {
+            mStepIndex++;
+        }
+    }
+
+    /*
+     * releases some of the database's free pages, returns false when there's nothing to release
+     */
+    private boolean vacuumBatch(SQLiteDatabase db) {
+        if (SqlUtils.longForQuery(db, "PRAGMA freelist_count", null) == 0) {
+            return false;
+        }
+
+        // databases created before incremental vacuum was enabled need a full vacuum to switch
+        // to it - this only happens once, and the database was reset when it was enabled so
+        // it's small
+        if (SqlUtils.intForQuery(db, "PRAGMA auto_vacuum", null) != AUTO_VACUUM_INCREMENTAL) {
+            if (mIsVacuumed) {
+                return false;
+            }
+            AppLog.i(T.READER, "reader db purge > enabling incremental vacuum");
+            db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+            db.execSQL("VACUUM");
+            mIsVacuumed = true;
+            return true;
+        }
+
+        // the pragma frees pages as its rows are stepped through, so it's run as a query
+        Cursor c = db.rawQuery("PRAGMA incremental_vacuum(" + VACUUM_PAGES + ")", null);
+        try {
+            while (c.moveToNext()) {
+                // nop
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return true;
+    }
+
+    private void finish() {
+        long endSize = getDatabaseSize(ReaderDatabase.getReadableDb());
+        sLastPurgeTime = SystemClock.elapsedRealtime();
+        long purgeMillis = sLastPurgeTime - mStartTime;
+
+        StringBuilder deleted = new StringBuilder();
+        for (PurgeStep step : mSteps) {
+            if (step.mNumDeleted > 0) {
+                deleted.append(", ").append(step.mName).append('=').append(step.mNumDeleted);
+            }
+        }
+        AppLog.i(T.READER, String.format(Locale.US,
+                "reader db purge > finished in %dms (%dms over %d slices), size %dKB -> %dKB%s",
+                purgeMillis, mBusyMillis, mNumSlices, mStartSize / 1024, endSize / 1024, deleted));
+
+        sIsRunning.set(false);
+    }
+}
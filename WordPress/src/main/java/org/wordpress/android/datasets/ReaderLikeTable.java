@@ -39,11 +39,13 @@ public class ReaderLikeTable {
     }
 
     /*
-     * purge likes attached to posts/comments that no longer exist
+     * purge at most maxRows likes attached to posts/comments that no longer exist
      */
-    protected static int purge(SQLiteDatabase db) {
-        int numDeleted = db.delete("tbl_post_likes", "post_id NOT IN (SELECT DISTINCT post_id FROM tbl_posts)", null);
-        numDeleted += db.delete("tbl_comment_likes", "comment_id NOT IN (SELECT DISTINCT comment_id FROM tbl_comments)", null);
+    protected static int purge(SQLiteDatabase db, int maxRows) {
+        int numDeleted = ReaderDatabasePurger.deleteBatch(db, "tbl_post_likes",
+                "post_id NOT IN (SELECT DISTINCT post_id FROM tbl_posts)", null, maxRows);
+        numDeleted += ReaderDatabasePurger.deleteBatch(db, "tbl_comment_likes",
+                "comment_id NOT IN (SELECT DISTINCT comment_id FROM tbl_comments)", null, maxRows - numDeleted);
         return numDeleted;
     }
 
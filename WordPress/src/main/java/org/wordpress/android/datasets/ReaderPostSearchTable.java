@@ -0,0 +1,147 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.support.annotation.NonNull;
+
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderPostList;
+import org.wordpress.android.models.ReaderTag;
+import org.wordpress.android.util.SqlUtils;
+
+import java.util.Locale;
+
+/**
+ * full-text index of the title, excerpt, author and blog name of cached reader posts, used to show
+ * search results from posts which have already been downloaded while the server is searched.
+ * tbl_posts stores a post once for each tag it appears in, so each post is indexed once by its
+ * pseudo_id - tbl_posts_search_docs maps pseudo_ids to the docids of the full-text table
+ */
+public class ReaderPostSearchTable {
+    // the score of local search results is within this range so they sort below search results
+    // returned by the server, which never have a negative score - newer posts score higher
+    private static final String LOCAL_RESULT_SCORE = "(timestamp_published / 10000000000000.0) - 1";
+
+    protected static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_posts_search_docs ("
+                + " docid       INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + " pseudo_id   TEXT NOT NULL UNIQUE)");
+        db.execSQL("CREATE VIRTUAL TABLE tbl_posts_search USING fts4(title, excerpt, author_name, blog_name)");
+    }
+
+    protected static void dropTables(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS tbl_posts_search_docs");
+        db.execSQL("DROP TABLE IF EXISTS tbl_posts_search");
+    }
+
+    /*
+     * adds or updates the passed posts in the index - called from ReaderPostTable.addOrUpdatePosts()
+     * inside its transaction
+     */
+    static void addOrUpdatePosts(SQLiteDatabase db, ReaderPostList posts) {
+        SQLiteStatement stmtAddDoc = db.compileStatement(
+                "INSERT OR IGNORE INTO tbl_posts_search_docs (pseudo_id) VALUES (?1)");
+        SQLiteStatement stmtGetDoc = db.compileStatement(
+                "SELECT docid FROM tbl_posts_search_docs WHERE pseudo_id=?1");
+        SQLiteStatement stmtDelete = db.compileStatement(
+                "DELETE FROM tbl_posts_search WHERE docid=?1");
+        SQLiteStatement stmtInsert = db.compileStatement(
+                "INSERT INTO tbl_posts_search (docid, title, excerpt, author_name, blog_name) VALUES (?1,?2,?3,?4,?5)");
+        try {
+            for (ReaderPost post : posts) {
+                stmtAddDoc.bindString(1, post.getPseudoId());
+                stmtAddDoc.execute();
+                stmtGetDoc.bindString(1, post.getPseudoId());
+                long docId = stmtGetDoc.simpleQueryForLong();
+
+                stmtDelete.bindLong(1, docId);
+                stmtDelete.execute();
+
+                stmtInsert.bindLong(1, docId);
+                stmtInsert.bindString(2, post.getTitle());
+                stmtInsert.bindString(3, post.getExcerpt());
+                stmtInsert.bindString(4, post.getAuthorName());
+                stmtInsert.bindString(5, post.getBlogName());
+                stmtInsert.execute();
+            }
+        } finally {
+            SqlUtils.closeStatement(stmtAddDoc);
+            SqlUtils.closeStatement(stmtGetDoc);
+            SqlUtils.closeStatement(stmtDelete);
+            SqlUtils.closeStatement(stmtInsert);
+        }
+    }
+
+    /*
+     * removes at most maxRows posts which are no longer in tbl_posts from the index - no need to
+     * wrap this in a transaction since it's only called from ReaderDatabasePurger which already
+     * creates one
+     */
+    protected static int purge(SQLiteDatabase db, int maxRows) {
+        StringBuilder docIds = new StringBuilder();
+        Cursor c = db.rawQuery("SELECT docid FROM tbl_posts_search_docs"
+                + " WHERE pseudo_id NOT IN (SELECT pseudo_id FROM tbl_posts) LIMIT " + maxRows, null);
+        try {
+            while (c.moveToNext()) {
+                if (docIds.length() > 0) {
+                    docIds.append(',');
+                }
+                docIds.append(c.getLong(0));
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        if (docIds.length() == 0) {
+            return 0;
+        }
+
+        db.delete("tbl_posts_search", "docid IN (" + docIds + ")", null);
+        return db.delete("tbl_posts_search_docs", "docid IN (" + docIds + ")", null);
+    }
+
+    /*
+     * converts what the user typed into a full-text query which matches posts containing words
+     * starting with each of the typed words, or returns null if nothing searchable was typed
+     */
+    static String getFullTextQuery(@NonNull String query) {
+        StringBuilder sb = new StringBuilder();
+        for (String word : query.toLowerCase(Locale.getDefault()).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() > 0) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(word).append('*');
+            }
+        }
+        return sb.length() > 0 ? sb.toString() : null;
+    }
+
+    /*
+     * adds cached posts matching the passed query to the passed search tag so they can be shown
+     * right away - posts already in the search results are left alone, and local results are
+     * replaced when the server returns the same post. returns the number of posts added.
+     */
+    public static int addLocalSearchResults(@NonNull ReaderTag searchTag, @NonNull String query, int maxPosts) {
+        String ftsQuery = getFullTextQuery(query);
+        if (ftsQuery == null) {
+            return 0;
+        }
+
+        String matchingPseudoIds = "SELECT pseudo_id FROM tbl_posts_search_docs WHERE docid IN"
+                + " (SELECT docid FROM tbl_posts_search WHERE tbl_posts_search MATCH ?)";
+        return ReaderPostTable.copyPostsToTag(ReaderDatabase.getWritableDb(), matchingPseudoIds,
+                new String[]{ftsQuery}, searchTag, LOCAL_RESULT_SCORE, maxPosts);
+    }
+
+    /*
+     * returns the number of search results in the passed tag which were returned by the server,
+     * which is the offset to use when requesting more results
+     */
+    public static int getNumServerResults(@NonNull ReaderTag searchTag) {
+        String[] args = {searchTag.getTagSlug(), Integer.toString(searchTag.tagType.toInt())};
+        return SqlUtils.intForQuery(ReaderDatabase.getReadableDb(),
+                "SELECT count(*) FROM tbl_posts WHERE tag_name=? AND tag_type=? AND score >= 0",
+                args);
+    }
+}
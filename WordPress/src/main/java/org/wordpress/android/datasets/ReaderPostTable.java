@@ -20,6 +20,7 @@ import org.wordpress.android.ui.reader.models.ReaderBlogIdPostId;
 import org.wordpress.android.ui.reader.models.ReaderBlogIdPostIdList;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.CrashlyticsUtils;
+import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.SqlUtils;
 
 /**
@@ -73,7 +74,10 @@ public class ReaderPostTable {
           + "tag_name,"             // 41
           + "tag_type,"             // 42
           + "has_gap_marker,"       // 43
-          + "card_type";            // 44
+          + "card_type,"            // 44
+          + "timestamp_published,"  // 45
+          + "timestamp_liked,"      // 46
+          + "timestamp_tagged";     // 47
 
     // used when querying multiple rows and skipping text column
     private static final String COLUMN_NAMES_NO_TEXT =
@@ -119,7 +123,8 @@ public class ReaderPostTable {
           + "tag_name,"             // 40
           + "tag_type,"             // 41
           + "has_gap_marker,"       // 42
-          + "card_type";            // 43
+          + "card_type,"            // 43
+          + "timestamp_published";  // 44
 
     protected static void createTables(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE tbl_posts ("
@@ -167,13 +172,19 @@ public class ReaderPostTable {
                 + " tag_type            INTEGER DEFAULT 0,"
                 + " has_gap_marker      INTEGER DEFAULT 0,"
                 + " card_type           TEXT,"
+                + " timestamp_published INTEGER DEFAULT 0,"
+                + " timestamp_liked     INTEGER DEFAULT 0,"
+                + " timestamp_tagged    INTEGER DEFAULT 0,"
                 + " PRIMARY KEY (pseudo_id, tag_name, tag_type)"
                 + ")");
 
         db.execSQL("CREATE INDEX idx_posts_post_id_blog_id ON tbl_posts(post_id, blog_id)");
-        db.execSQL("CREATE INDEX idx_posts_date_published ON tbl_posts(date_published)");
-        db.execSQL("CREATE INDEX idx_posts_date_tagged ON tbl_posts(date_tagged)");
         db.execSQL("CREATE INDEX idx_posts_tag_name ON tbl_posts(tag_name)");
+
+        // posts in a tag are sorted by one of these depending on the tag - see getSortColumnForTag()
+        db.execSQL("CREATE INDEX idx_posts_timestamp_published ON tbl_posts(tag_name, tag_type, timestamp_published)");
+        db.execSQL("CREATE INDEX idx_posts_timestamp_liked ON tbl_posts(tag_name, tag_type, timestamp_liked)");
+        db.execSQL("CREATE INDEX idx_posts_timestamp_tagged ON tbl_posts(tag_name, tag_type, timestamp_tagged)");
     }
 
     protected static void dropTables(SQLiteDatabase db) {
@@ -186,49 +197,64 @@ public class ReaderPostTable {
     }
 
     /*
-     * purge table of unattached/older posts - no need to wrap this in a transaction since it's
-     * only called from ReaderDatabase.purge() which already creates a transaction
+     * purge at most maxRows unattached/older posts - no need to wrap this in a transaction since
+     * it's only called from ReaderDatabasePurger which already creates one
      */
-    protected static int purge(SQLiteDatabase db) {
+    protected static int purge(SQLiteDatabase db, int maxRows) {
         // delete posts attached to tags that no longer exist
-        int numDeleted = db.delete("tbl_posts", "tag_name NOT IN (SELECT DISTINCT tag_name FROM tbl_tags)", null);
+        int numDeleted = ReaderDatabasePurger.deleteBatch(db, "tbl_posts",
+                "tag_name NOT IN (SELECT DISTINCT tag_name FROM tbl_tags)", null, maxRows);
 
         // delete excess posts on a per-tag basis
-        ReaderTagList tags = ReaderTagTable.getAllTags();
-        for (ReaderTag tag: tags) {
-            numDeleted += purgePostsForTag(db, tag);
+        if (numDeleted < maxRows) {
+            ReaderTagList tags = ReaderTagTable.getAllTags();
+            for (ReaderTag tag : tags) {
+                numDeleted += purgePostsForTag(db, tag, maxRows - numDeleted);
+                if (numDeleted >= maxRows) {
+                    break;
+                }
+            }
         }
 
         // delete search results
-        numDeleted += purgeSearchResults(db);
+        numDeleted += purgeSearchResults(db, maxRows - numDeleted);
 
         return numDeleted;
     }
 
     /*
-     * purge excess posts in the passed tag
+     * purge at most maxRows excess posts in the passed tag
      */
     private static final int MAX_POSTS_PER_TAG = ReaderConstants.READER_MAX_POSTS_TO_DISPLAY;
-    private static int purgePostsForTag(SQLiteDatabase db, ReaderTag tag) {
+    private static int purgePostsForTag(SQLiteDatabase db, ReaderTag tag, int maxRows) {
+        return purgeOlderPostsInTag(db, tag, MAX_POSTS_PER_TAG, maxRows);
+    }
+
+    /*
+     * purge at most maxRows posts in the passed tag beyond its newest numToKeep posts - posts are
+     * sorted the same way as the tag's stream, so the ones which remain have no gap in them
+     */
+    protected static int purgeOlderPostsInTag(SQLiteDatabase db, ReaderTag tag, int numToKeep, int maxRows) {
         int numPosts = getNumPostsWithTag(tag);
-        if (numPosts <= MAX_POSTS_PER_TAG) {
+        if (numPosts <= numToKeep) {
             return 0;
         }
 
-        String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt()), Integer.toString(MAX_POSTS_PER_TAG)};
-        String where = "pseudo_id NOT IN (SELECT DISTINCT pseudo_id FROM tbl_posts WHERE tag_name=? AND "
-                       + "tag_type=? ORDER BY " + getSortColumnForTag(tag) + " DESC LIMIT ?)";
-        int numDeleted = db.delete("tbl_posts", where, args);
+        String tagType = Integer.toString(tag.tagType.toInt());
+        String[] args = {tag.getTagSlug(), tagType, tag.getTagSlug(), tagType, Integer.toString(numToKeep)};
+        String where = "tag_name=? AND tag_type=? AND pseudo_id NOT IN (SELECT DISTINCT pseudo_id FROM tbl_posts"
+                       + " WHERE tag_name=? AND tag_type=? ORDER BY " + getSortColumnForTag(tag) + " DESC LIMIT ?)";
+        int numDeleted = ReaderDatabasePurger.deleteBatch(db, "tbl_posts", where, args, maxRows);
         AppLog.d(AppLog.T.READER, String.format("reader post table > purged %d posts in tag %s", numDeleted, tag.getTagNameForLog()));
         return numDeleted;
     }
 
     /*
-     * purge all posts that were retained from previous searches
+     * purge at most maxRows posts that were retained from previous searches
      */
-    private static int purgeSearchResults(SQLiteDatabase db) {
+    private static int purgeSearchResults(SQLiteDatabase db, int maxRows) {
         String[] args = {Integer.toString(ReaderTagType.SEARCH.toInt())};
-        return db.delete("tbl_posts", "tag_type=?", args);
+        return ReaderDatabasePurger.deleteBatch(db, "tbl_posts", "tag_type=?", args, maxRows);
     }
 
     public static int getNumPostsInBlog(long blogId) {
@@ -499,10 +525,9 @@ public class ReaderPostTable {
         }
 
         // date field depends on the tag
-        String dateColumn = getSortColumnForTag(tag);
-        String sql = "SELECT " + dateColumn + " FROM tbl_posts"
+        String sql = "SELECT " + getDateColumnForTag(tag) + " FROM tbl_posts"
                    + " WHERE tag_name=? AND tag_type=?"
-                   + " ORDER BY " + dateColumn + " LIMIT 1";
+                   + " ORDER BY " + getSortColumnForTag(tag) + " LIMIT 1";
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, args);
     }
@@ -513,14 +538,14 @@ public class ReaderPostTable {
     public static String getOldestPubDateInBlog(long blogId) {
         String sql = "SELECT date_published FROM tbl_posts"
                   + " WHERE blog_id=? AND tag_name=''"
-                  + " ORDER BY date_published LIMIT 1";
+                  + " ORDER BY timestamp_published LIMIT 1";
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, new String[]{Long.toString(blogId)});
     }
 
     public static String getOldestPubDateInFeed(long feedId) {
         String sql = "SELECT date_published FROM tbl_posts"
                   + " WHERE feed_id=? AND tag_name=''"
-                  + " ORDER BY date_published LIMIT 1";
+                  + " ORDER BY timestamp_published LIMIT 1";
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, new String[]{Long.toString(feedId)});
     }
 
@@ -570,14 +595,20 @@ public class ReaderPostTable {
     }
 
     public static String getGapMarkerDateForTag(ReaderTag tag) {
+        return getGapMarkerColumnForTag(tag, getDateColumnForTag(tag));
+    }
+
+    /*
+     * returns the value of the passed column for the post with the gap marker in the passed tag
+     */
+    private static String getGapMarkerColumnForTag(ReaderTag tag, String column) {
         ReaderBlogIdPostId ids = getGapMarkerIdsForTag(tag);
         if (ids == null) {
             return null;
         }
 
-        String dateColumn = getSortColumnForTag(tag);
         String[] args = {Long.toString(ids.getBlogId()), Long.toString(ids.getPostId())};
-        String sql = "SELECT " + dateColumn + " FROM tbl_posts WHERE blog_id=? AND post_id=?";
+        String sql = "SELECT " + column + " FROM tbl_posts WHERE blog_id=? AND post_id=?";
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, args);
     }
 
@@ -588,8 +619,28 @@ public class ReaderPostTable {
      *      followed posts   sort by the date the post was published
      *      search results   sort by score
      *      tagged posts     sort by the date the post was tagged
+     *
+     * dates are sorted by their integer timestamp columns rather than the iso8601 strings
      */
     private static String getSortColumnForTag(ReaderTag tag) {
+        if (tag.isPostsILike()) {
+            return "timestamp_liked";
+        } else if (tag.isFollowedSites()) {
+            return "timestamp_published";
+        } else if (tag.tagType == ReaderTagType.SEARCH) {
+            return "score";
+        } else if (tag.isTagTopic()) {
+            return "timestamp_tagged";
+        } else {
+            return "timestamp_published";
+        }
+    }
+
+    /*
+     * returns the iso8601 date column matching the sort column for the passed tag - this is
+     * the value passed to the server when requesting older posts
+     */
+    private static String getDateColumnForTag(ReaderTag tag) {
         if (tag.isPostsILike()) {
             return "date_liked";
         } else if (tag.isFollowedSites()) {
@@ -603,18 +654,35 @@ public class ReaderPostTable {
         }
     }
 
+    /*
+     * returns the value of the passed post's sort column for the passed tag - see getSortColumnForTag()
+     */
+    private static String getSortValueForTag(ReaderTag tag, ReaderPost post) {
+        if (tag.isPostsILike()) {
+            return Long.toString(DateTimeUtils.timestampFromIso8601Millis(post.getDateLiked()));
+        } else if (tag.isFollowedSites()) {
+            return Long.toString(post.getTimestampPublished());
+        } else if (tag.tagType == ReaderTagType.SEARCH) {
+            return Double.toString(post.score);
+        } else if (tag.isTagTopic()) {
+            return Long.toString(DateTimeUtils.timestampFromIso8601Millis(post.getDateTagged()));
+        } else {
+            return Long.toString(post.getTimestampPublished());
+        }
+    }
+
     /*
      * delete posts with the passed tag that come before the one with the gap marker for
      * this tag - note this may leave some stray posts in tbl_posts, but these will
      * be cleaned up by the next purge
      */
     public static void deletePostsBeforeGapMarkerForTag(ReaderTag tag) {
-        String gapMarkerDate = getGapMarkerDateForTag(tag);
-        if (TextUtils.isEmpty(gapMarkerDate)) return;
+        String sortColumn = getSortColumnForTag(tag);
+        String gapMarkerValue = getGapMarkerColumnForTag(tag, sortColumn);
+        if (TextUtils.isEmpty(gapMarkerValue)) return;
 
-        String dateColumn = getSortColumnForTag(tag);
-        String[] args = {gapMarkerDate, tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
-        String where = "tag_name=? AND tag_type=? AND " + dateColumn + " < ?";
+        String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt()), gapMarkerValue};
+        String where = "tag_name=? AND tag_type=? AND " + sortColumn + " < ?";
         int numDeleted = ReaderDatabase.getWritableDb().delete("tbl_posts", where, args);
         if (numDeleted > 0) {
             AppLog.d(AppLog.T.READER, "removed " + numDeleted + " posts older than gap marker");
@@ -698,7 +766,7 @@ public class ReaderPostTable {
         SQLiteStatement stmtPosts = db.compileStatement(
                 "INSERT OR REPLACE INTO tbl_posts ("
                         + COLUMN_NAMES
-                        + ") VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9,?10,?11,?12,?13,?14,?15,?16,?17,?18,?19,?20,?21,?22,?23,?24,?25,?26,?27,?28,?29,?30,?31,?32,?33,?34,?35,?36,?37,?38,?39,?40,?41,?42,?43,?44)");
+                        + ") VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9,?10,?11,?12,?13,?14,?15,?16,?17,?18,?19,?20,?21,?22,?23,?24,?25,?26,?27,?28,?29,?30,?31,?32,?33,?34,?35,?36,?37,?38,?39,?40,?41,?42,?43,?44,?45,?46,?47)");
 
         db.beginTransaction();
         try {
@@ -754,9 +822,14 @@ public class ReaderPostTable {
                 stmtPosts.bindLong  (42, tagType);
                 stmtPosts.bindLong  (43, SqlUtils.boolToSql(hasGapMarker));
                 stmtPosts.bindString(44, ReaderCardType.toString(post.getCardType()));
+                stmtPosts.bindLong  (45, post.getTimestampPublished());
+                stmtPosts.bindLong  (46, DateTimeUtils.timestampFromIso8601Millis(post.getDateLiked()));
+                stmtPosts.bindLong  (47, DateTimeUtils.timestampFromIso8601Millis(post.getDateTagged()));
                 stmtPosts.execute();
             }
 
+            ReaderPostSearchTable.addOrUpdatePosts(db, posts);
+
             db.setTransactionSuccessful();
 
         } finally {
@@ -765,12 +838,64 @@ public class ReaderPostTable {
         }
     }
 
+    /*
+     * copies the newest posts whose pseudo_ids are returned by the passed query from whichever tag
+     * they're stored in to the passed tag, using the passed expression as their score - posts already
+     * in the tag aren't replaced. returns the number of posts copied.
+     */
+    static int copyPostsToTag(SQLiteDatabase db,
+                              String pseudoIdQuery,
+                              String[] queryArgs,
+                              ReaderTag tag,
+                              String scoreExpression,
+                              int maxPosts) {
+        // all columns except those which depend on the tag
+        StringBuilder columns = new StringBuilder();
+        for (String column : COLUMN_NAMES.split(",")) {
+            if (!column.equals("tag_name") && !column.equals("tag_type")
+                    && !column.equals("score") && !column.equals("has_gap_marker")) {
+                columns.append(column).append(',');
+            }
+        }
+
+        String sql = "INSERT OR IGNORE INTO tbl_posts (" + columns + "tag_name, tag_type, score, has_gap_marker)"
+                + " SELECT " + columns + "?, ?, " + scoreExpression + ", 0 FROM tbl_posts"
+                + " WHERE rowid IN (SELECT MIN(rowid) FROM tbl_posts WHERE pseudo_id IN (" + pseudoIdQuery + ")"
+                + " GROUP BY pseudo_id)"
+                + " ORDER BY timestamp_published DESC LIMIT " + maxPosts;
+        SQLiteStatement stmt = db.compileStatement(sql);
+        try {
+            stmt.bindString(1, tag.getTagSlug());
+            stmt.bindLong(2, tag.tagType.toInt());
+            for (int i = 0; i < queryArgs.length; i++) {
+                stmt.bindString(i + 3, queryArgs[i]);
+            }
+            return stmt.executeUpdateDelete();
+        } finally {
+            SqlUtils.closeStatement(stmt);
+        }
+    }
+
     public static ReaderPostList getPostsWithTag(ReaderTag tag, int maxPosts, boolean excludeTextColumn) {
+        return getPostsWithTagAfter(tag, null, maxPosts, excludeTextColumn);
+    }
+
+    /*
+     * same as getPostsWithTag() but only returns posts which sort after the passed one - used to
+     * load the posts in a tag one page at a time. this uses keyset pagination (sort column + pseudo_id)
+     * rather than OFFSET so SQLite can seek straight to the start of the page, and the page stays
+     * correct when posts are added above it. passing a null afterPost returns the first page.
+     */
+    public static ReaderPostList getPostsWithTagAfter(ReaderTag tag,
+                                                      ReaderPost afterPost,
+                                                      int maxPosts,
+                                                      boolean excludeTextColumn) {
         if (tag == null) {
             return new ReaderPostList();
         }
 
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
+        String sortColumn = getSortColumnForTag(tag);
         String sql = "SELECT " + columns + " FROM tbl_posts WHERE tag_name=? AND tag_type=?";
 
         if (tag.tagType == ReaderTagType.DEFAULT) {
@@ -783,13 +908,23 @@ public class ReaderPostTable {
             }
         }
 
-        sql += " ORDER BY " + getSortColumnForTag(tag) + " DESC";
+        String[] args;
+        if (afterPost != null) {
+            String sortValue = getSortValueForTag(tag, afterPost);
+            sql += " AND (" + sortColumn + " < ? OR (" + sortColumn + " = ? AND pseudo_id < ?))";
+            args = new String[]{tag.getTagSlug(), Integer.toString(tag.tagType.toInt()),
+                    sortValue, sortValue, afterPost.getPseudoId()};
+        } else {
+            args = new String[]{tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
+        }
+
+        // pseudo_id breaks ties so posts with the same sort value always appear in the same order
+        sql += " ORDER BY " + sortColumn + " DESC, pseudo_id DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
         }
 
-        String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
         Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, args);
         try {
             return getPostListFromCursor(cursor);
@@ -800,7 +935,7 @@ public class ReaderPostTable {
 
     public static ReaderPostList getPostsInBlog(long blogId, int maxPosts, boolean excludeTextColumn) {
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE blog_id=? AND tag_name='' ORDER BY date_published DESC";
+        String sql = "SELECT " + columns + " FROM tbl_posts WHERE blog_id=? AND tag_name='' ORDER BY timestamp_published DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
@@ -816,7 +951,7 @@ public class ReaderPostTable {
 
     public static ReaderPostList getPostsInFeed(long feedId, int maxPosts, boolean excludeTextColumn) {
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE feed_id=? AND tag_name='' ORDER BY date_published DESC";
+        String sql = "SELECT " + columns + " FROM tbl_posts WHERE feed_id=? AND tag_name='' ORDER BY timestamp_published DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
@@ -873,7 +1008,7 @@ public class ReaderPostTable {
      * same as getPostsInBlog() but only returns the blogId/postId pairs
      */
     public static ReaderBlogIdPostIdList getBlogIdPostIdsInBlog(long blogId, int maxPosts) {
-        String sql = "SELECT post_id FROM tbl_posts WHERE blog_id=? AND tag_name='' ORDER BY date_published DESC";
+        String sql = "SELECT post_id FROM tbl_posts WHERE blog_id=? AND tag_name='' ORDER BY timestamp_published DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
@@ -894,68 +1029,165 @@ public class ReaderPostTable {
         }
     }
 
-    private static ReaderPost getPostFromCursor(Cursor c) {
+    /*
+     * resolves the column indexes of a post cursor once so they don't have to be looked up by
+     * name for every column of every row - see getPostListFromCursor()
+     */
+    static class PostColumnIndexes {
+        final int text;
+        final int postId;
+        final int blogId;
+        final int feedId;
+        final int feedItemId;
+        final int authorId;
+        final int pseudoId;
+        final int authorName;
+        final int authorFirstName;
+        final int blogName;
+        final int blogUrl;
+        final int blogImageUrl;
+        final int excerpt;
+        final int format;
+        final int featuredImage;
+        final int featuredVideo;
+        final int title;
+        final int url;
+        final int shortUrl;
+        final int postAvatar;
+        final int datePublished;
+        final int dateLiked;
+        final int dateTagged;
+        final int score;
+        final int numReplies;
+        final int numLikes;
+        final int isLiked;
+        final int isFollowed;
+        final int isCommentsOpen;
+        final int isExternal;
+        final int isPrivate;
+        final int isVideopress;
+        final int isJetpack;
+        final int primaryTag;
+        final int secondaryTag;
+        final int attachmentsJson;
+        final int discoverJson;
+        final int xpostPostId;
+        final int xpostBlogId;
+        final int railcarJson;
+        final int cardType;
+        final int timestampPublished;
+
+        PostColumnIndexes(Cursor c) {
+            text = c.getColumnIndex("text");
+            postId = c.getColumnIndex("post_id");
+            blogId = c.getColumnIndex("blog_id");
+            feedId = c.getColumnIndex("feed_id");
+            feedItemId = c.getColumnIndex("feed_item_id");
+            authorId = c.getColumnIndex("author_id");
+            pseudoId = c.getColumnIndex("pseudo_id");
+            authorName = c.getColumnIndex("author_name");
+            authorFirstName = c.getColumnIndex("author_first_name");
+            blogName = c.getColumnIndex("blog_name");
+            blogUrl = c.getColumnIndex("blog_url");
+            blogImageUrl = c.getColumnIndex("blog_image_url");
+            excerpt = c.getColumnIndex("excerpt");
+            format = c.getColumnIndex("format");
+            featuredImage = c.getColumnIndex("featured_image");
+            featuredVideo = c.getColumnIndex("featured_video");
+            title = c.getColumnIndex("title");
+            url = c.getColumnIndex("url");
+            shortUrl = c.getColumnIndex("short_url");
+            postAvatar = c.getColumnIndex("post_avatar");
+            datePublished = c.getColumnIndex("date_published");
+            dateLiked = c.getColumnIndex("date_liked");
+            dateTagged = c.getColumnIndex("date_tagged");
+            score = c.getColumnIndex("score");
+            numReplies = c.getColumnIndex("num_replies");
+            numLikes = c.getColumnIndex("num_likes");
+            isLiked = c.getColumnIndex("is_liked");
+            isFollowed = c.getColumnIndex("is_followed");
+            isCommentsOpen = c.getColumnIndex("is_comments_open");
+            isExternal = c.getColumnIndex("is_external");
+            isPrivate = c.getColumnIndex("is_private");
+            isVideopress = c.getColumnIndex("is_videopress");
+            isJetpack = c.getColumnIndex("is_jetpack");
+            primaryTag = c.getColumnIndex("primary_tag");
+            secondaryTag = c.getColumnIndex("secondary_tag");
+            attachmentsJson = c.getColumnIndex("attachments_json");
+            discoverJson = c.getColumnIndex("discover_json");
+            xpostPostId = c.getColumnIndex("xpost_post_id");
+            xpostBlogId = c.getColumnIndex("xpost_blog_id");
+            railcarJson = c.getColumnIndex("railcar_json");
+            cardType = c.getColumnIndex("card_type");
+            timestampPublished = c.getColumnIndex("timestamp_published");
+        }
+    }
+
+    static ReaderPost getPostFromCursor(Cursor c) {
         if (c == null) {
             throw new IllegalArgumentException("getPostFromCursor > null cursor");
         }
+        return getPostFromCursor(c, new PostColumnIndexes(c));
+    }
 
+    static ReaderPost getPostFromCursor(Cursor c, PostColumnIndexes idx) {
         ReaderPost post = new ReaderPost();
 
         // text column is skipped when retrieving multiple rows
-        int idxText = c.getColumnIndex("text");
-        if (idxText > -1) {
-            post.setText(c.getString(idxText));
-        }
-
-        post.postId = c.getLong(c.getColumnIndex("post_id"));
-        post.blogId = c.getLong(c.getColumnIndex("blog_id"));
-        post.feedId = c.getLong(c.getColumnIndex("feed_id"));
-        post.feedItemId = c.getLong(c.getColumnIndex("feed_item_id"));
-        post.authorId = c.getLong(c.getColumnIndex("author_id"));
-        post.setPseudoId(c.getString(c.getColumnIndex("pseudo_id")));
-
-        post.setAuthorName(c.getString(c.getColumnIndex("author_name")));
-        post.setAuthorFirstName(c.getString(c.getColumnIndex("author_first_name")));
-        post.setBlogName(c.getString(c.getColumnIndex("blog_name")));
-        post.setBlogUrl(c.getString(c.getColumnIndex("blog_url")));
-        post.setBlogImageUrl(c.getString(c.getColumnIndex("blog_image_url")));
-        post.setExcerpt(c.getString(c.getColumnIndex("excerpt")));
-        post.setFormat(c.getString(c.getColumnIndex("format")));
-        post.setFeaturedImage(c.getString(c.getColumnIndex("featured_image")));
-        post.setFeaturedVideo(c.getString(c.getColumnIndex("featured_video")));
-
-        post.setTitle(c.getString(c.getColumnIndex("title")));
-        post.setUrl(c.getString(c.getColumnIndex("url")));
-        post.setShortUrl(c.getString(c.getColumnIndex("short_url")));
-        post.setPostAvatar(c.getString(c.getColumnIndex("post_avatar")));
-
-        post.setDatePublished(c.getString(c.getColumnIndex("date_published")));
-        post.setDateLiked(c.getString(c.getColumnIndex("date_liked")));
-        post.setDateTagged(c.getString(c.getColumnIndex("date_tagged")));
-
-        post.score = c.getDouble(c.getColumnIndex("score"));
-        post.numReplies = c.getInt(c.getColumnIndex("num_replies"));
-        post.numLikes = c.getInt(c.getColumnIndex("num_likes"));
-
-        post.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_liked")));
-        post.isFollowedByCurrentUser = SqlUtils.sqlToBool(c.getInt( c.getColumnIndex("is_followed")));
-        post.isCommentsOpen = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_comments_open")));
-        post.isExternal = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_external")));
-        post.isPrivate = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_private")));
-        post.isVideoPress = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_videopress")));
-        post.isJetpack = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_jetpack")));
-
-        post.setPrimaryTag(c.getString(c.getColumnIndex("primary_tag")));
-        post.setSecondaryTag(c.getString(c.getColumnIndex("secondary_tag")));
-
-        post.setAttachmentsJson(c.getString(c.getColumnIndex("attachments_json")));
-        post.setDiscoverJson(c.getString(c.getColumnIndex("discover_json")));
-
-        post.xpostPostId = c.getLong(c.getColumnIndex("xpost_post_id"));
-        post.xpostBlogId = c.getLong(c.getColumnIndex("xpost_blog_id"));
-
-        post.setRailcarJson(c.getString(c.getColumnIndex("railcar_json")));
-        post.setCardType(ReaderCardType.fromString(c.getString(c.getColumnIndex("card_type"))));
+        if (idx.text > -1) {
+            post.setText(c.getString(idx.text));
+        }
+
+        post.postId = c.getLong(idx.postId);
+        post.blogId = c.getLong(idx.blogId);
+        post.feedId = c.getLong(idx.feedId);
+        post.feedItemId = c.getLong(idx.feedItemId);
+        post.authorId = c.getLong(idx.authorId);
+        post.setPseudoId(c.getString(idx.pseudoId));
+
+        post.setAuthorName(c.getString(idx.authorName));
+        post.setAuthorFirstName(c.getString(idx.authorFirstName));
+        post.setBlogName(c.getString(idx.blogName));
+        post.setBlogUrl(c.getString(idx.blogUrl));
+        post.setBlogImageUrl(c.getString(idx.blogImageUrl));
+        post.setExcerpt(c.getString(idx.excerpt));
+        post.setFormat(c.getString(idx.format));
+        post.setFeaturedImage(c.getString(idx.featuredImage));
+        post.setFeaturedVideo(c.getString(idx.featuredVideo));
+
+        post.setTitle(c.getString(idx.title));
+        post.setUrl(c.getString(idx.url));
+        post.setShortUrl(c.getString(idx.shortUrl));
+        post.setPostAvatar(c.getString(idx.postAvatar));
+
+        post.setDatePublished(c.getString(idx.datePublished));
+        post.setDateLiked(c.getString(idx.dateLiked));
+        post.setDateTagged(c.getString(idx.dateTagged));
+        post.setTimestampPublished(c.getLong(idx.timestampPublished));
+
+        post.score = c.getDouble(idx.score);
+        post.numReplies = c.getInt(idx.numReplies);
+        post.numLikes = c.getInt(idx.numLikes);
+
+        post.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(idx.isLiked));
+        post.isFollowedByCurrentUser = SqlUtils.sqlToBool(c.getInt(idx.isFollowed));
+        post.isCommentsOpen = SqlUtils.sqlToBool(c.getInt(idx.isCommentsOpen));
+        post.isExternal = SqlUtils.sqlToBool(c.getInt(idx.isExternal));
+        post.isPrivate = SqlUtils.sqlToBool(c.getInt(idx.isPrivate));
+        post.isVideoPress = SqlUtils.sqlToBool(c.getInt(idx.isVideopress));
+        post.isJetpack = SqlUtils.sqlToBool(c.getInt(idx.isJetpack));
+
+        post.setPrimaryTag(c.getString(idx.primaryTag));
+        post.setSecondaryTag(c.getString(idx.secondaryTag));
+
+        post.setAttachmentsJson(c.getString(idx.attachmentsJson));
+        post.setDiscoverJson(c.getString(idx.discoverJson));
+
+        post.xpostPostId = c.getLong(idx.xpostPostId);
+        post.xpostBlogId = c.getLong(idx.xpostBlogId);
+
+        post.setRailcarJson(c.getString(idx.railcarJson));
+        post.setCardType(ReaderCardType.fromString(c.getString(idx.cardType)));
 
         return post;
     }
@@ -964,8 +1196,9 @@ public class ReaderPostTable {
         ReaderPostList posts = new ReaderPostList();
         try {
             if (cursor != null && cursor.moveToFirst()) {
+                PostColumnIndexes idx = new PostColumnIndexes(cursor);
                 do {
-                    posts.add(getPostFromCursor(cursor));
+                    posts.add(getPostFromCursor(cursor, idx));
                 } while (cursor.moveToNext());
             }
         } catch (IllegalStateException e) {
@@ -22,10 +22,11 @@ public class ReaderThumbnailTable {
     }
 
     /*
-     * purge table of thumbnails attached to posts that no longer exist
+     * purge at most maxRows thumbnails attached to posts that no longer exist
      */
-    protected static int purge(SQLiteDatabase db) {
-        return db.delete("tbl_thumbnails", "post_id NOT IN (SELECT DISTINCT post_id FROM tbl_posts)", null);
+    protected static int purge(SQLiteDatabase db, int maxRows) {
+        return ReaderDatabasePurger.deleteBatch(db, "tbl_thumbnails",
+                "post_id NOT IN (SELECT DISTINCT post_id FROM tbl_posts)", null, maxRows);
     }
 
     public static void addThumbnail(long postId, String fullUrl, String thumbnailUrl) {
@@ -160,8 +160,9 @@ public class ReaderUserTable {
         try {
             ReaderUserList users = new ReaderUserList();
             if (c.moveToFirst()) {
+                UserColumnIndexes idx = new UserColumnIndexes(c);
                 do {
-                    users.add(getUserFromCursor(c));
+                    users.add(getUserFromCursor(c, idx));
                 } while (c.moveToNext());
             }
             return users;
@@ -184,8 +185,9 @@ public class ReaderUserTable {
         try {
             ReaderUserList users = new ReaderUserList();
             if (c.moveToFirst()) {
+                UserColumnIndexes idx = new UserColumnIndexes(c);
                 do {
-                    users.add(getUserFromCursor(c));
+                    users.add(getUserFromCursor(c, idx));
                 } while (c.moveToNext());
             }
             return users;
@@ -194,16 +196,43 @@ public class ReaderUserTable {
         }
     }
 
+    /*
+     * resolves the column indexes of a user cursor once rather than for every row
+     */
+    private static class UserColumnIndexes {
+        final int userId;
+        final int blogId;
+        final int userName;
+        final int displayName;
+        final int url;
+        final int profileUrl;
+        final int avatarUrl;
+
+        UserColumnIndexes(Cursor c) {
+            userId = c.getColumnIndex("user_id");
+            blogId = c.getColumnIndex("blog_id");
+            userName = c.getColumnIndex("user_name");
+            displayName = c.getColumnIndex("display_name");
+            url = c.getColumnIndex("url");
+            profileUrl = c.getColumnIndex("profile_url");
+            avatarUrl = c.getColumnIndex("avatar_url");
+        }
+    }
+
     private static ReaderUser getUserFromCursor(Cursor c) {
+        return getUserFromCursor(c, new UserColumnIndexes(c));
+    }
+
+    private static ReaderUser getUserFromCursor(Cursor c, UserColumnIndexes idx) {
         ReaderUser user = new ReaderUser();
 
-        user.userId = c.getLong(c.getColumnIndex("user_id"));
-        user.blogId = c.getLong(c.getColumnIndex("blog_id"));
-        user.setUserName(c.getString(c.getColumnIndex("user_name")));
-        user.setDisplayName(c.getString(c.getColumnIndex("display_name")));
-        user.setUrl(c.getString(c.getColumnIndex("url")));
-        user.setProfileUrl(c.getString(c.getColumnIndex("profile_url")));
-        user.setAvatarUrl(c.getString(c.getColumnIndex("avatar_url")));
+        user.userId = c.getLong(idx.userId);
+        user.blogId = c.getLong(idx.blogId);
+        user.setUserName(c.getString(idx.userName));
+        user.setDisplayName(c.getString(idx.displayName));
+        user.setUrl(c.getString(idx.url));
+        user.setProfileUrl(c.getString(idx.profileUrl));
+        user.setAvatarUrl(c.getString(idx.avatarUrl));
 
         return user;
     }
@@ -11,11 +11,31 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SuggestionTable {
     private static final String SUGGESTIONS_TABLE = "suggestions";
     private static final String TAXONOMY_TABLE = "taxonomy";
+    private static final String USAGE_TABLE = "suggestion_usage";
+
+    // the types of suggestion stored in the usage table
+    public static final String USAGE_TYPE_MENTION = "mention";
+    public static final String USAGE_TYPE_TAG = "tag";
+
+    /*
+     * how often and how recently the user picked a suggestion, used to rank suggestions
+     */
+    public static class SuggestionUsage {
+        public final int useCount;
+        public final long lastUsed;
+
+        public SuggestionUsage(int useCount, long lastUsed) {
+            this.useCount = useCount;
+            this.lastUsed = lastUsed;
+        }
+    }
 
     public static void createTables(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE IF NOT EXISTS " + SUGGESTIONS_TABLE + " ("
@@ -31,11 +51,20 @@ public class SuggestionTable {
                 + "    tag                  TEXT,"
                 + "    PRIMARY KEY (site_id, tag)"
                 + " );");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + USAGE_TABLE + " ("
+                + "    site_id              INTEGER DEFAULT 0,"
+                + "    type                 TEXT,"
+                + "    name                 TEXT,"
+                + "    use_count            INTEGER DEFAULT 0,"
+                + "    last_used            INTEGER DEFAULT 0,"   // millis
+                + "    PRIMARY KEY (site_id, type, name)"
+                + " );");
     }
 
     private static void dropTables(SQLiteDatabase db) {
         db.execSQL("DROP TABLE IF EXISTS " + SUGGESTIONS_TABLE);
         db.execSQL("DROP TABLE IF EXISTS " + TAXONOMY_TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + USAGE_TABLE);
     }
 
     public static void reset(SQLiteDatabase db) {
@@ -170,4 +199,40 @@ public class SuggestionTable {
                 siteId,
                 tag);
     }
+
+    /*
+     * records that the user picked the suggestion with the passed type and name (user login or tag)
+     */
+    public static void addSuggestionUse(long siteId, String type, String name, long timestamp) {
+        SQLiteDatabase db = getWritableDb();
+        String[] args = {Long.toString(siteId), type, name};
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT OR IGNORE INTO " + USAGE_TABLE + " (site_id, type, name) VALUES (?,?,?)", args);
+            db.execSQL("UPDATE " + USAGE_TABLE + " SET use_count=use_count+1, last_used=?"
+                    + " WHERE site_id=? AND type=? AND name=?",
+                    new String[]{Long.toString(timestamp), args[0], args[1], args[2]});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /*
+     * returns the usage of the suggestions with the passed type in the passed site, keyed by name
+     */
+    public static Map<String, SuggestionUsage> getSuggestionUsage(long siteId, String type) {
+        Map<String, SuggestionUsage> usage = new HashMap<>();
+        String[] args = {Long.toString(siteId), type};
+        Cursor c = getReadableDb().rawQuery(
+                "SELECT name, use_count, last_used FROM " + USAGE_TABLE + " WHERE site_id=? AND type=?", args);
+        try {
+            while (c.moveToNext()) {
+                usage.put(c.getString(0), new SuggestionUsage(c.getInt(1), c.getLong(2)));
+            }
+            return usage;
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+    }
 }
@@ -52,8 +52,13 @@ public class Note {
     private JSONObject mNoteJSON;
     private final String mKey;
 
+    // notes are shared by everything which loads them from NotificationsTable, so the JSON is only
+    // read or changed while holding this lock
     private final Object mSyncLock = new Object();
-    private String mLocalStatus;
+    private volatile String mLocalStatus;
+
+    // incremented when the JSON is changed in place, so anything built from it can tell it's out of date
+    private volatile int mVersion;
 
     public enum EnabledActions {
         ACTION_REPLY,
@@ -85,6 +90,19 @@ public class Note {
         return mNoteJSON != null ? mNoteJSON : new JSONObject();
     }
 
+    /*
+     * returns the note's JSON as a string, which is safe while another thread changes the note
+     */
+    public String getJSONString() {
+        synchronized (mSyncLock) {
+            return getJSON().toString();
+        }
+    }
+
+    public int getVersion() {
+        return mVersion;
+    }
+
     public String getId() {
         return mKey;
     }
@@ -284,10 +302,13 @@ public class Note {
     }
 
     public void setRead(){
-        try {
-            mNoteJSON.putOpt("read", 1);
-        } catch (JSONException e){
-            AppLog.e(AppLog.T.NOTIFS, "Failed to set 'read' property", e);
+        synchronized (mSyncLock) {
+            try {
+                mNoteJSON.putOpt("read", 1);
+                mVersion++;
+            } catch (JSONException e){
+                AppLog.e(AppLog.T.NOTIFS, "Failed to set 'read' property", e);
+            }
         }
     }
 
@@ -298,6 +319,15 @@ public class Note {
         return DateTimeUtils.timestampFromIso8601(getTimestampString());
     }
 
+    /**
+     * The hash provided by the API for the note, which changes whenever the note changes
+     */
+    public long getNoteHash() {
+        synchronized (mSyncLock) {
+            return mNoteJSON != null ? mNoteJSON.optLong("note_hash", 0) : 0;
+        }
+    }
+
     public String getTimestampString() {
         return queryJSON("timestamp", "");
     }
@@ -318,29 +348,31 @@ public class Note {
     }
 
     private JSONObject getCommentActions() {
-        if (mActions == null) {
-            // Find comment block that matches the root note comment id
-            long commentId = getCommentId();
-            JSONArray bodyArray = getBody();
-            for (int i = 0; i < bodyArray.length(); i++) {
-                try {
-                    JSONObject bodyItem = bodyArray.getJSONObject(i);
-                    if (bodyItem.has("type") && bodyItem.optString("type").equals("comment")
-                            && commentId == JSONUtils.queryJSON(bodyItem, "meta.ids.comment", 0)) {
-                        mActions = JSONUtils.queryJSON(bodyItem, "actions", new JSONObject());
+        synchronized (mSyncLock) {
+            if (mActions == null) {
+                // Find comment block that matches the root note comment id
+                long commentId = getCommentId();
+                JSONArray bodyArray = getBody();
+                for (int i = 0; i < bodyArray.length(); i++) {
+                    try {
+                        JSONObject bodyItem = bodyArray.getJSONObject(i);
+                        if (bodyItem.has("type") && bodyItem.optString("type").equals("comment")
+                                && commentId == JSONUtils.queryJSON(bodyItem, "meta.ids.comment", 0)) {
+                            mActions = JSONUtils.queryJSON(bodyItem, "actions", new JSONObject());
+                            break;
+                        }
+                    } catch (JSONException e) {
                         break;
                     }
-                } catch (JSONException e) {
-                    break;
                 }
-            }
 
-            if (mActions == null) {
-                mActions = new JSONObject();
+                if (mActions == null) {
+                    mActions = new JSONObject();
+                }
             }
-        }
 
-        return mActions;
+            return mActions;
+        }
     }
 
     /*
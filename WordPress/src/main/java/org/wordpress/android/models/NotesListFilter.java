@@ -0,0 +1,9 @@
+package org.wordpress.android.models;
+
+/*
+ * the filters which can be applied to the list of notifications
+ */
+public enum NotesListFilter {
+    FILTER_ALL, FILTER_LIKE, FILTER_COMMENT, FILTER_UNREAD,
+    FILTER_FOLLOW
+}
@@ -44,6 +44,7 @@ public class ReaderPost {
     private String dateLiked;
     private String dateTagged;
     private String datePublished;
+    private long timestampPublished;
     public double score;
 
     private String url;
@@ -457,6 +458,21 @@ public class ReaderPost {
     }
     public void setDatePublished(String dateStr) {
         this.datePublished = StringUtils.notNullStr(dateStr);
+        this.timestampPublished = 0;
+    }
+
+    /*
+     * published date in milliseconds - this is stored in the db when the post is saved, and
+     * otherwise parsed from the published date the first time it's requested
+     */
+    public long getTimestampPublished() {
+        if (timestampPublished == 0 && !TextUtils.isEmpty(datePublished)) {
+            timestampPublished = DateTimeUtils.timestampFromIso8601Millis(datePublished);
+        }
+        return timestampPublished;
+    }
+    public void setTimestampPublished(long timestamp) {
+        this.timestampPublished = timestamp;
     }
 
     public String getDateLiked() {
@@ -694,17 +710,6 @@ public class ReaderPost {
         return blavatarForDisplay;
     }
 
-    /*
-     * converts iso8601 pubDate to a java date for display - this is the date that appears on posts
-     */
-    private transient java.util.Date dtDisplay;
-    public java.util.Date getDisplayDate() {
-        if (dtDisplay == null) {
-            dtDisplay = DateTimeUtils.dateFromIso8601(this.datePublished);
-        }
-        return dtDisplay;
-    }
-
     /*
      * used when a unique numeric id is required by an adapter (when hasStableIds() = true)
      */
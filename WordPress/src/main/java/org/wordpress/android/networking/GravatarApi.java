@@ -14,9 +14,7 @@ import java.util.Map;
 
 import okhttp3.Call;
 import okhttp3.Callback;
-import okhttp3.Interceptor;
 import okhttp3.MultipartBody;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
@@ -28,28 +26,6 @@ public class GravatarApi {
         void onError();
     }
 
-    private static OkHttpClient createClient(final String accessToken) {
-        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder();
-
-        //// uncomment the following line to add logcat logging
-        //httpClientBuilder.addInterceptor(new HttpLoggingInterceptor().setLevel(HttpLoggingInterceptor.Level.BODY));
-
-        // add oAuth token usage
-        httpClientBuilder.addInterceptor(new Interceptor() {
-            @Override
-            public Response intercept(Interceptor.Chain chain) throws IOException {
-                Request original = chain.request();
-                Request.Builder requestBuilder = original.newBuilder()
-                        .header("Authorization", "Bearer " + accessToken)
-                        .method(original.method(), original.body());
-                Request request = requestBuilder.build();
-                return chain.proceed(request);
-            }
-        });
-
-        return httpClientBuilder.build();
-    }
-
     public static Request prepareGravatarUpload(String email, File file) {
         return new Request.Builder()
                 .url(API_BASE_URL + "upload-image")
@@ -63,9 +39,11 @@ public class GravatarApi {
 
     public static void uploadGravatar(final File file, final String email, final String accessToken,
                                       final GravatarUploadListener gravatarUploadListener) {
-        Request request = prepareGravatarUpload(email, file);
+        Request request = prepareGravatarUpload(email, file).newBuilder()
+                .tag(new HttpClientRegistry.BearerToken(accessToken))
+                .build();
 
-        createClient(accessToken).newCall(request).enqueue(
+        HttpClientRegistry.getClient().newCall(request).enqueue(
                 new Callback() {
                     @Override
                     public void onResponse(Call call, final Response response) throws IOException {
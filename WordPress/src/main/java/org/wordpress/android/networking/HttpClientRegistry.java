@@ -0,0 +1,145 @@
+package org.wordpress.android.networking;
+
+import android.support.annotation.NonNull;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * the OkHttpClient shared by all code which uses OkHttp directly, so connections, TLS sessions and
+ * HTTP/2 streams are reused across calls rather than each call creating a client with its own
+ * connection pool and dispatcher. Per-call auth is added by tagging the request with a BearerToken
+ * instead of building a client for each token.
+ */
+public class HttpClientRegistry {
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    private static final long DEFAULT_KEEP_ALIVE_MINUTES = 5;
+
+    private static OkHttpClient sClient;
+
+    // connections a request has been sent over - weak so closed connections aren't kept around
+    private static final Map<Connection, Boolean> sSeenConnections = new WeakHashMap<>();
+    private static final AtomicLong sNumConnectionsOpened = new AtomicLong();
+    private static final AtomicLong sNumConnectionsReused = new AtomicLong();
+
+    /*
+     * tag for requests which should be sent with an oAuth token, ex:
+     * new Request.Builder().url(url).tag(new BearerToken(accessToken))
+     */
+    public static class BearerToken {
+        private final String mToken;
+
+        public BearerToken(@NonNull String token) {
+            mToken = token;
+        }
+    }
+
+    private HttpClientRegistry() {
+        throw new AssertionError();
+    }
+
+    public static synchronized OkHttpClient getClient() {
+        if (sClient == null) {
+            sClient = createClient(new ConnectionPool(DEFAULT_MAX_IDLE_CONNECTIONS, DEFAULT_KEEP_ALIVE_MINUTES,
+                    TimeUnit.MINUTES));
+        }
+        return sClient;
+    }
+
+    /*
+     * replaces the connection pool used by the shared client - calls already running keep using the
+     * old pool, whose connections close once they've been idle for its keep-alive
+     */
+    public static synchronized void setConnectionPool(int maxIdleConnections, long keepAlive, TimeUnit timeUnit) {
+        ConnectionPool pool = new ConnectionPool(maxIdleConnections, keepAlive, timeUnit);
+        if (sClient == null) {
+            sClient = createClient(pool);
+        } else {
+            sClient = sClient.newBuilder().connectionPool(pool).build();
+        }
+    }
+
+    /*
+     * closes idle connections, ex: when the system is low on memory
+     */
+    public static synchronized void evictIdleConnections() {
+        if (sClient != null) {
+            sClient.connectionPool().evictAll();
+        }
+    }
+
+    private static OkHttpClient createClient(ConnectionPool pool) {
+        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder().connectionPool(pool);
+
+        //// uncomment the following line to add logcat logging
+        //httpClientBuilder.addInterceptor(new HttpLoggingInterceptor().setLevel(HttpLoggingInterceptor.Level.BODY));
+
+        // add oAuth token usage for requests tagged with a token
+        httpClientBuilder.addInterceptor(new Interceptor() {
+            @Override
+            public Response intercept(Interceptor.Chain chain) throws IOException {
+                Request original = chain.request();
+                if (!(original.tag() instanceof BearerToken)) {
+                    return chain.proceed(original);
+                }
+                Request request = original.newBuilder()
+                        .header("Authorization", "Bearer " + ((BearerToken) original.tag()).mToken)
+                        .build();
+                return chain.proceed(request);
+            }
+        });
+
+        // count how often requests reuse an existing connection
+        httpClientBuilder.addNetworkInterceptor(new Interceptor() {
+            @Override
+            public Response intercept(Interceptor.Chain chain) throws IOException {
+                Connection connection = chain.connection();
+                if (connection != null) {
+                    boolean isReused;
+                    synchronized (sSeenConnections) {
+                        isReused = sSeenConnections.put(connection, Boolean.TRUE) != null;
+                    }
+                    if (isReused) {
+                        sNumConnectionsReused.incrementAndGet();
+                    } else {
+                        sNumConnectionsOpened.incrementAndGet();
+                    }
+                }
+                return chain.proceed(chain.request());
+            }
+        });
+
+        return httpClientBuilder.build();
+    }
+
+    public static long getNumConnectionsOpened() {
+        return sNumConnectionsOpened.get();
+    }
+
+    public static long getNumConnectionsReused() {
+        return sNumConnectionsReused.get();
+    }
+
+    public static synchronized void logMetrics() {
+        StringBuilder sb = new StringBuilder("http client registry > opened=").append(getNumConnectionsOpened())
+                .append(", reused=").append(getNumConnectionsReused());
+        if (sClient != null) {
+            sb.append(", pooled=").append(sClient.connectionPool().connectionCount())
+                    .append(", idle=").append(sClient.connectionPool().idleConnectionCount());
+        }
+        AppLog.d(T.API, sb.toString());
+    }
+}
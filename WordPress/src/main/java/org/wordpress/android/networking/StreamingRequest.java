@@ -10,9 +10,13 @@ import okio.BufferedSink;
 import okio.Okio;
 import okio.Source;
 
+/**
+ * request body which streams a file to the server - the file is read straight into the sink's
+ * (pooled) segments, one segment at a time since that's the most Okio reads from a file in a
+ * single call, and complete segments are written out as they fill rather than flushing after
+ * every read
+ */
 public class StreamingRequest extends RequestBody {
-    public static final int CHUNK_SIZE = 2048;
-
     private final File mFile;
 
     public StreamingRequest(File file) {
@@ -24,18 +28,19 @@ public class StreamingRequest extends RequestBody {
         return MediaType.parse("multipart/form-data");
     }
 
+    @Override
+    public long contentLength() {
+        return mFile.length();
+    }
+
     @Override
     public void writeTo(BufferedSink sink) throws IOException {
         Source source = null;
         try {
             source = Okio.source(mFile);
-
-            while (source.read(sink.buffer(), CHUNK_SIZE) != -1) {
-                sink.flush();
-            }
+            sink.writeAll(source);
         } finally {
             Util.closeQuietly(source);
         }
     }
-};
-
+}
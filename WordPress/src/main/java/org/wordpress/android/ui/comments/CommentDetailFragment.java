@@ -32,7 +32,6 @@ import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.analytics.AnalyticsTracker.Stat;
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.datasets.ReaderPostTable;
-import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.action.CommentAction;
 import org.wordpress.android.fluxc.generated.CommentActionBuilder;
@@ -63,6 +62,8 @@ import org.wordpress.android.ui.reader.actions.ReaderActions;
 import org.wordpress.android.ui.reader.actions.ReaderPostActions;
 import org.wordpress.android.ui.suggestion.adapters.SuggestionAdapter;
 import org.wordpress.android.ui.suggestion.service.SuggestionEvents;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndexCache;
 import org.wordpress.android.ui.suggestion.util.SuggestionServiceConnectionManager;
 import org.wordpress.android.ui.suggestion.util.SuggestionUtils;
 import org.wordpress.android.util.AniUtils;
@@ -80,7 +81,6 @@ import org.wordpress.android.widgets.SuggestionAutoCompleteText;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Locale;
 
 import javax.inject.Inject;
@@ -527,8 +527,15 @@ public class CommentDetailFragment extends Fragment implements NotificationFragm
         // check if the updated suggestions are for the current blog and update the suggestions
         if (event.mRemoteBlogId != 0 && mSite != null
             && event.mRemoteBlogId == mSite.getSiteId() && mSuggestionAdapter != null) {
-            List<Suggestion> suggestions = SuggestionTable.getSuggestionsForSite(event.mRemoteBlogId);
-            mSuggestionAdapter.setSuggestionList(suggestions);
+            // the service built the index before posting this, so it's normally cached
+            final SuggestionAdapter adapter = mSuggestionAdapter;
+            SuggestionIndexCache.loadUserIndex(event.mRemoteBlogId,
+                    new SuggestionIndexCache.OnIndexLoadedListener<Suggestion>() {
+                        @Override
+                        public void onIndexLoaded(@NonNull SuggestionIndex<Suggestion> index) {
+                            adapter.setSuggestionIndex(index);
+                        }
+                    });
         }
     }
 
@@ -51,6 +51,7 @@ import org.wordpress.android.ui.photopicker.PhotoPickerActivity;
 import org.wordpress.android.ui.photopicker.PhotoPickerActivity.PhotoPickerMediaSource;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.FluxCUtils;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.util.HelpshiftHelper.Tag;
@@ -379,11 +380,11 @@ public class MeFragment extends Fragment {
         return GravatarUtils.fixGravatarUrl(account.getAvatarUrl(), avatarSz);
     }
 
-    private void loadAvatar(String avatarUrl, String injectFilePath) {
+    private void loadAvatar(final String avatarUrl, String injectFilePath) {
         if (injectFilePath != null && !injectFilePath.isEmpty()) {
             // invalidate the specific gravatar entry from the bitmap cache. It will be updated via the injected
             // request cache.
-            WordPress.getBitmapCache().removeSimilar(avatarUrl);
+            WordPress.getBitmapCache().removeUrlsWithPrefix(avatarUrl);
 
             try {
                 // fool the network requests cache by injecting the new image. The Gravatar backend (plus CDNs)
@@ -396,8 +397,33 @@ public class MeFragment extends Fragment {
             // reset the WPNetworkImageView
             mAvatarImageView.resetImage();
             mAvatarImageView.removeCurrentUrlFromSkiplist();
+
+            // also remove the circular avatars from the disk cache in the background, and only load the new
+            // avatar once they're gone so the old one can't be read from disk - ahead of other cleanup
+            // since the new avatar is waiting on it
+            Runnable removeVariants = new Runnable() {
+                @Override
+                public void run() {
+                    WordPress.getBitmapDiskCache().removeUrlVariants(avatarUrl);
+                    mAvatarImageView.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (isAdded()) {
+                                setAvatarImageUrl(avatarUrl);
+                            }
+                        }
+                    });
+                }
+            };
+            BackgroundExecutor.execute(BackgroundExecutor.Lane.HOUSEKEEPING, BackgroundExecutor.Priority.HIGH,
+                    removeVariants);
+            return;
         }
 
+        setAvatarImageUrl(avatarUrl);
+    }
+
+    private void setAvatarImageUrl(String avatarUrl) {
         mAvatarImageView.setImageUrl(avatarUrl, WPNetworkImageView.ImageType.AVATAR, new WPNetworkImageView
                 .ImageLoadListener() {
             @Override
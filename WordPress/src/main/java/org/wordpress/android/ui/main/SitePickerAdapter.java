@@ -5,6 +5,7 @@ import android.graphics.Typeface;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.AsyncTask;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
@@ -67,6 +68,7 @@ public class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.Si
     private boolean mShowSelfHostedSites = true;
     private String mLastSearch;
     private SiteList mAllSites;
+    private SiteSearchIndex mSearchIndex;
 
     private OnSiteClickListener mSiteSelectedListener;
     private OnSelectedCountChangedListener mSelectedCountListener;
@@ -75,6 +77,10 @@ public class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.Si
     // show recently picked first if there are at least this many blogs
     private static final int RECENTLY_PICKED_THRESHOLD = 15;
 
+    // search results are diffed against the displayed sites when there are at most this many of
+    // them combined - beyond that the diff can cost more than simply rebinding the visible sites
+    private static final int MAX_DIFFED_SITES = 1000;
+
     @Inject AccountStore mAccountStore;
     @Inject SiteStore mSiteStore;
 
@@ -222,7 +228,7 @@ public class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.Si
     }
 
     public void setLastSearch(String lastSearch) {
-        mLastSearch = lastSearch;
+        mLastSearch = StringUtils.notNullStr(lastSearch);
     }
 
     public boolean getIsInSearchMode() {
@@ -230,10 +236,21 @@ public class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.Si
     }
 
     public void searchSites(String searchText) {
-        mLastSearch = searchText;
-        mSites = filteredSitesByText(mAllSites);
+        mLastSearch = StringUtils.notNullStr(searchText);
+        if (mSearchIndex == null) {
+            mSearchIndex = new SiteSearchIndex(mAllSites);
+        }
+        SiteList results = mSearchIndex.search(mLastSearch);
 
-        notifyDataSetChanged();
+        if (mSites.size() + results.size() <= MAX_DIFFED_SITES) {
+            DiffUtil.DiffResult diffResult =
+                    DiffUtil.calculateDiff(new SitePickerDiffCallback(mSites, results), false);
+            mSites = results;
+            diffResult.dispatchUpdatesTo(this);
+        } else {
+            mSites = results;
+            notifyDataSetChanged();
+        }
     }
 
     private boolean isValidPosition(int position) {
@@ -383,30 +400,6 @@ public class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.Si
         new LoadSitesTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
-    private SiteList filteredSitesByTextIfInSearchMode(SiteList sites) {
-        if (!mIsInSearchMode) {
-            return sites;
-        } else {
-            return filteredSitesByText(sites);
-        }
-    }
-
-    private SiteList filteredSitesByText(SiteList sites) {
-        SiteList filteredSiteList = new SiteList();
-
-        for (int i = 0; i < sites.size(); i++) {
-            SiteRecord record = sites.get(i);
-            String siteNameLowerCase = record.blogName.toLowerCase();
-            String hostNameLowerCase = record.homeURL.toLowerCase();
-
-            if (siteNameLowerCase.contains(mLastSearch.toLowerCase()) || hostNameLowerCase.contains(mLastSearch.toLowerCase())) {
-                filteredSiteList.add(record);
-            }
-        }
-
-        return filteredSiteList;
-    }
-
     /*
      * AsyncTask which loads sites from database and populates the adapter
      */
@@ -471,7 +464,14 @@ public class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.Si
 
             if (mSites == null || !mSites.isSameList(sites)) {
                 mAllSites = (SiteList) sites.clone();
-                mSites = filteredSitesByTextIfInSearchMode(sites);
+                if (mIsInSearchMode) {
+                    // index the sites once here so each keystroke only has to query the index
+                    mSearchIndex = new SiteSearchIndex(mAllSites);
+                    mSites = mSearchIndex.search(mLastSearch);
+                } else {
+                    mSearchIndex = null;
+                    mSites = sites;
+                }
             }
 
             return null;
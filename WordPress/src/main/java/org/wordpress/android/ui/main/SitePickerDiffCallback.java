@@ -0,0 +1,48 @@
+package org.wordpress.android.ui.main;
+
+import android.support.v7.util.DiffUtil;
+
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteList;
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteRecord;
+import org.wordpress.android.util.StringUtils;
+
+/*
+ * used by SitePickerAdapter to determine the changes between the sites currently displayed and
+ * the results of a new search, so only sites which were added or removed are animated - sites
+ * are matched by their local id
+ */
+class SitePickerDiffCallback extends DiffUtil.Callback {
+    private final SiteList mOldSites;
+    private final SiteList mNewSites;
+
+    SitePickerDiffCallback(SiteList oldSites, SiteList newSites) {
+        mOldSites = oldSites;
+        mNewSites = newSites;
+    }
+
+    @Override
+    public int getOldListSize() {
+        return mOldSites.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+        return mNewSites.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        return mOldSites.get(oldItemPosition).localId == mNewSites.get(newItemPosition).localId;
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        SiteRecord oldSite = mOldSites.get(oldItemPosition);
+        SiteRecord newSite = mNewSites.get(newItemPosition);
+        return oldSite.isHidden == newSite.isHidden
+                && oldSite.isRecentPick == newSite.isRecentPick
+                && StringUtils.equals(oldSite.blogName, newSite.blogName)
+                && StringUtils.equals(oldSite.homeURL, newSite.homeURL)
+                && StringUtils.equals(oldSite.blavatarUrl, newSite.blavatarUrl);
+    }
+}
@@ -0,0 +1,210 @@
+package org.wordpress.android.ui.main;
+
+import android.support.annotation.NonNull;
+
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteList;
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * in-memory index used by SitePickerAdapter to filter sites by name and url as the user types -
+ * built once when the sites are loaded, it lowercases each site's name and url up front and maps
+ * every three-character sequence (trigram) in them to the sites containing it, so a search only
+ * has to check the sites which contain all of the search's trigrams
+ */
+class SiteSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    // results are ranked in this order, and by their order in the indexed list within each rank
+    private static final int RANK_PREFIX      = 0;    // name or url starts with the search
+    private static final int RANK_WORD_PREFIX = 1;    // a word in the name starts with the search
+    private static final int RANK_NAME        = 2;    // name contains the search
+    private static final int RANK_URL         = 3;    // only the url contains the search
+    private static final int NUM_RANKS        = 4;
+
+    private final SiteList mSites;
+    private final String[] mNames;
+    private final String[] mUrls;
+
+    // maps each trigram to the ascending positions of the sites containing it
+    private final HashMap<String, int[]> mGrams = new HashMap<>();
+
+    SiteSearchIndex(@NonNull SiteList sites) {
+        mSites = sites;
+        mNames = new String[sites.size()];
+        mUrls = new String[sites.size()];
+
+        HashMap<String, IntList> grams = new HashMap<>();
+        for (int i = 0; i < sites.size(); i++) {
+            SiteRecord site = sites.get(i);
+            mNames[i] = lowerCase(site.blogName);
+            mUrls[i] = lowerCase(site.homeURL);
+            addGrams(grams, mNames[i], i);
+            addGrams(grams, mUrls[i], i);
+        }
+
+        for (Map.Entry<String, IntList> entry : grams.entrySet()) {
+            mGrams.put(entry.getKey(), entry.getValue().toArray());
+        }
+    }
+
+    private static String lowerCase(String text) {
+        return text != null ? text.toLowerCase() : "";
+    }
+
+    private static void addGrams(HashMap<String, IntList> grams, String text, int position) {
+        for (int start = 0; start + GRAM_LENGTH <= text.length(); start++) {
+            String gram = text.substring(start, start + GRAM_LENGTH);
+            IntList positions = grams.get(gram);
+            if (positions == null) {
+                positions = new IntList();
+                grams.put(gram, positions);
+            }
+            // positions are added in ascending order, so a site is only added once per gram
+            if (positions.isEmpty() || positions.last() != position) {
+                positions.add(position);
+            }
+        }
+    }
+
+    /*
+     * returns the sites whose name or url contains the passed text (ignoring case), best matches first
+     */
+    SiteList search(@NonNull String searchText) {
+        String search = searchText.toLowerCase();
+        if (search.length() == 0) {
+            return (SiteList) mSites.clone();
+        }
+
+        @SuppressWarnings("unchecked")
+        ArrayList<SiteRecord>[] ranked = new ArrayList[NUM_RANKS];
+        for (int rank = 0; rank < NUM_RANKS; rank++) {
+            ranked[rank] = new ArrayList<>();
+        }
+
+        if (search.length() < GRAM_LENGTH) {
+            // too short to use the index, but the lowercased names and urls make scanning cheap
+            for (int i = 0; i < mSites.size(); i++) {
+                addIfMatches(ranked, search, i);
+            }
+        } else {
+            int[] candidates = getCandidates(search);
+            for (int position : candidates) {
+                addIfMatches(ranked, search, position);
+            }
+        }
+
+        SiteList results = new SiteList();
+        for (ArrayList<SiteRecord> sites : ranked) {
+            results.addAll(sites);
+        }
+        return results;
+    }
+
+    private void addIfMatches(ArrayList<SiteRecord>[] ranked, String search, int position) {
+        int rank = getRank(mNames[position], mUrls[position], search);
+        if (rank != -1) {
+            ranked[rank].add(mSites.get(position));
+        }
+    }
+
+    private static int getRank(String name, String url, String search) {
+        int index = name.indexOf(search);
+        if (index == 0 || url.startsWith(search)) {
+            return RANK_PREFIX;
+        }
+        if (index > 0) {
+            while (index > 0) {
+                if (!Character.isLetterOrDigit(name.charAt(index - 1))) {
+                    return RANK_WORD_PREFIX;
+                }
+                index = name.indexOf(search, index + 1);
+            }
+            return RANK_NAME;
+        }
+        return url.contains(search) ? RANK_URL : -1;
+    }
+
+    /*
+     * returns the positions of the sites which contain every trigram in the passed text - these
+     * still have to be checked since containing the trigrams doesn't mean containing the text
+     */
+    private int[] getCandidates(String search) {
+        int numGrams = search.length() - GRAM_LENGTH + 1;
+        int[][] lists = new int[numGrams][];
+        for (int start = 0; start < numGrams; start++) {
+            int[] positions = mGrams.get(search.substring(start, start + GRAM_LENGTH));
+            if (positions == null) {
+                return new int[0];
+            }
+            lists[start] = positions;
+        }
+
+        // intersect the shortest lists first so the candidates shrink as quickly as possible
+        Arrays.sort(lists, new Comparator<int[]>() {
+            @Override
+            public int compare(int[] list1, int[] list2) {
+                return list1.length - list2.length;
+            }
+        });
+
+        // copied since the candidates are narrowed in place
+        int[] candidates = lists[0].clone();
+        int numCandidates = candidates.length;
+        for (int i = 1; i < lists.length && numCandidates > 0; i++) {
+            numCandidates = intersect(candidates, numCandidates, lists[i]);
+        }
+        return numCandidates == candidates.length ? candidates : Arrays.copyOf(candidates, numCandidates);
+    }
+
+    /*
+     * keeps the first count positions in candidates which are also in positions, returning the
+     * number kept
+     */
+    private static int intersect(int[] candidates, int count, int[] positions) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < positions.length; i++) {
+            int candidate = candidates[i];
+            while (j < positions.length && positions[j] < candidate) {
+                j++;
+            }
+            if (j < positions.length && positions[j] == candidate) {
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    /*
+     * growable list of ints used while building the index, avoids boxing every position
+     */
+    private static class IntList {
+        private int[] mValues = new int[4];
+        private int mSize;
+
+        void add(int value) {
+            if (mSize == mValues.length) {
+                mValues = Arrays.copyOf(mValues, mSize * 2);
+            }
+            mValues[mSize++] = value;
+        }
+
+        boolean isEmpty() {
+            return mSize == 0;
+        }
+
+        int last() {
+            return mValues[mSize - 1];
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(mValues, mSize);
+        }
+    }
+}
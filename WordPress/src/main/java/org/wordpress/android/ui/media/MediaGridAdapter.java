@@ -1,12 +1,11 @@
 package org.wordpress.android.ui.media;
 
 import android.content.Context;
-import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.graphics.PorterDuff;
-import android.os.AsyncTask;
 import android.os.Handler;
 import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
@@ -20,16 +19,12 @@ import android.widget.TextView;
 import com.android.volley.toolbox.ImageLoader;
 
 import org.wordpress.android.R;
-import org.wordpress.android.WordPress;
 import org.wordpress.android.fluxc.model.MediaModel;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.models.MediaUploadState;
 import org.wordpress.android.ui.FadeInNetworkImageView;
 import org.wordpress.android.util.AniUtils;
-import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DisplayUtils;
-import org.wordpress.android.util.ImageUtils.BitmapWorkerCallback;
-import org.wordpress.android.util.ImageUtils.BitmapWorkerTask;
 import org.wordpress.android.util.MediaUtils;
 import org.wordpress.android.util.PhotonUtils;
 import org.wordpress.android.util.SiteUtils;
@@ -37,7 +32,6 @@ import org.wordpress.android.util.UrlUtils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.RejectedExecutionException;
 
 /**
  * An adapter for the media gallery grid.
@@ -50,7 +44,6 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
     private boolean mInMultiSelect;
     private boolean mShowPreviewIcon;
 
-    private final Handler mHandler;
     private final LayoutInflater mInflater;
 
     private ImageLoader mImageLoader;
@@ -62,6 +55,7 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
 
     private final int mThumbWidth;
     private final int mThumbHeight;
+    private final MediaThumbnailLoader mThumbnailLoader;
 
     private static final float SCALE_NORMAL = 1.0f;
     private static final float SCALE_SELECTED = .85f;
@@ -82,11 +76,11 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
         mContext = context;
         mSite = site;
         mInflater = LayoutInflater.from(context);
-        mHandler = new Handler();
 
         int displayWidth = DisplayUtils.getDisplayPixelWidth(mContext);
         mThumbWidth = displayWidth / getColumnCount(mContext);
         mThumbHeight = (int) (mThumbWidth * 0.75f);
+        mThumbnailLoader = new MediaThumbnailLoader(mThumbWidth, mThumbHeight);
 
         setImageLoader(imageLoader);
     }
@@ -111,6 +105,7 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
 
     public void setMediaList(@NonNull List<MediaModel> mediaList) {
         if (!isSameList(mediaList)) {
+            mThumbnailLoader.cancelAll();
             mMediaList.clear();
             mMediaList.addAll(mediaList);
             notifyDataSetChanged();
@@ -160,6 +155,7 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
         }
 
         MediaModel media = mMediaList.get(position);
+        mThumbnailLoader.cancel(holder.imageView);
         holder.imageView.setTag(null);
 
         String strState = media.getUploadState();
@@ -172,7 +168,7 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
         if (isImage) {
             holder.fileContainer.setVisibility(View.GONE);
             if (isLocalFile) {
-                loadLocalImage(media.getFilePath(), holder.imageView);
+                mThumbnailLoader.loadThumbnail(media.getFilePath(), holder.imageView, position);
             } else {
                 WordPressMediaUtils.loadNetworkImage(getBestImageUrl(media), holder.imageView, mImageLoader);
             }
@@ -232,6 +228,40 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
         }
     }
 
+    @Override
+    public void onViewRecycled(GridViewHolder holder) {
+        super.onViewRecycled(holder);
+        mThumbnailLoader.cancel(holder.imageView);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        recyclerView.addOnScrollListener(mScrollListener);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(mScrollListener);
+        mThumbnailLoader.cancelAll();
+        super.onDetachedFromRecyclerView(recyclerView);
+    }
+
+    /*
+     * keeps the thumbnail loader up to date with which items are visible so they're decoded first
+     */
+    private final RecyclerView.OnScrollListener mScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+            if (layoutManager instanceof LinearLayoutManager) {
+                LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+                mThumbnailLoader.setVisibleRange(linearLayoutManager.findFirstVisibleItemPosition(),
+                        linearLayoutManager.findLastVisibleItemPosition());
+            }
+        }
+    };
+
     public ArrayList<Integer> getSelectedItems() {
         return mSelectedItems;
     }
@@ -401,37 +431,6 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
         return state != MediaUploadState.DELETING && state != MediaUploadState.DELETED;
     }
 
-    private void loadLocalImage(final String filePath, ImageView imageView) {
-        imageView.setTag(filePath);
-
-        Bitmap bitmap = WordPress.getBitmapCache().get(filePath);
-        if (bitmap != null) {
-            imageView.setImageBitmap(bitmap);
-        } else {
-            imageView.setImageBitmap(null);
-            try {
-                new BitmapWorkerTask(imageView, mThumbWidth, mThumbHeight, new BitmapWorkerCallback() {
-                    @Override
-                    public void onBitmapReady(final String path, final ImageView imageView, final Bitmap bitmap) {
-                        mHandler.post(new Runnable() {
-                            @Override
-                            public void run() {
-                                WordPress.getBitmapCache().put(path, bitmap);
-                                if (imageView != null
-                                        && imageView.getTag() instanceof String
-                                        && ((String) imageView.getTag()).equalsIgnoreCase(path)) {
-                                    imageView.setImageBitmap(bitmap);
-                                }
-                            }
-                        });
-                    }
-                }).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, filePath);
-            } catch (RejectedExecutionException e) {
-                AppLog.e(AppLog.T.MEDIA, e);
-            }
-        }
-    }
-
     @Override
     public int getItemCount() {
         return mMediaList.size();
@@ -0,0 +1,217 @@
+package org.wordpress.android.ui.media;
+
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.widget.ImageView;
+
+import org.wordpress.android.WordPress;
+import org.wordpress.android.util.BackgroundExecutor;
+import org.wordpress.android.util.ImageUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Decodes thumbnails of local media files for MediaGridAdapter. Unlike starting a task per cell,
+ * pending decodes are picked in priority order (visible cells first, then those nearest the
+ * visible range), requests for views which are recycled are cancelled, and each file path is
+ * decoded once no matter how many views request it. Must only be called from the main thread.
+ */
+class MediaThumbnailLoader {
+    private final int mThumbWidth;
+    private final int mThumbHeight;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    // requests which haven't started decoding yet and requests which are being decoded, keyed by
+    // file path - guarded by mLock since requests are taken by the decode threads
+    private final HashMap<String, ThumbnailRequest> mPendingRequests = new HashMap<>();
+    private final HashMap<String, ThumbnailRequest> mActiveRequests = new HashMap<>();
+    private final Object mLock = new Object();
+
+    // the request each view is waiting on - this and the views in each request are only
+    // accessed from the main thread
+    private final HashMap<ImageView, ThumbnailRequest> mViewRequests = new HashMap<>();
+
+    private int mFirstVisiblePosition = -1;
+    private int mLastVisiblePosition = -1;
+
+    private static class ThumbnailRequest {
+        private final String mFilePath;
+        private final List<ImageView> mImageViews = new ArrayList<>();
+        private int mPosition;
+
+        ThumbnailRequest(String filePath, int position) {
+            mFilePath = filePath;
+            mPosition = position;
+        }
+    }
+
+    MediaThumbnailLoader(int thumbWidth, int thumbHeight) {
+        mThumbWidth = thumbWidth;
+        mThumbHeight = thumbHeight;
+    }
+
+    /*
+     * called as the grid scrolls so visible thumbnails can be decoded first
+     */
+    void setVisibleRange(int firstPosition, int lastPosition) {
+        synchronized (mLock) {
+            mFirstVisiblePosition = firstPosition;
+            mLastVisiblePosition = lastPosition;
+        }
+    }
+
+    /*
+     * shows the thumbnail for the passed file in the passed view, which is displaying the item at
+     * the passed adapter position
+     */
+    void loadThumbnail(String filePath, ImageView imageView, int position) {
+        cancel(imageView);
+        imageView.setTag(filePath);
+
+        Bitmap bitmap = WordPress.getBitmapCache().get(filePath);
+        if (bitmap != null) {
+            imageView.setImageBitmap(bitmap);
+            return;
+        }
+        imageView.setImageBitmap(null);
+
+        // piggyback on an existing request for this file if there is one
+        ThumbnailRequest request;
+        boolean isNewRequest = false;
+        synchronized (mLock) {
+            request = mActiveRequests.get(filePath);
+            if (request == null) {
+                request = mPendingRequests.get(filePath);
+                if (request == null) {
+                    request = new ThumbnailRequest(filePath, position);
+                    mPendingRequests.put(filePath, request);
+                    isNewRequest = true;
+                } else {
+                    request.mPosition = position;
+                }
+            }
+        }
+        request.mImageViews.add(imageView);
+        mViewRequests.put(imageView, request);
+
+        if (isNewRequest) {
+            BackgroundExecutor.execute(BackgroundExecutor.Lane.DECODE, new Runnable() {
+                @Override
+                public void run() {
+                    decodeNextRequest();
+                }
+            });
+        }
+    }
+
+    /*
+     * cancels the thumbnail request for the passed view - called when the view is recycled
+     */
+    void cancel(ImageView imageView) {
+        ThumbnailRequest request = mViewRequests.remove(imageView);
+        if (request == null) {
+            return;
+        }
+        request.mImageViews.remove(imageView);
+        if (request.mImageViews.isEmpty()) {
+            synchronized (mLock) {
+                // requests which are already being decoded finish, but their result is only cached
+                mPendingRequests.remove(request.mFilePath);
+            }
+        }
+    }
+
+    /*
+     * cancels all requests, called when the media list changes
+     */
+    void cancelAll() {
+        synchronized (mLock) {
+            mPendingRequests.clear();
+        }
+        for (ThumbnailRequest request : mViewRequests.values()) {
+            request.mImageViews.clear();
+        }
+        mViewRequests.clear();
+    }
+
+    /*
+     * runs on a decode thread - each request queues one of these, so there's always a thread
+     * available for each pending request, but the thread picks whichever request is most
+     * important when it runs rather than the one which queued it
+     */
+    private void decodeNextRequest() {
+        final ThumbnailRequest request;
+        synchronized (mLock) {
+            request = takeNextRequestLocked();
+        }
+        if (request == null) {
+            // the request which queued this was cancelled or already decoded
+            return;
+        }
+
+        final Bitmap bitmap = ImageUtils.decodeThumbnail(
+                request.mFilePath, mThumbWidth, mThumbHeight, WordPress.getBitmapCache().getBitmapPool());
+
+        mHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mLock) {
+                    mActiveRequests.remove(request.mFilePath);
+                }
+                for (ImageView imageView : request.mImageViews) {
+                    mViewRequests.remove(imageView);
+                }
+                if (bitmap == null) {
+                    return;
+                }
+                WordPress.getBitmapCache().put(request.mFilePath, bitmap);
+                for (ImageView imageView : request.mImageViews) {
+                    if (imageView.getTag() instanceof String
+                            && ((String) imageView.getTag()).equalsIgnoreCase(request.mFilePath)) {
+                        imageView.setImageBitmap(bitmap);
+                    }
+                }
+            }
+        });
+    }
+
+    /*
+     * removes and returns the pending request which should be decoded next - visible items in
+     * the order they appear, then the items closest to the visible range
+     */
+    private ThumbnailRequest takeNextRequestLocked() {
+        ThumbnailRequest bestRequest = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (ThumbnailRequest request : mPendingRequests.values()) {
+            int distance = getDistanceFromVisibleRange(request.mPosition);
+            if (bestRequest == null
+                    || distance < bestDistance
+                    || (distance == bestDistance && request.mPosition < bestRequest.mPosition)) {
+                bestRequest = request;
+                bestDistance = distance;
+            }
+        }
+        if (bestRequest != null) {
+            // still tracked while it's being decoded so views can join it
+            mPendingRequests.remove(bestRequest.mFilePath);
+            mActiveRequests.put(bestRequest.mFilePath, bestRequest);
+        }
+        return bestRequest;
+    }
+
+    private int getDistanceFromVisibleRange(int position) {
+        if (mFirstVisiblePosition < 0) {
+            // visible range isn't known yet, so decode in position order
+            return 0;
+        }
+        if (position < mFirstVisiblePosition) {
+            return mFirstVisiblePosition - position;
+        } else if (position > mLastVisiblePosition) {
+            return position - mLastVisiblePosition;
+        }
+        return 0;
+    }
+}
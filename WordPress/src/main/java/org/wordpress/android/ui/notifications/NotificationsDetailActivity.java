@@ -25,12 +25,12 @@ import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.store.AccountStore;
 import org.wordpress.android.fluxc.store.SiteStore;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.push.GCMMessageService;
 import org.wordpress.android.ui.ActivityLauncher;
 import org.wordpress.android.ui.WPWebViewActivity;
 import org.wordpress.android.ui.comments.CommentActions;
 import org.wordpress.android.ui.comments.CommentDetailFragment;
-import org.wordpress.android.ui.notifications.adapters.NotesAdapter;
 import org.wordpress.android.ui.notifications.blocks.NoteBlockRangeType;
 import org.wordpress.android.ui.notifications.services.NotificationsUpdateService;
 import org.wordpress.android.ui.notifications.utils.NotificationsActions;
@@ -136,9 +136,10 @@ public class NotificationsDetailActivity extends AppCompatActivity implements
             return;
         }
 
-        NotesAdapter.FILTERS filter = NotesAdapter.FILTERS.FILTER_ALL;
+        NotesListFilter filter = NotesListFilter.FILTER_ALL;
         if (getIntent().hasExtra(NotificationsListFragment.NOTE_CURRENT_LIST_FILTER_EXTRA)) {
-            filter = (NotesAdapter.FILTERS) getIntent().getSerializableExtra(NotificationsListFragment.NOTE_CURRENT_LIST_FILTER_EXTRA);
+            filter = (NotesListFilter) getIntent()
+                    .getSerializableExtra(NotificationsListFragment.NOTE_CURRENT_LIST_FILTER_EXTRA);
         }
 
         mAdapter = buildNoteListAdapterAndSetPosition(note, filter);
@@ -277,13 +278,10 @@ public class NotificationsDetailActivity extends AppCompatActivity implements
     }
 
     private NotificationDetailFragmentAdapter buildNoteListAdapterAndSetPosition(Note note,
-                                                                                 NotesAdapter.FILTERS filter) {
+                                                                                 NotesListFilter filter) {
         NotificationDetailFragmentAdapter adapter;
-        ArrayList<Note> notes = NotificationsTable.getLatestNotes();
-        ArrayList<Note> filteredNotes = new ArrayList<>();
-
         //apply filter to the list so we show the same items that the list show vertically, but horizontally
-        NotesAdapter.buildFilteredNotesList(filteredNotes, notes, filter);
+        ArrayList<Note> filteredNotes = NotificationsTable.getLatestNotes(filter);
         adapter = new NotificationDetailFragmentAdapter(getFragmentManager(), filteredNotes);
 
         mViewPager.setAdapter(adapter);
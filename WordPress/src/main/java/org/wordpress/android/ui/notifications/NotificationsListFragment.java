@@ -15,6 +15,7 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.Animation;
+import android.widget.RadioButton;
 import android.widget.RadioGroup;
 import android.widget.TextView;
 
@@ -29,6 +30,7 @@ import org.wordpress.android.fluxc.model.CommentStatus;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.store.AccountStore;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.push.GCMMessageService;
 import org.wordpress.android.ui.ActivityLauncher;
 import org.wordpress.android.ui.RequestCodes;
@@ -220,6 +222,7 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
 
     @Override
     public void onDataLoaded(int itemsCount) {
+        updateUnreadFilterLabel();
         if (itemsCount > 0) {
             hideEmptyView();
             if (mRestoredScrollNoteID > 0) {
@@ -230,6 +233,21 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
         }
     }
 
+    /*
+     * shows the number of unread notes on the unread filter
+     */
+    private void updateUnreadFilterLabel() {
+        if (!isAdded() || mFilterRadioGroup == null) return;
+
+        RadioButton unreadButton = (RadioButton) mFilterRadioGroup.findViewById(R.id.notifications_filter_unread);
+        int numUnread = getNotesAdapter().getNumUnreadNotes();
+        if (numUnread > 0) {
+            unreadButton.setText(getString(R.string.unread_with_count, numUnread));
+        } else {
+            unreadButton.setText(R.string.unread);
+        }
+    }
+
     private NotesAdapter getNotesAdapter() {
         if (mNotesAdapter == null) {
             mNotesAdapter = new NotesAdapter(getActivity(), this, null);
@@ -269,7 +287,7 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
                                         String noteId,
                                         boolean shouldShowKeyboard,
                                         String replyText,
-                                        NotesAdapter.FILTERS filter) {
+                                        NotesListFilter filter) {
         if (noteId == null || activity == null) {
             return;
         }
@@ -501,17 +519,17 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
                 // Filter the list according to the RadioGroup selection
                 int checkedId = mFilterRadioGroup.getCheckedRadioButtonId();
                 if (checkedId == R.id.notifications_filter_all) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_ALL);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_ALL);
                 } else if (checkedId == R.id.notifications_filter_unread) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_UNREAD);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_UNREAD);
                 } else if (checkedId == R.id.notifications_filter_comments) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_COMMENT);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_COMMENT);
                 } else if (checkedId == R.id.notifications_filter_follows) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_FOLLOW);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_FOLLOW);
                 } else if (checkedId == R.id.notifications_filter_likes) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_LIKE);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_LIKE);
                 } else {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_ALL);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_ALL);
                 }
 
                 restoreListScrollPosition();
@@ -544,7 +562,8 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
             return;
         }
         mSwipeRefreshLayout.setRefreshing(false);
-        mNotesAdapter.addAll(event.notes, true);
+        // the refreshed notes have been saved, so reload them from the db with the current filter
+        mNotesAdapter.reloadNotesFromDBAsync();
     }
 
     @SuppressWarnings("unused")
@@ -0,0 +1,91 @@
+package org.wordpress.android.ui.notifications.adapters;
+
+import android.support.annotation.NonNull;
+import android.text.TextUtils;
+
+import org.wordpress.android.fluxc.model.CommentStatus;
+import org.wordpress.android.models.Note;
+import org.wordpress.android.util.GravatarUtils;
+
+/*
+ * what NotesAdapter shows for a note - built off the main thread from the note's JSON and reused
+ * until the note changes, so binding a note doesn't have to query its JSON or build its subject spans.
+ * It's immutable so it can be handed from the loading thread to the main thread
+ */
+class NoteViewModel {
+    final Note note;
+    final int noteVersion;
+
+    final CharSequence subject;
+    final String subjectNoticon;
+    final String snippet;
+    final String avatarUrl;
+    final String noticonCharacter;
+    final long timestamp;
+    final long noteHash;
+    final boolean isUnread;
+    final boolean isUnapproved;
+
+    // depends on the current date, so it's set each time the list is loaded
+    final Note.NoteTimeGroup timeGroup;
+
+    NoteViewModel(@NonNull Note note, int avatarSz) {
+        this.note = note;
+        // read before the rest so a change made while this is built makes it out of date
+        this.noteVersion = note.getVersion();
+
+        // Subject is stored in db as html to preserve text formatting
+        CharSequence noteSubjectSpanned = note.getFormattedSubject();
+        // Trim the '\n\n' added by Html.fromHtml()
+        this.subject = noteSubjectSpanned.subSequence(0, TextUtils.getTrimmedLength(noteSubjectSpanned));
+
+        this.subjectNoticon = note.getCommentSubjectNoticon();
+        this.snippet = note.getCommentSubject();
+        this.avatarUrl = GravatarUtils.fixGravatarUrl(note.getIconURL(), avatarSz);
+        this.noticonCharacter = note.getNoticonCharacter();
+        this.timestamp = note.getTimestamp();
+        this.noteHash = note.getNoteHash();
+        this.isUnread = note.isUnread();
+        this.isUnapproved = note.getCommentStatus() == CommentStatus.UNAPPROVED;
+        this.timeGroup = Note.getTimeGroupForTimestamp(timestamp);
+    }
+
+    /*
+     * reuses what was built for an earlier copy of the same note, with its time group brought up to date
+     */
+    private NoteViewModel(@NonNull NoteViewModel from, @NonNull Note note) {
+        this.note = note;
+        this.noteVersion = note.getVersion();
+        this.subject = from.subject;
+        this.subjectNoticon = from.subjectNoticon;
+        this.snippet = from.snippet;
+        this.avatarUrl = from.avatarUrl;
+        this.noticonCharacter = from.noticonCharacter;
+        this.timestamp = from.timestamp;
+        this.noteHash = from.noteHash;
+        this.isUnread = from.isUnread;
+        this.isUnapproved = from.isUnapproved;
+        this.timeGroup = Note.getTimeGroupForTimestamp(timestamp);
+    }
+
+    /*
+     * returns a view model for the passed note, reusing this one if the note shows the same thing -
+     * the passed note may be a different instance if the table parsed it again
+     */
+    NoteViewModel forNote(@NonNull Note note, int avatarSz) {
+        // the hash doesn't change when a note is read or moderated locally, so those are compared too
+        if (noteHash == note.getNoteHash()
+                && isUnread == note.isUnread()
+                && isUnapproved == (note.getCommentStatus() == CommentStatus.UNAPPROVED)) {
+            return new NoteViewModel(this, note);
+        }
+        return new NoteViewModel(note, avatarSz);
+    }
+
+    /*
+     * returns true if this was built from the passed note and the note hasn't changed since
+     */
+    boolean isCurrent(@NonNull Note note) {
+        return this.note == note && noteVersion == note.getVersion();
+    }
+}
@@ -2,6 +2,8 @@ package org.wordpress.android.ui.notifications.adapters;
 
 import android.content.Context;
 import android.os.AsyncTask;
+import android.support.annotation.NonNull;
+import android.support.v4.util.LruCache;
 import android.support.v7.widget.RecyclerView;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
@@ -13,17 +15,17 @@ import org.wordpress.android.R;
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.fluxc.model.CommentStatus;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.ui.comments.CommentUtils;
 import org.wordpress.android.ui.notifications.NotificationsListFragment;
-import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.widgets.NoticonTextView;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHolder> {
+    private static final int MAX_VIEW_MODELS = 400;
 
     private final int mAvatarSz;
     private final int mColorRead;
@@ -34,15 +36,19 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
 
     private final DataLoadedListener mDataLoadedListener;
     private final OnLoadMoreListener mOnLoadMoreListener;
+    // notes matching the current filter, which is applied by the db query
     private final ArrayList<Note> mNotes = new ArrayList<>();
-    private final ArrayList<Note> mFilteredNotes = new ArrayList<>();
 
-    public enum FILTERS {
-        FILTER_ALL, FILTER_LIKE, FILTER_COMMENT, FILTER_UNREAD,
-        FILTER_FOLLOW
-    }
+    // view models keyed by note id - built in the background when notes are loaded
+    private final LruCache<String, NoteViewModel> mViewModels = new LruCache<>(MAX_VIEW_MODELS);
+
+    // incremented each time notes are loaded so an older load can't replace the results of a newer one
+    private int mLoadGeneration;
+
+    // the number of unread notes, counted in the db each time notes are loaded
+    private int mNumUnreadNotes;
 
-    private FILTERS mCurrentFilter = FILTERS.FILTER_ALL;
+    private NotesListFilter mCurrentFilter = NotesListFilter.FILTER_ALL;
 
     public interface DataLoadedListener {
         void onDataLoaded(int itemsCount);
@@ -68,15 +74,19 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         mTextIndentSize = context.getResources().getDimensionPixelSize(R.dimen.notifications_text_indent_sz);
     }
 
-    public void setFilter(FILTERS newFilter) {
+    public void setFilter(NotesListFilter newFilter) {
         mCurrentFilter = newFilter;
-        myNotifyDatasetChanged();
+        reloadNotesFromDBAsync();
     }
 
-    public FILTERS getCurrentFilter() {
+    public NotesListFilter getCurrentFilter() {
         return mCurrentFilter;
     }
 
+    public int getNumUnreadNotes() {
+        return mNumUnreadNotes;
+    }
+
     public void addHiddenNoteId(String noteId) {
         mHiddenNoteIds.add(noteId);
         myNotifyDatasetChanged();
@@ -99,20 +109,7 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         reloadNotesFromDBAsync();
     }
 
-    public void addAll(List<Note> notes, boolean clearBeforeAdding) {
-        Collections.sort(notes, new Note.TimeStampComparator());
-        try {
-            if (clearBeforeAdding) {
-                mNotes.clear();
-            }
-            mNotes.addAll(notes);
-        } finally {
-            myNotifyDatasetChanged();
-        }
-    }
-
     private void myNotifyDatasetChanged() {
-        buildFilteredNotesList(mFilteredNotes, mNotes, mCurrentFilter);
         notifyDataSetChanged();
         if (mDataLoadedListener != null) {
             mDataLoadedListener.onDataLoaded(getItemCount());
@@ -126,43 +123,37 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         return new NoteViewHolder(view);
     }
 
-    // Instead of building the filterd notes list dinamically, create it once and re-use it.
-    // Otherwise it's re-created so many times during layout.
-    public static void buildFilteredNotesList(ArrayList<Note> filteredNotes, ArrayList<Note> notes, FILTERS filter) {
-        filteredNotes.clear();
-        if (notes.isEmpty() || filter == FILTERS.FILTER_ALL) {
-            filteredNotes.addAll(notes);
-            return;
+    /*
+     * returns the view model for the passed note, building it if the note changed since it was loaded
+     */
+    private NoteViewModel getViewModel(@NonNull Note note) {
+        NoteViewModel viewModel = mViewModels.get(note.getId());
+        if (viewModel == null || !viewModel.isCurrent(note)) {
+            viewModel = new NoteViewModel(note, mAvatarSz);
+            mViewModels.put(note.getId(), viewModel);
         }
-        for( Note currentNote : notes) {
-            switch (filter) {
-                case FILTER_COMMENT:
-                    if (currentNote.isCommentType()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
-                case FILTER_FOLLOW:
-                    if (currentNote.isFollowType()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
-                case FILTER_UNREAD:
-                    if (currentNote.isUnread()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
-                case FILTER_LIKE:
-                    if (currentNote.isLikeType()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
+        return viewModel;
+    }
+
+    /*
+     * called in the background to build the view models for the loaded notes, reusing the earlier
+     * ones for notes which haven't changed
+     */
+    private void prepareViewModels(List<Note> notes) {
+        for (Note note : notes) {
+            NoteViewModel viewModel = mViewModels.get(note.getId());
+            if (viewModel == null) {
+                viewModel = new NoteViewModel(note, mAvatarSz);
+            } else {
+                viewModel = viewModel.forNote(note, mAvatarSz);
             }
+            mViewModels.put(note.getId(), viewModel);
         }
     }
 
     private Note getNoteAtPosition(int position) {
         if (isValidPosition(position)) {
-            return mFilteredNotes.get(position);
+            return mNotes.get(position);
         }
 
         return null;
@@ -170,7 +161,7 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
 
     public void replaceNote(Note newNote) {
         if (newNote != null) {
-            int position = getPositionForNoteUnfiltered(newNote.getId());
+            int position = getPositionForNote(newNote.getId());
             if (position != RecyclerView.NO_POSITION && position < mNotes.size()) {
                 mNotes.set(position, newNote);
             }
@@ -178,12 +169,12 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
     }
 
     private boolean isValidPosition(int position) {
-        return (position >= 0 && position < mFilteredNotes.size());
+        return (position >= 0 && position < mNotes.size());
     }
 
     @Override
     public int getItemCount() {
-        return mFilteredNotes.size();
+        return mNotes.size();
     }
 
     @Override
@@ -203,14 +194,15 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
             return;
         }
         noteViewHolder.itemView.setTag(note.getId());
+        NoteViewModel viewModel = getViewModel(note);
 
         // Display group header
-        Note.NoteTimeGroup timeGroup = Note.getTimeGroupForTimestamp(note.getTimestamp());
+        Note.NoteTimeGroup timeGroup = viewModel.timeGroup;
 
         Note.NoteTimeGroup previousTimeGroup = null;
         if (position > 0) {
             Note previousNote = getNoteAtPosition(position - 1);
-            previousTimeGroup = Note.getTimeGroupForTimestamp(previousNote.getTimestamp());
+            previousTimeGroup = getViewModel(previousNote).timeGroup;
         }
 
         if (previousTimeGroup != null && previousTimeGroup == timeGroup) {
@@ -239,7 +231,7 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         }
 
         CommentStatus commentStatus = CommentStatus.ALL;
-        if (note.getCommentStatus() == CommentStatus.UNAPPROVED) {
+        if (viewModel.isUnapproved) {
             commentStatus = CommentStatus.UNAPPROVED;
         }
 
@@ -253,38 +245,30 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
             noteViewHolder.progressBar.setVisibility(View.GONE);
         }
 
-        // Subject is stored in db as html to preserve text formatting
-        CharSequence noteSubjectSpanned = note.getFormattedSubject();
-        // Trim the '\n\n' added by Html.fromHtml()
-        noteSubjectSpanned = noteSubjectSpanned.subSequence(0, TextUtils.getTrimmedLength(noteSubjectSpanned));
-        noteViewHolder.txtSubject.setText(noteSubjectSpanned);
+        noteViewHolder.txtSubject.setText(viewModel.subject);
 
-        String noteSubjectNoticon = note.getCommentSubjectNoticon();
-        if (!TextUtils.isEmpty(noteSubjectNoticon)) {
+        if (!TextUtils.isEmpty(viewModel.subjectNoticon)) {
             CommentUtils.indentTextViewFirstLine(noteViewHolder.txtSubject, mTextIndentSize);
-            noteViewHolder.txtSubjectNoticon.setText(noteSubjectNoticon);
+            noteViewHolder.txtSubjectNoticon.setText(viewModel.subjectNoticon);
             noteViewHolder.txtSubjectNoticon.setVisibility(View.VISIBLE);
         } else {
             noteViewHolder.txtSubjectNoticon.setVisibility(View.GONE);
         }
 
-        String noteSnippet = note.getCommentSubject();
-        if (!TextUtils.isEmpty(noteSnippet)) {
+        if (!TextUtils.isEmpty(viewModel.snippet)) {
             noteViewHolder.txtSubject.setMaxLines(2);
-            noteViewHolder.txtDetail.setText(noteSnippet);
+            noteViewHolder.txtDetail.setText(viewModel.snippet);
             noteViewHolder.txtDetail.setVisibility(View.VISIBLE);
         } else {
             noteViewHolder.txtSubject.setMaxLines(3);
             noteViewHolder.txtDetail.setVisibility(View.GONE);
         }
 
-        String avatarUrl = GravatarUtils.fixGravatarUrl(note.getIconURL(), mAvatarSz);
-        noteViewHolder.imgAvatar.setImageUrl(avatarUrl, WPNetworkImageView.ImageType.AVATAR);
+        noteViewHolder.imgAvatar.setImageUrl(viewModel.avatarUrl, WPNetworkImageView.ImageType.AVATAR);
 
-        boolean isUnread = note.isUnread();
+        boolean isUnread = viewModel.isUnread;
 
-        String noticonCharacter = note.getNoticonCharacter();
-        noteViewHolder.noteIcon.setText(noticonCharacter);
+        noteViewHolder.noteIcon.setText(viewModel.noticonCharacter);
         if (commentStatus == CommentStatus.UNAPPROVED) {
             noteViewHolder.noteIcon.setBackgroundResource(R.drawable.shape_oval_orange);
         } else if (isUnread) {
@@ -301,15 +285,11 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
 
         // request to load more comments when we near the end
         if (mOnLoadMoreListener != null && position >= getItemCount() - 1) {
-            mOnLoadMoreListener.onLoadMore(note.getTimestamp());
+            mOnLoadMoreListener.onLoadMore(viewModel.timestamp);
         }
     }
 
     public int getPositionForNote(String noteId) {
-        return getPositionForNoteInArray(noteId, mFilteredNotes);
-    }
-
-    private int getPositionForNoteUnfiltered(String noteId) {
         return getPositionForNoteInArray(noteId, mNotes);
     }
 
@@ -330,18 +310,37 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
     }
 
     public void reloadNotesFromDBAsync() {
-        new ReloadNotesFromDBTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new LoadNotesTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
-    private class ReloadNotesFromDBTask extends AsyncTask<Void, Void, ArrayList<Note>> {
+    /*
+     * loads the latest notes matching the current filter from the db and prepares their view models
+     * in the background before showing them
+     */
+    private class LoadNotesTask extends AsyncTask<Void, Void, ArrayList<Note>> {
+        private final NotesListFilter mFilter;
+        private final int mGeneration;
+        private int mNumUnread;
+
+        LoadNotesTask() {
+            mFilter = mCurrentFilter;
+            mGeneration = ++mLoadGeneration;
+        }
 
         @Override
         protected ArrayList<Note> doInBackground(Void... voids) {
-            return NotificationsTable.getLatestNotes();
+            ArrayList<Note> notes = NotificationsTable.getLatestNotes(mFilter);
+            prepareViewModels(notes);
+            mNumUnread = NotificationsTable.getNotesCount(NotesListFilter.FILTER_UNREAD);
+            return notes;
         }
 
         @Override
         protected void onPostExecute(ArrayList<Note> notes) {
+            if (mGeneration != mLoadGeneration) {
+                return;
+            }
+            mNumUnreadNotes = mNumUnread;
             mNotes.clear();
             mNotes.addAll(notes);
             myNotifyDatasetChanged();
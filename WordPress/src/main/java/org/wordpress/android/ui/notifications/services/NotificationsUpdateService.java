@@ -4,16 +4,19 @@ import android.app.Service;
 import android.content.Context;
 import android.content.Intent;
 import android.os.IBinder;
+import android.text.TextUtils;
 
 import com.android.volley.NetworkResponse;
 import com.android.volley.VolleyError;
 import com.wordpress.rest.RestRequest;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.networking.RestClientUtils;
 import org.wordpress.android.ui.notifications.NotificationEvents;
 import org.wordpress.android.ui.notifications.NotificationsListFragment;
@@ -25,6 +28,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import de.greenrobot.event.EventBus;
 
@@ -33,6 +37,8 @@ public class NotificationsUpdateService extends Service {
 
     public static final String IS_TAPPED_ON_NOTIFICATION = "is-tapped-on-notification";
 
+    private static final String NOTES_TO_REQUEST = Integer.toString(NotificationsTable.NOTES_TO_RETRIEVE);
+
     private boolean running = false;
     private String mNoteId;
     private boolean isStartedByTappingOnNotification = false;
@@ -87,14 +93,136 @@ public class NotificationsUpdateService extends Service {
             return;
         }
         running = true;
+
+        // only download the notes which changed if we already have some, otherwise download all of them
+        if (NotificationsTable.getNotesCount(NotesListFilter.FILTER_ALL) > 0) {
+            requestNoteHashes();
+        } else {
+            requestAllNotes();
+        }
+    }
+
+    private void requestAllNotes() {
         Map<String, String> params = new HashMap<>();
-        params.put("number", "200");
+        params.put("number", NOTES_TO_REQUEST);
         params.put("num_note_items", "20");
         params.put("fields", RestClientUtils.NOTIFICATION_FIELDS);
         RestListener listener = new RestListener();
         WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, listener);
     }
 
+    /*
+     * requests just the id, hash and read state of the latest notes, which are compared with the
+     * stored ones to find the notes to download and the notes to delete
+     */
+    private void requestNoteHashes() {
+        Map<String, String> params = new HashMap<>();
+        params.put("number", NOTES_TO_REQUEST);
+        params.put("fields", RestClientUtils.NOTIFICATION_HASH_FIELDS);
+        NoteHashesListener listener = new NoteHashesListener();
+        WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, listener);
+    }
+
+    private void requestNotes(List<String> noteIds) {
+        Map<String, String> params = new HashMap<>();
+        params.put("ids", TextUtils.join(",", noteIds));
+        params.put("number", Integer.toString(noteIds.size()));
+        params.put("num_note_items", "20");
+        params.put("fields", RestClientUtils.NOTIFICATION_FIELDS);
+        ChangedNotesListener listener = new ChangedNotesListener();
+        WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, listener);
+    }
+
+    private class NoteHashesListener implements RestRequest.Listener, RestRequest.ErrorListener {
+        @Override
+        public void onResponse(JSONObject response) {
+            JSONArray notesJSON = response != null ? response.optJSONArray("notes") : null;
+            if (notesJSON == null) {
+                AppLog.w(AppLog.T.NOTIFS, "Success, but did not receive any note hashes");
+                requestAllNotes();
+                return;
+            }
+
+            Map<String, Long> localHashes = NotificationsTable.getNoteHashes();
+            Set<String> localUnreadIds = NotificationsTable.getUnreadNoteIds();
+            List<String> changedNoteIds = new ArrayList<>();
+            for (int i = 0; i < notesJSON.length(); i++) {
+                JSONObject noteJSON = notesJSON.optJSONObject(i);
+                if (noteJSON == null) {
+                    continue;
+                }
+                String noteId = noteJSON.optString("id");
+                Long localHash = localHashes.remove(noteId);
+                // the hash doesn't change when a note is read, so the read state is compared as well
+                boolean isUnread = noteJSON.optInt("read", 0) == 0;
+                if (localHash == null || localHash != noteJSON.optLong("note_hash")
+                        || isUnread != localUnreadIds.contains(noteId)) {
+                    changedNoteIds.add(noteId);
+                }
+            }
+
+            // stored notes which weren't returned were deleted or are older than the latest notes
+            NotificationsTable.deleteNotes(localHashes.keySet());
+
+            AppLog.i(AppLog.T.NOTIFS, "notifications update service > " + changedNoteIds.size() + " changed, "
+                    + localHashes.size() + " removed");
+            if (changedNoteIds.isEmpty()) {
+                onNotesUpdated();
+            } else {
+                requestNotes(changedNoteIds);
+            }
+        }
+
+        @Override
+        public void onErrorResponse(VolleyError volleyError) {
+            logVolleyErrorDetails(volleyError);
+            EventBus.getDefault().post(new NotificationEvents.NotificationsRefreshError(volleyError));
+            completed();
+        }
+    }
+
+    private class ChangedNotesListener implements RestRequest.Listener, RestRequest.ErrorListener {
+        @Override
+        public void onResponse(JSONObject response) {
+            try {
+                List<Note> notes = response != null ? NotificationsActions.parseNotes(response)
+                        : new ArrayList<Note>();
+                NotificationsTable.saveNotes(notes, false);
+                onNotesUpdated();
+            } catch (JSONException e) {
+                AppLog.e(AppLog.T.NOTIFS, "Success, but can't parse the response", e);
+                EventBus.getDefault().post(new NotificationEvents.NotificationsRefreshError());
+                completed();
+            }
+        }
+
+        @Override
+        public void onErrorResponse(VolleyError volleyError) {
+            logVolleyErrorDetails(volleyError);
+            EventBus.getDefault().post(new NotificationEvents.NotificationsRefreshError(volleyError));
+            completed();
+        }
+    }
+
+    /*
+     * called once a delta sync has updated the stored notes
+     */
+    private void onNotesUpdated() {
+        // if we have a note id, we were started from NotificationsDetailActivity.
+        // That means we need to re-set the *read* flag on this note.
+        if (isStartedByTappingOnNotification && mNoteId != null) {
+            Note note = NotificationsTable.getNoteById(mNoteId);
+            if (note != null && note.isUnread()) {
+                note.setRead();
+                NotificationsTable.saveNote(note);
+            }
+        }
+        EventBus.getDefault().post(
+                new NotificationEvents.NotificationsRefreshCompleted(NotificationsTable.getLatestNotes())
+        );
+        completed();
+    }
+
     private class RestListener implements RestRequest.Listener, RestRequest.ErrorListener {
         @Override
         public void onResponse(final JSONObject response) {
@@ -58,6 +58,7 @@ import org.wordpress.android.editor.EditorFragment.IllegalEditorStateException;
 import org.wordpress.android.editor.EditorFragmentAbstract;
 import org.wordpress.android.editor.EditorFragmentAbstract.EditorDragAndDropListener;
 import org.wordpress.android.editor.EditorFragmentAbstract.EditorFragmentListener;
+import org.wordpress.android.editor.EditorFragmentAbstract.OnTitleAndContentListener;
 import org.wordpress.android.editor.EditorFragmentAbstract.TrackableEvent;
 import org.wordpress.android.editor.EditorMediaUploadListener;
 import org.wordpress.android.editor.EditorWebViewAbstract.ErrorListener;
@@ -401,21 +402,14 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     private Runnable mAutoSave = new Runnable() {
         @Override
         public void run() {
-            new Thread(new Runnable() {
+            savePostAsync(true, new AfterSavePostListener() {
                 @Override
-                public void run() {
-                    try {
-                        updatePostObject(true);
-                    } catch (IllegalEditorStateException e) {
-                        AppLog.e(T.EDITOR, "Impossible to save the post, we weren't able to update it.");
-                        return;
-                    }
-                    savePostToDb();
+                public void onPostSave() {
                     if (mHandler != null) {
                         mHandler.postDelayed(mAutoSave, AUTOSAVE_INTERVAL_MILLIS);
                     }
                 }
-            }).start();
+            });
         }
     };
 
@@ -935,17 +929,30 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
             return;
         }
 
-        // Update post object from fragment fields
+        // Update post object from fragment fields - only the legacy editor gets here, the others return
+        // their title and content through updatePostObjectAsync()
         if (mEditorFragment != null) {
-            if (mShowNewEditor || mShowAztecEditor) {
-                updatePostContentNewEditor(isAutosave, (String) mEditorFragment.getTitle(),
-                        (String) mEditorFragment.getContent());
-            } else {
-                // TODO: Remove when legacy editor is dropped
-                updatePostContent(isAutosave);
-            }
+            // TODO: Remove when legacy editor is dropped
+            updatePostContent(isAutosave);
         }
 
+        updatePostSettings();
+    }
+
+    /*
+     * same as above for the title and content which were already retrieved from the new editor
+     */
+    private synchronized void updatePostObject(boolean isAutosave, CharSequence title, CharSequence content) {
+        if (mPost == null) {
+            AppLog.e(AppLog.T.POSTS, "Attempted to save an invalid Post.");
+            return;
+        }
+
+        updatePostContentNewEditor(isAutosave, title.toString(), content.toString());
+        updatePostSettings();
+    }
+
+    private void updatePostSettings() {
         if (mEditPostSettingsFragment != null) {
             mEditPostSettingsFragment.updatePostSettings(mPost);
         }
@@ -954,19 +961,76 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     }
 
     private void savePostAsync(final AfterSavePostListener listener) {
+        savePostAsync(false, listener);
+    }
+
+    /*
+     * updates the post from the editor and saves it to the db in the background - if the editor couldn't return
+     * the post it isn't saved, and an autosave is simply tried again later
+     */
+    private void savePostAsync(final boolean isAutosave, final AfterSavePostListener listener) {
+        updatePostObjectAsync(isAutosave, new AfterUpdatePostListener() {
+            @Override
+            public void onPostUpdated() {
+                savePostToDb();
+                if (listener != null) {
+                    listener.onPostSave();
+                }
+            }
+
+            @Override
+            public void onPostUpdateFailed() {
+                AppLog.e(T.EDITOR, "Impossible to save the post, we weren't able to update it.");
+                if (isAutosave && mHandler != null) {
+                    mHandler.postDelayed(mAutoSave, AUTOSAVE_INTERVAL_MILLIS);
+                }
+            }
+        });
+    }
+
+    /*
+     * updates the post from the editor, then calls the listener on a background thread - the visual editor returns
+     * its title and content in a single round trip, so no thread is parked waiting for the editor to answer, and
+     * Aztec serializes them off the calling thread. If the editor can't return them the post is left untouched,
+     * rather than updated from a stale state.
+     */
+    private void updatePostObjectAsync(final boolean isAutosave, final AfterUpdatePostListener listener) {
+        if (mEditorFragment != null && (mShowNewEditor || mShowAztecEditor)) {
+            try {
+                mEditorFragment.getTitleAndContent(new OnTitleAndContentListener() {
+                    @Override
+                    public void onTitleAndContent(final CharSequence title, final CharSequence content) {
+                        // called on the JavaScript bridge or the editor's own thread, so continue in the background
+                        new Thread(new Runnable() {
+                            @Override
+                            public void run() {
+                                updatePostObject(isAutosave, title, content);
+                                listener.onPostUpdated();
+                            }
+                        }).start();
+                    }
+
+                    @Override
+                    public void onTitleAndContentUnavailable() {
+                        listener.onPostUpdateFailed();
+                    }
+                });
+            } catch (IllegalEditorStateException e) {
+                listener.onPostUpdateFailed();
+            }
+            return;
+        }
+
         new Thread(new Runnable() {
             @Override
             public void run() {
                 try {
-                    updatePostObject(false);
+                    updatePostObject(isAutosave);
                 } catch (IllegalEditorStateException e) {
-                    AppLog.e(T.EDITOR, "Impossible to save the post, we weren't able to update it.");
+                    listener.onPostUpdateFailed();
                     return;
                 }
-                savePostToDb();
-                if (listener != null) {
-                    listener.onPostSave();
-                }
+                listener.onPostUpdated();
             }
         }).start();
     }
@@ -975,6 +1039,11 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
         void onPostSave();
     }
 
+    private interface AfterUpdatePostListener {
+        void onPostUpdated();
+        void onPostUpdateFailed();
+    }
+
     private synchronized void savePostToDb() {
         mDispatcher.dispatch(PostActionBuilder.newUpdatePostAction(mPost));
 
@@ -1119,29 +1188,19 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
             return;
         }
 
-        boolean isFirstTimePublish = isFirstTimePublish();
-        boolean postUpdateSuccessful = updatePostObject();
-        if (!postUpdateSuccessful) {
-            // just return, since the only case updatePostObject() can fail is when the editor
-            // fragment is not added to the activity
-            return;
-        }
-
-        // Update post, save to db and publish in its own Thread, because 1. update can be pretty slow with a lot of
+        // Update post, save to db and publish in the background, because 1. update can be pretty slow with a lot of
         // text 2. better not to call `updatePostObject()` from the UI thread due to weird thread blocking behavior
         // on API 16 (and 21) with the visual editor.
-        new Thread(new Runnable() {
+        final boolean isFirstTimePublish = isFirstTimePublish();
+        updatePostObjectAsync(false, new AfterUpdatePostListener() {
             @Override
-            public void run() {
-                boolean isFirstTimePublish = isFirstTimePublish();
-
-                boolean postUpdateSuccessful = updatePostObject();
-                if (!postUpdateSuccessful) {
-                    // just return, since the only case updatePostObject() can fail is when the editor
-                    // fragment is not added to the activity
-                    return;
-                }
+            public void onPostUpdateFailed() {
+                // don't publish what may be a stale version of the post, let the user try again
+                onPostNotRetrievedFromEditor();
+            }
 
+            @Override
+            public void onPostUpdated() {
                 boolean isPublishable = PostUtils.isPublishable(mPost);
 
                 // if post was modified or has unsaved local changes and is publishable, save it
@@ -1172,7 +1231,17 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                     });
                 }
             }
-        }).start();
+        });
+    }
+
+    private void onPostNotRetrievedFromEditor() {
+        AppLog.e(T.EDITOR, "Impossible to save and publish the post, we weren't able to update it.");
+        runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                ToastUtils.showToast(EditPostActivity.this, R.string.editor_post_not_retrieved, Duration.LONG);
+            }
+        });
     }
 
     private void showRemoveFailedUploadsDialog() {
@@ -1188,23 +1257,22 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     }
 
     private void savePostAndFinish() {
-        // Update post, save to db and post online in its own Thread, because 1. update can be pretty slow with a lot of
-        // text 2. better not to call `updatePostObject()` from the UI thread due to weird thread blocking behavior
+        // Update post, save to db and post online in the background, because 1. update can be pretty slow with a lot
+        // of text 2. better not to call `updatePostObject()` from the UI thread due to weird thread blocking behavior
         // on API 16 (and 21) with the visual editor.
-        new Thread(new Runnable() {
+
+        // check if the opened post had some unsaved local changes
+        final boolean hasLocalChanges = mPost.isLocallyChanged() || mPost.isLocalDraft();
+        final boolean isFirstTimePublish = isFirstTimePublish();
+        updatePostObjectAsync(false, new AfterUpdatePostListener() {
             @Override
-            public void run() {
-                // check if the opened post had some unsaved local changes
-                boolean hasLocalChanges = mPost.isLocallyChanged() || mPost.isLocalDraft();
-                boolean isFirstTimePublish = isFirstTimePublish();
-
-                boolean postUpdateSuccessful = updatePostObject();
-                if (!postUpdateSuccessful) {
-                    // just return, since the only case updatePostObject() can fail is when the editor
-                    // fragment is not added to the activity
-                    return;
-                }
+            public void onPostUpdateFailed() {
+                // stay in the editor rather than saving what may be a stale version of the post
+                onPostNotRetrievedFromEditor();
+            }
 
+            @Override
+            public void onPostUpdated() {
                 boolean hasChanges = PostUtils.postHasEdits(mOriginalPost, mPost);
                 boolean isPublishable = PostUtils.isPublishable(mPost);
                 boolean hasUnpublishedLocalDraftChanges = PostStatus.fromPost(mPost) == PostStatus.DRAFT &&
@@ -1246,7 +1314,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                     finish();
                 }
             }
-        }).start();
+        });
     }
 
     private boolean isFirstTimePublish() {
@@ -1259,17 +1327,6 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                 mEditorFragment.hasFailedMediaUploads();
     }
 
-    private boolean updatePostObject() {
-        try {
-            updatePostObject(false);
-        } catch (IllegalEditorStateException e) {
-            AppLog.e(T.EDITOR, "Impossible to save and publish the post, we weren't able to update it.");
-            return false;
-        }
-
-        return true;
-    }
-
     private void savePostLocallyAndFinishAsync() {
         new SavePostLocallyAndFinishTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
@@ -25,6 +25,8 @@ import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
+import org.wordpress.android.datasets.PostFeaturedImageTable;
+import org.wordpress.android.datasets.PostFeaturedImageTable.FeaturedImage;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.generated.MediaActionBuilder;
 import org.wordpress.android.fluxc.model.MediaModel;
@@ -728,40 +730,77 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
                 }
             }
 
-            // Generate the featured image url for each post
-            String imageUrl = null;
+            // Generate the featured image url for each post - the url is stored along with what it was
+            // resolved from, so it's only resolved again for posts which have changed
+            Map<Integer, FeaturedImage> storedImages =
+                    PostFeaturedImageTable.getFeaturedImagesForSite(mSite.getId(), mIsPage);
+            Map<Integer, FeaturedImage> changedImages = new HashMap<>();
+            Map<Long, List<PostModel>> postsNeedingMedia = new HashMap<>();
             for (PostModel post : tmpPosts) {
+                FeaturedImage storedImage = storedImages.remove(post.getId());
                 if (post.isLocalDraft()) {
-                    imageUrl = null;
-                } else if (post.getFeaturedImageId() != 0) {
-                    MediaModel media = mMediaStore.getSiteMediaWithId(mSite, post.getFeaturedImageId());
-                    if (media != null) {
-                        imageUrl = media.getUrl();
-                    } else {
-                        // Reset the current `imageUrl` so it doesn't contain the previous post's image
-                        imageUrl = null;
-                    }
-                    // If the imageUrl isn't found it means the featured image info hasn't been added to
-                    // the local media library yet, so add to the list of media IDs to request info for
-                    if (TextUtils.isEmpty(imageUrl)) {
-                        mediaIdsToUpdate.add(post.getFeaturedImageId());
+                    continue;
+                }
+
+                long featuredImageId = post.getFeaturedImageId();
+                long contentHash =
+                        featuredImageId != 0 ? 0 : PostFeaturedImageTable.getContentHash(post.getContent());
+                if (storedImage != null && storedImage.isResolvedFrom(featuredImageId, contentHash)) {
+                    setFeaturedImageUrl(post, storedImage.imageUrl);
+                } else if (featuredImageId != 0) {
+                    // media for all posts with a featured image is looked up at once below
+                    List<PostModel> posts = postsNeedingMedia.get(featuredImageId);
+                    if (posts == null) {
+                        posts = new ArrayList<>();
+                        postsNeedingMedia.put(featuredImageId, posts);
                     }
-                } else if (StringUtils.isNotEmpty(post.getContent())) {
-                    ReaderImageScanner scanner = new ReaderImageScanner(post.getContent(), mSite.isPrivate());
-                    imageUrl = scanner.getLargestImage();
+                    posts.add(post);
                 } else {
-                    imageUrl = null;
+                    String imageUrl = null;
+                    if (StringUtils.isNotEmpty(post.getContent())) {
+                        ReaderImageScanner scanner = new ReaderImageScanner(post.getContent(), mSite.isPrivate());
+                        imageUrl = scanner.getLargestImage();
+                    }
+                    changedImages.put(post.getId(), new FeaturedImage(0, contentHash, imageUrl));
+                    setFeaturedImageUrl(post, imageUrl);
                 }
+            }
 
-                if (!TextUtils.isEmpty(imageUrl)) {
-                    mFeaturedImageUrls.put(post.getId(), ReaderUtils.getResizedImageUrl(imageUrl, mPhotonWidth,
-                            mPhotonHeight, mSite.isPrivate()));
+            if (!postsNeedingMedia.isEmpty()) {
+                List<MediaModel> mediaList =
+                        mMediaStore.getSiteMediaWithIds(mSite, new ArrayList<>(postsNeedingMedia.keySet()));
+                for (MediaModel media : mediaList) {
+                    if (TextUtils.isEmpty(media.getUrl())) {
+                        continue;
+                    }
+                    List<PostModel> posts = postsNeedingMedia.remove(media.getMediaId());
+                    if (posts == null) {
+                        continue;
+                    }
+                    for (PostModel post : posts) {
+                        changedImages.put(post.getId(), new FeaturedImage(media.getMediaId(), 0, media.getUrl()));
+                        setFeaturedImageUrl(post, media.getUrl());
+                    }
                 }
+                // If the imageUrl isn't found it means the featured image info hasn't been added to
+                // the local media library yet, so add to the list of media IDs to request info for
+                mediaIdsToUpdate.addAll(postsNeedingMedia.keySet());
             }
 
+            // anything left in the stored images is for posts which no longer exist
+            PostFeaturedImageTable.updateFeaturedImagesForSite(
+                    mSite.getId(), mIsPage, changedImages, storedImages.keySet());
+
             return true;
         }
 
+        private void setFeaturedImageUrl(PostModel post, String imageUrl) {
+            if (!TextUtils.isEmpty(imageUrl)) {
+                mFeaturedImageUrls.put(post.getId(), ReaderUtils.getResizedImageUrl(imageUrl, mPhotonWidth,
+                        mPhotonHeight, mSite.isPrivate()));
+            }
+        }
+
         @Override
         protected void onPostExecute(Boolean result) {
             if (result) {
@@ -187,22 +187,19 @@ public class PostUploadNotifier {
         doNotify(notificationData.notificationErrorId, notificationBuilder.build());
     }
 
-    public void updateNotificationProgress(PostModel post, float progress) {
+    /*
+     * shows the combined progress of the post's media uploads, which may run at the same time - mediaProgress
+     * is the sum of each item's progress, so it ranges from 0 to the number of items
+     */
+    public void updateNotificationMediaProgress(PostModel post, float mediaProgress) {
         NotificationData notificationData = mPostIdToNotificationData.get(post.getId());
         if (notificationData.totalMediaItems == 0) {
             return;
         }
 
-        // Simple way to show progress of entire post upload
-        // Would be better if we could get total bytes for all media items.
-        double currentChunkProgress = (notificationData.itemProgressSize * progress);
-
-        if (notificationData.currentMediaItem > 1) {
-            currentChunkProgress += notificationData.itemProgressSize * (notificationData.currentMediaItem - 1);
-        }
-
-        mNotificationBuilder.setProgress(100, (int) Math.ceil(currentChunkProgress), false);
-        doNotify(mPostIdToNotificationData.get(post.getId()).notificationId, mNotificationBuilder.build());
+        double progress = notificationData.itemProgressSize * mediaProgress;
+        mNotificationBuilder.setProgress(100, (int) Math.ceil(progress), false);
+        doNotify(notificationData.notificationId, mNotificationBuilder.build());
     }
 
     private synchronized void doNotify(long id, Notification notification) {
@@ -51,12 +51,15 @@ import org.wordpress.android.util.helpers.MediaFile;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -65,6 +68,13 @@ import javax.inject.Inject;
 import de.greenrobot.event.EventBus;
 
 public class PostUploadService extends Service {
+    // the most media uploads which run at once for a site
+    private static final int MAX_CONCURRENT_MEDIA_UPLOADS = 3;
+
+    private static final Pattern IMAGE_TAG_PATTERN =
+            Pattern.compile("<img[^>]+android-uri\\s*=\\s*['\"]([^'\"]+)['\"][^>]*>");
+    private static final Pattern ANDROID_URI_PATTERN = Pattern.compile("android-uri=\"([^\"]+)\"");
+
     private static final ArrayList<PostModel> mPostsList = new ArrayList<>();
     private static PostModel mCurrentUploadingPost = null;
     private static Map<String, Object> mCurrentUploadingPostAnalyticsProperties;
@@ -76,7 +86,9 @@ public class PostUploadService extends Service {
     private Context mContext;
     private PostUploadNotifier mPostUploadNotifier;
 
-    private SparseArray<CountDownLatch> mMediaLatchMap = new SparseArray<>();
+    // media being uploaded for the current post, keyed by media id
+    private final Map<Integer, PendingMedia> mPendingMedia = new ConcurrentHashMap<>();
+    private final SparseArray<Semaphore> mUploadPermits = new SparseArray<>();
 
     @Inject Dispatcher mDispatcher;
     @Inject SiteStore mSiteStore;
@@ -198,10 +210,13 @@ public class PostUploadService extends Service {
         private PostModel mPost;
         private SiteModel mSite;
 
-        private String mErrorMessage = "";
-        private boolean mIsMediaError = false;
+        // set from the main thread when a media upload fails
+        private volatile String mErrorMessage = "";
+        private volatile boolean mIsMediaError = false;
         private long featuredImageID = -1;
 
+        private volatile List<PendingMedia> mMediaItems = Collections.emptyList();
+
         // Used for analytics
         private boolean mHasImage, mHasVideo, mHasCategory;
 
@@ -319,82 +334,188 @@ public class PostUploadService extends Service {
             mCurrentUploadingPostAnalyticsProperties.put("via_new_editor", AppPrefs.isVisualEditorEnabled());
         }
 
+        /*
+         * progress of the post's media uploads for the notification - the sum of each item's progress, so it
+         * ranges from 0 to the number of items
+         */
+        private float getMediaProgress() {
+            float progress = 0;
+            for (PendingMedia media : mMediaItems) {
+                if (media.original == null) {
+                    progress += media.progress;
+                }
+            }
+            return progress;
+        }
+
+        /*
+         * called on the main thread when the upload of the passed media completes or fails, errorMessage
+         * is null if it completed
+         */
+        private void onMediaUploadFinished(PendingMedia media, String errorMessage) {
+            if (errorMessage != null) {
+                mErrorMessage = errorMessage;
+                mIsMediaError = true;
+            }
+            media.progress = 1;
+            media.permits.release();
+            media.latch.countDown();
+        }
+
         /**
          * Finds media in post content, uploads them, and returns the HTML to insert in the post
          */
         private String processPostMedia(String postContent) {
-            String imageTagsPattern = "<img[^>]+android-uri\\s*=\\s*['\"]([^'\"]+)['\"][^>]*>";
-            Pattern pattern = Pattern.compile(imageTagsPattern);
-            Matcher matcher = pattern.matcher(postContent);
-
+            List<PendingMedia> mediaItems = new ArrayList<>();
+            Map<String, PendingMedia> mediaByUri = new HashMap<>();
             int totalMediaItems = 0;
-            List<String> imageTags = new ArrayList<>();
+            Matcher matcher = IMAGE_TAG_PATTERN.matcher(postContent);
             while (matcher.find()) {
-                imageTags.add(matcher.group());
-                totalMediaItems++;
+                Matcher uriMatcher = ANDROID_URI_PATTERN.matcher(matcher.group());
+                String uri = uriMatcher.find() ? uriMatcher.group(1) : "";
+                PendingMedia media = new PendingMedia(matcher.start(), matcher.end(), uri);
+                // the same media can be inserted more than once but is only uploaded once
+                media.original = mediaByUri.get(uri);
+                if (media.original == null) {
+                    mediaByUri.put(uri, media);
+                    totalMediaItems++;
+                }
+                mediaItems.add(media);
             }
 
+            mMediaItems = mediaItems;
             mPostUploadNotifier.setTotalMediaItems(mPost, totalMediaItems);
 
+            // each item is prepared while the ones before it upload, and at most a few upload at once
+            Semaphore permits = getUploadPermits(mSite);
             int mediaItemCount = 0;
-            for (String tag : imageTags) {
-                Pattern p = Pattern.compile("android-uri=\"([^\"]+)\"");
-                Matcher m = p.matcher(tag);
-                if (m.find()) {
-                    String imageUri = m.group(1);
-                    if (!imageUri.equals("")) {
-                        MediaModel mediaModel = mMediaStore.getPostMediaWithPath(mPost, imageUri);
-                        if (mediaModel == null) {
-                            mIsMediaError = true;
-                            continue;
-                        }
-                        MediaFile mediaFile = FluxCUtils.mediaFileFromMediaModel(mediaModel);
-                        if (mediaFile != null) {
-                            // Get image thumbnail for notification icon
-                            Bitmap imageIcon = ImageUtils.getWPImageSpanThumbnailFromFilePath(
-                                    mContext,
-                                    imageUri,
-                                    DisplayUtils.dpToPx(mContext, 128)
-                            );
-
-                            // Crop the thumbnail to be squared in the center
-                            if (imageIcon != null) {
-                                int squaredSize = DisplayUtils.dpToPx(mContext, 64);
-                                imageIcon = ThumbnailUtils.extractThumbnail(imageIcon, squaredSize, squaredSize);
-                            }
-
-                            mediaItemCount++;
-                            mPostUploadNotifier.setCurrentMediaItem(mPost, mediaItemCount);
-                            mPostUploadNotifier.updateNotificationIcon(mPost, imageIcon);
-
-                            String mediaUploadOutput;
-                            if (mediaFile.isVideo()) {
-                                mHasVideo = true;
-                                mediaUploadOutput = uploadVideo(mediaFile);
-                            } else {
-                                mHasImage = true;
-                                mediaUploadOutput = uploadImage(mediaFile);
-                            }
-
-                            if (mediaUploadOutput != null) {
-                                postContent = postContent.replace(tag, mediaUploadOutput);
-                            } else {
-                                postContent = postContent.replace(tag, "");
-                                mIsMediaError = true;
-                            }
-                        }
-                    }
+            for (PendingMedia media : mediaItems) {
+                if (mIsMediaError) {
+                    // the post won't be pushed, so don't start any more uploads
+                    break;
+                }
+                if (media.original != null || !prepareMedia(media)) {
+                    media.progress = 1;
+                    continue;
                 }
+
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    AppLog.e(T.POSTS, "Interrupted waiting to upload media file: " + media.mediaFile.getId()
+                            + " - " + e);
+                    mIsMediaError = true;
+                    break;
+                }
+                if (mIsMediaError) {
+                    // another upload failed while this one was waiting
+                    permits.release();
+                    break;
+                }
+
+                mediaItemCount++;
+                mPostUploadNotifier.setCurrentMediaItem(mPost, mediaItemCount);
+                mPostUploadNotifier.updateNotificationIcon(mPost, media.icon);
+
+                // registered before dispatching so the upload can't finish before it's known
+                media.permits = permits;
+                mPendingMedia.put(media.mediaFile.getId(), media);
+                MediaPayload payload = new MediaPayload(mSite, FluxCUtils.mediaModelFromMediaFile(media.mediaFile));
+                mDispatcher.dispatch(MediaActionBuilder.newUploadMediaAction(payload));
+            }
+
+            for (PendingMedia media : mediaItems) {
+                if (media.permits == null) {
+                    continue;
+                }
+                try {
+                    media.latch.await();
+                } catch (InterruptedException e) {
+                    AppLog.e(T.POSTS, "CountDownLatch await interrupted for media file: " + media.mediaFile.getId()
+                            + " - " + e);
+                    mIsMediaError = true;
+                }
+                media.html = media.mediaFile.isVideo() ? getVideoHtml(media) : getImageHtml(media);
+                if (media.html == null) {
+                    media.html = "";
+                    mIsMediaError = true;
+                }
+            }
+
+            return replaceMediaTags(postContent, mediaItems);
+        }
+
+        /*
+         * replaces the tags of the passed media with their uploaded HTML in a single pass - tags whose
+         * media wasn't uploaded are left as is
+         */
+        private String replaceMediaTags(String postContent, List<PendingMedia> mediaItems) {
+            StringBuilder sb = new StringBuilder(postContent.length());
+            int end = 0;
+            for (PendingMedia media : mediaItems) {
+                String html = media.original != null ? media.original.html : media.html;
+                if (html != null) {
+                    sb.append(postContent, end, media.start).append(html);
+                    end = media.end;
+                }
+            }
+            sb.append(postContent, end, postContent.length());
+            return sb.toString();
+        }
+
+        /*
+         * finds the media file for the passed media and resolves its path, returns false if it can't
+         * be uploaded
+         */
+        private boolean prepareMedia(PendingMedia media) {
+            if (media.uri.equals("")) {
+                return false;
+            }
+            MediaModel mediaModel = mMediaStore.getPostMediaWithPath(mPost, media.uri);
+            if (mediaModel == null) {
+                mIsMediaError = true;
+                return false;
+            }
+            media.mediaFile = FluxCUtils.mediaFileFromMediaModel(mediaModel);
+            if (media.mediaFile == null) {
+                return false;
+            }
+
+            // Get image thumbnail for notification icon
+            Bitmap imageIcon = ImageUtils.getWPImageSpanThumbnailFromFilePath(
+                    mContext,
+                    media.uri,
+                    DisplayUtils.dpToPx(mContext, 128)
+            );
+
+            // Crop the thumbnail to be squared in the center
+            if (imageIcon != null) {
+                int squaredSize = DisplayUtils.dpToPx(mContext, 64);
+                imageIcon = ThumbnailUtils.extractThumbnail(imageIcon, squaredSize, squaredSize);
             }
+            media.icon = imageIcon;
 
-            return postContent;
+            boolean isPrepared;
+            if (media.mediaFile.isVideo()) {
+                mHasVideo = true;
+                isPrepared = prepareVideo(media);
+            } else {
+                mHasImage = true;
+                isPrepared = prepareImage(media);
+            }
+            if (!isPrepared) {
+                media.html = "";
+                mIsMediaError = true;
+            }
+            return isPrepared;
         }
 
-        private String uploadImage(MediaFile mediaFile) {
+        private boolean prepareImage(PendingMedia media) {
+            MediaFile mediaFile = media.mediaFile;
             AppLog.d(T.POSTS, "uploadImage: " + mediaFile.getFilePath());
 
             if (mediaFile.getFilePath() == null) {
-                return null;
+                return false;
             }
 
             Uri imageUri = Uri.parse(mediaFile.getFilePath());
@@ -421,36 +542,30 @@ public class PostUploadService extends Service {
             // check if the file exists
             if (imageFile == null) {
                 mErrorMessage = mContext.getString(R.string.file_not_found);
-                return null;
-            }
-
-            String fullSizeUrl = uploadImageFile(mediaFile, mSite);
-            if (fullSizeUrl == null) {
-                mErrorMessage = mContext.getString(R.string.error_media_upload);
-                return null;
+                return false;
             }
-
-            return mediaFile.getImageHtmlForUrls(fullSizeUrl, null, false);
+            return true;
         }
 
-        private String uploadVideo(MediaFile mediaFile) {
+        private boolean prepareVideo(PendingMedia media) {
+            MediaFile mediaFile = media.mediaFile;
+
             // create temp file for media upload
             String tempFileName = "wp-" + System.currentTimeMillis();
             try {
                 mContext.openFileOutput(tempFileName, Context.MODE_PRIVATE);
             } catch (FileNotFoundException e) {
                 mErrorMessage = getResources().getString(R.string.file_error_create);
-                return null;
+                return false;
             }
 
             if (mediaFile.getFilePath() == null) {
                 mErrorMessage = mContext.getString(R.string.error_media_upload);
-                return null;
+                return false;
             }
 
             Uri videoUri = Uri.parse(mediaFile.getFilePath());
             File videoFile = null;
-            String mimeType = "", xRes = "", yRes = "";
 
             if (videoUri.toString().contains("content:")) {
                 String[] projection = new String[]{Video.Media._ID, Video.Media.DATA, Video.Media.MIME_TYPE,
@@ -462,10 +577,8 @@ public class PostUploadService extends Service {
                     int mimeTypeColumn = cur.getColumnIndex(Video.Media.MIME_TYPE);
                     int resolutionColumn = cur.getColumnIndex(Video.Media.RESOLUTION);
 
-                    mediaFile = new MediaFile();
-
                     String thumbData = cur.getString(dataColumn);
-                    mimeType = cur.getString(mimeTypeColumn);
+                    media.mimeType = cur.getString(mimeTypeColumn);
 
                     videoFile = new File(thumbData);
                     mediaFile.setFilePath(videoFile.getPath());
@@ -473,13 +586,13 @@ public class PostUploadService extends Service {
                     if (resolution != null) {
                         String[] resolutions = resolution.split("x");
                         if (resolutions.length >= 2) {
-                            xRes = resolutions[0];
-                            yRes = resolutions[1];
+                            media.xRes = resolutions[0];
+                            media.yRes = resolutions[1];
                         }
                     } else {
                         // Default resolution
-                        xRes = "640";
-                        yRes = "480";
+                        media.xRes = "640";
+                        media.yRes = "480";
                     }
                 }
                 SqlUtils.closeCursor(cur);
@@ -491,29 +604,33 @@ public class PostUploadService extends Service {
 
             if (videoFile == null) {
                 mErrorMessage = mContext.getResources().getString(R.string.error_media_upload);
-                return null;
+                return false;
             }
 
-            if (TextUtils.isEmpty(mimeType)) {
-                mimeType = MediaUtils.getMediaFileMimeType(videoFile);
+            if (TextUtils.isEmpty(media.mimeType)) {
+                media.mimeType = MediaUtils.getMediaFileMimeType(videoFile);
             }
+            return true;
+        }
 
-            CountDownLatch countDownLatch = new CountDownLatch(1);
-            MediaPayload payload = new MediaPayload(mSite, FluxCUtils.mediaModelFromMediaFile(mediaFile));
-            mDispatcher.dispatch(MediaActionBuilder.newUploadMediaAction(payload));
-
-            try {
-                mMediaLatchMap.put(mediaFile.getId(), countDownLatch);
-                countDownLatch.await();
-            } catch (InterruptedException e) {
-                AppLog.e(T.POSTS, "CountDownLatch await interrupted for media file: " + mediaFile.getId() + " - " + e);
-                mIsMediaError = true;
+        /*
+         * returns the uploaded media matching the passed media, or null if its upload failed
+         */
+        private MediaModel getUploadedMedia(PendingMedia media) {
+            MediaModel finishedMedia = mMediaStore.getMediaWithLocalId(media.mediaFile.getId());
+            if (finishedMedia == null || finishedMedia.getUploadState() == null
+                    || !finishedMedia.getUploadState().equals(UploadState.UPLOADED.name())) {
+                if (TextUtils.isEmpty(mErrorMessage)) {
+                    mErrorMessage = mContext.getString(R.string.error_media_upload);
+                }
+                return null;
             }
+            return finishedMedia;
+        }
 
-            MediaModel finishedMedia = mMediaStore.getMediaWithLocalId(mediaFile.getId());
-
-            if (finishedMedia == null || finishedMedia.getUploadState() == null || !finishedMedia.getUploadState().equals(UploadState.UPLOADED.name())) {
-                mIsMediaError = true;
+        private String getVideoHtml(PendingMedia media) {
+            MediaModel finishedMedia = getUploadedMedia(media);
+            if (finishedMedia == null) {
                 return null;
             }
 
@@ -522,40 +639,72 @@ public class PostUploadService extends Service {
             } else {
                 return String.format(
                         "<video width=\"%s\" height=\"%s\" controls=\"controls\"><source src=\"%s\" type=\"%s\" /><a href=\"%s\">Click to view video</a>.</video>",
-                        xRes, yRes, finishedMedia.getUrl(), mimeType, finishedMedia.getUrl());
+                        media.xRes, media.yRes, finishedMedia.getUrl(), media.mimeType, finishedMedia.getUrl());
             }
         }
 
-        private String uploadImageFile(MediaFile mediaFile, SiteModel site) {
-            CountDownLatch countDownLatch = new CountDownLatch(1);
-            MediaPayload payload = new MediaPayload(site, FluxCUtils.mediaModelFromMediaFile(mediaFile));
-            mDispatcher.dispatch(MediaActionBuilder.newUploadMediaAction(payload));
-
-            try {
-                mMediaLatchMap.put(mediaFile.getId(), countDownLatch);
-                countDownLatch.await();
-            } catch (InterruptedException e) {
-                AppLog.e(T.POSTS, "CountDownLatch await interrupted for media file: " + mediaFile.getId() + " - " + e);
-                mIsMediaError = true;
-            }
-
-            MediaModel finishedMedia = mMediaStore.getMediaWithLocalId(mediaFile.getId());
-
-            if (finishedMedia == null || finishedMedia.getUploadState() == null || !finishedMedia.getUploadState().equals(UploadState.UPLOADED.name())) {
-                mIsMediaError = true;
+        private String getImageHtml(PendingMedia media) {
+            MediaModel finishedMedia = getUploadedMedia(media);
+            if (finishedMedia == null) {
                 return null;
             }
 
+            MediaFile mediaFile = media.mediaFile;
             String pictureURL = finishedMedia.getUrl();
-
             if (mediaFile.isFeatured()) {
                 featuredImageID = finishedMedia.getMediaId();
                 if (!mediaFile.isFeaturedInPost()) {
-                    return "";
+                    pictureURL = "";
                 }
             }
 
-            return pictureURL;
+            return mediaFile.getImageHtmlForUrls(pictureURL, null, false);
+        }
+    }
+
+    /*
+     * a media item in the post content which is uploaded along with the post - the latch is counted
+     * down when its upload completes or fails
+     */
+    private static class PendingMedia {
+        // position of the media's tag in the post content
+        final int start;
+        final int end;
+        final String uri;
+
+        // set if the same media appears earlier in the content, in which case only that one is uploaded
+        PendingMedia original;
+
+        MediaFile mediaFile;
+        Bitmap icon;
+        String mimeType = "", xRes = "", yRes = "";
+
+        // permits are set once the upload is dispatched, and released when it finishes
+        Semaphore permits;
+        final CountDownLatch latch = new CountDownLatch(1);
+        volatile float progress;
+
+        // what replaces the tag, null if the tag is left as is
+        String html;
+
+        PendingMedia(int start, int end, String uri) {
+            this.start = start;
+            this.end = end;
+            this.uri = uri;
+        }
+    }
+
+    /*
+     * limits the number of media uploads which run at once for the passed site
+     */
+    private Semaphore getUploadPermits(SiteModel site) {
+        synchronized (mUploadPermits) {
+            Semaphore permits = mUploadPermits.get(site.getId());
+            if (permits == null) {
+                permits = new Semaphore(MAX_CONCURRENT_MEDIA_UPLOADS);
+                mUploadPermits.put(site.getId(), permits);
+            }
+            return permits;
         }
     }
 
@@ -629,19 +778,20 @@ public class PostUploadService extends Service {
     @SuppressWarnings("unused")
     @Subscribe(threadMode = ThreadMode.MAIN)
     public void onMediaUploaded(OnMediaUploaded event) {
+        PendingMedia media = event.media != null ? mPendingMedia.get(event.media.getId()) : null;
         // Event for unknown media, ignoring
-        if (event.media == null || mCurrentUploadingPost == null || mMediaLatchMap.get(event.media.getId()) == null) {
+        if (media == null || mCurrentUploadingPost == null || mCurrentTask == null) {
             AppLog.w(T.MEDIA, "Media event not recognized: " + event.media);
             return;
         }
 
         if (event.isError()) {
             AppLog.e(T.MEDIA, "Media upload failed. " + event.error.type + ": " + event.error.message);
-            SiteModel site = mSiteStore.getSiteByLocalId(mCurrentUploadingPost.getLocalSiteId());
             String message = getErrorMessage(mCurrentUploadingPost, getErrorMessageFromMediaError(event.error));
-            mPostUploadNotifier.updateNotificationError(mCurrentUploadingPost, site, message, true);
             mFirstPublishPosts.remove(mCurrentUploadingPost.getId());
-            finishUpload();
+            // the task shows the error and finishes the post upload once its other media uploads are done
+            mPendingMedia.remove(event.media.getId());
+            mCurrentTask.onMediaUploadFinished(media, message);
             return;
         }
 
@@ -653,11 +803,12 @@ public class PostUploadService extends Service {
         if (event.completed) {
             AppLog.i(T.MEDIA, "Media upload completed for post. Media id: " + event.media.getId()
                     + ", post id: " + mCurrentUploadingPost.getId());
-            mMediaLatchMap.get(event.media.getId()).countDown();
-            mMediaLatchMap.remove(event.media.getId());
+            mPendingMedia.remove(event.media.getId());
+            mCurrentTask.onMediaUploadFinished(media, null);
         } else {
             // Progress update
-            mPostUploadNotifier.updateNotificationProgress(mCurrentUploadingPost, event.progress);
+            media.progress = event.progress;
         }
+        mPostUploadNotifier.updateNotificationMediaProgress(mCurrentUploadingPost, mCurrentTask.getMediaProgress());
     }
 }
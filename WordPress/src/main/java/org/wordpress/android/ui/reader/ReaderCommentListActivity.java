@@ -22,7 +22,6 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.datasets.ReaderCommentTable;
 import org.wordpress.android.datasets.ReaderPostTable;
-import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.fluxc.store.AccountStore;
 import org.wordpress.android.models.ReaderComment;
 import org.wordpress.android.models.ReaderPost;
@@ -38,6 +37,8 @@ import org.wordpress.android.ui.reader.services.ReaderCommentService;
 import org.wordpress.android.ui.reader.views.ReaderRecyclerView;
 import org.wordpress.android.ui.suggestion.adapters.SuggestionAdapter;
 import org.wordpress.android.ui.suggestion.service.SuggestionEvents;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndexCache;
 import org.wordpress.android.ui.suggestion.util.SuggestionServiceConnectionManager;
 import org.wordpress.android.ui.suggestion.util.SuggestionUtils;
 import org.wordpress.android.util.AnalyticsUtils;
@@ -53,7 +54,6 @@ import org.wordpress.android.util.widgets.CustomSwipeRefreshLayout;
 import org.wordpress.android.widgets.RecyclerItemDecoration;
 import org.wordpress.android.widgets.SuggestionAutoCompleteText;
 
-import java.util.List;
 import java.util.Locale;
 
 import javax.inject.Inject;
@@ -232,8 +232,15 @@ public class ReaderCommentListActivity extends AppCompatActivity {
     public void onEventMainThread(SuggestionEvents.SuggestionNameListUpdated event) {
         // check if the updated suggestions are for the current blog and update the suggestions
         if (event.mRemoteBlogId != 0 && event.mRemoteBlogId == mBlogId && mSuggestionAdapter != null) {
-            List<Suggestion> suggestions = SuggestionTable.getSuggestionsForSite(event.mRemoteBlogId);
-            mSuggestionAdapter.setSuggestionList(suggestions);
+            // the service built the index before posting this, so it's normally cached
+            final SuggestionAdapter adapter = mSuggestionAdapter;
+            SuggestionIndexCache.loadUserIndex(event.mRemoteBlogId,
+                    new SuggestionIndexCache.OnIndexLoadedListener<Suggestion>() {
+                        @Override
+                        public void onIndexLoaded(@NonNull SuggestionIndex<Suggestion> index) {
+                            adapter.setSuggestionIndex(index);
+                        }
+                    });
         }
     }
 
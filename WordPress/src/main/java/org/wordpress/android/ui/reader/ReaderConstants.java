@@ -4,6 +4,7 @@ public class ReaderConstants {
     public static final int  READER_MAX_POSTS_TO_REQUEST        = 20;       // max # posts to request when updating posts
     public static final int  READER_MAX_SEARCH_POSTS_TO_REQUEST = 10;       // max # posts to request when searching posts
     public static final int  READER_MAX_POSTS_TO_DISPLAY        = 200;      // max # posts to display
+    public static final int  READER_POSTS_PAGE_SIZE             = 40;       // max # posts to load from the db at a time
     public static final int  READER_MAX_COMMENTS_TO_REQUEST     = 20;       // max # top-level comments to request when updating comments
     public static final int  READER_MAX_USERS_TO_DISPLAY        = 500;      // max # users to show in ReaderUserListActivity
     public static final long READER_AUTO_UPDATE_DELAY_MINUTES   = 10;       // 10 minute delay between automatic updates
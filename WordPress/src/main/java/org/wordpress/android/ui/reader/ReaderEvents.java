@@ -108,6 +108,16 @@ public class ReaderEvents {
         }
     }
 
+    public static class SearchPostsLocalResultsLoaded {
+        private final String mQuery;
+        public SearchPostsLocalResultsLoaded(@NonNull String query) {
+            mQuery = query;
+        }
+        public String getQuery() {
+            return mQuery;
+        }
+    }
+
     public static class UpdateCommentsStarted {}
     public static class UpdateCommentsEnded {
         private final ReaderActions.UpdateResult mResult;
@@ -1030,7 +1030,7 @@ public class ReaderPostDetailFragment extends Fragment
 
             txtTitle.setText(mPost.hasTitle() ? mPost.getTitle() : getString(R.string.reader_untitled_post));
 
-            String timestamp = DateTimeUtils.javaDateToTimeSpan(mPost.getDisplayDate(), WordPress.getContext());
+            String timestamp = DateTimeUtils.timeSpanFromMillis(mPost.getTimestampPublished(), WordPress.getContext());
             txtDateline.setText(timestamp);
 
             headerView.setPost(mPost, mAccountStore.hasAccessToken());
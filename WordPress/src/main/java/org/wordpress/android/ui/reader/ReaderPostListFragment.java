@@ -30,7 +30,7 @@ import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.datasets.ReaderBlogTable;
-import org.wordpress.android.datasets.ReaderDatabase;
+import org.wordpress.android.datasets.ReaderPostSearchTable;
 import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.datasets.ReaderSearchTable;
 import org.wordpress.android.datasets.ReaderTagTable;
@@ -117,7 +117,6 @@ public class ReaderPostListFragment extends Fragment
     private boolean mHasUpdatedPosts;
     private boolean mIsAnimatingOutNewPostsBar;
 
-    private static boolean mHasPurgedReaderDb;
     private static Date mLastAutoUpdateDt;
 
     private final HistoryStack mTagPreviewHistory = new HistoryStack("tag_preview_history");
@@ -313,10 +312,8 @@ public class ReaderPostListFragment extends Fragment
 
         reloadTags();
 
-        // purge database and update followed tags/blog if necessary - note that we don't purge unless
-        // there's a connection to avoid removing posts the user would expect to see offline
+        // update followed tags/blog if necessary - the database is purged when the app goes to the background
         if (getPostListType() == ReaderPostListType.TAG_FOLLOWED && NetworkUtils.isNetworkAvailable(getActivity())) {
-            purgeDatabaseIfNeeded();
             updateFollowedTagsAndBlogsIfNeeded();
         }
     }
@@ -747,6 +744,17 @@ public class ReaderPostListFragment extends Fragment
         }
     }
 
+    @SuppressWarnings("unused")
+    public void onEventMainThread(ReaderEvents.SearchPostsLocalResultsLoaded event) {
+        if (!isAdded()) return;
+
+        // show cached posts matching the current search while the server is searched
+        if (getPostListType() == ReaderPostListType.SEARCH_RESULTS
+                && event.getQuery().equals(mCurrentSearchQuery)) {
+            refreshPosts();
+        }
+    }
+
     /*
      * called when user taps follow item in popup menu for a post
      */
@@ -990,7 +998,8 @@ public class ReaderPostListFragment extends Fragment
 
                 case SEARCH_RESULTS:
                     ReaderTag searchTag = ReaderSearchService.getTagForSearchQuery(mCurrentSearchQuery);
-                    int offset = ReaderPostTable.getNumPostsWithTag(searchTag);
+                    // local results aren't counted since they weren't returned by the server
+                    int offset = ReaderPostSearchTable.getNumServerResults(searchTag);
                     if (offset < ReaderConstants.READER_MAX_POSTS_TO_DISPLAY) {
                         updatePostsInCurrentSearch(offset);
                         AnalyticsTracker.track(AnalyticsTracker.Stat.READER_INFINITE_SCROLL);
@@ -1525,17 +1534,6 @@ public class ReaderPostListFragment extends Fragment
         listPopup.show();
     }
 
-    /*
-     * purge reader db if it hasn't been done yet
-     */
-    private void purgeDatabaseIfNeeded() {
-        if (!mHasPurgedReaderDb) {
-            AppLog.d(T.READER, "reader post list > purging database");
-            mHasPurgedReaderDb = true;
-            ReaderDatabase.purgeAsync();
-        }
-    }
-
     /*
      * start background service to get the latest followed tags and blogs if it's time to do so
      */
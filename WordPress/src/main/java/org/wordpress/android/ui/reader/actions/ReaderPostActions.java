@@ -30,6 +30,7 @@ import org.wordpress.android.ui.reader.models.ReaderSimplePost;
 import org.wordpress.android.ui.reader.models.ReaderSimplePostList;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.UrlUtils;
 import org.wordpress.android.util.VolleyUtils;
@@ -146,7 +147,8 @@ public class ReaderPostActions {
 
         final Handler handler = new Handler();
 
-        new Thread() {
+        // the user is viewing this post, so it's saved ahead of other queued writes
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, BackgroundExecutor.Priority.HIGH, new Runnable() {
             @Override
             public void run() {
                 ReaderPost serverPost = ReaderPost.fromJson(jsonObject);
@@ -196,7 +198,7 @@ public class ReaderPostActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /*
@@ -386,7 +388,7 @@ public class ReaderPostActions {
                                                    final JSONObject jsonObject) {
         if (jsonObject == null) return;
 
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.PARSE, new Runnable() {
             @Override
             public void run() {
                 JSONArray jsonPosts = jsonObject.optJSONArray("posts");
@@ -405,7 +407,7 @@ public class ReaderPostActions {
                     EventBus.getDefault().post(new ReaderEvents.RelatedPostsUpdated(sourcePost, localRelatedPosts, globalRelatedPosts));
                 }
             }
-        }.start();
+        });
 
     }
 }
@@ -531,8 +531,15 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             mMoreCommentsExist = tmpMoreCommentsExist;
 
             if (result) {
-                // assign the comments with children sorted under their parents and indent levels applied
-                mComments = new ReaderCommentLeveler(tmpComments).createLevelList();
+                // assign the comments with children sorted under their parents and indent levels applied - if
+                // comments are already showing (ie: another page was loaded) new ones are added to the existing
+                // list rather than leveling all of them again
+                ReaderCommentLeveler leveler = new ReaderCommentLeveler(tmpComments);
+                if (mComments.isEmpty()) {
+                    mComments = leveler.createLevelList();
+                } else {
+                    mComments = leveler.appendToLevelList(mComments);
+                }
                 notifyDataSetChanged();
             }
             if (mDataLoadedListener != null) {
@@ -2,6 +2,8 @@ package org.wordpress.android.ui.reader.adapters;
 
 import android.content.Context;
 import android.os.AsyncTask;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.util.ListUpdateCallback;
 import android.support.v7.widget.CardView;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
@@ -65,6 +67,7 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     private final int mMarginLarge;
 
     private boolean mCanRequestMorePosts;
+    private boolean mHasMoreLocalPosts;
     private final boolean mIsLoggedOutReader;
 
     private final ReaderTypes.ReaderPostListType mPostListType;
@@ -81,6 +84,11 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     private static final boolean EXCLUDE_TEXT_COLUMN = true;
     private static final int MAX_ROWS = ReaderConstants.READER_MAX_POSTS_TO_DISPLAY;
 
+    // posts in tag streams are loaded from the db a page at a time, and the next page is loaded
+    // when the user scrolls within PREFETCH_DISTANCE posts of the end of the current ones
+    private static final int PAGE_SIZE = ReaderConstants.READER_POSTS_PAGE_SIZE;
+    private static final int PREFETCH_DISTANCE = 10;
+
     private static final int VIEW_TYPE_POST        = 0;
     private static final int VIEW_TYPE_XPOST       = 1;
     private static final int VIEW_TYPE_SITE_HEADER = 2;
@@ -356,7 +364,8 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         final ReaderPost post = getItem(position);
         ReaderTypes.ReaderPostListType postListType = getPostListType();
 
-        holder.txtDateline.setText(DateTimeUtils.javaDateToTimeSpan(post.getDisplayDate(), WordPress.getContext()));
+        holder.txtDateline.setText(
+                DateTimeUtils.timeSpanFromMillis(post.getTimestampPublished(), WordPress.getContext()));
 
         // show avatar if it exists, otherwise show blavatar
         if (post.hasPostAvatar()) {
@@ -508,10 +517,15 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     }
 
     /*
-     * if we're nearing the end of the posts, fire request to load more
+     * if we're nearing the end of the posts, load the next page of them from the db - or if
+     * they've all been loaded, fire request to load more
      */
     private void checkLoadMore(int position) {
-        if (mCanRequestMorePosts
+        if (mHasMoreLocalPosts) {
+            if (position >= getItemCount() - PREFETCH_DISTANCE) {
+                loadMorePosts();
+            }
+        } else if (mCanRequestMorePosts
                 && mDataRequestedListener != null
                 && (position >= getItemCount() - 1)) {
             mDataRequestedListener.onRequestData();
@@ -660,6 +674,7 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     }
 
     public void clear() {
+        mHasMoreLocalPosts = false;
         if (!mPosts.isEmpty()) {
             mPosts.clear();
             notifyDataSetChanged();
@@ -701,6 +716,13 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         new LoadPostsTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
+    private void loadMorePosts() {
+        if (mIsTaskRunning || mIsLoadMoreTaskRunning || mPosts.isEmpty()) {
+            return;
+        }
+        new LoadMorePostsTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
     private ReaderPost getItem(int position) {
         if (position == 0 && hasCustomFirstItem()) {
             return null;
@@ -886,6 +908,76 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         }
     }
 
+    /*
+     * passes diff results to this adapter, offsetting positions to account for the custom first item
+     */
+    private class OffsetListUpdateCallback implements ListUpdateCallback {
+        private final int mOffset;
+
+        OffsetListUpdateCallback(int offset) {
+            mOffset = offset;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position + mOffset, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position + mOffset, count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(fromPosition + mOffset, toPosition + mOffset);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(position + mOffset, count, payload);
+        }
+    }
+
+    /*
+     * returns the adapter position of the gap marker if it's below one of the passed posts, which
+     * follow the first numPostsBefore posts in the list - called from the background when loading
+     * the first page and each page appended to it
+     */
+    private int findGapMarkerPosition(ReaderPostList posts, int numPostsBefore, boolean hasMoreLocalPosts) {
+        if (!getPostListType().isTagType()) {
+            return -1;
+        }
+
+        ReaderBlogIdPostId gapMarkerIds = ReaderPostTable.getGapMarkerIdsForTag(mCurrentTag);
+        if (gapMarkerIds == null) {
+            return -1;
+        }
+
+        // find the position of the gap marker post
+        int gapPosition = posts.indexOfIds(gapMarkerIds);
+        if (gapPosition > -1) {
+            gapPosition += numPostsBefore;
+            // increment it because we want the gap marker to appear *below* this post
+            gapPosition++;
+            // increment it again if there's a custom first item
+            if (hasCustomFirstItem()) {
+                gapPosition++;
+            }
+            // remove the gap marker if it's on the last post (edge case but
+            // it can happen following a purge) - skipped if there are more posts
+            // in the db which haven't been loaded yet
+            if (gapPosition >= numPostsBefore + posts.size() - 1 && !hasMoreLocalPosts) {
+                gapPosition = -1;
+                AppLog.w(AppLog.T.READER, "gap marker at/after last post, removed");
+                ReaderPostTable.removeGapMarkerForTag(mCurrentTag);
+            } else {
+                AppLog.d(AppLog.T.READER, "gap marker at position " + gapPosition);
+            }
+        }
+        return gapPosition;
+    }
+
     /*
      * AsyncTask to load posts in the current tag
      */
@@ -893,10 +985,18 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
     private class LoadPostsTask extends AsyncTask<Void, Void, Boolean> {
         ReaderPostList allPosts;
+        ReaderPostList existingPosts;
+        int existingGapMarkerPosition;
+        int newGapMarkerPosition;
+        boolean hasMoreLocalPosts;
+        DiffUtil.DiffResult diffResult;
 
         @Override
         protected void onPreExecute() {
             mIsTaskRunning = true;
+            // snapshot the displayed posts so they can be diffed against the new ones in the background
+            existingPosts = (ReaderPostList) mPosts.clone();
+            existingGapMarkerPosition = mGapMarkerPosition;
         }
 
         @Override
@@ -911,8 +1011,11 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
                 case TAG_PREVIEW:
                 case TAG_FOLLOWED:
                 case SEARCH_RESULTS:
-                    allPosts = ReaderPostTable.getPostsWithTag(mCurrentTag, MAX_ROWS, EXCLUDE_TEXT_COLUMN);
+                    // load the first page, or as many pages as are already displayed when refreshing
+                    int numToLoad = Math.min(MAX_ROWS, Math.max(PAGE_SIZE, existingPosts.size()));
+                    allPosts = ReaderPostTable.getPostsWithTag(mCurrentTag, numToLoad, EXCLUDE_TEXT_COLUMN);
                     numExisting = ReaderPostTable.getNumPostsWithTag(mCurrentTag);
+                    hasMoreLocalPosts = allPosts.size() == numToLoad && numToLoad < MAX_ROWS;
                     break;
                 case BLOG_PREVIEW:
                     if (mCurrentFeedId != 0) {
@@ -927,7 +1030,7 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
                     return false;
             }
 
-            if (mPosts.isSameList(allPosts)) {
+            if (existingPosts.isSameList(allPosts)) {
                 return false;
             }
 
@@ -936,49 +1039,34 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             mCanRequestMorePosts = (numExisting < ReaderConstants.READER_MAX_POSTS_TO_DISPLAY);
 
             // determine whether a gap marker exists - only applies to tagged posts
-            mGapMarkerPosition = getGapMarkerPosition();
-
-            return true;
-        }
-
-        private int getGapMarkerPosition() {
-            if (!getPostListType().isTagType()) {
-                return -1;
-            }
+            newGapMarkerPosition = findGapMarkerPosition(allPosts, 0, hasMoreLocalPosts);
 
-            ReaderBlogIdPostId gapMarkerIds = ReaderPostTable.getGapMarkerIdsForTag(mCurrentTag);
-            if (gapMarkerIds == null) {
-                return -1;
+            // calculate the changes between the existing and new posts so only changed posts are
+            // rebound - skipped when there aren't any existing posts or when a gap marker is (or
+            // was) showing, since the marker shifts the position of every post below it
+            if (!existingPosts.isEmpty() && existingGapMarkerPosition == -1 && newGapMarkerPosition == -1) {
+                diffResult = DiffUtil.calculateDiff(new ReaderPostDiffCallback(existingPosts, allPosts));
             }
 
-            // find the position of the gap marker post
-            int gapPosition = allPosts.indexOfIds(gapMarkerIds);
-            if (gapPosition > -1) {
-                // increment it because we want the gap marker to appear *below* this post
-                gapPosition++;
-                // increment it again if there's a custom first item
-                if (hasCustomFirstItem()) {
-                    gapPosition++;
-                }
-                // remove the gap marker if it's on the last post (edge case but
-                // it can happen following a purge)
-                if (gapPosition >= allPosts.size() - 1) {
-                    gapPosition = -1;
-                    AppLog.w(AppLog.T.READER, "gap marker at/after last post, removed");
-                    ReaderPostTable.removeGapMarkerForTag(mCurrentTag);
-                } else {
-                    AppLog.d(AppLog.T.READER, "gap marker at position " + gapPosition);
-                }
-            }
-            return gapPosition;
+            return true;
         }
 
         @Override
         protected void onPostExecute(Boolean result) {
             if (result) {
+                // the diff is only valid if the displayed posts didn't change while it was calculated
+                boolean canDispatchDiff = diffResult != null
+                        && mGapMarkerPosition == existingGapMarkerPosition
+                        && mPosts.equals(existingPosts);
                 mPosts.clear();
                 mPosts.addAll(allPosts);
-                notifyDataSetChanged();
+                mGapMarkerPosition = newGapMarkerPosition;
+                mHasMoreLocalPosts = hasMoreLocalPosts;
+                if (canDispatchDiff) {
+                    diffResult.dispatchUpdatesTo(new OffsetListUpdateCallback(hasCustomFirstItem() ? 1 : 0));
+                } else {
+                    notifyDataSetChanged();
+                }
             }
 
             if (mDataLoadedListener != null) {
@@ -988,4 +1076,69 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             mIsTaskRunning = false;
         }
     }
+
+    /*
+     * AsyncTask to load the next page of posts in the current tag from the db
+     */
+    private boolean mIsLoadMoreTaskRunning = false;
+
+    private class LoadMorePostsTask extends AsyncTask<Void, Void, Boolean> {
+        ReaderPost lastPost;
+        int numExisting;
+        ReaderPostList morePosts;
+        boolean hasMoreLocalPosts;
+        boolean hasGapMarker;
+        int newGapMarkerPosition = -1;
+
+        @Override
+        protected void onPreExecute() {
+            mIsLoadMoreTaskRunning = true;
+            numExisting = mPosts.size();
+            lastPost = mPosts.get(numExisting - 1);
+            hasGapMarker = mGapMarkerPosition > -1;
+        }
+
+        @Override
+        protected void onCancelled() {
+            mIsLoadMoreTaskRunning = false;
+        }
+
+        @Override
+        protected Boolean doInBackground(Void... params) {
+            if (!getPostListType().isTagType()) {
+                return false;
+            }
+            int numToLoad = Math.min(PAGE_SIZE, MAX_ROWS - numExisting);
+            if (numToLoad <= 0) {
+                return false;
+            }
+            morePosts = ReaderPostTable.getPostsWithTagAfter(mCurrentTag, lastPost, numToLoad, EXCLUDE_TEXT_COLUMN);
+            hasMoreLocalPosts = morePosts.size() == numToLoad && numExisting + numToLoad < MAX_ROWS;
+            // the gap marker may be on one of the appended posts if it wasn't on the earlier ones
+            if (!hasGapMarker) {
+                newGapMarkerPosition = findGapMarkerPosition(morePosts, numExisting, hasMoreLocalPosts);
+            }
+            return true;
+        }
+
+        @Override
+        protected void onPostExecute(Boolean result) {
+            mIsLoadMoreTaskRunning = false;
+
+            // ignore the result if the posts were reloaded while this page was loading
+            if (mIsTaskRunning || mPosts.isEmpty() || mPosts.get(mPosts.size() - 1) != lastPost) {
+                return;
+            }
+
+            mHasMoreLocalPosts = result && hasMoreLocalPosts;
+            if (result && morePosts.size() > 0) {
+                int positionStart = getItemCount();
+                mPosts.addAll(morePosts);
+                if (mGapMarkerPosition == -1) {
+                    mGapMarkerPosition = newGapMarkerPosition;
+                }
+                notifyItemRangeInserted(positionStart, morePosts.size());
+            }
+        }
+    }
 }
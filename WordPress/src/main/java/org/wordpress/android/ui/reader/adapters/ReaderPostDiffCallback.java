@@ -0,0 +1,53 @@
+package org.wordpress.android.ui.reader.adapters;
+
+import android.support.v7.util.DiffUtil;
+import android.text.TextUtils;
+
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderPostList;
+
+/*
+ * used by ReaderPostAdapter to determine the minimal set of changes between the posts currently
+ * displayed and a freshly loaded list, so only posts which actually changed are rebound - posts
+ * are matched by their pseudo_id, and their content is compared using ReaderPost.isSamePost()
+ */
+class ReaderPostDiffCallback extends DiffUtil.Callback {
+    private final ReaderPostList mOldPosts;
+    private final ReaderPostList mNewPosts;
+
+    ReaderPostDiffCallback(ReaderPostList oldPosts, ReaderPostList newPosts) {
+        mOldPosts = oldPosts;
+        mNewPosts = newPosts;
+    }
+
+    @Override
+    public int getOldListSize() {
+        return mOldPosts.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+        return mNewPosts.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        ReaderPost oldPost = mOldPosts.get(oldItemPosition);
+        ReaderPost newPost = mNewPosts.get(newItemPosition);
+        String oldPseudoId = oldPost.getPseudoId();
+        String newPseudoId = newPost.getPseudoId();
+        if (!TextUtils.isEmpty(oldPseudoId) && !TextUtils.isEmpty(newPseudoId)) {
+            return oldPseudoId.equals(newPseudoId);
+        }
+        // fall back to the same blogId/feedId/postId match used by ReaderPostList.indexOfPost()
+        if (oldPost.postId != newPost.postId) {
+            return false;
+        }
+        return newPost.isExternal ? oldPost.feedId == newPost.feedId : oldPost.blogId == newPost.blogId;
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        return mOldPosts.get(oldItemPosition).isSamePost(mNewPosts.get(newItemPosition));
+    }
+}
@@ -24,6 +24,7 @@ import org.wordpress.android.ui.reader.actions.ReaderActions;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.JSONUtils;
 
 import de.greenrobot.event.EventBus;
@@ -160,7 +161,7 @@ public class ReaderCommentService extends Service {
             return;
         }
 
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, new Runnable() {
             @Override
             public void run() {
                 final boolean hasNewComments;
@@ -201,6 +202,6 @@ public class ReaderCommentService extends Service {
                         (hasNewComments ? ReaderActions.UpdateResult.HAS_NEW : ReaderActions.UpdateResult.UNCHANGED);
                 resultListener.onUpdateResult(result);
             }
-        }.start();
+        });
     }
 }
@@ -17,12 +17,14 @@ import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.models.ReaderPostList;
 import org.wordpress.android.models.ReaderTag;
 import org.wordpress.android.models.ReaderTagType;
+import org.wordpress.android.networking.RestClientUtils;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
 
@@ -194,6 +196,7 @@ public class ReaderPostService extends Service {
 
         sb.append("&meta=site,likes");
 
+        final PostBatchSaver saver = new PostBatchSaver(tag, updateAction, resultListener);
         com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
             @Override
             public void onResponse(JSONObject jsonObject) {
@@ -201,7 +204,7 @@ public class ReaderPostService extends Service {
                 if (updateAction == UpdateAction.REQUEST_NEWER) {
                     ReaderTagTable.setTagLastUpdated(tag);
                 }
-                handleUpdatePostsResponse(tag, jsonObject, updateAction, resultListener);
+                saver.finish();
             }
         };
         RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
@@ -212,7 +215,7 @@ public class ReaderPostService extends Service {
             }
         };
 
-        WordPress.getRestClientUtilsV1_2().get(sb.toString(), null, null, listener, errorListener);
+        requestPosts(sb.toString(), saver, listener, errorListener);
     }
 
     private static void requestPostsForBlog(final long blogId,
@@ -228,10 +231,11 @@ public class ReaderPostService extends Service {
             }
         }
 
+        final PostBatchSaver saver = new PostBatchSaver(null, updateAction, resultListener);
         com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
             @Override
             public void onResponse(JSONObject jsonObject) {
-                handleUpdatePostsResponse(null, jsonObject, updateAction, resultListener);
+                saver.finish();
             }
         };
         RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
@@ -242,7 +246,7 @@ public class ReaderPostService extends Service {
             }
         };
         AppLog.d(AppLog.T.READER, "updating posts in blog " + blogId);
-        WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
+        requestPosts(path, saver, listener, errorListener);
     }
 
     private static void requestPostsForFeed(final long feedId,
@@ -256,10 +260,11 @@ public class ReaderPostService extends Service {
             }
         }
 
+        final PostBatchSaver saver = new PostBatchSaver(null, updateAction, resultListener);
         com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
             @Override
             public void onResponse(JSONObject jsonObject) {
-                handleUpdatePostsResponse(null, jsonObject, updateAction, resultListener);
+                saver.finish();
             }
         };
         RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
@@ -271,72 +276,161 @@ public class ReaderPostService extends Service {
         };
 
         AppLog.d(AppLog.T.READER, "updating posts in feed " + feedId);
-        WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
+        requestPosts(path, saver, listener, errorListener);
     }
 
     /*
-     * called after requesting posts with a specific tag or in a specific blog/feed
+     * requests posts from the passed path, streaming them from the response to the passed saver
      */
-    private static void handleUpdatePostsResponse(final ReaderTag tag,
-                                                  final JSONObject jsonObject,
-                                                  final UpdateAction updateAction,
-                                                  final UpdateResultListener resultListener) {
-        if (jsonObject == null) {
-            resultListener.onUpdateResult(UpdateResult.FAILED);
-            return;
+    private static void requestPosts(String path,
+                                     final PostBatchSaver saver,
+                                     final RestRequest.Listener listener,
+                                     final RestRequest.ErrorListener errorListener) {
+        RestClientUtils.RequestFactory factory = new RestClientUtils.RequestFactory() {
+            @Override
+            public RestRequest makeRequest(String url, RestRequest.ErrorListener errorListener) {
+                return new ReaderPostStreamRequest(url, saver, listener, errorListener);
+            }
+        };
+        WordPress.getRestClientUtilsV1_2().get(path, factory, errorListener);
+    }
+
+    /*
+     * saves posts a batch at a time as they're parsed from the response, then sets the gap marker
+     * and reports the result once the response is done. all work runs on the single db writer at
+     * the same (high) priority so it runs in order, ahead of other queued work since the user is
+     * waiting on these posts. posts are only saved once at least one of them is new or changed,
+     * and gap detection for posts with a specific tag requires the whole response - see finishOnWriter
+     */
+    private static class PostBatchSaver implements ReaderPostStreamRequest.PostBatchListener {
+        private final ReaderTag mTag;
+        private final UpdateAction mUpdateAction;
+        private final UpdateResultListener mResultListener;
+
+        // posts which have been compared but not yet saved
+        private final ReaderPostList mPendingPosts = new ReaderPostList();
+        private UpdateResult mUpdateResult = UpdateResult.UNCHANGED;
+        private ReaderPost mLastSavedPost;
+        private int mNumServerPosts;
+        private boolean mHasLocalPosts;
+        private boolean mHasOverlap;
+
+        PostBatchSaver(ReaderTag tag, UpdateAction updateAction, UpdateResultListener resultListener) {
+            mTag = tag;
+            mUpdateAction = updateAction;
+            mResultListener = resultListener;
         }
 
-        new Thread() {
-            @Override
-            public void run() {
-                ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
-                UpdateResult updateResult = ReaderPostTable.comparePosts(serverPosts);
-                if (updateResult.isNewOrChanged()) {
-                    // gap detection - only applies to posts with a specific tag
-                    ReaderPost postWithGap = null;
-                    if (tag != null) {
-                        switch (updateAction) {
-                            case REQUEST_NEWER:
-                                // if there's no overlap between server and local (ie: all server
-                                // posts are new), assume there's a gap between server and local
-                                // provided that local posts exist
-                                int numServerPosts = serverPosts.size();
-                                if (numServerPosts >= 2
-                                        && ReaderPostTable.getNumPostsWithTag(tag) > 0
-                                        && !ReaderPostTable.hasOverlap(serverPosts)) {
-                                    // treat the second to last server post as having a gap
-                                    postWithGap = serverPosts.get(numServerPosts - 2);
-                                    // remove the last server post to deal with the edge case of
-                                    // there actually not being a gap between local & server
-                                    serverPosts.remove(numServerPosts - 1);
-                                    AppLog.d(AppLog.T.READER, "added gap marker to tag " + tag.getTagNameForLog());
-                                }
-                                ReaderPostTable.removeGapMarkerForTag(tag);
-                                break;
-                            case REQUEST_OLDER_THAN_GAP:
-                                // if service was started as a request to fill a gap, delete existing posts
-                                // before the one with the gap marker, then remove the existing gap marker
-                                ReaderPostTable.deletePostsBeforeGapMarkerForTag(tag);
-                                ReaderPostTable.removeGapMarkerForTag(tag);
-                                break;
+        /*
+         * called on the network thread for each batch of posts parsed from the response
+         */
+        @Override
+        public void onPostBatch(final ReaderPostList posts) {
+            BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, BackgroundExecutor.Priority.HIGH,
+                    new Runnable() {
+                        @Override
+                        public void run() {
+                            saveBatchOnWriter(posts);
                         }
-                    }
+                    });
+        }
+
+        /*
+         * called on the main thread once the whole response has been parsed
+         */
+        void finish() {
+            BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, BackgroundExecutor.Priority.HIGH,
+                    new Runnable() {
+                        @Override
+                        public void run() {
+                            finishOnWriter();
+                        }
+                    });
+        }
 
-                    ReaderPostTable.addOrUpdatePosts(tag, serverPosts);
+        /*
+         * if there's no overlap between server and local (ie: all server posts are new), assume
+         * there's a gap between server and local provided that local posts existed - only applies
+         * to newer posts with a specific tag
+         */
+        private boolean mayHaveGap() {
+            return mTag != null
+                    && mUpdateAction == UpdateAction.REQUEST_NEWER
+                    && mHasLocalPosts
+                    && !mHasOverlap;
+        }
 
-                    // gap marker must be set after saving server posts
-                    if (postWithGap != null) {
-                        ReaderPostTable.setGapMarkerForTag(postWithGap.blogId, postWithGap.postId, tag);
-                    }
-                } else if (updateResult == UpdateResult.UNCHANGED && updateAction == UpdateAction.REQUEST_OLDER_THAN_GAP) {
-                    // edge case - request to fill gap returned nothing new, so remove the gap marker
-                    ReaderPostTable.removeGapMarkerForTag(tag);
-                    AppLog.w(AppLog.T.READER, "attempt to fill gap returned nothing new");
+        private void saveBatchOnWriter(ReaderPostList posts) {
+            boolean isFirstBatch = (mNumServerPosts == 0);
+            if (isFirstBatch && mTag != null && mUpdateAction == UpdateAction.REQUEST_NEWER) {
+                mHasLocalPosts = ReaderPostTable.getNumPostsWithTag(mTag) > 0;
+            }
+            if (mayHaveGap() && ReaderPostTable.hasOverlap(posts)) {
+                mHasOverlap = true;
+            }
+            mNumServerPosts += posts.size();
+
+            boolean wasNewOrChanged = mUpdateResult.isNewOrChanged();
+            UpdateResult batchResult = ReaderPostTable.comparePosts(posts);
+            if (batchResult == UpdateResult.HAS_NEW || !wasNewOrChanged) {
+                mUpdateResult = batchResult;
+            }
+
+            mPendingPosts.addAll(posts);
+            if (!mUpdateResult.isNewOrChanged()) {
+                return;
+            }
+
+            // the existing gap marker must be removed before any posts are saved
+            if (!wasNewOrChanged && mTag != null) {
+                switch (mUpdateAction) {
+                    case REQUEST_NEWER:
+                        ReaderPostTable.removeGapMarkerForTag(mTag);
+                        break;
+                    case REQUEST_OLDER_THAN_GAP:
+                        // if service was started as a request to fill a gap, delete existing posts
+                        // before the one with the gap marker, then remove the existing gap marker
+                        ReaderPostTable.deletePostsBeforeGapMarkerForTag(mTag);
+                        ReaderPostTable.removeGapMarkerForTag(mTag);
+                        break;
+                }
+            }
+
+            // hold onto the last post if there may be a gap since it won't be saved if there is one
+            savePendingPosts(mayHaveGap() ? 1 : 0);
+        }
+
+        private void savePendingPosts(int numToHold) {
+            int numToSave = mPendingPosts.size() - numToHold;
+            if (numToSave <= 0) {
+                return;
+            }
+            ReaderPostList postsToSave = new ReaderPostList();
+            postsToSave.addAll(mPendingPosts.subList(0, numToSave));
+            ReaderPostTable.addOrUpdatePosts(mTag, postsToSave);
+            mLastSavedPost = postsToSave.get(numToSave - 1);
+            mPendingPosts.subList(0, numToSave).clear();
+        }
+
+        private void finishOnWriter() {
+            if (mUpdateResult.isNewOrChanged()) {
+                if (mayHaveGap() && mNumServerPosts >= 2) {
+                    // treat the second to last server post as having a gap, and skip the last server
+                    // post to deal with the edge case of there actually not being a gap between local
+                    // & server - the gap marker must be set after saving server posts
+                    ReaderPostTable.setGapMarkerForTag(mLastSavedPost.blogId, mLastSavedPost.postId, mTag);
+                    AppLog.d(AppLog.T.READER, "added gap marker to tag " + mTag.getTagNameForLog());
+                } else {
+                    savePendingPosts(0);
                 }
-                AppLog.d(AppLog.T.READER, "requested posts response = " + updateResult.toString());
-                resultListener.onUpdateResult(updateResult);
+            } else if (mUpdateAction == UpdateAction.REQUEST_OLDER_THAN_GAP) {
+                // edge case - request to fill gap returned nothing new, so remove the gap marker
+                ReaderPostTable.removeGapMarkerForTag(mTag);
+                AppLog.w(AppLog.T.READER, "attempt to fill gap returned nothing new");
             }
-        }.start();
+            AppLog.d(AppLog.T.READER, "requested posts response = " + mUpdateResult.toString());
+            mResultListener.onUpdateResult(mUpdateResult);
+        }
     }
 
     /*
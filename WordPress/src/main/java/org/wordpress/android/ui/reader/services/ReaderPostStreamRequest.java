@@ -0,0 +1,152 @@
+package org.wordpress.android.ui.reader.services;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.toolbox.HttpHeaderParser;
+import com.wordpress.rest.RestRequest;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderPostList;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * request for a list of reader posts which parses the "posts" array one post at a time as
+ * the response is read and hands them to the listener in fixed-size batches, so neither the
+ * response string nor the full json tree is built - the listener is called on the network
+ * thread and the response passed to the regular listener contains everything but the posts
+ */
+class ReaderPostStreamRequest extends RestRequest {
+    static final int BATCH_SIZE = 10;
+
+    interface PostBatchListener {
+        void onPostBatch(ReaderPostList posts);
+    }
+
+    private final PostBatchListener mBatchListener;
+
+    ReaderPostStreamRequest(String url,
+                            PostBatchListener batchListener,
+                            Listener listener,
+                            ErrorListener errorListener) {
+        super(Request.Method.GET, url, null, listener, errorListener);
+        mBatchListener = batchListener;
+        // a cached response would be parsed (and its posts handed off) a second time when it's refreshed
+        setShouldCache(false);
+    }
+
+    @Override
+    protected Response<JSONObject> parseNetworkResponse(NetworkResponse response) {
+        JsonReader reader = null;
+        try {
+            String charset = HttpHeaderParser.parseCharset(response.headers, "UTF-8");
+            reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(response.data), charset));
+            JSONObject json = new JSONObject();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("posts") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    readPosts(reader);
+                } else {
+                    json.put(name, readValue(reader));
+                }
+            }
+            reader.endObject();
+            return Response.success(json, HttpHeaderParser.parseCacheHeaders(response));
+        } catch (IOException | IllegalStateException | JSONException e) {
+            return Response.error(new ParseError(e));
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // nop
+                }
+            }
+        }
+    }
+
+    private void readPosts(JsonReader reader) throws IOException, JSONException {
+        ReaderPostList batch = new ReaderPostList();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            batch.add(ReaderPost.fromJson(readObject(reader)));
+            if (batch.size() == BATCH_SIZE) {
+                mBatchListener.onPostBatch(batch);
+                batch = new ReaderPostList();
+            }
+        }
+        reader.endArray();
+        if (batch.size() > 0) {
+            mBatchListener.onPostBatch(batch);
+        }
+    }
+
+    /*
+     * the read* routines below build the same values JSONTokener would so ReaderPost.fromJson
+     * treats them the same as it did when the full response was parsed into a JSONObject
+     */
+    private static JSONObject readObject(JsonReader reader) throws IOException, JSONException {
+        JSONObject json = new JSONObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            json.put(name, readValue(reader));
+        }
+        reader.endObject();
+        return json;
+    }
+
+    private static JSONArray readArray(JsonReader reader) throws IOException, JSONException {
+        JSONArray json = new JSONArray();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            json.put(readValue(reader));
+        }
+        reader.endArray();
+        return json;
+    }
+
+    private static Object readValue(JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(reader);
+            case BEGIN_ARRAY:
+                return readArray(reader);
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER:
+                return readNumber(reader.nextString());
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                return reader.nextString();
+        }
+    }
+
+    private static Object readNumber(String literal) {
+        if (literal.indexOf('.') == -1 && literal.indexOf('e') == -1 && literal.indexOf('E') == -1) {
+            try {
+                long longValue = Long.parseLong(literal);
+                if (longValue <= Integer.MAX_VALUE && longValue >= Integer.MIN_VALUE) {
+                    return (int) longValue;
+                }
+                return longValue;
+            } catch (NumberFormatException e) {
+                // too large for a long, fall through and parse it as a double
+            }
+        }
+        return Double.valueOf(literal);
+    }
+}
@@ -11,6 +11,7 @@ import com.wordpress.rest.RestRequest;
 
 import org.json.JSONObject;
 import org.wordpress.android.WordPress;
+import org.wordpress.android.datasets.ReaderPostSearchTable;
 import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.models.ReaderPostList;
 import org.wordpress.android.models.ReaderTag;
@@ -19,6 +20,7 @@ import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
 
@@ -104,18 +106,39 @@ public class ReaderSearchService extends Service {
 
         AppLog.d(AppLog.T.READER, "reader search service > starting search for " + query);
         EventBus.getDefault().post(new ReaderEvents.SearchPostsStarted(query, offset));
+        if (offset == 0) {
+            addLocalSearchResults(query);
+        }
         WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
     }
 
+    /*
+     * adds cached posts matching the query to the search results so they can be shown while the
+     * server is searched (or when it can't be reached) - they're replaced by the server's results
+     */
+    private static void addLocalSearchResults(final String query) {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, new Runnable() {
+            @Override
+            public void run() {
+                int numAdded = ReaderPostSearchTable.addLocalSearchResults(
+                        getTagForSearchQuery(query), query, ReaderConstants.READER_MAX_SEARCH_POSTS_TO_REQUEST);
+                if (numAdded > 0) {
+                    AppLog.d(AppLog.T.READER, "reader search service > " + numAdded + " local results for " + query);
+                    EventBus.getDefault().post(new ReaderEvents.SearchPostsLocalResultsLoaded(query));
+                }
+            }
+        });
+    }
+
     private static void handleSearchResponse(final String query, final int offset, final JSONObject jsonObject) {
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, new Runnable() {
             @Override
             public void run() {
                 ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
                 ReaderPostTable.addOrUpdatePosts(getTagForSearchQuery(query), serverPosts);
                 EventBus.getDefault().post(new ReaderEvents.SearchPostsEnded(query, offset, true));
             }
-        }.start();
+        });
     }
 
     /*
@@ -24,6 +24,7 @@ import org.wordpress.android.models.ReaderTagType;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.JSONUtils;
 
 import java.util.EnumSet;
@@ -141,7 +142,7 @@ public class ReaderUpdateService extends Service {
     }
 
     private void handleUpdateTagsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, BackgroundExecutor.Priority.LOW, new Runnable() {
             @Override
             public void run() {
                 // get server topics, both default & followed - but use "recommended" for logged-out
@@ -184,7 +185,7 @@ public class ReaderUpdateService extends Service {
 
                 taskCompleted(UpdateTask.TAGS);
             }
-        }.start();
+        });
     }
 
     /*
@@ -268,7 +269,7 @@ public class ReaderUpdateService extends Service {
     }
 
     private void handleFollowedBlogsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, BackgroundExecutor.Priority.LOW, new Runnable() {
             @Override
             public void run() {
                 ReaderBlogList serverBlogs = ReaderBlogList.fromJson(jsonObject);
@@ -290,7 +291,7 @@ public class ReaderUpdateService extends Service {
 
                 taskCompleted(UpdateTask.FOLLOWED_BLOGS);
             }
-        }.start();
+        });
     }
 
     /***
@@ -318,7 +319,7 @@ public class ReaderUpdateService extends Service {
         WordPress.getRestClientUtilsV1_1().get(path, listener, errorListener);
     }
     private void handleRecommendedBlogsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, BackgroundExecutor.Priority.LOW, new Runnable() {
             @Override
             public void run() {
                 ReaderRecommendBlogList serverBlogs = ReaderRecommendBlogList.fromJson(jsonObject);
@@ -331,6 +332,6 @@ public class ReaderUpdateService extends Service {
 
                 taskCompleted(UpdateTask.RECOMMENDED_BLOGS);
             }
-        }.start();
+        });
     }
 }
@@ -6,41 +6,49 @@ import org.wordpress.android.models.ReaderComment;
 import org.wordpress.android.models.ReaderCommentList;
 import org.wordpress.android.util.AppLog;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+
 /*
  * utility class which accepts a list of comments and then creates a "level list" from it
- * which places child comments below their parents with indentation levels applied
+ * which places child comments below their parents with indentation levels applied - the
+ * children of each comment are indexed up front so the list is created in a single pass
  */
 
 public class ReaderCommentLeveler {
     private final ReaderCommentList mComments;
 
+    // maps comment ids to their children, in the order they appear in the list of comments
+    private final HashMap<Long, ReaderCommentList> mChildren = new HashMap<>();
+
     public ReaderCommentLeveler(@NonNull ReaderCommentList comments) {
         mComments = comments;
     }
 
     public ReaderCommentList createLevelList() {
+        indexChildren(mComments);
+
+        HashSet<Long> commentIds = new HashSet<>(mComments.size());
+        for (ReaderComment comment : mComments) {
+            commentIds.add(comment.commentId);
+        }
+
         ReaderCommentList result = new ReaderCommentList();
+        result.ensureCapacity(mComments.size());
 
-        // reset all levels, and add root comments to result
+        // add root comments with their children beneath them
         for (ReaderComment comment : mComments) {
-            comment.level = 0;
             if (comment.parentId == 0) {
-                result.add(comment);
+                addWithChildren(result, comment, 0);
             }
         }
 
-        // add children at each level
-        int level = 0;
-        while (walkCommentsAtLevel(result, level)) {
-            level++;
-        }
-
-        // check for orphans (child comments whose parents weren't found above) and give them
-        // a non-zero level so they're indented by ReaderCommentAdapter
-        for (ReaderComment comment : result) {
-            if (comment.level == 0 && comment.parentId != 0) {
-                comment.level = 1;
-                result.add(comment);
+        // add orphans (child comments whose parents weren't found above) with a non-zero level
+        // so they're indented by ReaderCommentAdapter
+        for (ReaderComment comment : mComments) {
+            if (comment.parentId != 0 && !commentIds.contains(comment.parentId)) {
+                addWithChildren(result, comment, 1);
                 AppLog.d(AppLog.T.READER, "Orphan comment encountered");
             }
         }
@@ -49,48 +57,154 @@ public class ReaderCommentLeveler {
     }
 
     /*
-     * walk comments in the passed list that have the passed level and add their children
-     * beneath them
+     * returns a level list containing the comments in the passed level list (which was previously
+     * created from an older copy of this leveler's comments) followed by any comments which aren't
+     * in it, each placed beneath its parent - existing comments keep their position and level so
+     * the list doesn't have to be re-leveled when a page of comments is loaded. Falls back to
+     * creating the level list from scratch when existing comments would need to move.
      */
-    private boolean walkCommentsAtLevel(@NonNull ReaderCommentList comments, int level) {
-        boolean hasChanges = false;
-        for (int index = 0; index < comments.size(); index++) {
-            ReaderComment parent = comments.get(index);
-            if (parent.level == level && hasChildren(parent.commentId)) {
-                // get children for this comment, set their level, then add them below the parent
-                ReaderCommentList children = getChildren(parent.commentId);
-                setLevel(children, level + 1);
-                comments.addAll(index + 1, children);
-                hasChanges = true;
-                // skip past the children we just added
-                index += children.size();
+    public ReaderCommentList appendToLevelList(@NonNull ReaderCommentList levelList) {
+        HashMap<Long, ReaderComment> commentsById = new HashMap<>(mComments.size());
+        for (ReaderComment comment : mComments) {
+            commentsById.put(comment.commentId, comment);
+        }
+
+        HashSet<Long> existingIds = new HashSet<>(levelList.size());
+        for (ReaderComment comment : levelList) {
+            if (!commentsById.containsKey(comment.commentId)) {
+                // an existing comment has been removed
+                return createLevelList();
             }
+            existingIds.add(comment.commentId);
         }
-        return hasChanges;
+
+        ReaderCommentList newComments = new ReaderCommentList();
+        for (ReaderComment comment : mComments) {
+            if (!existingIds.contains(comment.commentId)) {
+                newComments.add(comment);
+            }
+        }
+
+        // the new comments beneath each existing comment, new root comments and new orphans
+        HashMap<Long, ReaderCommentList> newChildrenOfExisting = new HashMap<>();
+        ReaderCommentList newRoots = new ReaderCommentList();
+        ReaderCommentList newOrphans = new ReaderCommentList();
+        for (ReaderComment comment : newComments) {
+            if (comment.parentId == 0) {
+                newRoots.add(comment);
+            } else if (existingIds.contains(comment.parentId)) {
+                ReaderCommentList children = newChildrenOfExisting.get(comment.parentId);
+                if (children == null) {
+                    children = new ReaderCommentList();
+                    newChildrenOfExisting.put(comment.parentId, children);
+                }
+                children.add(comment);
+            } else if (!commentsById.containsKey(comment.parentId)) {
+                newOrphans.add(comment);
+            }
+        }
+        indexChildren(newComments);
+
+        ReaderCommentList result = new ReaderCommentList();
+        result.ensureCapacity(mComments.size());
+
+        // walk the existing list, adding the new children of each existing comment after the last
+        // of its existing descendants - the stack holds the comments whose descendants are being walked
+        ArrayDeque<ReaderComment> ancestors = new ArrayDeque<>();
+        boolean hasAddedNewRoots = false;
+        for (ReaderComment existing : levelList) {
+            boolean isOrphan = existing.parentId != 0 && !existingIds.contains(existing.parentId);
+            if (isOrphan && commentsById.containsKey(existing.parentId)) {
+                // the orphan's parent has been loaded, so it needs to move beneath it
+                return createLevelList();
+            }
+
+            // new root comments go after the existing ones, before any orphans
+            if (isOrphan && !hasAddedNewRoots) {
+                closeAncestors(result, ancestors, 0, newChildrenOfExisting);
+                addAllWithChildren(result, newRoots, 0);
+                hasAddedNewRoots = true;
+            } else {
+                closeAncestors(result, ancestors, existing.level, newChildrenOfExisting);
+            }
+
+            // use the comment that was just loaded since its like count, etc., may have changed
+            ReaderComment comment = commentsById.get(existing.commentId);
+            comment.level = existing.level;
+            result.add(comment);
+            ancestors.push(comment);
+        }
+
+        closeAncestors(result, ancestors, 0, newChildrenOfExisting);
+        if (!hasAddedNewRoots) {
+            addAllWithChildren(result, newRoots, 0);
+        }
+        if (newOrphans.size() > 0) {
+            AppLog.d(AppLog.T.READER, "Orphan comment encountered");
+            addAllWithChildren(result, newOrphans, 1);
+        }
+
+        return result;
     }
 
-    private boolean hasChildren(long commentId) {
-        for (ReaderComment comment: mComments) {
-            if (comment.parentId == commentId) {
-                return true;
+    private void indexChildren(@NonNull ReaderCommentList comments) {
+        mChildren.clear();
+        for (ReaderComment comment : comments) {
+            if (comment.parentId == 0) {
+                continue;
+            }
+            ReaderCommentList children = mChildren.get(comment.parentId);
+            if (children == null) {
+                children = new ReaderCommentList();
+                mChildren.put(comment.parentId, children);
             }
+            children.add(comment);
         }
-        return false;
     }
 
-    private ReaderCommentList getChildren(long commentId) {
-        ReaderCommentList children = new ReaderCommentList();
-        for (ReaderComment comment: mComments) {
-            if (comment.parentId == commentId) {
-                children.add(comment);
+    /*
+     * adds the passed comment at the passed level followed by its descendants depth-first - uses
+     * a stack rather than recursion since threads may be nested very deeply
+     */
+    private void addWithChildren(@NonNull ReaderCommentList result, @NonNull ReaderComment comment, int level) {
+        ArrayDeque<ReaderComment> stack = new ArrayDeque<>();
+        comment.level = level;
+        stack.push(comment);
+        while (!stack.isEmpty()) {
+            ReaderComment parent = stack.pop();
+            result.add(parent);
+            ReaderCommentList children = mChildren.get(parent.commentId);
+            if (children != null) {
+                // pushed in reverse so they're popped in their original order
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    ReaderComment child = children.get(i);
+                    child.level = parent.level + 1;
+                    stack.push(child);
+                }
             }
         }
-        return children;
     }
 
-    private void setLevel(@NonNull ReaderCommentList comments, int level) {
-        for (ReaderComment comment: comments) {
-            comment.level = level;
+    private void addAllWithChildren(@NonNull ReaderCommentList result, @NonNull ReaderCommentList comments, int level) {
+        for (ReaderComment comment : comments) {
+            addWithChildren(result, comment, level);
+        }
+    }
+
+    /*
+     * pops the ancestors at or below the passed level since their descendants have all been
+     * added, adding any new children beneath them
+     */
+    private void closeAncestors(@NonNull ReaderCommentList result,
+                                @NonNull ArrayDeque<ReaderComment> ancestors,
+                                int level,
+                                @NonNull HashMap<Long, ReaderCommentList> newChildrenOfExisting) {
+        while (!ancestors.isEmpty() && ancestors.peek().level >= level) {
+            ReaderComment ancestor = ancestors.pop();
+            ReaderCommentList newChildren = newChildrenOfExisting.get(ancestor.commentId);
+            if (newChildren != null) {
+                addAllWithChildren(result, newChildren, ancestor.level + 1);
+            }
         }
     }
 }
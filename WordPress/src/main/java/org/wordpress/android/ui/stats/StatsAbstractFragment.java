@@ -3,7 +3,9 @@ package org.wordpress.android.ui.stats;
 import android.app.Activity;
 import android.app.Fragment;
 import android.content.Intent;
+import android.graphics.Rect;
 import android.os.Bundle;
+import android.view.View;
 
 import com.android.volley.NoConnectionError;
 import com.android.volley.VolleyError;
@@ -123,9 +125,16 @@ public abstract class StatsAbstractFragment extends Fragment {
             intent.putExtra(StatsService.ARG_PAGE_REQUESTED, pageNumberRequested);
         }
         intent.putExtra(StatsService.ARG_SECTION, sectionsForTheService);
+        intent.putExtra(StatsService.ARG_IS_ON_SCREEN, isOnScreen());
         getActivity().startService(intent);
     }
 
+    // true if part of the fragment is currently visible, so the service can handle its sections first
+    private boolean isOnScreen() {
+        View view = getView();
+        return view != null && view.isShown() && view.getGlobalVisibleRect(new Rect());
+    }
+
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
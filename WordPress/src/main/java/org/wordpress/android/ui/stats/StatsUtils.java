@@ -303,8 +303,12 @@ public class StatsUtils {
         }
     }
 
-    public static synchronized BaseStatsModel parseResponse(StatsService.StatsEndpointsEnum endpointName, long siteId,
-                                                            JSONObject response) throws JSONException {
+    /*
+     * not synchronized since the models don't share any state, which enables StatsService to parse
+     * responses in parallel
+     */
+    public static BaseStatsModel parseResponse(StatsService.StatsEndpointsEnum endpointName, long siteId,
+                                               JSONObject response) throws JSONException {
         BaseStatsModel model = null;
         switch (endpointName) {
             case VISITS:
@@ -0,0 +1,162 @@
+package org.wordpress.android.ui.stats.datasets;
+
+import android.content.Context;
+import android.support.v4.util.LruCache;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wordpress.android.ui.stats.StatsTimeframe;
+import org.wordpress.android.ui.stats.StatsUtils;
+import org.wordpress.android.ui.stats.models.BaseStatsModel;
+import org.wordpress.android.ui.stats.service.StatsService.StatsEndpointsEnum;
+import org.wordpress.android.util.AppLog;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Two-level cache for parsed stats: an in-memory LRU of parsed models in front of StatsTable,
+ * which stores the models so they don't need to be parsed again. Entries are returned even after their TTL has passed (up to
+ * StatsTable.MAX_STALE_MINUTES) so the UI can show them immediately while StatsService
+ * fetches fresh data in the background - callers use Entry.isStale() to decide whether to
+ * refresh.
+ */
+public class StatsCache {
+    private static final int MAX_MEMORY_ENTRIES = 100;
+
+    public static class Entry {
+        public final BaseStatsModel model;
+        public final long timestamp;
+        private final StatsEndpointsEnum mEndpoint;
+
+        Entry(BaseStatsModel model, long timestamp, StatsEndpointsEnum endpoint) {
+            this.model = model;
+            this.timestamp = timestamp;
+            mEndpoint = endpoint;
+        }
+
+        public boolean isStale() {
+            long ageMillis = System.currentTimeMillis() - timestamp;
+            return ageMillis < 0 || ageMillis > getTtlMinutes(mEndpoint) * 60 * 1000L;
+        }
+    }
+
+    private static final LruCache<String, Entry> MEMORY_CACHE = new LruCache<>(MAX_MEMORY_ENTRIES);
+
+    private static final AtomicInteger MEMORY_HITS = new AtomicInteger();
+    private static final AtomicInteger DISK_HITS = new AtomicInteger();
+    private static final AtomicInteger STALE_HITS = new AtomicInteger();
+    private static final AtomicInteger MISSES = new AtomicInteger();
+
+    private StatsCache() {
+        throw new AssertionError();
+    }
+
+    /*
+     * returns how long stats from the passed endpoint are considered fresh - stats which change
+     * throughout the day expire quickly, while those which rarely change are kept for longer
+     */
+    public static int getTtlMinutes(StatsEndpointsEnum endpoint) {
+        switch (endpoint) {
+            case VISITS:
+            case INSIGHTS_TODAY:
+            case INSIGHTS_LATEST_POST_VIEWS:
+                return 5;
+            case FOLLOWERS_WPCOM:
+            case FOLLOWERS_EMAIL:
+            case COMMENT_FOLLOWERS:
+            case TAGS_AND_CATEGORIES:
+            case PUBLICIZE:
+            case INSIGHTS_ALL_TIME:
+            case INSIGHTS_POPULAR:
+                return 60;
+            default:
+                return StatsTable.CACHE_TTL_MINUTES;
+        }
+    }
+
+    private static String getKey(long blogId, StatsTimeframe timeframe, String date, StatsEndpointsEnum endpoint,
+                                 int maxResultsRequested, int pageRequested) {
+        return blogId + "-" + endpoint.ordinal() + "-" + timeframe.ordinal() + "-" + date
+                + "-" + maxResultsRequested + "-" + pageRequested;
+    }
+
+    /*
+     * returns the cached stats for the passed request from memory, falling back to the db - returns
+     * null if there aren't any or they're too old to be shown
+     */
+    public static Entry get(Context ctx, long blogId, StatsTimeframe timeframe, String date,
+                            StatsEndpointsEnum endpoint, int maxResultsRequested, int pageRequested) {
+        String key = getKey(blogId, timeframe, date, endpoint, maxResultsRequested, pageRequested);
+        Entry entry = MEMORY_CACHE.get(key);
+        if (entry != null) {
+            MEMORY_HITS.incrementAndGet();
+        } else {
+            entry = getFromDb(ctx, blogId, timeframe, date, endpoint, maxResultsRequested, pageRequested);
+            if (entry == null) {
+                MISSES.incrementAndGet();
+                return null;
+            }
+            DISK_HITS.incrementAndGet();
+            MEMORY_CACHE.put(key, entry);
+        }
+
+        if (entry.isStale()) {
+            STALE_HITS.incrementAndGet();
+        }
+        return entry;
+    }
+
+    private static Entry getFromDb(Context ctx, long blogId, StatsTimeframe timeframe, String date,
+                                   StatsEndpointsEnum endpoint, int maxResultsRequested, int pageRequested) {
+        StatsTable.CachedStats cachedStats =
+                StatsTable.getStats(ctx, blogId, timeframe, date, endpoint, maxResultsRequested, pageRequested);
+        if (cachedStats == null) {
+            return null;
+        }
+        if (cachedStats.model != null) {
+            return new Entry(cachedStats.model, cachedStats.timestamp, endpoint);
+        }
+        try {
+            BaseStatsModel model = StatsUtils.parseResponse(endpoint, blogId, new JSONObject(cachedStats.jsonData));
+            return new Entry(model, cachedStats.timestamp, endpoint);
+        } catch (JSONException e) {
+            AppLog.e(AppLog.T.STATS, e);
+            return null;
+        }
+    }
+
+    /*
+     * stores freshly retrieved stats in both memory and the db
+     */
+    public static void put(Context ctx, long blogId, StatsTimeframe timeframe, String date,
+                           StatsEndpointsEnum endpoint, int maxResultsRequested, int pageRequested,
+                           BaseStatsModel model, String jsonResponse, long responseTimestamp) {
+        String key = getKey(blogId, timeframe, date, endpoint, maxResultsRequested, pageRequested);
+        MEMORY_CACHE.put(key, new Entry(model, responseTimestamp, endpoint));
+        StatsTable.insertStats(ctx, blogId, timeframe, date, endpoint, maxResultsRequested, pageRequested,
+                model, jsonResponse, responseTimestamp);
+    }
+
+    /*
+     * removes all stats from the memory cache - called whenever stats are deleted from the db
+     */
+    static void clearMemory() {
+        MEMORY_CACHE.evictAll();
+    }
+
+    public static int getMemoryHitCount() {
+        return MEMORY_HITS.get();
+    }
+
+    public static int getDiskHitCount() {
+        return DISK_HITS.get();
+    }
+
+    public static int getStaleHitCount() {
+        return STALE_HITS.get();
+    }
+
+    public static int getMissCount() {
+        return MISSES.get();
+    }
+}
@@ -6,15 +6,45 @@ import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 
 import org.wordpress.android.ui.stats.StatsTimeframe;
+import org.wordpress.android.ui.stats.models.BaseStatsModel;
 import org.wordpress.android.ui.stats.service.StatsService.StatsEndpointsEnum;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 public class StatsTable {
 
     private static final String TABLE_NAME = "tbl_stats";
+    private static final String CHUNKS_TABLE_NAME = "tbl_stats_chunks";
     public static final int CACHE_TTL_MINUTES = 10;
-    private static final int MAX_RESPONSE_LEN = (int) (1024 * 1024 * 1.8); // 1.8 MB Approx
+    // stats older than this are never shown, even while fresh stats are being retrieved
+    public static final int MAX_STALE_MINUTES = 60 * 24 * 2;
+
+    /*
+     * Android's CursorWindow has a max size of 2MB per row which can be exceeded with a very
+     * large column, causing an IllegalStateException when the row is read - to avoid this the
+     * stored stats are compressed and split into chunks which are each stored in their own row
+     * https://github.com/android/platform_frameworks_base/blob/master/core/res/res/values/config.xml#L1268
+     * https://github.com/android/platform_frameworks_base/blob/3bdbf644d61f46b531838558fabbd5b990fc4913/core/java/android/database/CursorWindow.java#L103
+     */
+    private static final int MAX_CHUNK_LEN = 512 * 1024;
+
+    // how the stored stats are encoded - both are gzipped. Stored models declare a serialVersionUID
+    // so compatible edits to them don't invalidate the cache - bump StatsDatabaseHelper.DB_VERSION
+    // after an incompatible one
+    private static final int FORMAT_MODEL = 1;  // the parsed model as a serialized java object
+    private static final int FORMAT_JSON = 2;   // the raw json response, used when the model can't be serialized
 
     static void createTables(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE " + TABLE_NAME + " ("
@@ -23,15 +53,30 @@ public class StatsTable {
                 + " type            INTEGER DEFAULT 0,"       // The type of the stats. TopPost, followers, etc..
                 + " timeframe       INTEGER DEFAULT 0,"       // This could be days, week, years - It's an enum
                 + " date            TEXT NOT NULL,"
-                + " jsonData        TEXT NOT NULL,"
+                + " format          INTEGER DEFAULT 0,"       // FORMAT_MODEL or FORMAT_JSON
+                + " numChunks       INTEGER DEFAULT 0,"       // The number of rows in tbl_stats_chunks for this row
                 + " maxResult       INTEGER DEFAULT 0,"
                 + " page            INTEGER DEFAULT 0,"
                 + " timestamp       INTEGER NOT NULL,"        // The unix timestamp of the response
                 + " UNIQUE (blogID, type, timeframe, date) ON CONFLICT REPLACE"
                 + ")");
+
+        db.execSQL("CREATE TABLE " + CHUNKS_TABLE_NAME + " ("
+                + " statsId         INTEGER NOT NULL,"        // The id of the row in tbl_stats
+                + " chunkIndex      INTEGER NOT NULL,"
+                + " data            BLOB NOT NULL,"
+                + " PRIMARY KEY (statsId, chunkIndex)"
+                + ")");
+
+        // chunks are deleted along with their stats row (note this doesn't fire when a row is
+        // replaced due to a conflict, so insertStats() deletes the existing row first)
+        db.execSQL("CREATE TRIGGER delete_stats_chunks AFTER DELETE ON " + TABLE_NAME
+                + " BEGIN DELETE FROM " + CHUNKS_TABLE_NAME + " WHERE statsId = OLD.id; END");
     }
 
     static void dropTables(SQLiteDatabase db) {
+        db.execSQL("DROP TRIGGER IF EXISTS delete_stats_chunks");
+        db.execSQL("DROP TABLE IF EXISTS " + CHUNKS_TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_NAME);
     }
 
@@ -41,7 +86,27 @@ public class StatsTable {
     }
 
 
-    public static String getStats(final Context ctx, final long blogId, final StatsTimeframe timeframe,
+    /*
+     * stored stats - only one of model or jsonData is set, depending on how they were stored
+     */
+    public static class CachedStats {
+        public final BaseStatsModel model;
+        public final String jsonData;
+        public final long timestamp;
+
+        CachedStats(BaseStatsModel model, String jsonData, long timestamp) {
+            this.model = model;
+            this.jsonData = jsonData;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /*
+     * returns the stored stats for the passed request along with when they were retrieved - note that
+     * this doesn't check whether they're still fresh (see StatsCache), only that they're not older
+     * than MAX_STALE_MINUTES
+     */
+    public static CachedStats getStats(final Context ctx, final long blogId, final StatsTimeframe timeframe,
                                   final String date, final StatsEndpointsEnum sectionToUpdate, final int
                                           maxResultsRequested, final int pageRequested) {
         if (ctx == null) {
@@ -50,7 +115,7 @@ public class StatsTable {
             return null;
         }
 
-        String sql = "SELECT *  FROM " + TABLE_NAME + " WHERE blogID = ? "
+        String sql = "SELECT id, format, numChunks, timestamp FROM " + TABLE_NAME + " WHERE blogID = ? "
                 + " AND type=?"
                 + " AND timeframe=?"
                 + " AND date=?"
@@ -68,7 +133,8 @@ public class StatsTable {
                 Integer.toString(maxResultsRequested),
         };
 
-        Cursor cursor = StatsDatabaseHelper.getReadableDb(ctx).rawQuery(sql, args);
+        SQLiteDatabase db = StatsDatabaseHelper.getReadableDb(ctx);
+        Cursor cursor = db.rawQuery(sql, args);
 
         try {
             if (cursor != null && cursor.moveToFirst()) {
@@ -81,16 +147,31 @@ public class StatsTable {
                 }
 
                 deltaMS = deltaMS / 1000; // seconds
-                // check if the cache is fresh
-                if ((deltaMS / 60) > CACHE_TTL_MINUTES) {
+                // check if the cache is too old to be shown
+                if ((deltaMS / 60) > MAX_STALE_MINUTES) {
                     return null; // cache is expired
                 }
 
-                return cursor.getString(cursor.getColumnIndex("jsonData"));
+                long statsId = cursor.getLong(cursor.getColumnIndex("id"));
+                int format = cursor.getInt(cursor.getColumnIndex("format"));
+                int numChunks = cursor.getInt(cursor.getColumnIndex("numChunks"));
+                byte[] data = getChunks(db, statsId, numChunks);
+                if (data == null) {
+                    return null;
+                }
+
+                switch (format) {
+                    case FORMAT_MODEL:
+                        return new CachedStats(decodeModel(data), null, timestamp);
+                    case FORMAT_JSON:
+                        return new CachedStats(null, decodeJson(data), timestamp);
+                    default:
+                        return null;
+                }
             } else {
                 return null;
             }
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | IOException | ClassNotFoundException | ClassCastException e) {
             AppLog.e(AppLog.T.STATS, e);
         } finally {
             SqlUtils.closeCursor(cursor);
@@ -99,10 +180,83 @@ public class StatsTable {
         return null;
     }
 
+    /*
+     * returns the stored chunks for the passed stats row joined back together, or null if any are missing
+     */
+    private static byte[] getChunks(SQLiteDatabase db, long statsId, int numChunks) {
+        Cursor cursor = db.rawQuery("SELECT data FROM " + CHUNKS_TABLE_NAME
+                + " WHERE statsId=? ORDER BY chunkIndex", new String[]{Long.toString(statsId)});
+        try {
+            if (cursor.getCount() != numChunks) {
+                AppLog.w(AppLog.T.STATS, "Stats chunks missing for row " + statsId);
+                return null;
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream(numChunks * MAX_CHUNK_LEN);
+            while (cursor.moveToNext()) {
+                byte[] chunk = cursor.getBlob(0);
+                output.write(chunk, 0, chunk.length);
+            }
+            return output.toByteArray();
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+    }
+
+    private static byte[] encodeModel(BaseStatsModel model) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream output = new ObjectOutputStream(new GZIPOutputStream(bytes));
+        try {
+            output.writeObject(model);
+        } finally {
+            output.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BaseStatsModel decodeModel(byte[] data) throws IOException, ClassNotFoundException {
+        ObjectInputStream input = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(data)));
+        try {
+            return (BaseStatsModel) input.readObject();
+        } finally {
+            input.close();
+        }
+    }
+
+    private static byte[] encodeJson(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), "UTF-8");
+        try {
+            writer.write(json);
+        } finally {
+            writer.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String decodeJson(byte[] data) throws IOException {
+        Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(data)), "UTF-8");
+        try {
+            StringBuilder sb = new StringBuilder(data.length * 4);
+            char[] buffer = new char[8192];
+            int numRead;
+            while ((numRead = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, numRead);
+            }
+            return sb.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /*
+     * stores the passed stats - the parsed model is stored when possible so reading it back doesn't
+     * require parsing the json response again, otherwise the json response is stored
+     */
     public static void insertStats(final Context ctx, final long blogId, final StatsTimeframe timeframe,
                                    final String date,
                                    final StatsEndpointsEnum sectionToUpdate, final int maxResultsRequested,
-                                   final int pageRequested, final String jsonResponse, final long responseTimestamp) {
+                                   final int pageRequested, final BaseStatsModel model, final String jsonResponse,
+                                   final long responseTimestamp) {
         if (ctx == null) {
             AppLog.e(AppLog.T.STATS,
                     "Cannot insert a null stats since the passed context is null. Context is required " +
@@ -110,40 +264,70 @@ public class StatsTable {
             return;
         }
 
-        /*
-         * Android's CursorWindow has a max size of 2MB per row which can be exceeded
-         * with a very large text column, causing an IllegalStateException when the
-         * row is read - prevent this by limiting the amount of text that's stored in
-         * the text column - note that this situation very rarely occurs
-         * https://github.com/android/platform_frameworks_base/blob/master/core/res/res/values/config.xml#L1268
-         * https://github.com/android/platform_frameworks_base/blob/3bdbf644d61f46b531838558fabbd5b990fc4913/core/java/android/database/CursorWindow.java#L103
-         */
-
-        //Check if the response document from the server is less than 1.8MB. getBytes uses UTF-8 on Android.
-        if (jsonResponse.getBytes().length > MAX_RESPONSE_LEN) {
-            AppLog.w(AppLog.T.STATS, "Stats JSON response length > max allowed length of 1.8MB. Current response will not be stored in cache.");
-            return;
+        int format;
+        byte[] data;
+        try {
+            if (model != null) {
+                format = FORMAT_MODEL;
+                data = encodeModel(model);
+            } else {
+                format = FORMAT_JSON;
+                data = encodeJson(jsonResponse);
+            }
+        } catch (IOException e) {
+            // NotSerializableException is an IOException
+            AppLog.e(AppLog.T.STATS, "Unable to encode stats, storing the json response instead", e);
+            try {
+                format = FORMAT_JSON;
+                data = encodeJson(jsonResponse);
+            } catch (IOException e1) {
+                AppLog.e(AppLog.T.STATS, e1);
+                return;
+            }
         }
 
+        int numChunks = Math.max(1, (data.length + MAX_CHUNK_LEN - 1) / MAX_CHUNK_LEN);
+
         SQLiteDatabase db = StatsDatabaseHelper.getWritableDb(ctx);
         db.beginTransaction();
         SQLiteStatement stmt = db.compileStatement("INSERT INTO " + TABLE_NAME + " (blogID, type, timeframe, date, " +
-                "jsonData, maxResult, page, timestamp) VALUES (?1,?2,?3,?4,?5,?6,?7,?8)");
+                "format, numChunks, maxResult, page, timestamp) VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9)");
+        SQLiteStatement stmtChunk = db.compileStatement("INSERT INTO " + CHUNKS_TABLE_NAME
+                + " (statsId, chunkIndex, data) VALUES (?1,?2,?3)");
         try {
+            // delete the existing row (and its chunks) rather than relying on ON CONFLICT REPLACE,
+            // which wouldn't delete the existing chunks
+            db.delete(TABLE_NAME, "blogID=? AND type=? AND timeframe=? AND date=?",
+                    new String[]{Long.toString(blogId), Integer.toString(sectionToUpdate.ordinal()),
+                            Integer.toString(timeframe.ordinal()), date});
+
             stmt.bindLong(1, blogId);
             stmt.bindLong(2, sectionToUpdate.ordinal());
             stmt.bindLong(3, timeframe.ordinal());
             stmt.bindString(4, date);
-            stmt.bindString(5, jsonResponse);
-            stmt.bindLong(6, maxResultsRequested);
-            stmt.bindLong(7, pageRequested);
-            stmt.bindLong(8, responseTimestamp);
-            stmt.execute();
+            stmt.bindLong(5, format);
+            stmt.bindLong(6, numChunks);
+            stmt.bindLong(7, maxResultsRequested);
+            stmt.bindLong(8, pageRequested);
+            stmt.bindLong(9, responseTimestamp);
+            long statsId = stmt.executeInsert();
+
+            for (int i = 0; i < numChunks; i++) {
+                int start = i * MAX_CHUNK_LEN;
+                int end = Math.min(data.length, start + MAX_CHUNK_LEN);
+                byte[] chunk = new byte[end - start];
+                System.arraycopy(data, start, chunk, 0, chunk.length);
+                stmtChunk.bindLong(1, statsId);
+                stmtChunk.bindLong(2, i);
+                stmtChunk.bindBlob(3, chunk);
+                stmtChunk.execute();
+            }
 
             db.setTransactionSuccessful();
         } finally {
             db.endTransaction();
             SqlUtils.closeStatement(stmt);
+            SqlUtils.closeStatement(stmtChunk);
         }
     }
 
@@ -162,6 +346,7 @@ public class StatsTable {
             db.beginTransaction();
             int rowDeleted = db.delete(TABLE_NAME, "timestamp <= ?", new String[] { Long.toString(timestamp) });
             db.setTransactionSuccessful();
+            StatsCache.clearMemory();
             AppLog.d(AppLog.T.STATS, "Number of old stats deleted : " + rowDeleted);
             return rowDeleted > 1;
         } finally {
@@ -181,6 +366,7 @@ public class StatsTable {
             db.beginTransaction();
             int rowDeleted = db.delete(TABLE_NAME, "blogID=?", new String[] {Integer.toString(blogId)});
             db.setTransactionSuccessful();
+            StatsCache.clearMemory();
             AppLog.d(AppLog.T.STATS, "Stats deleted for localBlogID " + blogId);
             return rowDeleted > 1;
         } finally {
@@ -203,6 +389,7 @@ public class StatsTable {
                     new String[] {Long.toString(blogId), Integer.toString(sectionToUpdate.ordinal())}
             );
             db.setTransactionSuccessful();
+            StatsCache.clearMemory();
             AppLog.d(AppLog.T.STATS, "Stats deleted for localBlogID " + blogId + " and type " + sectionToUpdate.getRestEndpointPath());
             return rowDeleted > 1;
         } finally {
@@ -220,8 +407,10 @@ public class StatsTable {
         SQLiteDatabase db = StatsDatabaseHelper.getWritableDb(ctx);
         db.beginTransaction();
         try {
+            db.execSQL("DELETE FROM " + CHUNKS_TABLE_NAME);
             db.execSQL("DELETE FROM " + TABLE_NAME);
             db.setTransactionSuccessful();
+            StatsCache.clearMemory();
         } finally {
             db.endTransaction();
         }
@@ -14,6 +14,8 @@ import java.util.List;
  * A model to represent a Author
  */
 public class AuthorModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogId;
     private long mDate;
     private String mGroupId;
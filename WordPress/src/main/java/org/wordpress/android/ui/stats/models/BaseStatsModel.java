@@ -3,5 +3,5 @@ package org.wordpress.android.ui.stats.models;
 import java.io.Serializable;
 
 public class BaseStatsModel implements Serializable{
-
+    private static final long serialVersionUID = 1L;
 }
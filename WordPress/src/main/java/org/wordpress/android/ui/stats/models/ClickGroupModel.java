@@ -16,6 +16,8 @@ import java.util.List;
  * A model to represent a click group stat
  */
 public class ClickGroupModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogId;
     private long mDate;
 
@@ -9,6 +9,8 @@ import java.util.List;
 
 
 public class CommentFollowersModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogID;
     private int mPage;
     private int mPages;
@@ -10,6 +10,8 @@ import java.util.List;
 
 
 public class CommentsModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private String mDate;
     private long mBlogID;
     private int mMonthlyComments;
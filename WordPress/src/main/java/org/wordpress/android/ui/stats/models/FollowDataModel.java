@@ -6,6 +6,7 @@ import org.json.JSONObject;
 import java.io.Serializable;
 
 public class FollowDataModel implements Serializable {
+    private static final long serialVersionUID = 1L;
 
        /*
      "following-text": "Following",
@@ -10,6 +10,8 @@ import org.wordpress.android.util.UrlUtils;
 import java.io.Serializable;
 
 public class FollowerModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogId;
     private String mLabel;
     private String mAvatar;
@@ -10,6 +10,8 @@ import java.util.List;
 
 
 public class FollowersModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogID;
     private int mPage;
     private int mPages;
@@ -8,6 +8,8 @@ import java.io.Serializable;
  * A model to represent a geoview stat.
  */
 public class GeoviewModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String mCountryShortName;
     private final String mCountryFullName;
     private int mViews;
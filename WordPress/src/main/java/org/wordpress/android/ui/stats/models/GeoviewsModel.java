@@ -11,6 +11,8 @@ import java.util.List;
 
 
 public class GeoviewsModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private String mDate;
     private long mBlogID;
     private int otherViews;
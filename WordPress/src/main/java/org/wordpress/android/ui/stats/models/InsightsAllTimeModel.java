@@ -4,6 +4,8 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 public class InsightsAllTimeModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogID;
     private String mDate;
     private int mVisitors;
@@ -5,6 +5,8 @@ import org.json.JSONObject;
 
 
 public class InsightsLatestPostDetailsModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogID;
     private int mViews;
 
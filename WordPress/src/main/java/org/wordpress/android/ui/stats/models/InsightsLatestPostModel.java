@@ -6,6 +6,8 @@ import org.json.JSONObject;
 
 
 public class InsightsLatestPostModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogID;
     private String mPostTitle;
     private String mPostURL;
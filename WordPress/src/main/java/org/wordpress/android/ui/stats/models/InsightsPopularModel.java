@@ -3,6 +3,8 @@ package org.wordpress.android.ui.stats.models;
 import org.json.JSONObject;
 
 public class InsightsPopularModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private final int mHighestHour;
     private final int mHighestDayOfWeek;
     private final Double mHighestDayPercent;
@@ -16,6 +16,8 @@ import java.util.LinkedList;
 import java.util.List;
 
 public class PostViewsModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String mOriginalResponse;
 
     private int mHighestMonth, mHighestDayAverage, mHighestWeekAverage;
@@ -262,6 +264,8 @@ public class PostViewsModel implements Serializable {
     }
 
     public class Day implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private int mCount;
         private String mDay;
 
@@ -283,6 +287,8 @@ public class PostViewsModel implements Serializable {
     }
 
     public class Week implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         int mChange;
         int mTotal;
         int mAverage;
@@ -322,6 +328,8 @@ public class PostViewsModel implements Serializable {
     }
 
     public class Year implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private String mLabel;
         private int mTotal;
         private List<Month> mMonths;
@@ -352,6 +360,8 @@ public class PostViewsModel implements Serializable {
     }
 
     public class Month implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final int mCount;
         private final String mMonth;
 
@@ -8,6 +8,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class PublicizeModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogID;
     private List<SingleItemModel> mServices;
 
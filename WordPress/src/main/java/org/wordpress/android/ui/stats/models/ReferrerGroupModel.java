@@ -17,6 +17,8 @@ import java.util.List;
  * A model to represent a referrer group stat
  */
 public class ReferrerGroupModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private long mBlogId;
     private long mDate;
 
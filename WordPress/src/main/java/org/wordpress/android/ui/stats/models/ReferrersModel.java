@@ -11,6 +11,8 @@ import java.util.List;
 
 
 public class ReferrersModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private String mPeriod;
     private String mDate;
     private long mBlogID;
@@ -3,6 +3,7 @@ package org.wordpress.android.ui.stats.models;
 import java.io.Serializable;
 
 public class SearchTermModel extends SingleItemModel implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final boolean mIsEncriptedTerms;
 
@@ -10,6 +10,8 @@ import java.io.Serializable;
 * A model to represent a SINGLE stats item
 */
 public class SingleItemModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final long mBlogID;
     private final String mItemID;
     private final long mDate;
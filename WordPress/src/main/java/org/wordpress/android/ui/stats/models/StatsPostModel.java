@@ -6,6 +6,7 @@ import org.wordpress.android.ui.stats.StatsUtils;
 import java.io.Serializable;
 
 public class StatsPostModel extends SingleItemModel implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final String mPostType;
 
@@ -6,6 +6,8 @@ import org.json.JSONObject;
 import java.io.Serializable;
 
 public class TagModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String mName;
     private String mLink;
     private String mType;
@@ -8,6 +8,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class TagsContainerModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private String mDate;
     private long mBlogID;
     private List<TagsModel> mTags;
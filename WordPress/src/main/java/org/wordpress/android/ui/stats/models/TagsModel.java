@@ -9,6 +9,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class TagsModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private int mViews;
     private List<TagModel> mTags;
 
@@ -10,6 +10,8 @@ import java.util.List;
 
 
 public class VideoPlaysModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private String mPeriod;
     private String mDate;
     private long mBlogID;
@@ -3,6 +3,7 @@ package org.wordpress.android.ui.stats.models;
 import java.io.Serializable;
 
 public class VisitModel implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     private int mViews;
     private int mLikes;
@@ -13,6 +13,8 @@ import java.util.HashMap;
 import java.util.List;
 
 public class VisitsModel extends BaseStatsModel {
+    private static final long serialVersionUID = 1L;
+
     private String mFields; // Holds a JSON Object
     private String mUnit;
     private String mDate;
@@ -3,6 +3,7 @@ package org.wordpress.android.ui.stats.service;
 import android.app.Service;
 import android.content.Intent;
 import android.os.IBinder;
+import android.support.annotation.NonNull;
 
 import com.android.volley.Request;
 import com.android.volley.VolleyError;
@@ -18,7 +19,7 @@ import org.wordpress.android.ui.stats.StatsEvents;
 import org.wordpress.android.ui.stats.StatsTimeframe;
 import org.wordpress.android.ui.stats.StatsUtils;
 import org.wordpress.android.ui.stats.StatsWidgetProvider;
-import org.wordpress.android.ui.stats.datasets.StatsTable;
+import org.wordpress.android.ui.stats.datasets.StatsCache;
 import org.wordpress.android.ui.stats.exceptions.StatsError;
 import org.wordpress.android.ui.stats.models.AuthorsModel;
 import org.wordpress.android.ui.stats.models.BaseStatsModel;
@@ -43,12 +44,13 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
 import java.io.Serializable;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 
@@ -56,7 +58,9 @@ import de.greenrobot.event.EventBus;
 
 /**
  * Background service to retrieve Stats.
- * Parsing of response(s) and submission of new network calls are done by using a ThreadPoolExecutor with a single thread.
+ * Parsing of response(s) and submission of new network calls are done by using a ThreadPoolExecutor with one thread
+ * per core. Tasks for the most recently requested site, timeframe and date are handled first, and within those the
+ * sections currently on screen are handled before off-screen ones.
  */
 
 public class StatsService extends Service {
@@ -66,6 +70,7 @@ public class StatsService extends Service {
     public static final String ARG_SECTION = "stats_section";
     public static final String ARG_MAX_RESULTS = "stats_max_results";
     public static final String ARG_PAGE_REQUESTED = "stats_page_requested";
+    public static final String ARG_IS_ON_SCREEN = "stats_is_on_screen";
 
     private static final int DEFAULT_NUMBER_OF_RESULTS = 12;
     // The number of results to return per page for Paged REST endpoints. Numbers larger than 20 will default to 20 on the server.
@@ -210,9 +215,111 @@ public class StatsService extends Service {
         }
     }
 
+    /*
+     * identifies a single stats request - used to avoid making the same request while it's already in flight
+     */
+    private static final class StatsRequestKey {
+        private final long mBlogId;
+        private final StatsEndpointsEnum mEndpoint;
+        private final StatsTimeframe mTimeframe;
+        private final String mDate;
+        private final int mMaxResultsRequested;
+        private final int mPageRequested;
+
+        StatsRequestKey(long blogId, StatsEndpointsEnum endpoint, StatsTimeframe timeframe, String date,
+                        int maxResultsRequested, int pageRequested) {
+            mBlogId = blogId;
+            mEndpoint = endpoint;
+            mTimeframe = timeframe;
+            mDate = date;
+            mMaxResultsRequested = maxResultsRequested;
+            mPageRequested = pageRequested;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof StatsRequestKey)) {
+                return false;
+            }
+            StatsRequestKey key = (StatsRequestKey) other;
+            return mBlogId == key.mBlogId
+                    && mEndpoint == key.mEndpoint
+                    && mTimeframe == key.mTimeframe
+                    && mMaxResultsRequested == key.mMaxResultsRequested
+                    && mPageRequested == key.mPageRequested
+                    && (mDate != null ? mDate.equals(key.mDate) : key.mDate == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (int) (mBlogId ^ (mBlogId >>> 32));
+            result = 31 * result + mEndpoint.hashCode();
+            result = 31 * result + mTimeframe.hashCode();
+            result = 31 * result + (mDate != null ? mDate.hashCode() : 0);
+            result = 31 * result + mMaxResultsRequested;
+            result = 31 * result + mPageRequested;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return mEndpoint.name() + " " + mTimeframe.name() + " " + mDate + " max=" + mMaxResultsRequested
+                    + " page=" + mPageRequested;
+        }
+    }
+
+    /*
+     * task run by the executor - tasks for the newest site/timeframe/date run before older ones, then on-screen
+     * sections run before off-screen ones, then tasks run in the order they were submitted
+     */
+    private static final AtomicLong sTaskSequence = new AtomicLong();
+    private abstract class StatsTask implements Runnable, Comparable<StatsTask> {
+        private final int mGeneration;
+        private final boolean mIsOnScreen;
+        private final long mSequence = sTaskSequence.getAndIncrement();
+
+        StatsTask(int generation, boolean isOnScreen) {
+            mGeneration = generation;
+            mIsOnScreen = isOnScreen;
+        }
+
+        abstract void runTask();
+
+        @Override
+        public final void run() {
+            try {
+                runTask();
+            } finally {
+                onTaskFinished();
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull StatsTask other) {
+            if (mGeneration != other.mGeneration) {
+                return mGeneration > other.mGeneration ? -1 : 1;
+            }
+            if (mIsOnScreen != other.mIsOnScreen) {
+                return mIsOnScreen ? -1 : 1;
+            }
+            return mSequence < other.mSequence ? -1 : (mSequence == other.mSequence ? 0 : 1);
+        }
+    }
+
+    private static final int NUM_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
     private int mServiceStartId;
-    private final LinkedList<Request<JSONObject>> mStatsNetworkRequests = new LinkedList<>();
-    private final ThreadPoolExecutor singleThreadNetworkHandler = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+    // incremented when the requested site, timeframe or date changes, used to prioritize the newest request
+    private int mGeneration;
+    private String mGenerationScope;
+    // tasks submitted to the executor which haven't finished yet, guarded by mStatsNetworkRequests
+    private int mNumOutstandingTasks;
+    private final HashMap<StatsRequestKey, Request<JSONObject>> mStatsNetworkRequests = new HashMap<>();
+    private final ThreadPoolExecutor mStatsTaskExecutor = new ThreadPoolExecutor(NUM_THREADS, NUM_THREADS,
+            0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>());
 
     @Inject SiteStore mSiteStore;
 
@@ -226,6 +333,7 @@ public class StatsService extends Service {
     @Override
     public void onDestroy() {
         stopRefresh();
+        mStatsTaskExecutor.shutdownNow();
         AppLog.i(T.STATS, "service destroyed");
         super.onDestroy();
     }
@@ -281,13 +389,22 @@ public class StatsService extends Service {
         final int maxResultsRequested = intent.getIntExtra(ARG_MAX_RESULTS, DEFAULT_NUMBER_OF_RESULTS);
         final int pageRequested = intent.getIntExtra(ARG_PAGE_REQUESTED, -1);
 
+        final boolean isOnScreen = intent.getBooleanExtra(ARG_IS_ON_SCREEN, true);
+
         this.mServiceStartId = startId;
+        String scope = siteId + " " + period.name() + " " + requestedDate;
+        if (!scope.equals(mGenerationScope)) {
+            mGenerationScope = scope;
+            mGeneration++;
+        }
+        final int generation = mGeneration;
         for (int i=0; i < sectionFromIntent.length; i++){
             final StatsEndpointsEnum currentSectionsToUpdate = StatsEndpointsEnum.values()[sectionFromIntent[i]];
-            singleThreadNetworkHandler.submit(new Thread() {
+            executeTask(new StatsTask(generation, isOnScreen) {
                 @Override
-                public void run() {
-                    startTasks(siteId, period, requestedDate, currentSectionsToUpdate, maxResultsRequested, pageRequested);
+                void runTask() {
+                    startTasks(siteId, period, requestedDate, currentSectionsToUpdate, maxResultsRequested,
+                            pageRequested, generation, isOnScreen);
                 }
             });
         }
@@ -295,10 +412,32 @@ public class StatsService extends Service {
         return START_NOT_STICKY;
     }
 
+    private void executeTask(StatsTask task) {
+        synchronized (mStatsNetworkRequests) {
+            if (mStatsTaskExecutor.isShutdown()) {
+                return;
+            }
+            mNumOutstandingTasks++;
+        }
+        mStatsTaskExecutor.execute(task);
+    }
+
+    /*
+     * called once each task is done, after any request it enqueued was added to mStatsNetworkRequests - the
+     * update is still running while requests are in flight or tasks are queued or running
+     */
+    private void onTaskFinished() {
+        synchronized (mStatsNetworkRequests) {
+            mNumOutstandingTasks--;
+            boolean isStillWorking = mStatsNetworkRequests.size() > 0 || mNumOutstandingTasks > 0;
+            EventBus.getDefault().post(new StatsEvents.UpdateStatusChanged(isStillWorking));
+        }
+    }
+
     private void stopRefresh() {
         synchronized (mStatsNetworkRequests) {
             this.mServiceStartId = 0;
-            for (Request<JSONObject> req : mStatsNetworkRequests) {
+            for (Request<JSONObject> req : mStatsNetworkRequests.values()) {
                 if (req != null && !req.hasHadResponseDelivered() && !req.isCanceled()) {
                     req.cancel();
                 }
@@ -314,45 +453,44 @@ public class StatsService extends Service {
     }
 
     // Check if we already have Stats
-    private String getCachedStats(final long siteId, final StatsTimeframe timeframe, final String date,
-                                  final StatsEndpointsEnum sectionToUpdate, final int maxResultsRequested,
-                                  final int pageRequested) {
+    private StatsCache.Entry getCachedStats(final long siteId, final StatsTimeframe timeframe, final String date,
+                                            final StatsEndpointsEnum sectionToUpdate, final int maxResultsRequested,
+                                            final int pageRequested) {
         if (!isCacheEnabled()) {
             return null;
         }
-        return StatsTable.getStats(this, siteId, timeframe, date, sectionToUpdate, maxResultsRequested, pageRequested);
+        return StatsCache.get(this, siteId, timeframe, date, sectionToUpdate, maxResultsRequested, pageRequested);
     }
 
     private void startTasks(final long blogId, final StatsTimeframe timeframe, final String date,
                             final StatsEndpointsEnum sectionToUpdate, final int maxResultsRequested,
-                            final int pageRequested) {
+                            final int pageRequested, final int generation, final boolean isOnScreen) {
         EventBus.getDefault().post(new StatsEvents.UpdateStatusChanged(true));
 
-        String cachedStats = getCachedStats(blogId, timeframe, date, sectionToUpdate, maxResultsRequested, pageRequested);
+        // show cached stats right away, even if they're stale - stale stats are then refreshed below
+        StatsCache.Entry cachedStats =
+                getCachedStats(blogId, timeframe, date, sectionToUpdate, maxResultsRequested, pageRequested);
         if (cachedStats != null) {
-            BaseStatsModel mResponseObjectModel;
-                try {
-                    JSONObject response = new JSONObject(cachedStats);
-                    mResponseObjectModel = StatsUtils.parseResponse(sectionToUpdate, blogId, response);
-
-                    EventBus.getDefault().post(
-                            sectionToUpdate.getEndpointUpdateEvent(blogId, timeframe, date,
-                                    maxResultsRequested, pageRequested, mResponseObjectModel)
-                    );
-
-                    updateWidgetsUI(blogId, sectionToUpdate, timeframe, date, pageRequested, mResponseObjectModel);
-                    checkAllRequestsFinished(null);
-                    return;
-                } catch (JSONException e) {
-                    AppLog.e(AppLog.T.STATS, e);
-                }
+            EventBus.getDefault().post(
+                    sectionToUpdate.getEndpointUpdateEvent(blogId, timeframe, date,
+                            maxResultsRequested, pageRequested, cachedStats.model)
+            );
+            updateWidgetsUI(blogId, sectionToUpdate, timeframe, date, pageRequested, cachedStats.model);
+            if (!cachedStats.isStale()) {
+                return;
+            }
+            AppLog.d(T.STATS, "Showing stale stats for " + sectionToUpdate.name() + " while refreshing");
         }
 
         final RestClientUtils restClientUtils = WordPress.getRestClientUtilsV1_1();
 
         String period = timeframe.getLabelForRestCall();
 
-        RestListener vListener = new RestListener(sectionToUpdate, blogId, timeframe, date, maxResultsRequested, pageRequested);
+        StatsRequestKey requestKey =
+                new StatsRequestKey(blogId, sectionToUpdate, timeframe, date, maxResultsRequested, pageRequested);
+        RestListener vListener = new RestListener(requestKey, sectionToUpdate, blogId, timeframe, date,
+                maxResultsRequested, pageRequested, generation, isOnScreen);
+        vListener.mHasShownCachedStats = (cachedStats != null);
 
         final String periodDateMaxPlaceholder =  "?period=%s&date=%s&max=%s";
 
@@ -423,12 +561,12 @@ public class StatsService extends Service {
             }
 
             // We need to check if we already have the same request in the queue
-            if (checkIfRequestShouldBeEnqueued(restClientUtils, path)) {
+            if (checkIfRequestShouldBeEnqueued(requestKey)) {
                 AppLog.d(AppLog.T.STATS, "Enqueuing the following Stats request " + path);
                 Request<JSONObject> currentRequest = restClientUtils.get(path, vListener, vListener);
-                vListener.currentRequest = currentRequest;
                 currentRequest.setTag("StatsCall");
-                mStatsNetworkRequests.add(currentRequest);
+                vListener.mRequest = currentRequest;
+                mStatsNetworkRequests.put(requestKey, currentRequest);
             } else {
                 AppLog.d(AppLog.T.STATS, "Stats request is already in the queue:" + path);
             }
@@ -437,30 +575,11 @@ public class StatsService extends Service {
 
     /**
      *  This method checks if we already have the same request in the Queue. No need to re-enqueue a new request
-     *  if one with the same parameters is there.
-     *
-     *  This method is a kind of tricky, since it does the comparison by checking the origin URL of requests.
-     *  To do that we had to get the fullURL of the new request by calling a method of the REST client `getAbsoluteURL`.
-     *  That's good for now, but could lead to errors if the RestClient changes the way the URL is constructed internally,
-     *  by calling `getAbsoluteURL`.
-     *
-     *  - Another approach would involve the get of the requests ErrorListener and the check Listener's parameters.
-     *  - Cleanest approach is for sure to create a new class that extends Request<JSONObject> and stores parameters for later comparison,
-     *  unfortunately we have to change the REST Client and RestClientUtils a lot if we want follow this way...
-     *
+     *  if one with the same parameters is there. Must be called while synchronized on mStatsNetworkRequests.
      */
-    private boolean checkIfRequestShouldBeEnqueued(final RestClientUtils restClientUtils, String path) {
-        String absoluteRequestPath = restClientUtils.getRestClient().getAbsoluteURL(path);
-        Iterator<Request<JSONObject>> it = mStatsNetworkRequests.iterator();
-        while (it.hasNext()) {
-            Request<JSONObject> req = it.next();
-            if (!req.hasHadResponseDelivered() && !req.isCanceled() &&
-                    absoluteRequestPath.equals(req.getUrl())) {
-                return false;
-            }
-        }
-
-        return true;
+    private boolean checkIfRequestShouldBeEnqueued(StatsRequestKey requestKey) {
+        Request<JSONObject> req = mStatsNetworkRequests.get(requestKey);
+        return req == null || req.hasHadResponseDelivered() || req.isCanceled();
     }
 
     // Call an updates on the installed widgets if the blog is the primary, the endpoint is Visits
@@ -517,11 +636,21 @@ public class StatsService extends Service {
         private final StatsTimeframe mTimeframe;
         final StatsEndpointsEnum mEndpointName;
         private final String mDate;
-        private Request<JSONObject> currentRequest;
+        private final StatsRequestKey mRequestKey;
+        private final int mGeneration;
+        private final boolean mIsOnScreen;
         private final int mMaxResultsRequested, mPageRequested;
-
-        public RestListener(StatsEndpointsEnum endpointName, long blogId, StatsTimeframe timeframe, String date,
-                            final int maxResultsRequested, final int pageRequested) {
+        // true when stale cached stats were shown while this request was made
+        private boolean mHasShownCachedStats;
+        // the request this listener belongs to, guarded by mStatsNetworkRequests
+        private Request<JSONObject> mRequest;
+
+        public RestListener(StatsRequestKey requestKey, StatsEndpointsEnum endpointName, long blogId,
+                            StatsTimeframe timeframe, String date, final int maxResultsRequested,
+                            final int pageRequested, final int generation, final boolean isOnScreen) {
+            mRequestKey = requestKey;
+            mGeneration = generation;
+            mIsOnScreen = isOnScreen;
             mRequestBlogId = blogId;
             mTimeframe = timeframe;
             mEndpointName = endpointName;
@@ -532,17 +661,17 @@ public class StatsService extends Service {
 
         @Override
         public void onResponse(final JSONObject response) {
-            singleThreadNetworkHandler.submit(new Thread() {
+            executeTask(new StatsTask(mGeneration, mIsOnScreen) {
                 @Override
-                public void run() {
+                void runTask() {
                     // do other stuff here
                     BaseStatsModel mResponseObjectModel = null;
                     if (response != null) {
                         try {
                             mResponseObjectModel = StatsUtils.parseResponse(mEndpointName, mRequestBlogId, response);
-                            if (isCacheEnabled()) {
-                                StatsTable.insertStats(StatsService.this, mRequestBlogId, mTimeframe, mDate, mEndpointName,
-                                        mMaxResultsRequested, mPageRequested,
+                            if (isCacheEnabled() && mResponseObjectModel != null) {
+                                StatsCache.put(StatsService.this, mRequestBlogId, mTimeframe, mDate, mEndpointName,
+                                        mMaxResultsRequested, mPageRequested, mResponseObjectModel,
                                         response.toString(), System.currentTimeMillis());
                             }
                         } catch (JSONException e) {
@@ -556,23 +685,28 @@ public class StatsService extends Service {
                     );
 
                     updateWidgetsUI(mRequestBlogId, mEndpointName, mTimeframe, mDate, mPageRequested, mResponseObjectModel);
-                    checkAllRequestsFinished(currentRequest);
+                    removeFinishedRequest(RestListener.this);
                 }
             });
         }
 
         @Override
         public void onErrorResponse(final VolleyError volleyError) {
-            singleThreadNetworkHandler.submit(new Thread() {
+            executeTask(new StatsTask(mGeneration, mIsOnScreen) {
                 @Override
-                public void run() {
+                void runTask() {
                     AppLog.e(T.STATS, "Error while loading Stats!");
                     StatsUtils.logVolleyErrorDetails(volleyError);
+                    if (mHasShownCachedStats) {
+                        // keep showing the stale stats rather than replacing them with an error
+                        removeFinishedRequest(RestListener.this);
+                        return;
+                    }
                     BaseStatsModel mResponseObjectModel = null;
                     EventBus.getDefault().post(new StatsEvents.SectionUpdateError(mEndpointName, mRequestBlogId, mTimeframe, mDate,
                             mMaxResultsRequested, mPageRequested, volleyError));
                     updateWidgetsUI(mRequestBlogId, mEndpointName, mTimeframe, mDate, mPageRequested, mResponseObjectModel);
-                    checkAllRequestsFinished(currentRequest);
+                    removeFinishedRequest(RestListener.this);
                 }
             });
         }
@@ -591,13 +725,14 @@ public class StatsService extends Service {
         }
     }
 
-    private void checkAllRequestsFinished(Request<JSONObject> req) {
+    /*
+     * removes the request once its response was handled - unless a newer request with the same key replaced it
+     */
+    private void removeFinishedRequest(RestListener listener) {
         synchronized (mStatsNetworkRequests) {
-            if (req != null) {
-                mStatsNetworkRequests.remove(req);
+            if (mStatsNetworkRequests.get(listener.mRequestKey) == listener.mRequest) {
+                mStatsNetworkRequests.remove(listener.mRequestKey);
             }
-            boolean isStillWorking = mStatsNetworkRequests.size() > 0 || singleThreadNetworkHandler.getQueue().size() > 0;
-            EventBus.getDefault().post(new StatsEvents.UpdateStatusChanged(isStillWorking));
         }
     }
 }
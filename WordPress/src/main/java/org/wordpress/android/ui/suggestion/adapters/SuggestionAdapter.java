@@ -11,17 +11,20 @@ import android.widget.TextView;
 
 import org.wordpress.android.R;
 import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndexCache;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class SuggestionAdapter extends BaseAdapter implements Filterable {
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final LayoutInflater mInflater;
     private Filter mSuggestionFilter;
     private List<Suggestion> mSuggestionList;
-    private List<Suggestion> mOrigSuggestionList;
+    private SuggestionIndex<Suggestion> mSuggestionIndex;
     private int mAvatarSz;
 
     public SuggestionAdapter(Context context) {
@@ -29,8 +32,8 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
         mInflater = LayoutInflater.from(context);
     }
 
-    public void setSuggestionList(List<Suggestion> suggestionList) {
-        mOrigSuggestionList = suggestionList;
+    public void setSuggestionIndex(SuggestionIndex<Suggestion> suggestionIndex) {
+        mSuggestionIndex = suggestionIndex;
     }
 
     @Override
@@ -104,25 +107,14 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
 
-            if (mOrigSuggestionList == null) {
+            SuggestionIndex<Suggestion> suggestionIndex = mSuggestionIndex;
+            if (suggestionIndex == null) {
                 results.values = null;
                 results.count = 0;
             }
-            else if (constraint == null || constraint.length() == 0) {
-                results.values = mOrigSuggestionList;
-                results.count = mOrigSuggestionList.size();
-            }
             else {
-                List<Suggestion> nSuggestionList = new ArrayList<Suggestion>();
-
-                for (Suggestion suggestion : mOrigSuggestionList) {
-                    String lowerCaseConstraint = constraint.toString().toLowerCase();
-                    if (suggestion.getUserLogin().toLowerCase().startsWith(lowerCaseConstraint)
-                            || suggestion.getDisplayName().toLowerCase().startsWith(lowerCaseConstraint)
-                            || suggestion.getDisplayName().toLowerCase().contains(" " + lowerCaseConstraint))
-                        nSuggestionList.add(suggestion);
-                }
-
+                // matches the login or any word in the display name, most used first
+                List<Suggestion> nSuggestionList = suggestionIndex.search(constraint, MAX_SUGGESTIONS);
                 results.values = nSuggestionList;
                 results.count = nSuggestionList.size();
             }
@@ -143,7 +135,9 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
 
         @Override
         public CharSequence convertResultToString (Object resultValue) {
+            // only called when the user picks a suggestion, so rank it higher next time
             Suggestion suggestion = (Suggestion) resultValue;
+            SuggestionIndexCache.addUserSuggestionUse(suggestion);
             return suggestion.getUserLogin();
         }
     }
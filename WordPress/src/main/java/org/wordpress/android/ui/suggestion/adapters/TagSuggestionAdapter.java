@@ -11,22 +11,25 @@ import android.widget.TextView;
 
 import org.wordpress.android.R;
 import org.wordpress.android.models.Tag;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndexCache;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class TagSuggestionAdapter extends BaseAdapter implements Filterable {
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final LayoutInflater mInflater;
     private Filter mTagFilter;
     private List<Tag> mTagList;
-    private List<Tag> mOrigTagList;
+    private SuggestionIndex<Tag> mTagIndex;
 
     public TagSuggestionAdapter(Context context) {
         mInflater = LayoutInflater.from(context);
     }
 
-    public void setTagList(List<Tag> tagList) {
-        mOrigTagList = tagList;
+    public void setTagIndex(SuggestionIndex<Tag> tagIndex) {
+        mTagIndex = tagIndex;
     }
 
     @Override
@@ -93,24 +96,14 @@ public class TagSuggestionAdapter extends BaseAdapter implements Filterable {
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
 
-            if (mOrigTagList == null) {
+            SuggestionIndex<Tag> tagIndex = mTagIndex;
+            if (tagIndex == null) {
                 results.values = null;
                 results.count = 0;
             }
-            else if (constraint == null || constraint.length() == 0) {
-                results.values = mOrigTagList;
-                results.count = mOrigTagList.size();
-            }
             else {
-                List<Tag> nTagList = new ArrayList<Tag>();
-
-                for (Tag tag : mOrigTagList) {
-                    String lowerCaseConstraint = constraint.toString().toLowerCase();
-                    if (tag.getTag().toLowerCase().startsWith(lowerCaseConstraint)
-                            || tag.getTag().toLowerCase().contains(" " + lowerCaseConstraint))
-                        nTagList.add(tag);
-                }
-
+                // matches any word in the tag, most used first
+                List<Tag> nTagList = tagIndex.search(constraint, MAX_SUGGESTIONS);
                 results.values = nTagList;
                 results.count = nTagList.size();
             }
@@ -131,7 +124,9 @@ public class TagSuggestionAdapter extends BaseAdapter implements Filterable {
 
         @Override
         public CharSequence convertResultToString (Object resultValue) {
+            // only called when the user picks a tag, so rank it higher next time
             Tag tag = (Tag) resultValue;
+            SuggestionIndexCache.addTagSuggestionUse(tag);
             return tag.getTag();
         }
     }
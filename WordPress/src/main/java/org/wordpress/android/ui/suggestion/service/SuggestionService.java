@@ -14,7 +14,9 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.models.Suggestion;
 import org.wordpress.android.models.Tag;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndexCache;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BackgroundExecutor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -77,7 +79,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleSuggestionsUpdatedResponse(final long siteId, final JSONObject jsonObject) {
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -88,10 +90,12 @@ public class SuggestionService extends Service {
                 List<Suggestion> suggestions = Suggestion.suggestionListFromJSON(jsonSuggestions, siteId);
                 if (suggestions != null) {
                     SuggestionTable.insertSuggestionsForSite(siteId, suggestions);
+                    // index the stored suggestions now so filtering them as the user types is cheap
+                    SuggestionIndexCache.buildUserIndex(siteId, SuggestionTable.getSuggestionsForSite(siteId));
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionNameListUpdated(siteId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromSuggestionRequestsAndStopServiceIfNecessary(long siteId) {
@@ -130,7 +134,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleTagsUpdatedResponse(final long siteId, final JSONObject jsonObject) {
-        new Thread() {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -141,10 +145,11 @@ public class SuggestionService extends Service {
                 List<Tag> tags = Tag.tagListFromJSON(jsonTags, siteId);
                 if (tags != null) {
                     SuggestionTable.insertTagsForSite(siteId, tags);
+                    SuggestionIndexCache.buildTagIndex(siteId, SuggestionTable.getTagsForSite(siteId));
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionTagListUpdated(siteId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromTagRequestsAndStopServiceIfNecessary(long siteId) {
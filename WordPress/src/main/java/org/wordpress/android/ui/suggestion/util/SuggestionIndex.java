@@ -0,0 +1,224 @@
+package org.wordpress.android.ui.suggestion.util;
+
+import android.support.annotation.NonNull;
+import android.text.TextUtils;
+
+import org.wordpress.android.datasets.SuggestionTable.SuggestionUsage;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * prefix trie of the normalized (lowercased, accents removed) terms of a site's suggestions, which
+ * returns the suggestions with a term starting with what the user typed ranked by how often and
+ * how recently they were picked - built once when the suggestions are stored, see SuggestionIndexCache
+ */
+public class SuggestionIndex<T> {
+    // a use counts for half as much after this many days
+    private static final long USAGE_HALF_LIFE_MS = 14 * 24 * 60 * 60 * 1000L;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{Mn}+");
+
+    private final Node mRoot = new Node();
+    private final List<T> mItems = new ArrayList<>();
+    private final List<String> mNames = new ArrayList<>();
+
+    // ranked positions - replaced as a whole when usage changes so searches see a consistent ranking
+    private volatile Ranking mRanking = new Ranking(new int[0], new int[0]);
+
+    private static class Ranking {
+        final int[] itemAtRank;
+        final int[] rankOfItem;
+
+        Ranking(int[] itemAtRank, int[] rankOfItem) {
+            this.itemAtRank = itemAtRank;
+            this.rankOfItem = rankOfItem;
+        }
+    }
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_ITEMS = new int[0];
+
+    private static class Node {
+        // most nodes have a single child and no items, so these start out shared and empty
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        int[] items = NO_ITEMS;
+        int numItems;
+
+        Node getChild(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(char key) {
+            Node child = getChild(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+        void addItem(int item) {
+            // items are added in ascending order, so an item with repeated terms is only added once
+            if (numItems > 0 && items[numItems - 1] == item) {
+                return;
+            }
+            if (numItems == items.length) {
+                items = Arrays.copyOf(items, Math.max(2, numItems * 2));
+            }
+            items[numItems++] = item;
+        }
+    }
+
+    /*
+     * lowercases the passed text and strips accents so accented names are found by typing them without accents
+     */
+    static String normalize(@NonNull CharSequence text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(normalized).replaceAll("").toLowerCase();
+    }
+
+    /*
+     * adds the passed item with the passed name (used to look up its usage) and terms - each term
+     * is indexed along with every part of it following a space, so "Jane Doe" is found by typing
+     * "jane", "jane d" or "doe". Items should be added in the order they're shown when unused.
+     */
+    public void add(@NonNull T item, @NonNull String name, String... terms) {
+        int position = mItems.size();
+        mItems.add(item);
+        mNames.add(name);
+
+        for (String term : terms) {
+            if (TextUtils.isEmpty(term)) {
+                continue;
+            }
+            String normalized = normalize(term);
+            int start = 0;
+            while (start < normalized.length()) {
+                addTerm(normalized, start, position);
+                int space = normalized.indexOf(' ', start);
+                if (space == -1) {
+                    break;
+                }
+                start = space + 1;
+            }
+        }
+    }
+
+    private void addTerm(String term, int start, int position) {
+        Node node = mRoot;
+        for (int i = start; i < term.length(); i++) {
+            node = node.addChild(term.charAt(i));
+        }
+        node.addItem(position);
+    }
+
+    public int size() {
+        return mItems.size();
+    }
+
+    /*
+     * ranks the items by how often and how recently they were used (keyed by name) - items with
+     * the same score keep the order they were added in
+     */
+    public void setUsage(@NonNull Map<String, SuggestionUsage> usage, long now) {
+        final int numItems = mItems.size();
+        final double[] scores = new double[numItems];
+        Integer[] byScore = new Integer[numItems];
+        for (int i = 0; i < numItems; i++) {
+            SuggestionUsage itemUsage = usage.get(mNames.get(i));
+            if (itemUsage != null && itemUsage.useCount > 0) {
+                long age = Math.max(0, now - itemUsage.lastUsed);
+                scores[i] = itemUsage.useCount * Math.pow(0.5, (double) age / USAGE_HALF_LIFE_MS);
+            }
+            byScore[i] = i;
+        }
+
+        Arrays.sort(byScore, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer item1, Integer item2) {
+                int result = Double.compare(scores[item2], scores[item1]);
+                return result != 0 ? result : item1 - item2;
+            }
+        });
+
+        int[] itemAtRank = new int[numItems];
+        int[] rankOfItem = new int[numItems];
+        for (int rank = 0; rank < numItems; rank++) {
+            itemAtRank[rank] = byScore[rank];
+            rankOfItem[byScore[rank]] = rank;
+        }
+        mRanking = new Ranking(itemAtRank, rankOfItem);
+    }
+
+    /*
+     * returns the best ranked items (at most maxResults) with a term starting with the passed text,
+     * or the best ranked items overall if the text is empty
+     */
+    public List<T> search(CharSequence text, int maxResults) {
+        Ranking ranking = mRanking;
+        if (ranking.rankOfItem.length < mItems.size()) {
+            // usage hasn't been set, so rank items in the order they were added
+            setUsage(Collections.<String, SuggestionUsage>emptyMap(), 0);
+            ranking = mRanking;
+        }
+
+        if (TextUtils.isEmpty(text)) {
+            List<T> results = new ArrayList<>(Math.min(maxResults, mItems.size()));
+            for (int rank = 0; rank < mItems.size() && results.size() < maxResults; rank++) {
+                results.add(mItems.get(ranking.itemAtRank[rank]));
+            }
+            return results;
+        }
+
+        Node node = mRoot;
+        String prefix = normalize(text);
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.getChild(prefix.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        // mark the rank of every item beneath the node, which leaves them sorted by rank without
+        // having to sort them and also drops items matching more than one term
+        BitSet ranks = new BitSet(ranking.rankOfItem.length);
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node next = stack.pop();
+            for (int i = 0; i < next.numItems; i++) {
+                ranks.set(ranking.rankOfItem[next.items[i]]);
+            }
+            for (Node child : next.children) {
+                stack.push(child);
+            }
+        }
+
+        List<T> results = new ArrayList<>(Math.min(maxResults, ranks.cardinality()));
+        int rank = ranks.nextSetBit(0);
+        while (rank >= 0 && results.size() < maxResults) {
+            results.add(mItems.get(ranking.itemAtRank[rank]));
+            rank = ranks.nextSetBit(rank + 1);
+        }
+        return results;
+    }
+}
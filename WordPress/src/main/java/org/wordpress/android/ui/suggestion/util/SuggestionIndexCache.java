@@ -0,0 +1,135 @@
+package org.wordpress.android.ui.suggestion.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.v4.util.LruCache;
+
+import org.wordpress.android.datasets.SuggestionTable;
+import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.models.Tag;
+import org.wordpress.android.util.BackgroundExecutor;
+
+import java.util.List;
+
+/**
+ * caches the user and tag suggestion indexes for the most recently used sites - SuggestionService
+ * builds them when it stores fresh suggestions so the adapters never have to build them
+ */
+public class SuggestionIndexCache {
+    private static final int MAX_SITES = 4;
+
+    private static final LruCache<Long, SuggestionIndex<Suggestion>> sUserIndexes = new LruCache<>(MAX_SITES);
+    private static final LruCache<Long, SuggestionIndex<Tag>> sTagIndexes = new LruCache<>(MAX_SITES);
+
+    public interface OnIndexLoadedListener<T> {
+        void onIndexLoaded(@NonNull SuggestionIndex<T> index);
+    }
+
+    /*
+     * passes the user suggestion index for the passed site to the listener on the main thread - right
+     * away if it's cached, otherwise once it's been built in the background from the stored suggestions
+     */
+    public static void loadUserIndex(final long siteId, @NonNull final OnIndexLoadedListener<Suggestion> listener) {
+        SuggestionIndex<Suggestion> index = sUserIndexes.get(siteId);
+        if (index != null) {
+            listener.onIndexLoaded(index);
+            return;
+        }
+        final Handler handler = new Handler(Looper.getMainLooper());
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.PARSE, BackgroundExecutor.Priority.HIGH, new Runnable() {
+            @Override
+            public void run() {
+                final SuggestionIndex<Suggestion> index =
+                        buildUserIndex(siteId, SuggestionTable.getSuggestionsForSite(siteId));
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onIndexLoaded(index);
+                    }
+                });
+            }
+        });
+    }
+
+    public static void loadTagIndex(final long siteId, @NonNull final OnIndexLoadedListener<Tag> listener) {
+        SuggestionIndex<Tag> index = sTagIndexes.get(siteId);
+        if (index != null) {
+            listener.onIndexLoaded(index);
+            return;
+        }
+        final Handler handler = new Handler(Looper.getMainLooper());
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.PARSE, BackgroundExecutor.Priority.HIGH, new Runnable() {
+            @Override
+            public void run() {
+                final SuggestionIndex<Tag> index = buildTagIndex(siteId, SuggestionTable.getTagsForSite(siteId));
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onIndexLoaded(index);
+                    }
+                });
+            }
+        });
+    }
+
+    /*
+     * builds and caches the user suggestion index for the passed site from the passed suggestions,
+     * which should be in the order they're stored in
+     */
+    public static SuggestionIndex<Suggestion> buildUserIndex(long siteId, @NonNull List<Suggestion> suggestions) {
+        SuggestionIndex<Suggestion> index = new SuggestionIndex<>();
+        for (Suggestion suggestion : suggestions) {
+            index.add(suggestion, suggestion.getUserLogin(), suggestion.getUserLogin(), suggestion.getDisplayName());
+        }
+        index.setUsage(SuggestionTable.getSuggestionUsage(siteId, SuggestionTable.USAGE_TYPE_MENTION),
+                System.currentTimeMillis());
+        sUserIndexes.put(siteId, index);
+        return index;
+    }
+
+    public static SuggestionIndex<Tag> buildTagIndex(long siteId, @NonNull List<Tag> tags) {
+        SuggestionIndex<Tag> index = new SuggestionIndex<>();
+        for (Tag tag : tags) {
+            index.add(tag, tag.getTag(), tag.getTag());
+        }
+        index.setUsage(SuggestionTable.getSuggestionUsage(siteId, SuggestionTable.USAGE_TYPE_TAG),
+                System.currentTimeMillis());
+        sTagIndexes.put(siteId, index);
+        return index;
+    }
+
+    /*
+     * records that the user picked the passed suggestion and re-ranks the cached index so it's
+     * suggested sooner next time
+     */
+    public static void addUserSuggestionUse(@NonNull final Suggestion suggestion) {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, new Runnable() {
+            @Override
+            public void run() {
+                String type = SuggestionTable.USAGE_TYPE_MENTION;
+                SuggestionTable.addSuggestionUse(suggestion.siteID, type, suggestion.getUserLogin(),
+                        System.currentTimeMillis());
+                SuggestionIndex<Suggestion> index = sUserIndexes.get(suggestion.siteID);
+                if (index != null) {
+                    index.setUsage(SuggestionTable.getSuggestionUsage(suggestion.siteID, type),
+                            System.currentTimeMillis());
+                }
+            }
+        });
+    }
+
+    public static void addTagSuggestionUse(@NonNull final Tag tag) {
+        BackgroundExecutor.execute(BackgroundExecutor.Lane.DB_WRITE, new Runnable() {
+            @Override
+            public void run() {
+                String type = SuggestionTable.USAGE_TYPE_TAG;
+                SuggestionTable.addSuggestionUse(tag.siteID, type, tag.getTag(), System.currentTimeMillis());
+                SuggestionIndex<Tag> index = sTagIndexes.get(tag.siteID);
+                if (index != null) {
+                    index.setUsage(SuggestionTable.getSuggestionUsage(tag.siteID, type), System.currentTimeMillis());
+                }
+            }
+        });
+    }
+}
@@ -13,6 +13,9 @@ public class SuggestionServiceConnectionManager implements ServiceConnection {
     private final long mSiteId;
     private boolean mAttemptingToBind = false;
     private boolean mBindCalled = false;
+    // set once unbound - the suggestions may finish loading after the owner was destroyed, and
+    // binding then would leak the connection
+    private boolean mIsUnbound = false;
 
     public SuggestionServiceConnectionManager(Context context, long siteId) {
         mContext = context;
@@ -20,7 +23,7 @@ public class SuggestionServiceConnectionManager implements ServiceConnection {
     }
 
     public void bindToService() {
-        if (!mAttemptingToBind) {
+        if (!mAttemptingToBind && !mIsUnbound) {
             mAttemptingToBind = true;
             mBindCalled = true;
             Intent intent = new Intent(mContext, SuggestionService.class);
@@ -30,6 +33,7 @@ public class SuggestionServiceConnectionManager implements ServiceConnection {
 
     public void unbindFromService() {
         mAttemptingToBind = false;
+        mIsUnbound = true;
         if (mBindCalled) {
             mContext.unbindService(this);
             mBindCalled = false;
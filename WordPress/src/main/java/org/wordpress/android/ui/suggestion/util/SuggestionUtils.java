@@ -1,8 +1,8 @@
 package org.wordpress.android.ui.suggestion.util;
 
 import android.content.Context;
+import android.support.annotation.NonNull;
 
-import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.models.Suggestion;
 import org.wordpress.android.models.Tag;
@@ -10,8 +10,6 @@ import org.wordpress.android.ui.suggestion.adapters.SuggestionAdapter;
 import org.wordpress.android.ui.suggestion.adapters.TagSuggestionAdapter;
 import org.wordpress.android.util.SiteUtils;
 
-import java.util.List;
-
 public class SuggestionUtils {
 
     public static SuggestionAdapter setupSuggestions(SiteModel site, Context context,
@@ -20,21 +18,28 @@ public class SuggestionUtils {
                 SiteUtils.isAccessedViaWPComRest(site));
     }
 
+    /*
+     * returns an adapter whose index is attached once it's loaded - it's built in the background
+     * if it isn't cached, and the adapter has no suggestions until then
+     */
     public static SuggestionAdapter setupSuggestions(final long siteId, Context context,
-                                                     SuggestionServiceConnectionManager serviceConnectionManager,
+                                                     final SuggestionServiceConnectionManager serviceConnectionManager,
                                                      boolean isDotcomFlag) {
         if (!isDotcomFlag) {
             return null;
         }
 
-        SuggestionAdapter suggestionAdapter = new SuggestionAdapter(context);
-
-        List<Suggestion> suggestions = SuggestionTable.getSuggestionsForSite(siteId);
-        // if the suggestions are not stored yet, we want to trigger an update for it
-        if (suggestions.isEmpty()) {
-            serviceConnectionManager.bindToService();
-        }
-        suggestionAdapter.setSuggestionList(suggestions);
+        final SuggestionAdapter suggestionAdapter = new SuggestionAdapter(context);
+        SuggestionIndexCache.loadUserIndex(siteId, new SuggestionIndexCache.OnIndexLoadedListener<Suggestion>() {
+            @Override
+            public void onIndexLoaded(@NonNull SuggestionIndex<Suggestion> suggestionIndex) {
+                // if the suggestions are not stored yet, we want to trigger an update for it
+                if (suggestionIndex.size() == 0) {
+                    serviceConnectionManager.bindToService();
+                }
+                suggestionAdapter.setSuggestionIndex(suggestionIndex);
+            }
+        });
         return suggestionAdapter;
     }
 
@@ -45,20 +50,24 @@ public class SuggestionUtils {
     }
 
     public static TagSuggestionAdapter setupTagSuggestions(final long siteId, Context context,
-                                                           SuggestionServiceConnectionManager serviceConnectionManager,
+                                                           final SuggestionServiceConnectionManager
+                                                                   serviceConnectionManager,
                                                            boolean isDotcomFlag) {
         if (!isDotcomFlag) {
             return null;
         }
 
-        TagSuggestionAdapter tagSuggestionAdapter = new TagSuggestionAdapter(context);
-
-        List<Tag> tags = SuggestionTable.getTagsForSite(siteId);
-        // if the tags are not stored yet, we want to trigger an update for it
-        if (tags.isEmpty()) {
-            serviceConnectionManager.bindToService();
-        }
-        tagSuggestionAdapter.setTagList(tags);
+        final TagSuggestionAdapter tagSuggestionAdapter = new TagSuggestionAdapter(context);
+        SuggestionIndexCache.loadTagIndex(siteId, new SuggestionIndexCache.OnIndexLoadedListener<Tag>() {
+            @Override
+            public void onIndexLoaded(@NonNull SuggestionIndex<Tag> tagIndex) {
+                // if the tags are not stored yet, we want to trigger an update for it
+                if (tagIndex.size() == 0) {
+                    serviceConnectionManager.bindToService();
+                }
+                tagSuggestionAdapter.setTagIndex(tagIndex);
+            }
+        });
         return tagSuggestionAdapter;
     }
 }
@@ -0,0 +1,205 @@
+package org.wordpress.android.util;
+
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.Locale;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared, bounded executor for background work which would otherwise start a new thread each
+ * time it's needed (handling network responses, deleting expired data, etc.). Work is routed to
+ * one of a few lanes, each with a fixed number of threads and its own thread priority, so a burst
+ * of responses queues up rather than creating dozens of competing threads. Within a lane, queued
+ * tasks run in order of their {@link Priority}, and tasks with the same priority in the order they
+ * were queued.
+ */
+public class BackgroundExecutor {
+    public enum Lane {
+        // work which writes to a local database - a single thread so writes never contend for the db lock
+        DB_WRITE(1, Process.THREAD_PRIORITY_BACKGROUND),
+        // CPU-bound work such as parsing which doesn't write to a database
+        PARSE(Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4)),
+                Process.THREAD_PRIORITY_BACKGROUND),
+        // decoding images which are about to be displayed
+        DECODE(Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 3)),
+                Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_MORE_FAVORABLE),
+        // low priority maintenance such as purging or deleting expired data
+        HOUSEKEEPING(1, Process.THREAD_PRIORITY_LOWEST);
+
+        private final int mNumThreads;
+        private final int mThreadPriority;
+
+        Lane(int numThreads, int threadPriority) {
+            mNumThreads = numThreads;
+            mThreadPriority = threadPriority;
+        }
+    }
+
+    public enum Priority {
+        // work the user is waiting on, ex: saving the posts in the stream they're viewing
+        HIGH,
+        NORMAL,
+        // work nobody is waiting on, ex: refreshing the list of followed tags in the background
+        LOW
+    }
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final LaneExecutor[] EXECUTORS = new LaneExecutor[Lane.values().length];
+    static {
+        for (Lane lane : Lane.values()) {
+            EXECUTORS[lane.ordinal()] = new LaneExecutor(lane);
+        }
+    }
+
+    private BackgroundExecutor() {
+        throw new AssertionError();
+    }
+
+    public static void execute(Lane lane, Runnable runnable) {
+        execute(lane, Priority.NORMAL, runnable);
+    }
+
+    public static void execute(Lane lane, Priority priority, Runnable runnable) {
+        EXECUTORS[lane.ordinal()].execute(priority, runnable);
+    }
+
+    /*
+     * returns the number of tasks waiting to run in the passed lane
+     */
+    public static int getQueueDepth(Lane lane) {
+        return EXECUTORS[lane.ordinal()].getQueue().size();
+    }
+
+    /*
+     * returns true if the passed lane has tasks running or waiting to run
+     */
+    public static boolean isBusy(Lane lane) {
+        LaneExecutor executor = EXECUTORS[lane.ordinal()];
+        return executor.getActiveCount() > 0 || !executor.getQueue().isEmpty();
+    }
+
+    /*
+     * returns the number of tasks which have completed in the passed lane
+     */
+    public static long getNumCompleted(Lane lane) {
+        return EXECUTORS[lane.ordinal()].mNumCompleted.get();
+    }
+
+    /*
+     * returns the average time between a task being queued in the passed lane and it completing
+     */
+    public static long getAverageLatencyMillis(Lane lane) {
+        LaneExecutor executor = EXECUTORS[lane.ordinal()];
+        long numCompleted = executor.mNumCompleted.get();
+        if (numCompleted == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(executor.mTotalLatencyNanos.get() / numCompleted);
+    }
+
+    /*
+     * returns the longest time a task waited in the passed lane before it started running
+     */
+    public static long getMaxQueueWaitMillis(Lane lane) {
+        return TimeUnit.NANOSECONDS.toMillis(EXECUTORS[lane.ordinal()].mMaxQueueWaitNanos.get());
+    }
+
+    public static void logMetrics() {
+        for (Lane lane : Lane.values()) {
+            AppLog.d(T.UTILS, "background executor > " + lane.name()
+                    + " queued=" + getQueueDepth(lane)
+                    + ", completed=" + getNumCompleted(lane)
+                    + ", avg latency=" + getAverageLatencyMillis(lane) + "ms"
+                    + ", max wait=" + getMaxQueueWaitMillis(lane) + "ms");
+        }
+    }
+
+    private static class LaneExecutor extends ThreadPoolExecutor {
+        private final AtomicLong mNumCompleted = new AtomicLong();
+        private final AtomicLong mTotalLatencyNanos = new AtomicLong();
+        private final AtomicLong mMaxQueueWaitNanos = new AtomicLong();
+        private final AtomicLong mNextSequence = new AtomicLong();
+
+        LaneExecutor(final Lane lane) {
+            super(lane.mNumThreads, lane.mNumThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<Runnable>(), new LaneThreadFactory(lane));
+            // idle lanes shouldn't hold on to their threads
+            allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            execute(Priority.NORMAL, command);
+        }
+
+        void execute(@NonNull Priority priority, @NonNull Runnable command) {
+            super.execute(new TimedRunnable(priority, mNextSequence.getAndIncrement(), command));
+        }
+
+        private class TimedRunnable implements Runnable, Comparable<TimedRunnable> {
+            private final Runnable mRunnable;
+            private final Priority mPriority;
+            private final long mSequence;
+            private final long mQueuedAt = System.nanoTime();
+
+            TimedRunnable(Priority priority, long sequence, Runnable runnable) {
+                mPriority = priority;
+                mSequence = sequence;
+                mRunnable = runnable;
+            }
+
+            @Override
+            public int compareTo(@NonNull TimedRunnable other) {
+                if (mPriority != other.mPriority) {
+                    return mPriority.compareTo(other.mPriority);
+                }
+                return mSequence < other.mSequence ? -1 : (mSequence == other.mSequence ? 0 : 1);
+            }
+
+            @Override
+            public void run() {
+                long queueWait = System.nanoTime() - mQueuedAt;
+                long maxWait = mMaxQueueWaitNanos.get();
+                while (queueWait > maxWait && !mMaxQueueWaitNanos.compareAndSet(maxWait, queueWait)) {
+                    maxWait = mMaxQueueWaitNanos.get();
+                }
+                try {
+                    mRunnable.run();
+                } finally {
+                    mTotalLatencyNanos.addAndGet(System.nanoTime() - mQueuedAt);
+                    mNumCompleted.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static class LaneThreadFactory implements ThreadFactory {
+        private final Lane mLane;
+        private final AtomicInteger mThreadNumber = new AtomicInteger(1);
+
+        LaneThreadFactory(Lane lane) {
+            mLane = lane;
+        }
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+            String name = "wp-" + mLane.name().toLowerCase(Locale.ROOT) + "-" + mThreadNumber.getAndIncrement();
+            return new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(mLane.mThreadPriority);
+                    runnable.run();
+                }
+            }, name);
+        }
+    }
+}
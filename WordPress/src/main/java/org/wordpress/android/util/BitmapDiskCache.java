@@ -0,0 +1,279 @@
+package org.wordpress.android.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-capped disk cache for bitmaps which are expensive to recreate, such as avatars which have
+ * been cropped to a circle - bitmaps are keyed by both their url and how the image was transformed.
+ * Files are evicted least recently used first, and expire once they're older than the max age so
+ * an image which changed without its url changing (such as a gravatar) is eventually downloaded
+ * again. A file's last modified time is when it was written, which is used both to expire it and
+ * to approximate the LRU order after the process is restarted. Must not be called from the main
+ * thread.
+ */
+public class BitmapDiskCache {
+    private static final String DIR_NAME = "transformed_images";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File mDir;
+    private final long mMaxSizeBytes;
+    private final long mMaxAgeMillis;
+
+    // maps file names to their size in bytes, ordered from least to most recently used
+    private final LinkedHashMap<String, Long> mEntries = new LinkedHashMap<>(64, 0.75f, true);
+    private long mSizeBytes;
+    private boolean mIsInitialized;
+
+    private int mHitCount;
+    private int mMissCount;
+
+    public BitmapDiskCache(Context context, long maxSizeBytes, long maxAgeMillis) {
+        mDir = new File(context.getCacheDir(), DIR_NAME);
+        mMaxSizeBytes = maxSizeBytes;
+        mMaxAgeMillis = maxAgeMillis;
+    }
+
+    /*
+     * returns the cached bitmap for the passed url and transform, decoded into a bitmap from the passed pool
+     * if possible, or null if it's not cached
+     */
+    public Bitmap get(String url, String transform, BitmapPool bitmapPool) {
+        String fileName = getFileName(url, transform);
+        File file;
+        synchronized (this) {
+            initIfNeeded();
+            if (mEntries.get(fileName) == null) {
+                mMissCount++;
+                return null;
+            }
+            file = new File(mDir, fileName);
+            if (isExpired(file)) {
+                remove(fileName);
+                mMissCount++;
+                return null;
+            }
+        }
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getPath(), options);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap = ImageUtils.decodeFile(file.getPath(), options, bitmapPool);
+
+        synchronized (this) {
+            if (bitmap == null) {
+                // file was deleted or is corrupt
+                remove(fileName);
+                mMissCount++;
+            } else {
+                mHitCount++;
+            }
+        }
+        return bitmap;
+    }
+
+    /*
+     * returns true if there's an unexpired bitmap for the passed url and transform - used to avoid
+     * writing a bitmap which is already cached
+     */
+    public synchronized boolean contains(String url, String transform) {
+        initIfNeeded();
+        String fileName = getFileName(url, transform);
+        return mEntries.containsKey(fileName) && !isExpired(new File(mDir, fileName));
+    }
+
+    public void put(String url, String transform, Bitmap bitmap) {
+        if (bitmap == null) {
+            return;
+        }
+        String fileName = getFileName(url, transform);
+        File tempFile = new File(mDir, fileName + "." + Thread.currentThread().getId() + TEMP_SUFFIX);
+        synchronized (this) {
+            initIfNeeded();
+        }
+
+        // write to a temp file first so a partially written file is never read
+        OutputStream output = null;
+        try {
+            output = new FileOutputStream(tempFile);
+            // png since transformed images rely on transparency
+            if (!bitmap.compress(Bitmap.CompressFormat.PNG, 100, output)) {
+                //noinspection ResultOfMethodCallIgnored
+                tempFile.delete();
+                return;
+            }
+        } catch (IOException e) {
+            AppLog.e(T.UTILS, "Unable to write bitmap to disk cache", e);
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+            return;
+        } finally {
+            if (output != null) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    // nop
+                }
+            }
+        }
+
+        synchronized (this) {
+            File file = new File(mDir, fileName);
+            if (!tempFile.renameTo(file)) {
+                //noinspection ResultOfMethodCallIgnored
+                tempFile.delete();
+                return;
+            }
+            Long oldSize = mEntries.put(fileName, file.length());
+            if (oldSize != null) {
+                mSizeBytes -= oldSize;
+            }
+            mSizeBytes += file.length();
+            trimToSize();
+        }
+    }
+
+    /*
+     * removes all transformations of the passed url and of every url which only differs from it in
+     * its query string (such as the other sizes of a gravatar) - used when the image at a url has
+     * changed, along with BitmapLruCache.removeUrlsWithPrefix()
+     */
+    public synchronized void removeUrlVariants(String url) {
+        initIfNeeded();
+        String prefix = getUrlHash(url);
+        Iterator<Map.Entry<String, Long>> iterator = mEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                //noinspection ResultOfMethodCallIgnored
+                new File(mDir, entry.getKey()).delete();
+                mSizeBytes -= entry.getValue();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        initIfNeeded();
+        for (String fileName : mEntries.keySet()) {
+            //noinspection ResultOfMethodCallIgnored
+            new File(mDir, fileName).delete();
+        }
+        mEntries.clear();
+        mSizeBytes = 0;
+    }
+
+    public synchronized long getSizeBytes() {
+        return mSizeBytes;
+    }
+
+    public synchronized int getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return mMissCount;
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> iterator = mEntries.entrySet().iterator();
+        while (mSizeBytes > mMaxSizeBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            //noinspection ResultOfMethodCallIgnored
+            new File(mDir, entry.getKey()).delete();
+            mSizeBytes -= entry.getValue();
+            iterator.remove();
+        }
+    }
+
+    private void remove(String fileName) {
+        Long size = mEntries.remove(fileName);
+        if (size != null) {
+            mSizeBytes -= size;
+        }
+        //noinspection ResultOfMethodCallIgnored
+        new File(mDir, fileName).delete();
+    }
+
+    /*
+     * reads the existing files the first time the cache is used, oldest first so the LRU order
+     * matches the order they were last used
+     */
+    private void initIfNeeded() {
+        if (mIsInitialized) {
+            return;
+        }
+        mIsInitialized = true;
+
+        if (!mDir.exists() && !mDir.mkdirs()) {
+            AppLog.w(T.UTILS, "Unable to create bitmap disk cache directory");
+            return;
+        }
+
+        File[] files = mDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+                long modified1 = file1.lastModified();
+                long modified2 = file2.lastModified();
+                return modified1 < modified2 ? -1 : (modified1 == modified2 ? 0 : 1);
+            }
+        });
+        for (File file : files) {
+            if (file.getName().endsWith(TEMP_SUFFIX) || isExpired(file)) {
+                // left over from a write which didn't complete, or too old to be used
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            } else {
+                mEntries.put(file.getName(), file.length());
+                mSizeBytes += file.length();
+            }
+        }
+        trimToSize();
+    }
+
+    private boolean isExpired(File file) {
+        return System.currentTimeMillis() - file.lastModified() > mMaxAgeMillis;
+    }
+
+    /*
+     * hash of the url without its query string, shared by all variants of the url
+     */
+    private static String getUrlHash(String url) {
+        int end = url.length();
+        int queryStart = url.indexOf('?');
+        if (queryStart != -1) {
+            end = queryStart;
+        }
+        int fragmentStart = url.indexOf('#');
+        if (fragmentStart != -1 && fragmentStart < end) {
+            end = fragmentStart;
+        }
+        return StringUtils.getMd5Hash(url.substring(0, end)) + "-";
+    }
+
+    /*
+     * file names start with the hash of the url without its query string so all transformations
+     * of all variants of a url can be found
+     */
+    private static String getFileName(String url, String transform) {
+        return getUrlHash(url) + StringUtils.getMd5Hash(url + "#" + transform);
+    }
+}
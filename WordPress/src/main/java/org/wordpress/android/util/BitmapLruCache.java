@@ -5,29 +5,134 @@ import android.support.v4.util.LruCache;
 
 import com.android.volley.toolbox.ImageLoader.ImageCache;
 
-import java.util.Map;
+import org.wordpress.android.util.AppLog.T;
 
-public class BitmapLruCache extends LruCache<String, Bitmap> implements ImageCache {
-    public BitmapLruCache(int maxSize) {
-        super(maxSize);
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Memory cache for bitmaps which is split into separate tiers for avatars, thumbnails and full-size
+ * images so that, for example, loading a few large photos doesn't evict every avatar in the reader.
+ * Each tier is an LRU measured by the bitmaps' allocated size. Cached keys are indexed by the url they were loaded from
+ * so all bitmaps for a url can be removed without scanning the whole cache.
+ */
+public class BitmapLruCache implements ImageCache {
+    public enum Tier {
+        AVATAR(15),
+        THUMBNAIL(40),
+        FULL(45);
+
+        // percentage of the total cache size used by this tier
+        private final int mPercent;
+
+        Tier(int percent) {
+            mPercent = percent;
+        }
+    }
+
+    // bitmaps whose longest side is no larger than this are considered thumbnails
+    private static final int MAX_THUMBNAIL_PX = 480;
+
+    private final TierCache[] mTiers = new TierCache[Tier.values().length];
+    private final BitmapPool mBitmapPool;
+
+    // maps each cached key to the tier it's in
+    private final HashMap<String, Tier> mKeyTiers = new HashMap<>();
+    // maps urls to the cached keys for that url, sorted so keys can be found by url prefix
+    private final TreeMap<String, Set<String>> mUrlIndex = new TreeMap<>();
+    private final Object mIndexLock = new Object();
+
+    private int mMissCount;
+
+    /*
+     * maxSize is the total size in kilobytes of all tiers, the bitmap pool is sized separately
+     */
+    public BitmapLruCache(int maxSize, int bitmapPoolSize) {
+        for (Tier tier : Tier.values()) {
+            mTiers[tier.ordinal()] = new TierCache((int) (maxSize * (long) tier.mPercent / 100));
+        }
+        mBitmapPool = new BitmapPool(bitmapPoolSize * 1024);
     }
 
-    public void removeSimilar(String keyLike) {
-        Map<String, Bitmap> map = snapshot();
+    /*
+     * returns the pool of bitmaps which are no longer used and can be drawn or decoded into
+     */
+    public BitmapPool getBitmapPool() {
+        return mBitmapPool;
+    }
 
-        for (String key : map.keySet()) {
-           if (key.contains(keyLike)) {
-               remove(key);
-           }
+    public Bitmap get(String key) {
+        Tier tier;
+        synchronized (mIndexLock) {
+            tier = mKeyTiers.get(key);
+            if (tier == null) {
+                mMissCount++;
+                return null;
+            }
         }
+        return mTiers[tier.ordinal()].get(key);
     }
 
-    @Override
-    protected int sizeOf(String key, Bitmap value) {
-        // The cache size will be measured in kilobytes rather than
-        // number of items.
-        int bytes = (value.getRowBytes() * value.getHeight());
-        return (bytes / 1024); //value.getByteCount() introduced in HONEYCOMB_MR1 or higher.
+    public void put(String key, Bitmap bitmap) {
+        if (key == null || bitmap == null) {
+            return;
+        }
+        String url = getUrlFromKey(key);
+        Tier tier = getTier(url, bitmap);
+        synchronized (mIndexLock) {
+            Tier oldTier = mKeyTiers.get(key);
+            if (oldTier != null && oldTier != tier) {
+                mTiers[oldTier.ordinal()].remove(key);
+            }
+            mKeyTiers.put(key, tier);
+            Set<String> keys = mUrlIndex.get(url);
+            if (keys == null) {
+                keys = new HashSet<>();
+                mUrlIndex.put(url, keys);
+            }
+            keys.add(key);
+        }
+        mTiers[tier.ordinal()].put(key, bitmap);
+    }
+
+    public void remove(String key) {
+        Tier tier;
+        synchronized (mIndexLock) {
+            tier = mKeyTiers.get(key);
+        }
+        if (tier != null) {
+            mTiers[tier.ordinal()].remove(key);
+        }
+    }
+
+    /*
+     * removes all bitmaps loaded from urls which start with the passed one - this includes all the
+     * sizes and scale types the url was loaded with
+     */
+    public void removeUrlsWithPrefix(String urlPrefix) {
+        if (urlPrefix == null) {
+            return;
+        }
+        List<String> keysToRemove = new ArrayList<>();
+        synchronized (mIndexLock) {
+            for (Set<String> keys : mUrlIndex.subMap(urlPrefix, urlPrefix + Character.MAX_VALUE).values()) {
+                keysToRemove.addAll(keys);
+            }
+        }
+        for (String key : keysToRemove) {
+            remove(key);
+        }
+    }
+
+    public void evictAll() {
+        for (TierCache tierCache : mTiers) {
+            tierCache.evictAll();
+        }
+        mBitmapPool.clear();
     }
 
     @Override
@@ -39,4 +144,110 @@ public class BitmapLruCache extends LruCache<String, Bitmap> implements ImageCac
     public void putBitmap(String key, Bitmap bitmap) {
         this.put(key, bitmap);
     }
-}
\ No newline at end of file
+
+    public int getHitCount() {
+        int count = 0;
+        for (TierCache tierCache : mTiers) {
+            count += tierCache.hitCount();
+        }
+        return count;
+    }
+
+    public int getMissCount() {
+        synchronized (mIndexLock) {
+            int count = mMissCount;
+            for (TierCache tierCache : mTiers) {
+                count += tierCache.missCount();
+            }
+            return count;
+        }
+    }
+
+    public int getEvictionCount() {
+        int count = 0;
+        for (TierCache tierCache : mTiers) {
+            count += tierCache.evictionCount();
+        }
+        return count;
+    }
+
+    public void logMetrics() {
+        for (Tier tier : Tier.values()) {
+            TierCache tierCache = mTiers[tier.ordinal()];
+            AppLog.d(T.UTILS, "bitmap cache > " + tier.name()
+                    + " size=" + tierCache.size() + "/" + tierCache.maxSize() + "KB"
+                    + ", hits=" + tierCache.hitCount()
+                    + ", evictions=" + tierCache.evictionCount());
+        }
+        AppLog.d(T.UTILS, "bitmap cache > misses=" + getMissCount()
+                + ", pool size=" + (mBitmapPool.getSizeBytes() / 1024) + "KB"
+                + ", pool hits=" + mBitmapPool.getHitCount()
+                + ", pool misses=" + mBitmapPool.getMissCount());
+    }
+
+    /*
+     * volley's ImageLoader prefixes the url with the requested size and scale type, ie:
+     * "#W100#H100#S3http://..." - other callers use the url or file path as the key
+     */
+    static String getUrlFromKey(String key) {
+        if (!key.startsWith("#W")) {
+            return key;
+        }
+        int index = key.indexOf("#S");
+        if (index == -1) {
+            return key;
+        }
+        index += 2;
+        while (index < key.length() && Character.isDigit(key.charAt(index))) {
+            index++;
+        }
+        return key.substring(index);
+    }
+
+    private static Tier getTier(String url, Bitmap bitmap) {
+        if (url.contains("gravatar.com/avatar") || url.contains("gravatar.com/blavatar")) {
+            return Tier.AVATAR;
+        }
+        if (Math.max(bitmap.getWidth(), bitmap.getHeight()) <= MAX_THUMBNAIL_PX) {
+            return Tier.THUMBNAIL;
+        }
+        return Tier.FULL;
+    }
+
+    private class TierCache extends LruCache<String, Bitmap> {
+        TierCache(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            // The cache size will be measured in kilobytes rather than
+            // number of items - rounded up so small bitmaps aren't free
+            return (BitmapPool.getSizeBytes(value) + 1023) / 1024;
+        }
+
+        @Override
+        protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+            if (newValue != null) {
+                return;
+            }
+            // note that removed bitmaps aren't added to the bitmap pool since they may still be displayed
+            synchronized (mIndexLock) {
+                Tier tier = mKeyTiers.get(key);
+                if (tier == null || mTiers[tier.ordinal()] != this) {
+                    // the key has since been added to another tier
+                    return;
+                }
+                mKeyTiers.remove(key);
+                String url = getUrlFromKey(key);
+                Set<String> keys = mUrlIndex.get(url);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        mUrlIndex.remove(url);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -5,7 +5,9 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Color;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
 import android.media.ThumbnailUtils;
 import android.os.AsyncTask;
 import android.support.annotation.ColorRes;
@@ -24,6 +26,8 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.ReaderThumbnailTable;
 import org.wordpress.android.ui.reader.utils.ReaderVideoUtils;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BitmapDiskCache;
+import org.wordpress.android.util.BitmapPool;
 import org.wordpress.android.util.DisplayUtils;
 import org.wordpress.android.util.ImageUtils;
 import org.wordpress.android.util.MediaUtils;
@@ -63,6 +67,16 @@ public class WPNetworkImageView extends AppCompatImageView {
     private int mCropWidth;
     private int mCropHeight;
 
+    // circular or rounded bitmap created by ShapeBitmapTask - this is only referenced by this view
+    // so it's returned to the bitmap pool once it's no longer displayed
+    private Bitmap mShapedBitmap;
+
+    // url whose transformed image is being (or has been) looked up in the disk cache, and the url
+    // whose transformed image was found there
+    private String mDiskCacheLookupUrl;
+    private String mDiskCacheLoadedUrl;
+    private boolean mIsDiskCacheLookupPending;
+
     private static final HashSet<String> mUrlSkipList = new HashSet<>();
 
     public WPNetworkImageView(Context context) {
@@ -192,6 +206,41 @@ public class WPNetworkImageView extends AppCompatImageView {
             return;
         }
 
+        // avatars and rounded photos are transformed after they're downloaded, so check whether
+        // the transformed image was cached to disk before requesting it from the network - unless
+        // the downloaded image is already in memory, which is cheaper than reading the disk
+        ShapeType shapeType = getShapeType();
+        if (shapeType != null) {
+            if (mUrl.equals(mDiskCacheLoadedUrl)
+                    || (mIsDiskCacheLookupPending && mUrl.equals(mDiskCacheLookupUrl))) {
+                return;
+            }
+            if (mDiskCacheLoadedUrl != null) {
+                // view is showing the image for a previous url
+                mDiskCacheLoadedUrl = null;
+                showDefaultImage();
+            }
+            // the transformed image is kept in memory once it's been read from disk or transformed
+            String transform = getTransform(shapeType);
+            Bitmap cachedBitmap = WordPress.getBitmapCache().get(getShapedCacheKey(mUrl, transform));
+            if (cachedBitmap != null) {
+                mDiskCacheLoadedUrl = mUrl;
+                setImageBitmap(cachedBitmap);
+                if (imageLoadListener != null) {
+                    imageLoadListener.onLoaded();
+                }
+                return;
+            }
+            if (!mUrl.equals(mDiskCacheLookupUrl)
+                    && !WordPress.sImageLoader.isCached(mUrl, 0, 0, getScaleType())) {
+                mDiskCacheLookupUrl = mUrl;
+                mIsDiskCacheLookupPending = true;
+                new DiskCacheLookupTask(mUrl, transform, imageLoadListener)
+                        .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+                return;
+            }
+        }
+
         // The pre-existing content of this view didn't match the current URL. Load the new image
         // from the network.
         ImageLoader.ImageContainer newContainer = WordPress.sImageLoader.get(mUrl,
@@ -284,11 +333,10 @@ public class WPNetworkImageView extends AppCompatImageView {
             }
 
             // Apply circular rounding to avatars in a background task
-            if (mImageType == ImageType.AVATAR) {
-                new ShapeBitmapTask(ShapeType.CIRCLE, imageLoadListener).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, bitmap);
-                return;
-            } else if (mImageType == ImageType.PHOTO_ROUNDED) {
-                new ShapeBitmapTask(ShapeType.ROUNDED, imageLoadListener).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, bitmap);
+            ShapeType shapeType = getShapeType();
+            if (shapeType != null) {
+                new ShapeBitmapTask(shapeType, mUrl, imageLoadListener)
+                        .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, bitmap);
                 return;
             }
 
@@ -304,6 +352,9 @@ public class WPNetworkImageView extends AppCompatImageView {
     }
 
     public void resetImage() {
+        mDiskCacheLookupUrl = null;
+        mDiskCacheLoadedUrl = null;
+        mIsDiskCacheLookupPending = false;
         if (mImageContainer != null) {
             // If the view was bound to an image request, cancel it and clear
             // out the image from the view.
@@ -314,6 +365,37 @@ public class WPNetworkImageView extends AppCompatImageView {
         setImageBitmap(null);
     }
 
+    @Override
+    public void setImageDrawable(Drawable drawable) {
+        super.setImageDrawable(drawable);
+        releaseShapedBitmap(drawable);
+    }
+
+    @Override
+    public void setImageResource(@DrawableRes int resId) {
+        super.setImageResource(resId);
+        releaseShapedBitmap(null);
+    }
+
+    private void setShapedBitmap(Bitmap bitmap) {
+        setImageBitmap(bitmap);
+        mShapedBitmap = bitmap;
+    }
+
+    /*
+     * returns the current shaped bitmap to the pool unless it's the one now being displayed
+     */
+    private void releaseShapedBitmap(Drawable newDrawable) {
+        if (mShapedBitmap == null) {
+            return;
+        }
+        if (newDrawable instanceof BitmapDrawable && ((BitmapDrawable) newDrawable).getBitmap() == mShapedBitmap) {
+            return;
+        }
+        WordPress.getBitmapCache().getBitmapPool().put(mShapedBitmap);
+        mShapedBitmap = null;
+    }
+
     public void removeCurrentUrlFromSkiplist() {
         if (!TextUtils.isEmpty(mUrl)) {
             mUrlSkipList.remove(mUrl);
@@ -328,6 +410,13 @@ public class WPNetworkImageView extends AppCompatImageView {
 
     @Override
     protected void onDetachedFromWindow() {
+        if (mDiskCacheLookupUrl != null) {
+            // the image will be reloaded if the view is reattached
+            mDiskCacheLookupUrl = null;
+            mDiskCacheLoadedUrl = null;
+            mIsDiskCacheLookupPending = false;
+            setImageBitmap(null);
+        }
         if (mImageContainer != null) {
             // If the view was bound to an image request, cancel it and clear
             // out the image from the view.
@@ -412,7 +501,7 @@ public class WPNetworkImageView extends AppCompatImageView {
 
     public void showDefaultGravatarImage() {
         if (getContext() == null) return;
-        new ShapeBitmapTask(ShapeType.CIRCLE, null).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, BitmapFactory.decodeResource(
+        new ShapeBitmapTask(ShapeType.CIRCLE, null, null).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, BitmapFactory.decodeResource(
                 getContext().getResources(),
                 R.drawable.ic_placeholder_gravatar_grey_lighten_20_100dp
         ));
@@ -435,15 +524,51 @@ public class WPNetworkImageView extends AppCompatImageView {
 
     // Circularizes or rounds the corners of a bitmap in a background thread
     private enum ShapeType { CIRCLE, ROUNDED }
+    private static final int ROUNDED_CORNER_RADIUS_DP = 2;
+
+    private ShapeType getShapeType() {
+        if (mImageType == ImageType.AVATAR) {
+            return ShapeType.CIRCLE;
+        } else if (mImageType == ImageType.PHOTO_ROUNDED) {
+            return ShapeType.ROUNDED;
+        }
+        return null;
+    }
+
+    /*
+     * returns the memory cache key for the transformed image of the passed url - it starts with the
+     * url so it's removed along with the url's other bitmaps
+     */
+    private static String getShapedCacheKey(String url, String transform) {
+        return url + "#T" + transform;
+    }
+
+    /*
+     * describes the transformation for the disk cache - includes everything that affects the result
+     */
+    private String getTransform(ShapeType shapeType) {
+        String transform = shapeType.name() + "#" + mCropWidth + "x" + mCropHeight;
+        if (shapeType == ShapeType.ROUNDED) {
+            transform += "#" + DisplayUtils.dpToPx(getContext(), ROUNDED_CORNER_RADIUS_DP);
+        }
+        return transform;
+    }
+
     private class ShapeBitmapTask extends AsyncTask<Bitmap, Void, Bitmap> {
         private final ImageLoadListener mImageLoadListener;
         private final ShapeType mShapeType;
+        private final String mRequestedUrl;
+        private final String mTransform;
         private int mRoundedCornerRadiusPx;
-        private static final int ROUNDED_CORNER_RADIUS_DP = 2;
 
-        public ShapeBitmapTask(ShapeType shapeType, ImageLoadListener imageLoadListener) {
+        /*
+         * url may be null if the transformed bitmap shouldn't be cached to disk
+         */
+        public ShapeBitmapTask(ShapeType shapeType, String url, ImageLoadListener imageLoadListener) {
             mImageLoadListener = imageLoadListener;
             mShapeType = shapeType;
+            mRequestedUrl = url;
+            mTransform = getTransform(shapeType);
             if (mShapeType == ShapeType.ROUNDED) {
                 mRoundedCornerRadiusPx = DisplayUtils.dpToPx(getContext(), ROUNDED_CORNER_RADIUS_DP);
             }
@@ -454,20 +579,42 @@ public class WPNetworkImageView extends AppCompatImageView {
             if (params == null || params.length == 0) return null;
 
             Bitmap bitmap = params[0];
+            BitmapPool bitmapPool = WordPress.getBitmapCache().getBitmapPool();
+            Bitmap shapedBitmap;
             switch (mShapeType) {
                 case CIRCLE:
-                    return ImageUtils.getCircularBitmap(bitmap);
+                    shapedBitmap = ImageUtils.getCircularBitmap(bitmap, bitmapPool);
+                    break;
                 case ROUNDED:
-                    return ImageUtils.getRoundedEdgeBitmap(bitmap, mRoundedCornerRadiusPx, Color.TRANSPARENT);
+                    shapedBitmap = ImageUtils.getRoundedEdgeBitmap(bitmap, mRoundedCornerRadiusPx, Color.TRANSPARENT,
+                            bitmapPool);
+                    break;
                 default:
                     return bitmap;
             }
+
+            if (mRequestedUrl != null && shapedBitmap != null) {
+                WordPress.getBitmapCache().put(getShapedCacheKey(mRequestedUrl, mTransform), shapedBitmap);
+                // only write the bitmap if it's not cached yet, since encoding it is expensive
+                BitmapDiskCache diskCache = WordPress.getBitmapDiskCache();
+                if (!diskCache.contains(mRequestedUrl, mTransform)) {
+                    diskCache.put(mRequestedUrl, mTransform, shapedBitmap);
+                }
+            }
+            return shapedBitmap;
         }
 
         @Override
         protected void onPostExecute(Bitmap bitmap) {
             if (bitmap != null) {
-                setImageBitmap(bitmap);
+                if (mRequestedUrl != null) {
+                    // owned by the memory cache, so it mustn't be returned to the bitmap pool
+                    setImageBitmap(bitmap);
+                } else if (mShapeType == ShapeType.CIRCLE || mShapeType == ShapeType.ROUNDED) {
+                    setShapedBitmap(bitmap);
+                } else {
+                    setImageBitmap(bitmap);
+                }
                 if (mImageLoadListener != null) {
                     mImageLoadListener.onLoaded();
                     fadeIn();
@@ -479,4 +626,50 @@ public class WPNetworkImageView extends AppCompatImageView {
             }
         }
     }
+
+    /*
+     * looks up the transformed image for the passed url in the disk cache, and requests it from
+     * the network if it's not there
+     */
+    private class DiskCacheLookupTask extends AsyncTask<Void, Void, Bitmap> {
+        private final String mRequestedUrl;
+        private final String mTransform;
+        private final ImageLoadListener mImageLoadListener;
+
+        DiskCacheLookupTask(String requestedUrl, String transform, ImageLoadListener imageLoadListener) {
+            mRequestedUrl = requestedUrl;
+            mTransform = transform;
+            mImageLoadListener = imageLoadListener;
+        }
+
+        @Override
+        protected Bitmap doInBackground(Void... params) {
+            Bitmap bitmap = WordPress.getBitmapDiskCache().get(mRequestedUrl, mTransform,
+                    WordPress.getBitmapCache().getBitmapPool());
+            // keep it in memory so rebinding the same url doesn't read the disk again
+            if (bitmap != null) {
+                WordPress.getBitmapCache().put(getShapedCacheKey(mRequestedUrl, mTransform), bitmap);
+            }
+            return bitmap;
+        }
+
+        @Override
+        protected void onPostExecute(Bitmap bitmap) {
+            if (!mRequestedUrl.equals(mUrl) || !mRequestedUrl.equals(mDiskCacheLookupUrl)) {
+                // view has since been reset or bound to another url - the bitmap stays in the memory cache
+                return;
+            }
+            mIsDiskCacheLookupPending = false;
+            if (bitmap != null) {
+                mDiskCacheLoadedUrl = mRequestedUrl;
+                // owned by the memory cache, so it mustn't be returned to the bitmap pool
+                setImageBitmap(bitmap);
+                if (mImageLoadListener != null) {
+                    mImageLoadListener.onLoaded();
+                }
+            } else {
+                loadImageIfNecessary(false, mImageLoadListener);
+            }
+        }
+    }
 }
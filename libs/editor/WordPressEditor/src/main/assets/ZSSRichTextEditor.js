@@ -217,10 +217,34 @@ ZSSEditor.getFocusedField = function() {
     return this.editableFields[currentFieldId];
 };
 
-ZSSEditor.execFunctionForResult = function(methodName) {
+ZSSEditor.execFunctionForResult = function(methodName, requestId) {
     var functionArgument = "function=" + methodName;
     var resultArgument = "result=" + window["ZSSEditor"][methodName].apply();
-    ZSSEditor.callback('callback-response-string', functionArgument +  defaultCallbackSeparator + resultArgument);
+    ZSSEditor.callback('callback-response-string', functionArgument + defaultCallbackSeparator +
+        ZSSEditor.getRequestIdArgument(requestId) + resultArgument);
+};
+
+/**
+ *  @brief      Returns the argument tagging a callback with the id of the native request it answers, followed by
+ *              the separator, or an empty string if there's no request id.
+ */
+ZSSEditor.getRequestIdArgument = function(requestId) {
+    if (requestId === undefined) {
+        return "";
+    }
+    return "requestId=" + requestId + defaultCallbackSeparator;
+};
+
+/**
+ *  @brief      Sends the title and the content in a single callback, tagged with the passed request id.
+ */
+ZSSEditor.getTitleAndContentForCallback = function(requestId) {
+    var functionArgument = "function=getTitleAndContentForCallback";
+    var titleArgument = "title=" + this.getField('zss_field_title').getHTMLForNative();
+    var contentsArgument = "contents=" + this.getField('zss_field_content').getHTMLForNative();
+    var joinedArguments = functionArgument + defaultCallbackSeparator + ZSSEditor.getRequestIdArgument(requestId) +
+        titleArgument + defaultCallbackSeparator + contentsArgument;
+    ZSSEditor.callback('callback-response-string', joinedArguments);
 };
 
 // MARK: - Mutation observing
@@ -3775,10 +3799,19 @@ ZSSField.prototype.getHTML = function() {
     return html;
 };
 
-ZSSField.prototype.getHTMLForCallback = function() {
+ZSSField.prototype.getHTMLForCallback = function(requestId) {
     var functionArgument = "function=getHTMLForCallback";
     var idArgument = "id=" + this.getNodeId();
+    var contentsArgument = "contents=" + this.getHTMLForNative();
+    var joinedArguments = functionArgument + defaultCallbackSeparator + ZSSEditor.getRequestIdArgument(requestId) +
+        idArgument + defaultCallbackSeparator + contentsArgument;
+    ZSSEditor.callback('callback-response-string', joinedArguments);
+};
 
+/**
+ *  @brief      Returns the contents of the field, encoded for sending them in a callback.
+ */
+ZSSField.prototype.getHTMLForNative = function() {
     var contents;
     if (this.hasNoStyle) {
         contents = this.strippedHTML();
@@ -3792,10 +3825,7 @@ ZSSField.prototype.getHTMLForCallback = function() {
         contents = encodeURIComponent(contents);
     }
 
-    var contentsArgument = "contents=" + contents;
-    var joinedArguments = functionArgument + defaultCallbackSeparator + idArgument + defaultCallbackSeparator +
-        contentsArgument;
-    ZSSEditor.callback('callback-response-string', joinedArguments);
+    return contents;
 };
 
 ZSSField.prototype.strippedHTML = function() {
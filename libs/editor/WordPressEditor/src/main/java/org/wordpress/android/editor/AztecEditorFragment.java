@@ -450,6 +450,20 @@ public class AztecEditorFragment extends EditorFragmentAbstract implements
         }
     }
 
+    /*
+     * serializing the content is slow for long posts, so it's done in the background rather than on the calling
+     * thread - which is the UI thread when the post is autosaved, published or saved on exit
+     */
+    @Override
+    public void getTitleAndContent(final OnTitleAndContentListener listener) {
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                listener.onTitleAndContent(getTitle(), getContent());
+            }
+        }).start();
+    }
+
     @Override
     public void appendMediaFile(final MediaFile mediaFile, final String mediaUrl, ImageLoader imageLoader) {
         final String safeMediaUrl = Utils.escapeQuotes(mediaUrl);
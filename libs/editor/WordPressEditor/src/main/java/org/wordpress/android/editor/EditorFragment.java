@@ -62,8 +62,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class EditorFragment extends EditorFragmentAbstract implements View.OnClickListener, View.OnTouchListener,
         OnJsEditorStateChangedListener, OnImeBackListener, EditorWebViewAbstract.AuthHeaderRequestListener,
@@ -87,6 +87,11 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
 
     public static final int MAX_ACTION_TIME_MS = 2000;
 
+    // How long to wait for the JavaScript editor to answer a request - waits on the UI thread are kept short
+    private static final long JS_REQUEST_TIMEOUT_MS = 5000;
+    private static final long JS_REQUEST_UI_THREAD_TIMEOUT_MS = 1000;
+    private static final long JS_SELECTED_TEXT_TIMEOUT_MS = 1000;
+
     private String mTitle = "";
     private String mContentHtml = "";
 
@@ -116,12 +121,6 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
 
     private MediaGallery mUploadingMediaGallery;
 
-    private String mJavaScriptResult = "";
-
-    private CountDownLatch mGetTitleCountDownLatch;
-    private CountDownLatch mGetContentCountDownLatch;
-    private CountDownLatch mGetSelectedTextCountDownLatch;
-
     private final Map<String, ToggleButton> mTagToggleButtonMap = new HashMap<>();
 
     private long mActionStartedAt = -1;
@@ -405,6 +404,10 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
         for (String mediaId : mUploadingMedia.keySet()) {
             mEditorFragmentListener.onMediaUploadCancelClicked(mediaId, false);
         }
+        // Don't leave anyone waiting for the title and content of an editor that's going away
+        if (mWebView != null) {
+            mWebView.cancelPendingJavaScriptRequests();
+        }
         super.onDetach();
     }
 
@@ -625,53 +628,58 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
         updateFormatBarEnabledState(true);
 
         if (toggleButton.isChecked()) {
-            Thread thread = new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    if (!isAdded()) {
-                        return;
-                    }
-
-                    // Update mTitle and mContentHtml with the latest state from the ZSSEditor
-                    try {
-                        getTitle();
-                        getContent();
-                    } catch (IllegalEditorStateException e) {
-                        AppLog.e(T.EDITOR, "toggleHtmlMode: unable to get title or content");
+            // Update mTitle and mContentHtml with the latest state from the ZSSEditor
+            try {
+                getTitleAndContent(new OnTitleAndContentListener() {
+                    @Override
+                    public void onTitleAndContent(final CharSequence title, final CharSequence content) {
+                        if (!isAdded()) {
+                            return;
+                        }
                         getActivity().runOnUiThread(new Runnable() {
                             @Override
                             public void run() {
-                                toggleButton.setChecked(false);
-                            }
-                        });
-                        return;
-                    }
-                    getActivity().runOnUiThread(new Runnable() {
-                        @Override
-                        public void run() {
-                            // Set HTML mode state
-                            mSourceViewTitle.setText(mTitle);
+                                if (!isAdded()) {
+                                    return;
+                                }
 
-                            SpannableString spannableContent = new SpannableString(mContentHtml);
-                            HtmlStyleUtils.styleHtmlForDisplay(spannableContent);
-                            mSourceViewContent.setText(spannableContent);
+                                // Set HTML mode state
+                                mSourceViewTitle.setText(title);
 
-                            mWebView.setVisibility(View.GONE);
-                            mSourceView.setVisibility(View.VISIBLE);
+                                SpannableString spannableContent = new SpannableString(content);
+                                HtmlStyleUtils.styleHtmlForDisplay(spannableContent);
+                                mSourceViewContent.setText(spannableContent);
 
-                            mSourceViewContent.requestFocus();
-                            mSourceViewContent.setSelection(0);
+                                mWebView.setVisibility(View.GONE);
+                                mSourceView.setVisibility(View.VISIBLE);
 
-                            InputMethodManager imm = ((InputMethodManager) getActivity()
-                                    .getSystemService(Context.INPUT_METHOD_SERVICE));
-                            imm.showSoftInput(mSourceViewContent, InputMethodManager.SHOW_IMPLICIT);
-                        }
-                    });
-                }
-            });
+                                mSourceViewContent.requestFocus();
+                                mSourceViewContent.setSelection(0);
 
-            thread.start();
+                                InputMethodManager imm = ((InputMethodManager) getActivity()
+                                        .getSystemService(Context.INPUT_METHOD_SERVICE));
+                                imm.showSoftInput(mSourceViewContent, InputMethodManager.SHOW_IMPLICIT);
+                            }
+                        });
+                    }
 
+                    @Override
+                    public void onTitleAndContentUnavailable() {
+                        if (!isAdded()) {
+                            return;
+                        }
+                        getActivity().runOnUiThread(new Runnable() {
+                            @Override
+                            public void run() {
+                                toggleButton.setChecked(false);
+                            }
+                        });
+                    }
+                });
+            } catch (IllegalEditorStateException e) {
+                AppLog.e(T.EDITOR, "toggleHtmlMode: unable to get title or content");
+                toggleButton.setChecked(false);
+            }
         } else {
             mWebView.setVisibility(View.VISIBLE);
             mSourceView.setVisibility(View.GONE);
@@ -713,36 +721,33 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
             linkDialogFragment.show(getFragmentManager(), LinkDialogFragment.class.getSimpleName());
         } else {
             // Visual mode
-            Thread thread = new Thread(new Runnable() {
+            JsResultFuture future = mWebView.execJavaScriptForResult(
+                    "ZSSEditor.execFunctionForResult('getSelectedTextToLinkify', %d);");
+            future.addListener(new JsResultFuture.OnJsResultListener() {
                 @Override
-                public void run() {
+                public void onJsResult(final Map<String, String> result) {
                     if (!isAdded()) {
                         return;
                     }
-
-                    mGetSelectedTextCountDownLatch = new CountDownLatch(1);
                     getActivity().runOnUiThread(new Runnable() {
                         @Override
                         public void run() {
-                            mWebView.execJavaScriptFromString(
-                                    "ZSSEditor.execFunctionForResult('getSelectedTextToLinkify');");
-                        }
-                    });
+                            if (!isAdded()) {
+                                return;
+                            }
+                            if (result != null) {
+                                dialogBundle.putString(LinkDialogFragment.LINK_DIALOG_ARG_TEXT, result.get("result"));
+                            } else {
+                                AppLog.d(T.EDITOR, "Failed to obtain selected text from JS editor.");
+                            }
 
-                    try {
-                        if (mGetSelectedTextCountDownLatch.await(1, TimeUnit.SECONDS)) {
-                            dialogBundle.putString(LinkDialogFragment.LINK_DIALOG_ARG_TEXT, mJavaScriptResult);
+                            linkDialogFragment.setArguments(dialogBundle);
+                            linkDialogFragment.show(getFragmentManager(), LinkDialogFragment.class.getSimpleName());
                         }
-                    } catch (InterruptedException e) {
-                        AppLog.d(T.EDITOR, "Failed to obtain selected text from JS editor.");
-                    }
-
-                    linkDialogFragment.setArguments(dialogBundle);
-                    linkDialogFragment.show(getFragmentManager(), LinkDialogFragment.class.getSimpleName());
+                    });
                 }
             });
-
-            thread.start();
+            cancelJsRequestAfter(future, JS_SELECTED_TEXT_TIMEOUT_MS);
         }
     }
 
@@ -925,7 +930,7 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
 
     /**
      * Returns the contents of the title field from the JavaScript editor. Should be called from a background thread
-     * where possible.
+     * where possible. Throws if the editor doesn't answer in time, rather than returning a stale title.
      */
     @Override
     public CharSequence getTitle() throws IllegalEditorStateException {
@@ -942,29 +947,19 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
             AppLog.d(T.EDITOR, "getTitle() called from UI thread");
         }
 
-        mGetTitleCountDownLatch = new CountDownLatch(1);
-
-        // All WebView methods must be called from the UI thread
-        getActivity().runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-                mWebView.execJavaScriptFromString("ZSSEditor.getField('zss_field_title').getHTMLForCallback();");
-            }
-        });
-
-        try {
-            mGetTitleCountDownLatch.await(1, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            AppLog.e(T.EDITOR, e);
-            Thread.currentThread().interrupt();
+        Map<String, String> result = waitForJsResult(mWebView.execJavaScriptForResult(
+                "ZSSEditor.getField('zss_field_title').getHTMLForCallback(%d);"));
+        if (result == null) {
+            throw new IllegalEditorStateException();
         }
+        mTitle = StringUtils.notNullStr(result.get("contents"));
 
         return StringUtils.notNullStr(mTitle.replaceAll("&nbsp;$", ""));
     }
 
     /**
      * Returns the contents of the content field from the JavaScript editor. Should be called from a background thread
-     * where possible.
+     * where possible. Throws if the editor doesn't answer in time, rather than returning stale content.
      */
     @Override
     public CharSequence getContent() throws IllegalEditorStateException {
@@ -981,24 +976,91 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
             AppLog.d(T.EDITOR, "getContent() called from UI thread");
         }
 
-        mGetContentCountDownLatch = new CountDownLatch(1);
+        Map<String, String> result = waitForJsResult(mWebView.execJavaScriptForResult(
+                "ZSSEditor.getField('zss_field_content').getHTMLForCallback(%d);"));
+        if (result == null) {
+            throw new IllegalEditorStateException();
+        }
+        mContentHtml = StringUtils.notNullStr(result.get("contents"));
+
+        return StringUtils.notNullStr(mContentHtml);
+    }
+
+    /**
+     * Passes the title and content to the listener once the JavaScript editor returns them, both in one callback,
+     * without blocking the calling thread. The listener is usually called on the JavaScript bridge thread. If the
+     * editor doesn't answer in time or goes away first, the listener is told they're unavailable instead.
+     */
+    @Override
+    public void getTitleAndContent(final OnTitleAndContentListener listener) throws IllegalEditorStateException {
+        if (!isAdded()) {
+            throw new IllegalEditorStateException();
+        }
+
+        if (mSourceView != null && mSourceView.getVisibility() == View.VISIBLE) {
+            listener.onTitleAndContent(getTitle(), getContent());
+            return;
+        }
 
-        // All WebView methods must be called from the UI thread
-        getActivity().runOnUiThread(new Runnable() {
+        JsResultFuture future = mWebView.execJavaScriptForResult("ZSSEditor.getTitleAndContentForCallback(%d);");
+        future.addListener(new JsResultFuture.OnJsResultListener() {
             @Override
-            public void run() {
-                mWebView.execJavaScriptFromString("ZSSEditor.getField('zss_field_content').getHTMLForCallback();");
+            public void onJsResult(Map<String, String> result) {
+                if (result == null) {
+                    AppLog.w(T.EDITOR, "getTitleAndContent: no answer from the editor");
+                    listener.onTitleAndContentUnavailable();
+                    return;
+                }
+                mTitle = StringUtils.notNullStr(result.get("title"));
+                mContentHtml = StringUtils.notNullStr(result.get("contents"));
+                listener.onTitleAndContent(StringUtils.notNullStr(mTitle.replaceAll("&nbsp;$", "")),
+                        StringUtils.notNullStr(mContentHtml));
             }
         });
+        cancelJsRequestAfter(future, JS_REQUEST_TIMEOUT_MS);
+    }
 
+    /**
+     * Waits for the result of a request to the JavaScript editor, returns null if it didn't arrive in time.
+     */
+    private Map<String, String> waitForJsResult(JsResultFuture future) {
+        boolean isUiThread = Looper.myLooper() == Looper.getMainLooper();
         try {
-            mGetContentCountDownLatch.await(1, TimeUnit.SECONDS);
+            return future.get(isUiThread ? JS_REQUEST_UI_THREAD_TIMEOUT_MS : JS_REQUEST_TIMEOUT_MS,
+                    TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            AppLog.w(T.EDITOR, "No answer from the editor for JavaScript request " + future.getRequestId());
         } catch (InterruptedException e) {
             AppLog.e(T.EDITOR, e);
             Thread.currentThread().interrupt();
         }
+        mWebView.cancelJavaScriptRequest(future);
+        return null;
+    }
 
-        return StringUtils.notNullStr(mContentHtml);
+    /**
+     * Cancels the request if the JavaScript editor hasn't answered it in time, so its listeners aren't left waiting.
+     * The timeout is dropped as soon as the request is done, including when it's cancelled in onDetach(), so it
+     * doesn't keep the fragment referenced once the editor is gone.
+     */
+    private void cancelJsRequestAfter(final JsResultFuture future, long timeoutMs) {
+        final EditorWebViewAbstract webView = mWebView;
+        final Runnable timeout = new Runnable() {
+            @Override
+            public void run() {
+                if (!future.isDone()) {
+                    AppLog.w(T.EDITOR, "JavaScript request " + future.getRequestId() + " timed out");
+                    webView.cancelJavaScriptRequest(future);
+                }
+            }
+        };
+        webView.postDelayed(timeout, timeoutMs);
+        future.addListener(new JsResultFuture.OnJsResultListener() {
+            @Override
+            public void onJsResult(Map<String, String> result) {
+                webView.removeCallbacks(timeout);
+            }
+        });
     }
 
     @Override
@@ -1473,6 +1535,12 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
     }
 
     public void onGetHtmlResponse(Map<String, String> inputArgs) {
+        // Answers to requests made with execJavaScriptForResult() go to whoever is waiting for them
+        if (inputArgs.containsKey(JsCallbackReceiver.ARG_REQUEST_ID)) {
+            mWebView.onJavaScriptResult(inputArgs);
+            return;
+        }
+
         String functionId = inputArgs.get("function");
 
         if (functionId.isEmpty()) {
@@ -1480,26 +1548,6 @@ public class EditorFragment extends EditorFragmentAbstract implements View.OnCli
         }
 
         switch (functionId) {
-            case "getHTMLForCallback":
-                String fieldId = inputArgs.get("id");
-                String fieldContents = inputArgs.get("contents");
-                if (!fieldId.isEmpty()) {
-                    switch (fieldId) {
-                        case "zss_field_title":
-                            mTitle = fieldContents;
-                            mGetTitleCountDownLatch.countDown();
-                            break;
-                        case "zss_field_content":
-                            mContentHtml = fieldContents;
-                            mGetContentCountDownLatch.countDown();
-                            break;
-                    }
-                }
-                break;
-            case "getSelectedTextToLinkify":
-                mJavaScriptResult = inputArgs.get("result");
-                mGetSelectedTextCountDownLatch.countDown();
-                break;
             case "getFailedMedia":
                 String[] mediaIds = inputArgs.get("ids").split(",");
                 for (String mediaId : mediaIds) {
@@ -148,6 +148,16 @@ public abstract class EditorFragmentAbstract extends Fragment {
         return false;
     }
 
+    /**
+     * Passes the title and content to the listener. Editors which have to ask their view for them, like the visual
+     * editor, do it in a single round trip without blocking the calling thread, and call the listener from another
+     * thread once they arrive - the others call it right away. If the editor can't return them, the listener's
+     * onTitleAndContentUnavailable() is called instead, and the post shouldn't be saved from a stale state.
+     */
+    public void getTitleAndContent(OnTitleAndContentListener listener) throws IllegalEditorStateException {
+        listener.onTitleAndContent(getTitle(), getContent());
+    }
+
     /**
      * The editor may need to differentiate local draft and published articles
      *
@@ -174,6 +184,14 @@ public abstract class EditorFragmentAbstract extends Fragment {
         void onTrackableEvent(TrackableEvent event);
     }
 
+    /**
+     * Callback for {@link #getTitleAndContent(OnTitleAndContentListener)}
+     */
+    public interface OnTitleAndContentListener {
+        void onTitleAndContent(CharSequence title, CharSequence content);
+        void onTitleAndContentUnavailable();
+    }
+
     /**
      * Callbacks for drag and drop support
      */
@@ -4,6 +4,7 @@ import android.annotation.SuppressLint;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.os.Build;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.util.AttributeSet;
 import android.view.KeyEvent;
@@ -30,8 +31,13 @@ import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A text editor WebView with support for JavaScript execution.
@@ -49,6 +55,9 @@ public abstract class EditorWebViewAbstract extends WebView {
 
     private Map<String, String> mHeaderMap = new HashMap<>();
 
+    private final AtomicInteger mLastJsRequestId = new AtomicInteger();
+    private final Map<Integer, JsResultFuture> mPendingJsRequests = new ConcurrentHashMap<>();
+
     public EditorWebViewAbstract(Context context, AttributeSet attrs) {
         super(context, attrs);
         configureWebView();
@@ -218,6 +227,75 @@ public abstract class EditorWebViewAbstract extends WebView {
         }
     }
 
+    /**
+     * Runs a JavaScript function which reports its result with a callback tagged with a request id, and returns the
+     * pending result without waiting for it. The function call is formatted with the request id, ex:
+     * <code>"ZSSEditor.getTitleAndContentForCallback(%d);"</code>. Can be called from any thread.
+     */
+    public JsResultFuture execJavaScriptForResult(String functionCallFormat) {
+        int requestId = mLastJsRequestId.incrementAndGet();
+        JsResultFuture future = new JsResultFuture(requestId);
+        mPendingJsRequests.put(requestId, future);
+
+        final String javaScript = String.format(Locale.US, functionCallFormat, requestId);
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            execJavaScriptFromString(javaScript);
+        } else {
+            // All WebView methods must be called from the UI thread
+            this.post(new Runnable() {
+                @Override
+                public void run() {
+                    execJavaScriptFromString(javaScript);
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * Completes the pending request the passed callback arguments are tagged with. Returns false if they aren't
+     * tagged with a request id, or the request was already cancelled.
+     */
+    public boolean onJavaScriptResult(Map<String, String> callbackArgs) {
+        String requestId = callbackArgs.get(JsCallbackReceiver.ARG_REQUEST_ID);
+        if (requestId == null) {
+            return false;
+        }
+
+        JsResultFuture future;
+        try {
+            future = mPendingJsRequests.remove(Integer.valueOf(requestId));
+        } catch (NumberFormatException e) {
+            AppLog.e(T.EDITOR, "Invalid JavaScript request id: " + requestId);
+            return false;
+        }
+        if (future == null) {
+            AppLog.w(T.EDITOR, "Received a result for unknown JavaScript request " + requestId);
+            return false;
+        }
+        return future.complete(callbackArgs);
+    }
+
+    /**
+     * Cancels the passed request if it's still waiting for its result, ex: when it timed out
+     */
+    public void cancelJavaScriptRequest(JsResultFuture future) {
+        mPendingJsRequests.remove(future.getRequestId());
+        future.cancel(false);
+    }
+
+    /**
+     * Cancels all requests still waiting for their result, so their listeners aren't left waiting when the editor
+     * goes away
+     */
+    public void cancelPendingJavaScriptRequests() {
+        List<JsResultFuture> pendingRequests = new ArrayList<>(mPendingJsRequests.values());
+        mPendingJsRequests.clear();
+        for (JsResultFuture future : pendingRequests) {
+            future.cancel(false);
+        }
+    }
+
     public void setOnImeBackListener(OnImeBackListener listener) {
         mOnImeBackListener = listener;
     }
@@ -42,6 +42,9 @@ public class JsCallbackReceiver {
 
     private static final String CALLBACK_ACTION_FINISHED = "callback-action-finished";
 
+    // Argument of callback-response-string callbacks which answer a request made with a request id
+    static final String ARG_REQUEST_ID = "requestId";
+
     private final OnJsEditorStateChangedListener mListener;
 
     private Set<String> mPreviousStyleSet = new HashSet<>();
@@ -210,10 +213,17 @@ public class JsCallbackReceiver {
                     List<String> responseIds = new ArrayList<>();
                     switch (functionName) {
                         case "getHTMLForCallback":
+                            responseIds.add(ARG_REQUEST_ID);
                             responseIds.add("id");
                             responseIds.add("contents");
                             break;
+                        case "getTitleAndContentForCallback":
+                            responseIds.add(ARG_REQUEST_ID);
+                            responseIds.add("title");
+                            responseIds.add("contents");
+                            break;
                         case "getSelectedTextToLinkify":
+                            responseIds.add(ARG_REQUEST_ID);
                             responseIds.add("result");
                             break;
                         case "getFailedMedia":
@@ -0,0 +1,119 @@
+package org.wordpress.android.editor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The pending result of a JavaScript function which reports back with a callback tagged with a request id, see
+ * {@link EditorWebViewAbstract#execJavaScriptForResult(String)}. The result is the map of the callback's arguments.
+ *
+ * Callers which mustn't block add a listener, which is called once the result arrives or the request is cancelled.
+ */
+public class JsResultFuture implements Future<Map<String, String>> {
+    public interface OnJsResultListener {
+        /**
+         * Called on the thread which completed the request - usually the JavaScript bridge thread - or right away
+         * if the request was already done. The result is null if the request was cancelled.
+         */
+        void onJsResult(Map<String, String> result);
+    }
+
+    private final int mRequestId;
+    private final CountDownLatch mDoneLatch = new CountDownLatch(1);
+    private final List<OnJsResultListener> mListeners = new ArrayList<>();
+
+    private Map<String, String> mResult;
+    private boolean mIsDone;
+    private boolean mIsCancelled;
+
+    JsResultFuture(int requestId) {
+        mRequestId = requestId;
+    }
+
+    public int getRequestId() {
+        return mRequestId;
+    }
+
+    /**
+     * Sets the result unless the request is already done, returns false if it was
+     */
+    boolean complete(Map<String, String> result) {
+        return finish(Collections.unmodifiableMap(result), false);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return finish(null, true);
+    }
+
+    private boolean finish(Map<String, String> result, boolean isCancelled) {
+        List<OnJsResultListener> listeners;
+        synchronized (this) {
+            if (mIsDone) {
+                return false;
+            }
+            mResult = result;
+            mIsCancelled = isCancelled;
+            mIsDone = true;
+            listeners = new ArrayList<>(mListeners);
+            mListeners.clear();
+        }
+        mDoneLatch.countDown();
+
+        for (OnJsResultListener listener : listeners) {
+            listener.onJsResult(result);
+        }
+        return true;
+    }
+
+    public void addListener(OnJsResultListener listener) {
+        synchronized (this) {
+            if (!mIsDone) {
+                mListeners.add(listener);
+                return;
+            }
+        }
+        listener.onJsResult(mResult);
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return mIsCancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return mIsDone;
+    }
+
+    /**
+     * Blocks until the result arrives - prefer {@link #addListener(OnJsResultListener)} or a timeout. Returns null
+     * if the request was cancelled.
+     */
+    @Override
+    public Map<String, String> get() throws InterruptedException {
+        mDoneLatch.await();
+        return getResult();
+    }
+
+    /**
+     * Blocks until the result arrives or the timeout expires. Returns null if the request was cancelled.
+     */
+    @Override
+    public Map<String, String> get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        if (!mDoneLatch.await(timeout, unit)) {
+            throw new TimeoutException("No result for JavaScript request " + mRequestId);
+        }
+        return getResult();
+    }
+
+    private synchronized Map<String, String> getResult() {
+        return mResult;
+    }
+}
@@ -0,0 +1,86 @@
+package org.wordpress.android.editor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@Config(sdk = 18)
+@RunWith(RobolectricTestRunner.class)
+public class JsResultFutureTest {
+    @Test
+    public void testListenersGetResult() throws Exception {
+        final List<Map<String, String>> results = new ArrayList<>();
+        JsResultFuture.OnJsResultListener listener = new JsResultFuture.OnJsResultListener() {
+            @Override
+            public void onJsResult(Map<String, String> result) {
+                results.add(result);
+            }
+        };
+
+        JsResultFuture future = new JsResultFuture(1);
+        future.addListener(listener);
+        assertFalse(future.isDone());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("title", "a title");
+        assertTrue(future.complete(response));
+        assertTrue(future.isDone());
+        assertEquals("a title", future.get(0, TimeUnit.MILLISECONDS).get("title"));
+
+        // Listeners added once the result arrived are called right away
+        future.addListener(listener);
+        assertEquals(2, results.size());
+        assertEquals("a title", results.get(1).get("title"));
+
+        // Later results and cancelling are ignored
+        assertFalse(future.complete(new HashMap<String, String>()));
+        assertFalse(future.cancel(false));
+        assertFalse(future.isCancelled());
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void testCancelledRequestHasNoResult() throws Exception {
+        final List<Map<String, String>> results = new ArrayList<>();
+        JsResultFuture future = new JsResultFuture(2);
+        future.addListener(new JsResultFuture.OnJsResultListener() {
+            @Override
+            public void onJsResult(Map<String, String> result) {
+                results.add(result);
+            }
+        });
+
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+        assertNull(future.get());
+        assertEquals(1, results.size());
+        assertNull(results.get(0));
+
+        assertFalse(future.complete(new HashMap<String, String>()));
+    }
+
+    @Test
+    public void testGetTimesOut() throws Exception {
+        JsResultFuture future = new JsResultFuture(3);
+        try {
+            future.get(10, TimeUnit.MILLISECONDS);
+            fail("get() should time out when there's no result");
+        } catch (TimeoutException e) {
+            // expected
+        }
+    }
+}
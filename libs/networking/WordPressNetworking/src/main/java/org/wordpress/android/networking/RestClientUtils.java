@@ -30,11 +30,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 public class RestClientUtils {
-    public static final String NOTIFICATION_FIELDS = "id,type,unread,body,subject,timestamp,meta";
+    public static final String NOTIFICATION_FIELDS = "id,type,unread,body,subject,timestamp,meta,note_hash";
+    public static final String NOTIFICATION_HASH_FIELDS = "id,note_hash,read";
     private static String sUserAgent = "WordPress Networking Android";
 
     private RestClient mRestClient;
     private Authenticator mAuthenticator;
+    private RestRequest.OnAuthFailedListener mOnAuthFailedListener;
     private Context mContext;
 
     /**
@@ -72,6 +74,7 @@ public class RestClientUtils {
         // load an existing access token from prefs if we have one
         mContext = context;
         mAuthenticator = authenticator;
+        mOnAuthFailedListener = onAuthFailedListener;
         mRestClient = RestClientFactory.instantiate(queue, version);
         if (onAuthFailedListener != null) {
             mRestClient.setOnAuthFailedListener(onAuthFailedListener);
@@ -278,6 +281,46 @@ public class RestClientUtils {
      */
     public Request<JSONObject> get(String path, Map<String, String> params, RetryPolicy retryPolicy, Listener listener,
                     ErrorListener errorListener) {
+        RestRequest request = mRestClient.makeRequest(Method.GET, getAbsoluteGetURL(path, params), null,
+                listener, errorListener);
+
+        if (retryPolicy == null) {
+            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
+        }
+        request.setRetryPolicy(retryPolicy);
+        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
+        authCheck.send();
+        return request;
+    }
+
+    /**
+     * Creates the request sent by {@link #get(String, RequestFactory, ErrorListener)}, which enables
+     * callers to use a RestRequest subclass that parses the response itself
+     */
+    public interface RequestFactory {
+        RestRequest makeRequest(String url, ErrorListener errorListener);
+    }
+
+    /**
+     * Make GET request using a request created by the passed factory
+     */
+    public Request<JSONObject> get(String path, RequestFactory factory, ErrorListener errorListener) {
+        RestRequest request = factory.makeRequest(getAbsoluteGetURL(path, null), errorListener);
+        request.setUserAgent(sUserAgent);
+        if (mOnAuthFailedListener != null) {
+            request.setOnAuthFailedListener(mOnAuthFailedListener);
+        }
+        request.setRetryPolicy(new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT));
+        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
+        authCheck.send();
+        return request;
+    }
+
+    /*
+     * returns the absolute url for a GET request to the passed path, with the locale and any
+     * querystring params in the path added to the passed params
+     */
+    private String getAbsoluteGetURL(String path, Map<String, String> params) {
         // turn params into querystring
         HashMap<String, String> paramsWithLocale = getRestLocaleParams(mContext);
         if (params != null) {
@@ -290,16 +333,7 @@ public class RestClientUtils {
         }
         paramsWithLocale.putAll(getSanitizedParameters(path));
 
-        RestRequest request = mRestClient.makeRequest(Method.GET, mRestClient.getAbsoluteURL(realPath, paramsWithLocale), null,
-                listener, errorListener);
-
-        if (retryPolicy == null) {
-            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
-        }
-        request.setRetryPolicy(retryPolicy);
-        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
-        authCheck.send();
-        return request;
+        return mRestClient.getAbsoluteURL(realPath, paramsWithLocale);
     }
 
     /**
@@ -0,0 +1,108 @@
+package org.wordpress.android.util;
+
+import android.test.InstrumentationTestCase;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+public class DateTimeUtilsTest extends InstrumentationTestCase {
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    /*
+     * parses the passed date with SimpleDateFormat after rewriting its time zone as "+hhmm" - fractional
+     * seconds are dropped since parseIso8601Millis ignores them
+     */
+    private static long parseWithSimpleDateFormat(String date) throws ParseException {
+        String normalized = date.replaceFirst("\\.\\d+", "");
+        if (normalized.endsWith("Z")) {
+            normalized = normalized.substring(0, normalized.length() - 1) + "+0000";
+        } else if (normalized.matches(".*[+-]\\d\\d:\\d\\d$")) {
+            int colon = normalized.length() - 3;
+            normalized = normalized.substring(0, colon) + normalized.substring(colon + 1);
+        } else if (normalized.matches(".*T.*[+-]\\d\\d$")) {
+            normalized += "00";
+        }
+        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ", Locale.US);
+        formatter.setTimeZone(UTC);
+        return formatter.parse(normalized).getTime();
+    }
+
+    private static void assertMatchesSimpleDateFormat(String date) throws ParseException {
+        assertEquals(date, parseWithSimpleDateFormat(date), DateTimeUtils.parseIso8601Millis(date));
+    }
+
+    public void testParseIso8601Offsets() throws ParseException {
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56+00:00");
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56+05:30");
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56-08:00");
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56+0930");
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56-0345");
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56+02");
+        assertMatchesSimpleDateFormat("2017-12-31T23:30:00-01:00");
+    }
+
+    public void testParseIso8601Zulu() throws ParseException {
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56Z");
+        assertEquals(0, DateTimeUtils.parseIso8601Millis("1970-01-01T00:00:00Z"));
+    }
+
+    public void testParseIso8601FractionalSeconds() throws ParseException {
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56.789Z");
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56.1+01:00");
+        assertMatchesSimpleDateFormat("2017-05-04T12:34:56.123456-0500");
+        assertEquals(DateTimeUtils.parseIso8601Millis("2017-05-04T12:34:56Z"),
+                DateTimeUtils.parseIso8601Millis("2017-05-04T12:34:56.999Z"));
+    }
+
+    public void testParseIso8601Before1970() throws ParseException {
+        assertEquals(-1000, DateTimeUtils.parseIso8601Millis("1969-12-31T23:59:59Z"));
+        assertMatchesSimpleDateFormat("1969-07-20T20:17:40+00:00");
+        assertMatchesSimpleDateFormat("1901-01-01T00:00:00-05:00");
+        assertMatchesSimpleDateFormat("1600-03-01T00:00:00Z");
+    }
+
+    public void testParseIso8601LeapDays() throws ParseException {
+        assertMatchesSimpleDateFormat("2016-02-29T12:00:00+00:00");
+        assertMatchesSimpleDateFormat("2016-03-01T00:00:00+00:00");
+        assertMatchesSimpleDateFormat("2000-02-29T23:59:59-01:00");
+        assertMatchesSimpleDateFormat("1900-03-01T00:00:00Z");
+        assertMatchesSimpleDateFormat("1904-02-29T06:00:00+06:00");
+    }
+
+    public void testParseIso8601Invalid() {
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis(null));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis(""));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis("2017-05-04"));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis("2017-05-04 12:34:56Z"));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis("2017-13-04T12:34:56Z"));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis("2017-05-04T12:34:56"));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis("2017-05-04T12:34:56.123"));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis("2017-05-04T12:34:56+5:30"));
+        assertEquals(DateTimeUtils.INVALID_ISO8601, DateTimeUtils.parseIso8601Millis("2017-05-04T12:34:56Zulu"));
+    }
+
+    public void testDaysFromCivil() {
+        assertEquals(0, DateTimeUtils.daysFromCivil(1970, 1, 1));
+        assertEquals(-1, DateTimeUtils.daysFromCivil(1969, 12, 31));
+        assertEquals(11016, DateTimeUtils.daysFromCivil(2000, 2, 29));
+        assertEquals(11017, DateTimeUtils.daysFromCivil(2000, 3, 1));
+    }
+
+    public void testDaysFromCivilMatchesCalendar() {
+        Calendar calendar = new GregorianCalendar(UTC, Locale.US);
+        calendar.clear();
+        calendar.set(1896, Calendar.JANUARY, 1);
+        while (calendar.get(Calendar.YEAR) <= 2104) {
+            int year = calendar.get(Calendar.YEAR);
+            int month = calendar.get(Calendar.MONTH) + 1;
+            int day = calendar.get(Calendar.DAY_OF_MONTH);
+            long expected = calendar.getTimeInMillis() / (24 * 60 * 60 * 1000L);
+            assertEquals(year + "-" + month + "-" + day, expected, DateTimeUtils.daysFromCivil(year, month, day));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+}
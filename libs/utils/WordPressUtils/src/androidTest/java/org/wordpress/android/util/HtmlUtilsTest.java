@@ -0,0 +1,80 @@
+package org.wordpress.android.util;
+
+import android.test.InstrumentationTestCase;
+
+import org.wordpress.android.util.AppLog.T;
+
+public class HtmlUtilsTest extends InstrumentationTestCase {
+    // typical post content as returned by the REST API
+    private static final String POST_HTML =
+            "<p>It&#8217;s been a busy week at the <a href=\"https://example.wordpress.com/\">studio</a> &mdash; "
+            + "here are a few photos from the shoot.</p>\n"
+            + "<p><img class=\"alignnone size-large wp-image-123\" "
+            + "src=\"https://example.files.wordpress.com/2017/05/photo.jpg?w=1024\" alt=\"\" width=\"1024\" "
+            + "height=\"683\" /></p>\n"
+            + "<h2>What&#8217;s next?</h2>\n"
+            + "<ul>\n<li>More <strong>prints</strong> &amp; frames</li>\n<li>A new <em>gallery</em></li>\n</ul>\n"
+            + "<p>Thanks for reading!<br />\n&nbsp;</p>\n";
+
+    public void testFastStripHtmlEmpty() {
+        assertNull(HtmlUtils.fastStripHtml(null));
+        assertEquals("", HtmlUtils.fastStripHtml(""));
+    }
+
+    public void testFastStripHtmlLineBreaks() {
+        assertEquals("First paragraph.\nSecond paragraph.",
+                HtmlUtils.fastStripHtml("<p>First paragraph.</p><p>Second paragraph.</p>"));
+        assertEquals("Intro", HtmlUtils.fastStripHtml("<p class=\"intro\">Intro</p>"));
+        assertEquals("Only one paragraph", HtmlUtils.fastStripHtml("<p>Only one paragraph</p>"));
+        assertEquals("Line one\nLine two\nLine three",
+                HtmlUtils.fastStripHtml("Line one<br>Line two<br />Line three"));
+    }
+
+    public void testFastStripHtmlTags() {
+        assertEquals("Some bold and italic text",
+                HtmlUtils.fastStripHtml("Some <strong>bold</strong> and <em>italic</em> text"));
+        assertEquals("link", HtmlUtils.fastStripHtml("<a href=\"https://example.com/?a=1&amp;b=2\">link</a>"));
+        assertEquals("caption", HtmlUtils.fastStripHtml("<img src=\"x.jpg\" alt=\"&lt;image&gt;\" />caption"));
+        assertEquals("after", HtmlUtils.fastStripHtml("<!-- comment -->after"));
+        assertEquals("multi\nline tag", HtmlUtils.fastStripHtml("<p>multi\nline <a\nhref=\"x\">tag</a></p>"));
+        assertEquals("a < b", HtmlUtils.fastStripHtml("a < b"));
+    }
+
+    public void testFastStripHtmlEntities() {
+        assertEquals("Fish & Chips <3 \"quoted\"", HtmlUtils.fastStripHtml("Fish &amp; Chips &lt;3 &quot;quoted&quot;"));
+        assertEquals("It\u2019s \u2019hex\u2019 \uD83D\uDE00",
+                HtmlUtils.fastStripHtml("It&#8217;s &#x2019;hex&#x2019; &#128512;"));
+        assertEquals("caf\u00e9 \u2026", HtmlUtils.fastStripHtml("caf&eacute; &hellip;"));
+        assertEquals("leading space", HtmlUtils.fastStripHtml("&nbsp;&nbsp; leading space"));
+        // invalid entities are left as is
+        assertEquals("&bogus; &amp &#12a; & alone", HtmlUtils.fastStripHtml("&bogus; &amp &#12a; & alone"));
+    }
+
+    public void testFastStripHtmlMatchesUnescape() {
+        // entities should be decoded exactly as fastUnescapeHtml() decodes them - the text starts
+        // with "x" so the decoded non-breaking space isn't trimmed
+        String text = "x&amp;&lt;&gt;&quot;&apos;&nbsp;&copy;&eacute;&Omega;&hearts;&thetasym;&#65;&#x42;";
+        assertEquals(HtmlUtils.fastUnescapeHtml(text), HtmlUtils.fastStripHtml(text));
+    }
+
+    /*
+     * not a pass/fail test - logs how long it takes to strip a typical post
+     */
+    public void testFastStripHtmlBenchmark() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sb.append(POST_HTML);
+        }
+        String html = sb.toString();
+        String expected = HtmlUtils.fastStripHtml(html);
+        assertTrue(expected.startsWith("It\u2019s been a busy week at the studio \u2014 here are"));
+
+        int iterations = 500;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertEquals(expected.length(), HtmlUtils.fastStripHtml(html).length());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1000000;
+        AppLog.i(T.TESTS, "fastStripHtml > " + iterations + " x " + html.length() + " chars in " + elapsedMs + "ms");
+    }
+}
@@ -0,0 +1,157 @@
+package org.wordpress.android.util;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import android.os.Build;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Pool of mutable bitmaps which are no longer displayed, so their memory can be reused when
+ * decoding (via BitmapFactory.Options.inBitmap) or drawing new bitmaps rather than allocating
+ * new ones - this reduces GC pauses when scrolling through lists which show many bitmaps of
+ * the same size.
+ *
+ * IMPORTANT: only put bitmaps in the pool which nothing else references - a pooled bitmap
+ * will be drawn over the next time one of the same size is needed.
+ */
+public class BitmapPool {
+    private final int mMaxSizeBytes;
+    private int mSizeBytes;
+
+    // most recently added bitmaps are at the front
+    private final LinkedList<Bitmap> mBitmaps = new LinkedList<>();
+
+    private int mHitCount;
+    private int mMissCount;
+
+    public BitmapPool(int maxSizeBytes) {
+        mMaxSizeBytes = maxSizeBytes;
+    }
+
+    /*
+     * adds the passed bitmap to the pool - immutable bitmaps can't be reused so they're ignored
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        int size = getSizeBytes(bitmap);
+        if (size > mMaxSizeBytes || mBitmaps.contains(bitmap)) {
+            return;
+        }
+        mBitmaps.addFirst(bitmap);
+        mSizeBytes += size;
+        while (mSizeBytes > mMaxSizeBytes && !mBitmaps.isEmpty()) {
+            // the dropped bitmap isn't recycled since it'll be garbage collected once it's unreferenced
+            mSizeBytes -= getSizeBytes(mBitmaps.removeLast());
+        }
+    }
+
+    /*
+     * returns a transparent mutable bitmap of the passed size, reusing a pooled bitmap if possible
+     */
+    public Bitmap get(int width, int height, Bitmap.Config config) {
+        Bitmap bitmap = take(width, height, config);
+        if (bitmap != null) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+            return bitmap;
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /*
+     * sets inBitmap on the passed options to a pooled bitmap which can be decoded into - the options
+     * must have outWidth, outHeight and inSampleSize set from a previous inJustDecodeBounds decode
+     */
+    public void addInBitmapOptions(BitmapFactory.Options options) {
+        options.inMutable = true;
+        int sampleSize = Math.max(1, options.inSampleSize);
+        Bitmap.Config config = options.inPreferredConfig != null ? options.inPreferredConfig : Bitmap.Config.ARGB_8888;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            options.inBitmap = take(options.outWidth / sampleSize, options.outHeight / sampleSize, config);
+        } else if (sampleSize == 1) {
+            // prior to KitKat the bitmap must be the same size and inSampleSize must be 1
+            options.inBitmap = take(options.outWidth, options.outHeight, config);
+        }
+    }
+
+    private synchronized Bitmap take(int width, int height, Bitmap.Config config) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        Iterator<Bitmap> iterator = mBitmaps.iterator();
+        while (iterator.hasNext()) {
+            Bitmap candidate = iterator.next();
+            if (candidate.isRecycled()) {
+                iterator.remove();
+                mSizeBytes -= getSizeBytes(candidate);
+            } else if (canReuse(candidate, width, height, config)) {
+                iterator.remove();
+                mSizeBytes -= getSizeBytes(candidate);
+                if (candidate.getWidth() != width || candidate.getHeight() != height
+                        || candidate.getConfig() != config) {
+                    reconfigure(candidate, width, height, config);
+                }
+                mHitCount++;
+                return candidate;
+            }
+        }
+        mMissCount++;
+        return null;
+    }
+
+    private static boolean canReuse(Bitmap candidate, int width, int height, Bitmap.Config config) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            // from KitKat any bitmap at least as large as the requested one can be used
+            return width * height * getBytesPerPixel(config) <= candidate.getAllocationByteCount();
+        }
+        return candidate.getWidth() == width
+                && candidate.getHeight() == height
+                && candidate.getConfig() == config;
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static void reconfigure(Bitmap bitmap, int width, int height, Bitmap.Config config) {
+        bitmap.reconfigure(width, height, config);
+    }
+
+    private static int getBytesPerPixel(Bitmap.Config config) {
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+
+    public static int getSizeBytes(Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            return bitmap.getAllocationByteCount();
+        }
+        return bitmap.getByteCount();
+    }
+
+    public synchronized void clear() {
+        mBitmaps.clear();
+        mSizeBytes = 0;
+    }
+
+    public synchronized int getSizeBytes() {
+        return mSizeBytes;
+    }
+
+    public synchronized int getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return mMissCount;
+    }
+}
@@ -28,9 +28,10 @@ public class DateTimeUtils {
         if (date == null) {
             return "";
         }
+        return formatTimeSpan(date.getTime(), context, currentTime);
+    }
 
-        long passedTime = date.getTime();
-
+    private static String formatTimeSpan(long passedTime, Context context, long currentTime) {
         // return "now" if less than a minute has elapsed
         long secondsSince = (currentTime - passedTime) / 1000;
         if (secondsSince < 60) {
@@ -57,10 +58,26 @@ public class DateTimeUtils {
         return javaDateToTimeSpan(date, context, System.currentTimeMillis());
     }
 
+    /**
+     * Same as javaDateToTimeSpan() but takes the date in milliseconds so callers which already have
+     * the time (such as from a database column) don't need to create a {@link Date} - returns an
+     * empty string if the time is zero
+     */
+    public static String timeSpanFromMillis(long millis, Context context) {
+        if (millis == 0) {
+            return "";
+        }
+        return formatTimeSpan(millis, context, System.currentTimeMillis());
+    }
+
     /**
      * Given an ISO 8601-formatted date as a String, returns a {@link Date}.
      */
     public static Date dateFromIso8601(final String strDate) {
+        long millis = parseIso8601Millis(strDate);
+        if (millis != INVALID_ISO8601) {
+            return new Date(millis);
+        }
         try {
             DateFormat formatter = ISO8601_FORMAT.get();
             return formatter.parse(strDate);
@@ -201,6 +218,10 @@ public class DateTimeUtils {
         if (TextUtils.isEmpty(strDate)) {
             return 0;
         }
+        long millis = parseIso8601Millis(strDate);
+        if (millis != INVALID_ISO8601) {
+            return millis;
+        }
         Date date = dateFromIso8601(strDate);
         if (date == null) {
             return 0;
@@ -208,6 +229,107 @@ public class DateTimeUtils {
         return date.getTime();
     }
 
+    static final long INVALID_ISO8601 = Long.MIN_VALUE;
+
+    /*
+     * parses dates in the format returned by the REST API (ex: 2017-05-04T12:34:56+00:00) without
+     * creating any objects, which matters since it's used for every reader post - fractional seconds
+     * are ignored, and the time zone may be "Z", "+hh:mm", "+hhmm" or "+hh". Returns INVALID_ISO8601
+     * if the date isn't in that format so callers can fall back to SimpleDateFormat.
+     */
+    static long parseIso8601Millis(final String str) {
+        if (str == null || str.length() < 20) {
+            return INVALID_ISO8601;
+        }
+        if (str.charAt(4) != '-' || str.charAt(7) != '-' || str.charAt(10) != 'T'
+                || str.charAt(13) != ':' || str.charAt(16) != ':') {
+            return INVALID_ISO8601;
+        }
+        int year = parseDigits(str, 0, 4);
+        int month = parseDigits(str, 5, 2);
+        int day = parseDigits(str, 8, 2);
+        int hour = parseDigits(str, 11, 2);
+        int minute = parseDigits(str, 14, 2);
+        int second = parseDigits(str, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID_ISO8601;
+        }
+
+        int index = 19;
+        int length = str.length();
+        if (str.charAt(index) == '.') {
+            index++;
+            while (index < length && Character.isDigit(str.charAt(index))) {
+                index++;
+            }
+            if (index == length) {
+                return INVALID_ISO8601;
+            }
+        }
+
+        int offsetMinutes;
+        char sign = str.charAt(index);
+        if (sign == 'Z' && index + 1 == length) {
+            offsetMinutes = 0;
+        } else if (sign == '+' || sign == '-') {
+            int offsetHours = parseDigits(str, index + 1, 2);
+            int remaining = length - index - 3;
+            int offsetMins;
+            if (remaining == 0) {
+                offsetMins = 0;
+            } else if (remaining == 3 && str.charAt(index + 3) == ':') {
+                offsetMins = parseDigits(str, index + 4, 2);
+            } else if (remaining == 2) {
+                offsetMins = parseDigits(str, index + 3, 2);
+            } else {
+                return INVALID_ISO8601;
+            }
+            if (offsetHours < 0 || offsetMins < 0) {
+                return INVALID_ISO8601;
+            }
+            offsetMinutes = (offsetHours * 60 + offsetMins) * (sign == '-' ? -1 : 1);
+        } else {
+            return INVALID_ISO8601;
+        }
+
+        long days = daysFromCivil(year, month, day);
+        long seconds = days * 86400L + hour * 3600L + minute * 60L + second - offsetMinutes * 60L;
+        return seconds * 1000L;
+    }
+
+    /*
+     * returns the non-negative number represented by the passed number of digits at the passed
+     * index, or -1 if they're not all digits
+     */
+    private static int parseDigits(final String str, int index, int count) {
+        if (index + count > str.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /*
+     * returns the number of days since 1970-01-01 for the passed date in the proleptic Gregorian
+     * calendar - see http://howardhinnant.github.io/date_algorithms.html#days_from_civil
+     */
+    static long daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = (year >= 0 ? year : year - 399) / 400;
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
     /**
      * Given a UNIX timestamp, returns the corresponding {@link Date}.
      */
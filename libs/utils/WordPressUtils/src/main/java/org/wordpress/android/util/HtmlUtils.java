@@ -10,10 +10,13 @@ import android.text.style.ForegroundColorSpan;
 import android.text.style.QuoteSpan;
 
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.text.translate.EntityArrays;
 import org.wordpress.android.util.helpers.WPHtmlTagHandler;
 import org.wordpress.android.util.helpers.WPImageGetter;
 import org.wordpress.android.util.helpers.WPQuoteSpan;
 
+import java.util.HashMap;
+
 public class HtmlUtils {
 
     /**
@@ -31,7 +34,8 @@ public class HtmlUtils {
 
     /**
      * This is much faster than stripHtml() but should only be used when we know the html is valid
-     * since the regex will be unpredictable with invalid html
+     * since tags are assumed to end at the first ">" - tags are stripped, P and BR tags are converted
+     * to line breaks and entities are decoded in a single scan of the passed string
      * @param str String containing only valid html
      * @return String without HTML
      */
@@ -40,34 +44,133 @@ public class HtmlUtils {
             return str;
         }
 
-        // insert a line break before P tags unless the only one is at the start
-        if (str.lastIndexOf("<p") > 0) {
-            str = str.replaceAll("<p(.|\n)*?>", "\n<p>");
+        StringBuilder sb = getStripHtmlBuilder();
+        int length = str.length();
+        int textStart = 0;
+        int index = 0;
+        boolean hasMoreTags = true;
+        while (index < length) {
+            char c = str.charAt(index);
+            if (c == '<' && hasMoreTags) {
+                int tagEnd = str.indexOf('>', index + 1);
+                if (tagEnd == -1) {
+                    // no tags can follow, so the rest is text
+                    hasMoreTags = false;
+                    index++;
+                    continue;
+                }
+                sb.append(str, textStart, index);
+                // insert a line break for P and BR tags (and others which start the same way, such as PRE)
+                if (str.startsWith("p", index + 1) || str.startsWith("br", index + 1)) {
+                    sb.append('\n');
+                }
+                index = tagEnd + 1;
+                textStart = index;
+            } else if (c == '&') {
+                sb.append(str, textStart, index);
+                index = appendEntity(str, index, sb);
+                textStart = index;
+            } else {
+                index++;
+            }
         }
+        sb.append(str, textStart, length);
 
-        // convert BR tags to line breaks
-        if (str.contains("<br")) {
-            str = str.replaceAll("<br(.|\n)*?>", "\n");
+        // skip leading whitespace, including non-breaking space (160) chars
+        int start = 0;
+        while (start < sb.length() && (Character.isWhitespace(sb.charAt(start)) || sb.charAt(start) == 160)) {
+            start++;
         }
+        return sb.substring(start);
+    }
+
+    // reused by fastStripHtml() on each thread, unless it grew too large to keep around
+    private static final int MAX_REUSED_BUILDER_CAPACITY = 32 * 1024;
+    private static final ThreadLocal<StringBuilder> STRIP_HTML_BUILDER = new ThreadLocal<>();
 
-        // use regex to strip tags, then convert entities in the result
-        return trimStart(fastUnescapeHtml(str.replaceAll("<(.|\n)*?>", "")));
+    private static StringBuilder getStripHtmlBuilder() {
+        StringBuilder sb = STRIP_HTML_BUILDER.get();
+        if (sb == null || sb.capacity() > MAX_REUSED_BUILDER_CAPACITY) {
+            sb = new StringBuilder(256);
+            STRIP_HTML_BUILDER.set(sb);
+        } else {
+            sb.setLength(0);
+        }
+        return sb;
     }
 
     /*
-     * Same as apache.commons.lang.StringUtils.stripStart() but also removes non-breaking
-     * space (160) chars
+     * html entity names (without the & and ;) and the text they represent - this is the same set
+     * of entities StringEscapeUtils.unescapeHtml4() decodes, and is only created when needed
      */
-    private static String trimStart(final String str) {
-        int strLen;
-        if (str == null || (strLen = str.length()) == 0) {
-            return "";
+    private static class HtmlEntities {
+        private static final HashMap<String, String> ENTITIES = new HashMap<>();
+        private static int sMaxNameLength;
+
+        static {
+            addEntities(EntityArrays.BASIC_UNESCAPE());
+            addEntities(EntityArrays.ISO8859_1_UNESCAPE());
+            addEntities(EntityArrays.HTML40_EXTENDED_UNESCAPE());
         }
-        int start = 0;
-        while (start != strLen && (Character.isWhitespace(str.charAt(start)) || str.charAt(start) == 160)) {
-            start++;
+
+        private static void addEntities(String[][] entities) {
+            for (String[] entity : entities) {
+                String name = entity[0].substring(1, entity[0].length() - 1);
+                if (!ENTITIES.containsKey(name)) {
+                    ENTITIES.put(name, entity[1]);
+                    sMaxNameLength = Math.max(sMaxNameLength, name.length());
+                }
+            }
+        }
+    }
+
+    /*
+     * appends the character for the entity which starts with the & at the passed index and returns
+     * the index following the entity - the & is appended as is if it doesn't start a valid entity
+     */
+    private static int appendEntity(String str, int index, StringBuilder sb) {
+        int length = str.length();
+        if (index + 2 < length && str.charAt(index + 1) == '#') {
+            // numeric entity, ie: &#8217; or &#x2019;
+            int start = index + 2;
+            int radix = 10;
+            if (str.charAt(start) == 'x' || str.charAt(start) == 'X') {
+                start++;
+                radix = 16;
+            }
+            int end = start;
+            int codePoint = 0;
+            boolean isValid = true;
+            while (end < length && Character.digit(str.charAt(end), 16) != -1) {
+                int digit = Character.digit(str.charAt(end), radix);
+                if (digit == -1 || codePoint > Character.MAX_CODE_POINT) {
+                    isValid = false;
+                } else {
+                    codePoint = codePoint * radix + digit;
+                }
+                end++;
+            }
+            if (isValid && end > start && end < length && str.charAt(end) == ';'
+                    && codePoint <= Character.MAX_CODE_POINT) {
+                sb.appendCodePoint(codePoint);
+                return end + 1;
+            }
+        } else {
+            // named entity, ie: &amp;
+            int maxEnd = Math.min(length, index + HtmlEntities.sMaxNameLength + 2);
+            for (int end = index + 1; end < maxEnd; end++) {
+                if (str.charAt(end) == ';') {
+                    String value = HtmlEntities.ENTITIES.get(str.substring(index + 1, end));
+                    if (value != null) {
+                        sb.append(value);
+                        return end + 1;
+                    }
+                    break;
+                }
+            }
         }
-        return str.substring(start);
+        sb.append('&');
+        return index + 1;
     }
 
     /**
@@ -31,7 +31,6 @@ import org.apache.http.impl.client.DefaultHttpClient;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -196,6 +195,78 @@ public class ImageUtils {
     }
 
 
+    /**
+     * Decodes the passed file, reusing a bitmap from the passed pool (if any) when possible. The options
+     * must have been used to decode the file's bounds first.
+     */
+    public static Bitmap decodeFile(String path, BitmapFactory.Options options, BitmapPool bitmapPool) {
+        if (bitmapPool == null) {
+            return BitmapFactory.decodeFile(path, options);
+        }
+        bitmapPool.addInBitmapOptions(options);
+        try {
+            return BitmapFactory.decodeFile(path, options);
+        } catch (IllegalArgumentException e) {
+            // the pooled bitmap couldn't be decoded into, so decode into a new one
+            options.inBitmap = null;
+            return BitmapFactory.decodeFile(path, options);
+        }
+    }
+
+    /**
+     * Decodes the passed file at the smallest sample size which is at least as large as the target size,
+     * rotated according to its exif orientation - the bitmap is decoded into one from the passed pool
+     * (which may be null) when possible. Must not be called from the main thread.
+     */
+    public static Bitmap decodeThumbnail(String path, int targetWidth, int targetHeight, BitmapPool bitmapPool) {
+        BitmapFactory.Options bfo = new BitmapFactory.Options();
+        bfo.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(path, bfo);
+
+        bfo.inSampleSize = calculateInSampleSize(bfo, targetWidth, targetHeight);
+        bfo.inJustDecodeBounds = false;
+
+        // get proper rotation
+        try {
+            File f = new File(path);
+            ExifInterface exif = new ExifInterface(f.getPath());
+            int orientation = exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            int angle = 0;
+            if (orientation == ExifInterface.ORIENTATION_NORMAL) { // no need to rotate
+                return decodeFile(path, bfo, bitmapPool);
+            } else if (orientation == ExifInterface.ORIENTATION_ROTATE_90) {
+                angle = 90;
+            } else if (orientation == ExifInterface.ORIENTATION_ROTATE_180) {
+                angle = 180;
+            } else if (orientation == ExifInterface.ORIENTATION_ROTATE_270) {
+                angle = 270;
+            }
+
+            Matrix mat = new Matrix();
+            mat.postRotate(angle);
+
+            try {
+                Bitmap bmp = decodeFile(f.getPath(), bfo, bitmapPool);
+                if (bmp == null) {
+                    AppLog.e(AppLog.T.UTILS, "can't decode bitmap: " + f.getPath());
+                    return null;
+                }
+                Bitmap rotated = Bitmap.createBitmap(bmp, 0, 0, bmp.getWidth(), bmp.getHeight(), mat, true);
+                // the unrotated bitmap is no longer needed so it can be reused
+                if (bitmapPool != null && rotated != bmp) {
+                    bitmapPool.put(bmp);
+                }
+                return rotated;
+            } catch (OutOfMemoryError oom) {
+                AppLog.e(AppLog.T.UTILS, "OutOfMemoryError Error in setting image: " + oom);
+            }
+        } catch (IOException e) {
+            AppLog.e(AppLog.T.UTILS, "Error in setting image", e);
+        }
+
+        return null;
+    }
+
     public interface BitmapWorkerCallback {
         public void onBitmapReady(String filePath, ImageView imageView, Bitmap bitmap);
     }
@@ -203,14 +274,24 @@ public class ImageUtils {
     public static class BitmapWorkerTask extends AsyncTask<String, Void, Bitmap> {
         private final WeakReference<ImageView> imageViewReference;
         private final BitmapWorkerCallback callback;
+        private final BitmapPool bitmapPool;
         private int targetWidth;
         private int targetHeight;
         private String path;
 
         public BitmapWorkerTask(ImageView imageView, int width, int height, BitmapWorkerCallback callback) {
+            this(imageView, width, height, null, callback);
+        }
+
+        /**
+         * @param bitmapPool - optional pool of bitmaps to decode into
+         */
+        public BitmapWorkerTask(ImageView imageView, int width, int height, BitmapPool bitmapPool,
+                                BitmapWorkerCallback callback) {
             // Use a WeakReference to ensure the ImageView can be garbage collected
             imageViewReference = new WeakReference<ImageView>(imageView);
             this.callback = callback;
+            this.bitmapPool = bitmapPool;
             targetWidth = width;
             targetHeight = height;
         }
@@ -219,52 +300,7 @@ public class ImageUtils {
         @Override
         protected Bitmap doInBackground(String... params) {
             path = params[0];
-
-            BitmapFactory.Options bfo = new BitmapFactory.Options();
-            bfo.inJustDecodeBounds = true;
-            BitmapFactory.decodeFile(path, bfo);
-
-            bfo.inSampleSize = calculateInSampleSize(bfo, targetWidth, targetHeight);
-            bfo.inJustDecodeBounds = false;
-
-            // get proper rotation
-            int bitmapWidth = 0;
-            int bitmapHeight = 0;
-            try {
-                File f = new File(path);
-                ExifInterface exif = new ExifInterface(f.getPath());
-                int orientation = exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
-                int angle = 0;
-                if (orientation == ExifInterface.ORIENTATION_NORMAL) { // no need to rotate
-                    return BitmapFactory.decodeFile(path, bfo);
-                } else if (orientation == ExifInterface.ORIENTATION_ROTATE_90) {
-                    angle = 90;
-                } else if (orientation == ExifInterface.ORIENTATION_ROTATE_180) {
-                    angle = 180;
-                } else if (orientation == ExifInterface.ORIENTATION_ROTATE_270) {
-                    angle = 270;
-                }
-
-                Matrix mat = new Matrix();
-                mat.postRotate(angle);
-
-                try {
-                    Bitmap bmp = BitmapFactory.decodeStream(new FileInputStream(f), null, bfo);
-                    if (bmp == null) {
-                        AppLog.e(AppLog.T.UTILS, "can't decode bitmap: " + f.getPath());
-                        return null;
-                    }
-                    bitmapWidth = bmp.getWidth();
-                    bitmapHeight = bmp.getHeight();
-                    return Bitmap.createBitmap(bmp, 0, 0, bmp.getWidth(), bmp.getHeight(), mat, true);
-                } catch (OutOfMemoryError oom) {
-                    AppLog.e(AppLog.T.UTILS, "OutOfMemoryError Error in setting image: " + oom);
-                }
-            } catch (IOException e) {
-                AppLog.e(AppLog.T.UTILS, "Error in setting image", e);
-            }
-
-            return null;
+            return decodeThumbnail(path, targetWidth, targetHeight, bitmapPool);
         }
 
         // Once complete, see if ImageView is still around and set bitmap.
@@ -622,10 +658,17 @@ public class ImageUtils {
     }
 
     public static Bitmap getCircularBitmap(final Bitmap bitmap) {
+        return getCircularBitmap(bitmap, null);
+    }
+
+    /**
+     * Returns a circular copy of the passed bitmap, drawn into a bitmap from the passed pool if one is available
+     */
+    public static Bitmap getCircularBitmap(final Bitmap bitmap, BitmapPool bitmapPool) {
         if (bitmap==null)
             return null;
 
-        final Bitmap output = Bitmap.createBitmap(bitmap.getWidth(), bitmap.getHeight(), Bitmap.Config.ARGB_8888);
+        final Bitmap output = createOutputBitmap(bitmap, bitmapPool);
         final Canvas canvas = new Canvas(output);
         final Paint paint = new Paint();
         final Rect rect = new Rect(0, 0, bitmap.getWidth(), bitmap.getHeight());
@@ -649,11 +692,19 @@ public class ImageUtils {
      * @param borderColor - the border to apply (use Color.TRANSPARENT for none)
      */
     public static Bitmap getRoundedEdgeBitmap(final Bitmap bitmap, int radius, int borderColor) {
+        return getRoundedEdgeBitmap(bitmap, radius, borderColor, null);
+    }
+
+    /**
+     * Same as above, but draws into a bitmap from the passed pool if one is available
+     */
+    public static Bitmap getRoundedEdgeBitmap(final Bitmap bitmap, int radius, int borderColor,
+                                              BitmapPool bitmapPool) {
         if (bitmap == null) {
             return null;
         }
 
-        final Bitmap output = Bitmap.createBitmap(bitmap.getWidth(), bitmap.getHeight(), Bitmap.Config.ARGB_8888);
+        final Bitmap output = createOutputBitmap(bitmap, bitmapPool);
         final Canvas canvas = new Canvas(output);
         final Paint paint = new Paint();
         final Rect rect = new Rect(0, 0, bitmap.getWidth(), bitmap.getHeight());
@@ -677,6 +728,13 @@ public class ImageUtils {
         return output;
     }
 
+    private static Bitmap createOutputBitmap(Bitmap bitmap, BitmapPool bitmapPool) {
+        if (bitmapPool != null) {
+            return bitmapPool.get(bitmap.getWidth(), bitmap.getHeight(), Bitmap.Config.ARGB_8888);
+        }
+        return Bitmap.createBitmap(bitmap.getWidth(), bitmap.getHeight(), Bitmap.Config.ARGB_8888);
+    }
+
     /**
      * Get the maximum size a thumbnail can be to fit in either portrait or landscape orientations.
      */